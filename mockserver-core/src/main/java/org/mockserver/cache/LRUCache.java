@@ -1,34 +1,51 @@
 package org.mockserver.cache;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 
-import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
-import static org.slf4j.event.Level.TRACE;
-
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent least recently used cache with lazy time to live expiry
+ * <p>
+ * Entries are split across segments by key hash, each segment is an access ordered LinkedHashMap guarded by its own
+ * lock, so lookups, access order updates and evictions are all constant time and only contend within a segment.
+ * Small caches use a single segment so eviction is strictly least recently used.
+ */
 @SuppressWarnings("unused")
 public class LRUCache<K, V> {
 
+    private static final int ENTRIES_PER_SEGMENT = 32;
+    private static final int MAX_SEGMENTS = 16;
     private static boolean allCachesEnabled = true;
     private static int maxSizeOverride = 0;
-    private static final List<LRUCache<?, ?>> allCaches = new ArrayList<>();
+    private static final List<LRUCache<?, ?>> allCaches = new CopyOnWriteArrayList<>();
     private final long ttlInMillis;
     private final int maxSize;
-    private final ConcurrentHashMap<K, Entry<V>> map;
-    private final ConcurrentLinkedQueue<K> queue;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
     private final MockServerLogger mockServerLogger;
 
+    @SuppressWarnings("unchecked")
     public LRUCache(final MockServerLogger mockServerLogger, final int maxSize, long ttlInMillis) {
         this.mockServerLogger = mockServerLogger;
         this.maxSize = maxSize;
-        this.map = new ConcurrentHashMap<>(maxSize);
-        this.queue = new ConcurrentLinkedQueue<>();
         this.ttlInMillis = ttlInMillis;
+        int numberOfSegments = 1;
+        while (numberOfSegments * 2 <= MAX_SEGMENTS && numberOfSegments * 2 * ENTRIES_PER_SEGMENT <= maxSize) {
+            numberOfSegments *= 2;
+        }
+        this.segments = new Segment[numberOfSegments];
+        for (int i = 0; i < numberOfSegments; i++) {
+            segments[i] = new Segment<>();
+        }
         LRUCache.allCaches.add(this);
     }
 
@@ -51,19 +68,17 @@ public class LRUCache<K, V> {
 
     public void put(K key, final V value, long ttl) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // ensure the queue is in FIFO order
-                queue.remove(key);
-            }
-            while (queue.size() >= maxSize
-                || maxSizeOverride > 0 && queue.size() >= maxSizeOverride) {
-                K oldestKey = queue.poll();
-                if (null != oldestKey) {
-                    map.remove(oldestKey);
+            Segment<K, V> segment = segmentFor(key);
+            synchronized (segment) {
+                segment.entries.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
+                int maxSegmentSize = maxSegmentSize();
+                Iterator<Map.Entry<K, Entry<V>>> leastRecentlyUsed = segment.entries.entrySet().iterator();
+                while (segment.entries.size() > maxSegmentSize && leastRecentlyUsed.hasNext()) {
+                    leastRecentlyUsed.next();
+                    leastRecentlyUsed.remove();
+                    evictionCount.increment();
                 }
             }
-            queue.add(key);
-            map.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
         }
     }
 
@@ -73,40 +88,84 @@ public class LRUCache<K, V> {
 
     public V get(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // remove from the queue and add it again in FIFO queue
-                queue.remove(key);
-                queue.add(key);
-            }
-
-            Entry<V> entry = map.get(key);
-            if (entry != null) {
-                if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
-                    return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
-                } else {
-                    delete(key);
+            Segment<K, V> segment = segmentFor(key);
+            synchronized (segment) {
+                // access ordered so get also moves the entry to the most recently used position
+                Entry<V> entry = segment.entries.get(key);
+                if (entry != null) {
+                    long now = System.currentTimeMillis();
+                    if (entry.getExpiryInMillis() > now) {
+                        hitCount.increment();
+                        return entry.updateExpiryInMillis(now + entry.getTtlInMillis()).getValue();
+                    } else {
+                        segment.entries.remove(key);
+                        evictionCount.increment();
+                    }
                 }
             }
+            missCount.increment();
         }
         return null;
     }
 
     public void delete(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                map.remove(key);
-                queue.remove(key);
+            Segment<K, V> segment = segmentFor(key);
+            synchronized (segment) {
+                segment.entries.remove(key);
             }
         }
     }
 
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return number of entries removed because the cache was full or because they expired
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
     private void clear() {
-        map.clear();
-        queue.clear();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    private int maxSegmentSize() {
+        int effectiveMaxSize = maxSizeOverride > 0 ? Math.min(maxSize, maxSizeOverride) : maxSize;
+        return Math.max(1, (effectiveMaxSize + segments.length - 1) / segments.length);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
     }
 
     public static void setMaxSizeOverride(int maxSizeOverride) {
         LRUCache.maxSizeOverride = maxSizeOverride;
     }
 
+    private static class Segment<K, V> {
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
 }
@@ -4,6 +4,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.mockserver.model.*;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -56,7 +57,7 @@ public class BodyDecoderEncoder {
 
     byte[] bodyToBytes(Body body, String contentTypeHeader) {
         if (body != null) {
-            if (body instanceof BinaryBody) {
+            if (body instanceof BinaryBody || body instanceof FileBody) {
                 return body.getRawBytes();
             } else if (body.getValue() instanceof String) {
                 Charset contentTypeCharset = MediaType.parse(contentTypeHeader).getCharsetOrDefault();
@@ -78,6 +79,26 @@ public class BodyDecoderEncoder {
         return null;
     }
 
+    /**
+     * body that is only read from the buffer, and decoded using the content type's charset, when its content is first
+     * needed, so bodies that aren't matched are never copied onto the heap
+     */
+    public BodyWithContentType byteBufferToBody(ByteBuffer content, String contentTypeHeader) {
+        if (content != null && content.hasRemaining()) {
+            MediaType mediaType = MediaType.parse(contentTypeHeader);
+            if (mediaType.isJson()) {
+                return new JsonBody(content, mediaType, DEFAULT_MATCH_TYPE);
+            } else if (mediaType.isXml()) {
+                return new XmlBody(content, mediaType);
+            } else if (mediaType.isString()) {
+                return new StringBody(content, isNotBlank(contentTypeHeader) ? mediaType : null);
+            } else {
+                return new BinaryBody(content, mediaType);
+            }
+        }
+        return null;
+    }
+
     public BodyWithContentType bytesToBody(byte[] bodyBytes, String contentTypeHeader) {
         if (bodyBytes.length > 0) {
             MediaType mediaType = MediaType.parse(contentTypeHeader);
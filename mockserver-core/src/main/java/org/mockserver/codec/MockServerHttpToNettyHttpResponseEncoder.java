@@ -2,8 +2,12 @@ package org.mockserver.codec;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mappers.MockServerHttpResponseToFullHttpResponse;
+import org.mockserver.model.FileBody;
 import org.mockserver.model.HttpResponse;
 
 import java.util.List;
@@ -21,7 +25,16 @@ public class MockServerHttpToNettyHttpResponseEncoder extends MessageToMessageEn
 
     @Override
     protected void encode(ChannelHandlerContext ctx, HttpResponse response, List<Object> out) {
-        out.addAll(mockServerHttpResponseToFullHttpResponse.mapMockServerResponseToNettyResponse(response));
+        if (response.getBody() instanceof FileBody && ctx.pipeline().get(ChunkedWriteHandler.class) != null) {
+            out.addAll(mockServerHttpResponseToFullHttpResponse.mapMockServerFileResponseToNettyResponse(response, isZeroCopySupported(ctx)));
+        } else {
+            out.addAll(mockServerHttpResponseToFullHttpResponse.mapMockServerResponseToNettyResponse(response));
+        }
+    }
+
+    private boolean isZeroCopySupported(ChannelHandlerContext ctx) {
+        // file regions are written directly to the socket so can't be encrypted or framed as HTTP/2 data
+        return ctx.pipeline().get(SslHandler.class) == null && ctx.pipeline().get(Http2ConnectionHandler.class) == null;
     }
 
 }
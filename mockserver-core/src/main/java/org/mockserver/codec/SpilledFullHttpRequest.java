@@ -0,0 +1,31 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Request whose body was streamed to a temporary file, the body is the memory mapped file so it isn't held on the heap
+ *
+ * @author jamesdbloom
+ */
+public class SpilledFullHttpRequest extends DefaultFullHttpRequest {
+
+    private final ByteBuffer spilledContent;
+
+    public SpilledFullHttpRequest(HttpVersion httpVersion, HttpMethod method, String uri, ByteBuffer spilledContent, HttpHeaders headers, HttpHeaders trailingHeader) {
+        super(httpVersion, method, uri, Unpooled.wrappedBuffer(spilledContent.duplicate()), headers, trailingHeader);
+        this.spilledContent = spilledContent;
+    }
+
+    /**
+     * @return the spilled body, which remains readable after this request has been released
+     */
+    public ByteBuffer spilledContent() {
+        return spilledContent.duplicate();
+    }
+}
@@ -0,0 +1,162 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static io.netty.handler.codec.http.HttpResponseStatus.CONTINUE;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Aggregates requests with a body larger than the in memory limit, or of unknown length, so the body is streamed to a
+ * temporary file once it exceeds the in memory limit, instead of being accumulated on the heap
+ * <p>
+ * Must be added before the HttpObjectAggregator, which ignores the already aggregated requests from this handler and
+ * aggregates requests with a Content-Length within the in memory limit as normal.  The temporary file is deleted when
+ * it is closed, which is once it has been memory mapped, so it is removed from disk when the mapping is garbage collected.
+ *
+ * @author jamesdbloom
+ */
+public class SpillingHttpRequestAggregator extends ChannelInboundHandlerAdapter {
+
+    private final int maxInMemoryBodySize;
+    private HttpRequest request;
+    private CompositeByteBuf inMemoryContent;
+    private FileChannel spillChannel;
+
+    public SpillingHttpRequestAggregator(int maxInMemoryBodySize) {
+        this.maxInMemoryBodySize = maxInMemoryBodySize;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest)) {
+            HttpRequest httpRequest = (HttpRequest) msg;
+            if (httpRequest.decoderResult().isFailure() || (HttpUtil.isContentLengthSet(httpRequest) && HttpUtil.getContentLength(httpRequest, 0L) <= maxInMemoryBodySize)) {
+                ctx.fireChannelRead(msg);
+            } else {
+                startRequest(ctx, httpRequest);
+            }
+        } else if (msg instanceof HttpContent && request != null) {
+            HttpContent httpContent = (HttpContent) msg;
+            try {
+                if (append(ctx, httpContent.content()) && msg instanceof LastHttpContent) {
+                    completeRequest(ctx, ((LastHttpContent) msg).trailingHeaders());
+                }
+            } finally {
+                httpContent.release();
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private void startRequest(ChannelHandlerContext ctx, HttpRequest httpRequest) throws IOException {
+        request = httpRequest;
+        inMemoryContent = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+        if (HttpUtil.is100ContinueExpected(httpRequest)) {
+            httpRequest.headers().remove(EXPECT);
+            ctx.writeAndFlush(new DefaultFullHttpResponse(HTTP_1_1, CONTINUE, Unpooled.EMPTY_BUFFER));
+        }
+        if (HttpUtil.isContentLengthSet(httpRequest)) {
+            // body is known to be larger than the in memory limit
+            spill();
+        }
+    }
+
+    private boolean append(ChannelHandlerContext ctx, ByteBuf content) throws IOException {
+        if (spillChannel == null) {
+            inMemoryContent.addComponent(true, content.retain());
+            if (inMemoryContent.readableBytes() > maxInMemoryBodySize) {
+                spill();
+            }
+        } else if (spillChannel.size() + content.readableBytes() > Integer.MAX_VALUE) {
+            // same limit as HttpObjectAggregator(Integer.MAX_VALUE) and the largest body that can be memory mapped
+            reset();
+            ctx.writeAndFlush(new DefaultFullHttpResponse(HTTP_1_1, REQUEST_ENTITY_TOO_LARGE, Unpooled.EMPTY_BUFFER)).addListener(ChannelFutureListener.CLOSE);
+            return false;
+        } else {
+            write(content);
+        }
+        return true;
+    }
+
+    private void spill() throws IOException {
+        Path spillPath = Files.createTempFile("mockserver-request-body-", ".tmp");
+        spillChannel = FileChannel.open(spillPath, READ, WRITE, DELETE_ON_CLOSE);
+        write(inMemoryContent);
+        inMemoryContent.release();
+        inMemoryContent = null;
+    }
+
+    private void write(ByteBuf content) throws IOException {
+        while (content.isReadable()) {
+            content.readBytes(spillChannel, content.readableBytes());
+        }
+    }
+
+    private void completeRequest(ChannelHandlerContext ctx, HttpHeaders trailingHeaders) throws IOException {
+        FullHttpRequest fullHttpRequest;
+        if (spillChannel != null) {
+            fullHttpRequest = new SpilledFullHttpRequest(
+                request.protocolVersion(),
+                request.method(),
+                request.uri(),
+                spillChannel.map(FileChannel.MapMode.READ_ONLY, 0, spillChannel.size()),
+                request.headers(),
+                trailingHeaders
+            );
+        } else {
+            fullHttpRequest = new DefaultFullHttpRequest(
+                request.protocolVersion(),
+                request.method(),
+                request.uri(),
+                inMemoryContent,
+                request.headers(),
+                trailingHeaders
+            );
+            inMemoryContent = null;
+        }
+        fullHttpRequest.headers().remove(TRANSFER_ENCODING);
+        fullHttpRequest.headers().set(CONTENT_LENGTH, fullHttpRequest.content().readableBytes());
+        fullHttpRequest.setDecoderResult(request.decoderResult());
+        reset();
+        ctx.fireChannelRead(fullHttpRequest);
+    }
+
+    private void reset() throws IOException {
+        request = null;
+        if (inMemoryContent != null) {
+            inMemoryContent.release();
+            inMemoryContent = null;
+        }
+        if (spillChannel != null) {
+            spillChannel.close();
+            spillChannel = null;
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        reset();
+        super.handlerRemoved(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        reset();
+        super.channelInactive(ctx);
+    }
+}
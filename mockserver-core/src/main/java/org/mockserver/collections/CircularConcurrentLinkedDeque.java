@@ -1,13 +1,27 @@
 package org.mockserver.collections;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * Bounded first in first out collection that evicts the oldest elements once the maximum size is reached
+ * <p>
+ * The size is tracked by a counter so that size and eviction are constant time, instead of the linear traversal
+ * ConcurrentLinkedDeque.size() does, iteration is weakly consistent so the collection can be read while elements are added.
+ * Elements added at the last end evict from the first end and elements added at the first end evict from the last end.
+ *
  * @author jamesdbloom
  */
-public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
+public class CircularConcurrentLinkedDeque<E> extends AbstractCollection<E> implements Deque<E> {
+    private final ConcurrentLinkedDeque<E> deque = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
     private int maxSize;
     private final Consumer<E> onEvictCallback;
 
@@ -22,12 +36,7 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
 
     @Override
     public boolean add(E element) {
-        if (maxSize > 0) {
-            evictExcessElements();
-            return super.add(element);
-        } else {
-            return false;
-        }
+        return offer(element);
     }
 
     @Override
@@ -47,32 +56,158 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
 
     @Override
     public boolean offer(E element) {
+        return offerLast(element);
+    }
+
+    @Override
+    public boolean offerLast(E element) {
         if (maxSize > 0) {
-            evictExcessElements();
-            return super.offer(element);
+            deque.offerLast(element);
+            size.incrementAndGet();
+            evictExcessElements(true);
+            return true;
         } else {
             return false;
         }
     }
 
-    private void evictExcessElements() {
-        if (onEvictCallback == null) {
-            while (size() >= maxSize) {
-                super.poll();
-            }
+    @Override
+    public boolean offerFirst(E element) {
+        if (maxSize > 0) {
+            deque.offerFirst(element);
+            size.incrementAndGet();
+            evictExcessElements(false);
+            return true;
         } else {
-            while (size() >= maxSize) {
-                onEvictCallback.accept(super.poll());
+            return false;
+        }
+    }
+
+    @Override
+    public void addFirst(E element) {
+        offerFirst(element);
+    }
+
+    @Override
+    public void addLast(E element) {
+        offerLast(element);
+    }
+
+    @Override
+    public void push(E element) {
+        addFirst(element);
+    }
+
+    private void evictExcessElements(boolean fromFirst) {
+        while (size.get() > maxSize) {
+            E evicted = fromFirst ? deque.pollFirst() : deque.pollLast();
+            if (evicted == null) {
+                break;
+            }
+            size.decrementAndGet();
+            if (onEvictCallback != null) {
+                onEvictCallback.accept(evicted);
             }
         }
     }
 
+    @Override
+    public E pollFirst() {
+        return decrementIfRemoved(deque.pollFirst());
+    }
+
+    @Override
+    public E pollLast() {
+        return decrementIfRemoved(deque.pollLast());
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E removeFirst() {
+        E element = pollFirst();
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+
+    @Override
+    public E removeLast() {
+        E element = pollLast();
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    private E decrementIfRemoved(E element) {
+        if (element != null) {
+            size.decrementAndGet();
+        }
+        return element;
+    }
+
+    @Override
+    public E peekFirst() {
+        return deque.peekFirst();
+    }
+
+    @Override
+    public E peekLast() {
+        return deque.peekLast();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public E getFirst() {
+        return deque.getFirst();
+    }
+
+    @Override
+    public E getLast() {
+        return deque.getLast();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    @Override
     public void clear() {
-        if (onEvictCallback == null) {
-            super.clear();
-        } else {
-            while (size() > 0) {
-                onEvictCallback.accept(super.poll());
+        E element;
+        while ((element = deque.pollFirst()) != null) {
+            size.decrementAndGet();
+            if (onEvictCallback != null) {
+                onEvictCallback.accept(element);
             }
         }
     }
@@ -82,13 +217,88 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
      */
     @Deprecated
     public boolean remove(Object o) {
-        return super.remove(o);
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        if (deque.removeFirstOccurrence(o)) {
+            size.decrementAndGet();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        if (deque.removeLastOccurrence(o)) {
+            size.decrementAndGet();
+            return true;
+        } else {
+            return false;
+        }
     }
 
     public boolean removeItem(E e) {
         if (onEvictCallback != null) {
             onEvictCallback.accept(e);
         }
-        return super.remove(e);
+        if (deque.remove(e)) {
+            size.decrementAndGet();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return deque.contains(o);
+    }
+
+    /**
+     * weakly consistent iterator from the oldest to the newest element
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new CountingIterator(deque.iterator());
+    }
+
+    /**
+     * weakly consistent iterator from the newest to the oldest element
+     */
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new CountingIterator(deque.descendingIterator());
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return deque.spliterator();
+    }
+
+    private class CountingIterator implements Iterator<E> {
+        private final Iterator<E> iterator;
+
+        private CountingIterator(Iterator<E> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            iterator.remove();
+            size.decrementAndGet();
+        }
     }
 }
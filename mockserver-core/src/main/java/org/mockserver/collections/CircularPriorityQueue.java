@@ -5,26 +5,51 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * Elements are held in skip lists sorted by priority, reads use an immutable priority sorted array snapshot which
+ * is lazily rebuilt by the first read after elements are added, removed or re-sorted, so the frequent reads iterate a
+ * plain array and the rare writes pay the cost of rebuilding the snapshot
+ *
  * @author jamesdbloom
  */
 public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     private int maxSize;
+    private final Comparator<? super SLK> skipListComparator;
     private final Function<V, SLK> skipListKeyFunction;
     private final Function<V, K> mapKeyFunction;
+    private final Function<V, String> indexKeyFunction;
     private final ConcurrentSkipListSet<SLK> sortOrderSkipList;
+    private final ConcurrentSkipListSet<SLK> unindexedSortOrderSkipList;
+    private final ConcurrentMap<String, ConcurrentSkipListSet<SLK>> indexedSortOrderSkipLists = new ConcurrentHashMap<>();
     private final ConcurrentLinkedQueue<V> insertionOrderQueue = new ConcurrentLinkedQueue<>();
     private final ConcurrentMap<K, V> byKey = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final Object snapshotLock = new Object();
+    private volatile Snapshot snapshot;
 
     public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction) {
+        this(maxSize, skipListComparator, skipListKeyFunction, mapKeyFunction, null);
+    }
+
+    /**
+     * @param indexKeyFunction returns the dispatch index key for an element or null if the element must always be considered (i.e. it is not indexed)
+     */
+    public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction, Function<V, String> indexKeyFunction) {
         sortOrderSkipList = new ConcurrentSkipListSet<>(skipListComparator);
+        unindexedSortOrderSkipList = new ConcurrentSkipListSet<>(skipListComparator);
         this.maxSize = maxSize;
+        this.skipListComparator = skipListComparator;
         this.skipListKeyFunction = skipListKeyFunction;
         this.mapKeyFunction = mapKeyFunction;
+        this.indexKeyFunction = indexKeyFunction;
     }
 
     public void setMaxSize(int maxSize) {
@@ -32,23 +57,57 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     }
 
     public void removePriorityKey(V element) {
-        sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+        SLK skipListKey = skipListKeyFunction.apply(element);
+        sortOrderSkipList.remove(skipListKey);
+        removeIndexKey(indexKey(element), skipListKey);
+        snapshotChanged();
     }
 
     public void addPriorityKey(V element) {
-        sortOrderSkipList.add(skipListKeyFunction.apply(element));
+        SLK skipListKey = skipListKeyFunction.apply(element);
+        sortOrderSkipList.add(skipListKey);
+        addIndexKey(indexKey(element), skipListKey);
+        snapshotChanged();
+    }
+
+    /**
+     * Applies an update to an element in the queue, the element is only re-sorted and re-indexed, and so the snapshot
+     * only rebuilt, if the update changed its priority or index key
+     *
+     * @param update updates the element and returns true if it was changed
+     * @return the result of the update
+     */
+    public boolean update(V element, BooleanSupplier update) {
+        SLK previousSkipListKey = skipListKeyFunction.apply(element);
+        String previousIndexKey = indexKey(element);
+        boolean updated = update.getAsBoolean();
+        if (updated) {
+            SLK skipListKey = skipListKeyFunction.apply(element);
+            String indexKey = indexKey(element);
+            if (skipListComparator.compare(previousSkipListKey, skipListKey) != 0 || !Objects.equals(previousIndexKey, indexKey)) {
+                sortOrderSkipList.remove(previousSkipListKey);
+                removeIndexKey(previousIndexKey, previousSkipListKey);
+                sortOrderSkipList.add(skipListKey);
+                addIndexKey(indexKey, skipListKey);
+                snapshotChanged();
+            } else {
+                version.incrementAndGet();
+            }
+        }
+        return updated;
     }
 
     public void add(V element) {
         if (maxSize > 0 && element != null) {
             insertionOrderQueue.offer(element);
-            sortOrderSkipList.add(skipListKeyFunction.apply(element));
+            addPriorityKey(element);
             byKey.put(mapKeyFunction.apply(element), element);
             while (insertionOrderQueue.size() > maxSize) {
                 V elementToRemove = insertionOrderQueue.poll();
-                sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
+                removePriorityKey(elementToRemove);
                 byKey.remove(mapKeyFunction.apply(elementToRemove));
             }
+            snapshotChanged();
         }
     }
 
@@ -56,18 +115,128 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
         if (element != null) {
             insertionOrderQueue.remove(element);
             byKey.remove(mapKeyFunction.apply(element));
-            return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            SLK skipListKey = skipListKeyFunction.apply(element);
+            removeIndexKey(indexKey(element), skipListKey);
+            boolean removed = sortOrderSkipList.remove(skipListKey);
+            snapshotChanged();
+            return removed;
         } else {
             return false;
         }
     }
 
+    private void snapshotChanged() {
+        snapshotVersion.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    private String indexKey(V element) {
+        return indexKeyFunction != null ? indexKeyFunction.apply(element) : null;
+    }
+
+    private void addIndexKey(String indexKey, SLK skipListKey) {
+        if (indexKeyFunction != null) {
+            if (indexKey == null) {
+                unindexedSortOrderSkipList.add(skipListKey);
+            } else {
+                indexedSortOrderSkipLists.compute(indexKey, (key, skipList) -> {
+                    if (skipList == null) {
+                        skipList = new ConcurrentSkipListSet<>(skipListComparator);
+                    }
+                    skipList.add(skipListKey);
+                    return skipList;
+                });
+            }
+        }
+    }
+
+    private void removeIndexKey(String indexKey, SLK skipListKey) {
+        if (indexKeyFunction != null) {
+            if (indexKey == null) {
+                unindexedSortOrderSkipList.remove(skipListKey);
+            } else {
+                indexedSortOrderSkipLists.computeIfPresent(indexKey, (key, skipList) -> {
+                    skipList.remove(skipListKey);
+                    return skipList.isEmpty() ? null : skipList;
+                });
+            }
+        }
+    }
+
     public int size() {
         return insertionOrderQueue.size();
     }
 
+    /**
+     * @return a counter incremented by every mutation, so values derived from the elements can be cached until the next mutation
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    long getSnapshotVersion() {
+        return snapshotVersion.get();
+    }
+
+    @SuppressWarnings("unchecked")
     public Stream<V> stream() {
-        return sortOrderSkipList.stream().map(item -> byKey.get(item.getKey())).filter(Objects::nonNull);
+        return Arrays.stream(snapshot().all.values).map(value -> (V) value);
+    }
+
+    /**
+     * Streams, in priority order, only the elements indexed under one of the index keys plus all unindexed elements.
+     *
+     * @param indexKeys the index keys to dispatch on, if null (or no index key function was specified) all elements are streamed
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<V> stream(List<String> indexKeys) {
+        if (indexKeyFunction == null || indexKeys == null) {
+            return stream();
+        }
+        Snapshot snapshot = snapshot();
+        List<SortedEntries> sortedEntries = new ArrayList<>(indexKeys.size() + 1);
+        sortedEntries.add(snapshot.unindexed);
+        for (String indexKey : indexKeys) {
+            SortedEntries entries = snapshot.indexed.get(indexKey);
+            if (entries != null) {
+                sortedEntries.add(entries);
+            }
+        }
+        if (sortedEntries.size() == 1) {
+            return Arrays.stream(snapshot.unindexed.values).map(value -> (V) value);
+        }
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(new SortedMergeIterator<V>(sortedEntries, skipListComparator), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null || currentSnapshot.version != snapshotVersion.get()) {
+            synchronized (snapshotLock) {
+                // reads waiting on a rebuild use its result, so concurrent mutations are merged into as few rebuilds as possible
+                long currentVersion = snapshotVersion.get();
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null || currentSnapshot.version != currentVersion) {
+                    // built from the version read before the skip lists, so a concurrent mutation leaves it stale and the next read rebuilds it
+                    currentSnapshot = new Snapshot(currentVersion);
+                    snapshot = currentSnapshot;
+                }
+            }
+        }
+        return currentSnapshot;
+    }
+
+    private SortedEntries sortedEntries(Collection<SLK> skipList) {
+        List<Object> keys = new ArrayList<>(skipList.size());
+        List<Object> values = new ArrayList<>(skipList.size());
+        for (SLK skipListKey : skipList) {
+            V value = byKey.get(skipListKey.getKey());
+            if (value != null) {
+                keys.add(skipListKey);
+                values.add(value);
+            }
+        }
+        return new SortedEntries(keys.toArray(), values.toArray());
     }
 
     public Optional<V> getByKey(K key) {
@@ -89,4 +258,75 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     public List<V> toSortedList() {
         return stream().collect(Collectors.toList());
     }
+
+    private class Snapshot {
+        private final long version;
+        private final SortedEntries all;
+        private final SortedEntries unindexed;
+        private final Map<String, SortedEntries> indexed;
+
+        private Snapshot(long version) {
+            this.version = version;
+            this.all = sortedEntries(sortOrderSkipList);
+            if (indexKeyFunction != null) {
+                this.unindexed = sortedEntries(unindexedSortOrderSkipList);
+                this.indexed = new HashMap<>();
+                for (Map.Entry<String, ConcurrentSkipListSet<SLK>> entry : indexedSortOrderSkipLists.entrySet()) {
+                    this.indexed.put(entry.getKey(), sortedEntries(entry.getValue()));
+                }
+            } else {
+                this.unindexed = null;
+                this.indexed = Collections.emptyMap();
+            }
+        }
+    }
+
+    private static class SortedEntries {
+        private final Object[] keys;
+        private final Object[] values;
+
+        private SortedEntries(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+
+    private static class SortedMergeIterator<T> implements Iterator<T> {
+        private final List<SortedEntries> sortedEntries;
+        private final int[] positions;
+        @SuppressWarnings("rawtypes")
+        private final Comparator comparator;
+
+        SortedMergeIterator(List<SortedEntries> sortedEntries, Comparator<?> comparator) {
+            this.sortedEntries = sortedEntries;
+            this.positions = new int[sortedEntries.size()];
+            this.comparator = comparator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] < sortedEntries.get(i).keys.length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            int lowestIndex = -1;
+            for (int i = 0; i < positions.length; i++) {
+                SortedEntries entries = sortedEntries.get(i);
+                if (positions[i] < entries.keys.length && (lowestIndex == -1 || comparator.compare(entries.keys[positions[i]], sortedEntries.get(lowestIndex).keys[positions[lowestIndex]]) < 0)) {
+                    lowestIndex = i;
+                }
+            }
+            if (lowestIndex == -1) {
+                throw new NoSuchElementException();
+            }
+            return (T) sortedEntries.get(lowestIndex).values[positions[lowestIndex]++];
+        }
+    }
 }
@@ -20,6 +20,7 @@ public class NottableStringHashMap {
 
     private final Map<NottableString, NottableString> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
+    private volatile List<ImmutableEntry> entryList;
 
     public NottableStringHashMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, List<? extends KeyAndValue> entries) {
         regexStringMatcher = new RegexStringMatcher(mockServerLogger, controlPlaneMatcher);
@@ -69,14 +70,17 @@ public class NottableStringHashMap {
     }
 
     private List<ImmutableEntry> entryList() {
-        if (!backingMap.isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
-            for (Map.Entry<NottableString, NottableString> entry : backingMap.entrySet()) {
-                entrySet.add(entry(regexStringMatcher, entry.getKey(), entry.getValue()));
+        if (entryList == null) {
+            if (!backingMap.isEmpty()) {
+                List<ImmutableEntry> entrySet = new ArrayList<>();
+                for (Map.Entry<NottableString, NottableString> entry : backingMap.entrySet()) {
+                    entrySet.add(entry(regexStringMatcher, entry.getKey(), entry.getValue()));
+                }
+                entryList = Collections.unmodifiableList(entrySet);
+            } else {
+                entryList = Collections.emptyList();
             }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
         }
+        return entryList;
     }
 }
@@ -22,6 +22,7 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     private final Map<NottableString, List<NottableString>> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
     private final KeyMatchStyle keyMatchStyle;
+    private transient volatile List<ImmutableEntry> entryList;
 
     public NottableStringMultiMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, KeyMatchStyle keyMatchStyle, List<? extends KeyToMultiValue> entries) {
         this.keyMatchStyle = keyMatchStyle;
@@ -130,17 +131,20 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     }
 
     private List<ImmutableEntry> entryList() {
-        if (!isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
-            for (Map.Entry<NottableString, List<NottableString>> entry : backingMap.entrySet()) {
-                for (NottableString value : entry.getValue()) {
-                    entrySet.add(entry(regexStringMatcher, entry.getKey(), value));
+        if (entryList == null) {
+            if (!isEmpty()) {
+                List<ImmutableEntry> entrySet = new ArrayList<>();
+                for (Map.Entry<NottableString, List<NottableString>> entry : backingMap.entrySet()) {
+                    for (NottableString value : entry.getValue()) {
+                        entrySet.add(entry(regexStringMatcher, entry.getKey(), value));
+                    }
                 }
+                entryList = Collections.unmodifiableList(entrySet);
+            } else {
+                entryList = Collections.emptyList();
             }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
         }
+        return entryList;
     }
 }
 
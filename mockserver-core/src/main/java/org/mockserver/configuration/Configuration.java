@@ -36,6 +36,7 @@ public class Configuration {
     private Integer maxExpectations;
     private Integer maxLogEntries;
     private Integer maxWebSocketExpectations;
+    private Integer requestMatcherCacheSize;
     private Boolean outputMemoryUsageCsv;
     private String memoryUsageCsvDirectory;
 
@@ -46,17 +47,33 @@ public class Configuration {
     private Integer webSocketClientEventLoopThreadCount;
     private Long maxFutureTimeoutInMillis;
     private Boolean matchersFailFast;
+    private Long maxExpectationNotificationLatencyInMillis;
 
     // socket
     private Long maxSocketTimeoutInMillis;
     private Long socketConnectionTimeoutInMillis;
     private Boolean alwaysCloseSocketConnections;
     private String localBoundIP;
+    private Boolean nativeTransport;
+    private Integer reusePortAcceptorCount;
+    private Boolean tcpFastOpen;
+    private Boolean tcpQuickAck;
+    private Boolean forwardConnectionPoolEnabled;
+    private Integer forwardConnectionPoolMaxConnectionsPerRoute;
+    private Long forwardConnectionPoolIdleTimeoutInMillis;
+    private Boolean forwardRequestCoalescingEnabled;
+    private String forwardRequestCoalescingHeaders;
+    private Boolean forwardResponseCacheEnabled;
+    private Long forwardResponseCacheMaxSize;
+    private Long forwardResponseCacheMaxTimeToLiveInMillis;
+    private Long dnsCacheTimeToLiveInMillis;
+    private Map<String, String> dnsHostsOverride;
 
     // http request parsing
     private Integer maxInitialLineLength;
     private Integer maxHeaderSize;
     private Integer maxChunkSize;
+    private Integer maxInMemoryRequestBodySize;
     private Boolean useSemicolonAsQueryParameterSeparator;
 
     // CORS
@@ -72,6 +89,8 @@ public class Configuration {
     private String initializationClass;
     private String initializationJsonPath;
     private Boolean watchInitializationJson;
+    private String initializationSnapshotPath;
+    private String fileResponseBodyRootDirectory;
 
     // mock persistence
     private Boolean persistExpectations;
@@ -82,6 +101,8 @@ public class Configuration {
 
     // proxy
     private Boolean attemptToProxyIfNoMatchingExpectation;
+    private Boolean streamingProxyEnabled;
+    private Integer streamingProxyMaxCapturedBodySize;
     private InetSocketAddress forwardHttpProxy;
     private InetSocketAddress forwardHttpsProxy;
     private InetSocketAddress forwardSocksProxy;
@@ -324,6 +345,28 @@ public class Configuration {
         return this;
     }
 
+    public Integer requestMatcherCacheSize() {
+        if (requestMatcherCacheSize == null) {
+            return ConfigurationProperties.requestMatcherCacheSize();
+        }
+        return requestMatcherCacheSize;
+    }
+
+    /**
+     * <p>
+     * Maximum number of request matchers cached for clear, retrieve and verify requests, the least recently used request matchers are evicted once this limit is reached
+     * </p>
+     * <p>
+     * The default is 250
+     * </p>
+     *
+     * @param requestMatcherCacheSize maximum number of request matchers to cache
+     */
+    public Configuration requestMatcherCacheSize(Integer requestMatcherCacheSize) {
+        this.requestMatcherCacheSize = requestMatcherCacheSize;
+        return this;
+    }
+
     public Boolean outputMemoryUsageCsv() {
         if (outputMemoryUsageCsv == null) {
             return ConfigurationProperties.outputMemoryUsageCsv();
@@ -476,6 +519,26 @@ public class Configuration {
         return this;
     }
 
+    public Long maxExpectationNotificationLatencyInMillis() {
+        if (maxExpectationNotificationLatencyInMillis == null) {
+            return ConfigurationProperties.maxExpectationNotificationLatency();
+        }
+        return maxExpectationNotificationLatencyInMillis;
+    }
+
+    /**
+     * Maximum time in milliseconds that expectation changes are collected for before listeners, such as expectation persistence and the dashboard, are notified.
+     * Changes made during this time are notified together as a single set of added, updated and removed expectation ids, if 0 listeners are notified of every change.
+     * <p>
+     * Default is 100 ms
+     *
+     * @param maxExpectationNotificationLatencyInMillis maximum time in milliseconds to collect changes for
+     */
+    public Configuration maxExpectationNotificationLatencyInMillis(Long maxExpectationNotificationLatencyInMillis) {
+        this.maxExpectationNotificationLatencyInMillis = maxExpectationNotificationLatencyInMillis;
+        return this;
+    }
+
     public Long maxSocketTimeoutInMillis() {
         if (maxSocketTimeoutInMillis == null) {
             return ConfigurationProperties.maxSocketTimeout();
@@ -552,6 +615,277 @@ public class Configuration {
         return this;
     }
 
+    public Boolean nativeTransport() {
+        if (nativeTransport == null) {
+            return ConfigurationProperties.nativeTransport();
+        }
+        return nativeTransport;
+    }
+
+    /**
+     * <p>If true the native epoll transport is used for server, client and relay sockets when it is available (i.e. on Linux), otherwise the NIO transport is used</p>
+     * <p>
+     * Default is true
+     *
+     * @param nativeTransport true to use the native epoll transport when it is available
+     */
+    public Configuration nativeTransport(Boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+        return this;
+    }
+
+    public Integer reusePortAcceptorCount() {
+        if (reusePortAcceptorCount == null) {
+            return ConfigurationProperties.reusePortAcceptorCount();
+        }
+        return reusePortAcceptorCount;
+    }
+
+    /**
+     * <p>Number of server sockets bound to each port using SO_REUSEPORT, each accepting connections on its own event loop, so new connections are spread across multiple accepting threads by the kernel</p>
+     * <p>Only used with the native epoll transport, with the NIO transport each port is always bound once</p>
+     * <p>
+     * Default is 1
+     *
+     * @param reusePortAcceptorCount number of server sockets bound to each port
+     */
+    public Configuration reusePortAcceptorCount(Integer reusePortAcceptorCount) {
+        this.reusePortAcceptorCount = reusePortAcceptorCount;
+        return this;
+    }
+
+    public Boolean tcpFastOpen() {
+        if (tcpFastOpen == null) {
+            return ConfigurationProperties.tcpFastOpen();
+        }
+        return tcpFastOpen;
+    }
+
+    /**
+     * <p>If true TCP_FASTOPEN is enabled for server sockets and TCP_FASTOPEN_CONNECT for client sockets, so data can be sent in the SYN of repeat connections</p>
+     * <p>Only used with the native epoll transport</p>
+     * <p>
+     * Default is false
+     *
+     * @param tcpFastOpen true to enable TCP fast open
+     */
+    public Configuration tcpFastOpen(Boolean tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+        return this;
+    }
+
+    public Boolean tcpQuickAck() {
+        if (tcpQuickAck == null) {
+            return ConfigurationProperties.tcpQuickAck();
+        }
+        return tcpQuickAck;
+    }
+
+    /**
+     * <p>If true TCP_QUICKACK is enabled for accepted and client sockets, so acknowledgements are sent immediately instead of being delayed</p>
+     * <p>Only used with the native epoll transport</p>
+     * <p>
+     * Default is false
+     *
+     * @param tcpQuickAck true to enable TCP quick acknowledgements
+     */
+    public Configuration tcpQuickAck(Boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return this;
+    }
+
+    public Boolean forwardConnectionPoolEnabled() {
+        if (forwardConnectionPoolEnabled == null) {
+            return ConfigurationProperties.forwardConnectionPoolEnabled();
+        }
+        return forwardConnectionPoolEnabled;
+    }
+
+    /**
+     * <p>If true connections used to forward and proxy requests are kept alive and reused for later requests to the same host, port, scheme and proxy, instead of opening a new connection (and TLS session) for each request</p>
+     * <p>
+     * Default is false
+     *
+     * @param forwardConnectionPoolEnabled true to pool and reuse connections for forwarded and proxied requests
+     */
+    public Configuration forwardConnectionPoolEnabled(Boolean forwardConnectionPoolEnabled) {
+        this.forwardConnectionPoolEnabled = forwardConnectionPoolEnabled;
+        return this;
+    }
+
+    public Integer forwardConnectionPoolMaxConnectionsPerRoute() {
+        if (forwardConnectionPoolMaxConnectionsPerRoute == null) {
+            return ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute();
+        }
+        return forwardConnectionPoolMaxConnectionsPerRoute;
+    }
+
+    /**
+     * <p>Maximum number of pooled connections open at the same time to each host, port, scheme and proxy, further forwarded requests wait for a connection to be released, for up to the socket connection timeout</p>
+     * <p>
+     * Default is 20
+     *
+     * @param forwardConnectionPoolMaxConnectionsPerRoute maximum number of pooled connections for each route
+     */
+    public Configuration forwardConnectionPoolMaxConnectionsPerRoute(Integer forwardConnectionPoolMaxConnectionsPerRoute) {
+        this.forwardConnectionPoolMaxConnectionsPerRoute = forwardConnectionPoolMaxConnectionsPerRoute;
+        return this;
+    }
+
+    public Long forwardConnectionPoolIdleTimeoutInMillis() {
+        if (forwardConnectionPoolIdleTimeoutInMillis == null) {
+            return ConfigurationProperties.forwardConnectionPoolIdleTimeout();
+        }
+        return forwardConnectionPoolIdleTimeoutInMillis;
+    }
+
+    /**
+     * <p>Maximum time in milliseconds a pooled connection is kept open while it is not being used, after which it is closed and removed from the pool</p>
+     * <p>
+     * Default is 30000 ms
+     *
+     * @param forwardConnectionPoolIdleTimeoutInMillis maximum time a pooled connection is kept open while it is idle
+     */
+    public Configuration forwardConnectionPoolIdleTimeoutInMillis(Long forwardConnectionPoolIdleTimeoutInMillis) {
+        this.forwardConnectionPoolIdleTimeoutInMillis = forwardConnectionPoolIdleTimeoutInMillis;
+        return this;
+    }
+
+    public Boolean forwardRequestCoalescingEnabled() {
+        if (forwardRequestCoalescingEnabled == null) {
+            return ConfigurationProperties.forwardRequestCoalescingEnabled();
+        }
+        return forwardRequestCoalescingEnabled;
+    }
+
+    /**
+     * <p>If true concurrent identical forwarded and proxied requests with a safe method (GET, HEAD or OPTIONS) share a single upstream request and each receive a copy of its response</p>
+     * <p>Requests are identical if they have the same method, scheme, host, path, query string parameters, body and values for the headers in forwardRequestCoalescingHeaders</p>
+     * <p>
+     * Default is false
+     *
+     * @param forwardRequestCoalescingEnabled true to coalesce concurrent identical forwarded requests into a single upstream request
+     */
+    public Configuration forwardRequestCoalescingEnabled(Boolean forwardRequestCoalescingEnabled) {
+        this.forwardRequestCoalescingEnabled = forwardRequestCoalescingEnabled;
+        return this;
+    }
+
+    public String forwardRequestCoalescingHeaders() {
+        if (forwardRequestCoalescingHeaders == null) {
+            return ConfigurationProperties.forwardRequestCoalescingHeaders();
+        }
+        return forwardRequestCoalescingHeaders;
+    }
+
+    /**
+     * <p>Comma separated list of headers that must have the same values for concurrent forwarded requests to be coalesced into a single upstream request, any other headers are ignored</p>
+     * <p>The default is "Accept, Accept-Encoding, Accept-Language, Authorization, Cookie"</p>
+     *
+     * @param forwardRequestCoalescingHeaders comma separated list of headers that must match for forwarded requests to be coalesced
+     */
+    public Configuration forwardRequestCoalescingHeaders(String forwardRequestCoalescingHeaders) {
+        this.forwardRequestCoalescingHeaders = forwardRequestCoalescingHeaders;
+        return this;
+    }
+
+    public Boolean forwardResponseCacheEnabled() {
+        if (forwardResponseCacheEnabled == null) {
+            return ConfigurationProperties.forwardResponseCacheEnabled();
+        }
+        return forwardResponseCacheEnabled;
+    }
+
+    /**
+     * <p>If true responses to forwarded and proxied GET requests are cached in memory following the HTTP caching rules for a shared cache, honouring Cache-Control, Expires and Vary, and stale responses are revalidated using ETag or Last-Modified</p>
+     * <p>Cache hits, misses and revalidations are logged as RESPONSE_CACHE_HIT, RESPONSE_CACHE_MISS and RESPONSE_CACHE_REVALIDATED</p>
+     * <p>
+     * Default is false
+     *
+     * @param forwardResponseCacheEnabled true to cache responses to forwarded and proxied requests
+     */
+    public Configuration forwardResponseCacheEnabled(Boolean forwardResponseCacheEnabled) {
+        this.forwardResponseCacheEnabled = forwardResponseCacheEnabled;
+        return this;
+    }
+
+    public Long forwardResponseCacheMaxSize() {
+        if (forwardResponseCacheMaxSize == null) {
+            return ConfigurationProperties.forwardResponseCacheMaxSize();
+        }
+        return forwardResponseCacheMaxSize;
+    }
+
+    /**
+     * <p>Maximum total size in bytes of the cached responses, when exceeded the least recently used responses are removed from the cache</p>
+     * <p>
+     * Default is 67108864 bytes (64MB)
+     *
+     * @param forwardResponseCacheMaxSize maximum total size of the cached responses
+     */
+    public Configuration forwardResponseCacheMaxSize(Long forwardResponseCacheMaxSize) {
+        this.forwardResponseCacheMaxSize = forwardResponseCacheMaxSize;
+        return this;
+    }
+
+    public Long forwardResponseCacheMaxTimeToLiveInMillis() {
+        if (forwardResponseCacheMaxTimeToLiveInMillis == null) {
+            return ConfigurationProperties.forwardResponseCacheMaxTimeToLive();
+        }
+        return forwardResponseCacheMaxTimeToLiveInMillis;
+    }
+
+    /**
+     * <p>Maximum time in milliseconds a response is kept in the cache, regardless of its freshness lifetime, after which it is removed and the request is sent again</p>
+     * <p>
+     * Default is 600000 ms
+     *
+     * @param forwardResponseCacheMaxTimeToLiveInMillis maximum time a response is kept in the cache
+     */
+    public Configuration forwardResponseCacheMaxTimeToLiveInMillis(Long forwardResponseCacheMaxTimeToLiveInMillis) {
+        this.forwardResponseCacheMaxTimeToLiveInMillis = forwardResponseCacheMaxTimeToLiveInMillis;
+        return this;
+    }
+
+    public Long dnsCacheTimeToLiveInMillis() {
+        if (dnsCacheTimeToLiveInMillis == null) {
+            return ConfigurationProperties.dnsCacheTimeToLive();
+        }
+        return dnsCacheTimeToLiveInMillis;
+    }
+
+    /**
+     * <p>Time in milliseconds the addresses of a host name resolved for an outbound connection are cached, host names are resolved without blocking the event loop and concurrent lookups of the same host share a single lookup</p>
+     * <p>A value of 0 disables caching of resolved addresses</p>
+     * <p>
+     * Default is 30000 ms
+     *
+     * @param dnsCacheTimeToLiveInMillis time resolved addresses are cached
+     */
+    public Configuration dnsCacheTimeToLiveInMillis(Long dnsCacheTimeToLiveInMillis) {
+        this.dnsCacheTimeToLiveInMillis = dnsCacheTimeToLiveInMillis;
+        return this;
+    }
+
+    public Map<String, String> dnsHostsOverride() {
+        if (dnsHostsOverride == null) {
+            return ConfigurationProperties.dnsHostsOverride();
+        }
+        return dnsHostsOverride;
+    }
+
+    /**
+     * <p>Host names resolved to a fixed IP address for outbound connections, instead of using DNS, for example to run tests without DNS</p>
+     * <p>
+     * Default is no hosts override
+     *
+     * @param dnsHostsOverride map of host name to IP address
+     */
+    public Configuration dnsHostsOverride(Map<String, String> dnsHostsOverride) {
+        this.dnsHostsOverride = dnsHostsOverride;
+        return this;
+    }
+
     public Integer maxInitialLineLength() {
         if (maxInitialLineLength == null) {
             return ConfigurationProperties.maxInitialLineLength();
@@ -609,6 +943,28 @@ public class Configuration {
         return this;
     }
 
+    public Integer maxInMemoryRequestBodySize() {
+        if (maxInMemoryRequestBodySize == null) {
+            return ConfigurationProperties.maxInMemoryRequestBodySize();
+        }
+        return maxInMemoryRequestBodySize;
+    }
+
+    /**
+     * Maximum size in bytes of a request body held in memory, larger request bodies are streamed to a temporary file
+     * that is memory mapped and only read when a body matcher, or anything else, needs the body's content
+     * <p>
+     * Request bodies larger than this keep the body type of their Content-Type (i.e. json, xml, string or binary) and are only decoded, using the Content-Type charset, when first read
+     * <p>
+     * The default is Integer.MAX_VALUE (i.e. request bodies are always held in memory)
+     *
+     * @param maxInMemoryRequestBodySize maximum size in bytes of a request body held in memory
+     */
+    public Configuration maxInMemoryRequestBodySize(Integer maxInMemoryRequestBodySize) {
+        this.maxInMemoryRequestBodySize = maxInMemoryRequestBodySize;
+        return this;
+    }
+
     public Boolean useSemicolonAsQueryParameterSeparator() {
         if (useSemicolonAsQueryParameterSeparator == null) {
             return ConfigurationProperties.useSemicolonAsQueryParameterSeparator();
@@ -817,6 +1173,46 @@ public class Configuration {
         return this;
     }
 
+    public String initializationSnapshotPath() {
+        if (initializationSnapshotPath == null) {
+            return ConfigurationProperties.initializationSnapshotPath();
+        }
+        return initializationSnapshotPath;
+    }
+
+    /**
+     * <p>The path to a binary snapshot of the expectations loaded from the initialization json files, if set MockServer loads the expectations from this snapshot at startup, without validating and parsing the json files, as long as the json files are unchanged since the snapshot was written.</p>
+     * <p>If the snapshot is missing or any json file has changed the json files are loaded as normal and the snapshot is re-written.</p>
+     *
+     * <p>The default is null</p>
+     *
+     * @param initializationSnapshotPath path to the binary snapshot of the expectations loaded from the initialization json files
+     */
+    public Configuration initializationSnapshotPath(String initializationSnapshotPath) {
+        this.initializationSnapshotPath = initializationSnapshotPath;
+        return this;
+    }
+
+    public String fileResponseBodyRootDirectory() {
+        if (fileResponseBodyRootDirectory == null) {
+            return ConfigurationProperties.fileResponseBodyRootDirectory();
+        }
+        return fileResponseBodyRootDirectory;
+    }
+
+    /**
+     * <p>The directory containing the files returned by file response bodies, relative file paths are resolved against this directory and responses with a file outside this directory (i.e. using "..", an absolute path or a symbolic link) are rejected and a 404 returned instead.</p>
+     * <p>File response bodies are disabled unless this directory is set, so an expectation can't return arbitrary files, and responses with a file body are rejected and a 404 returned instead.</p>
+     *
+     * <p>The default is null (i.e. file response bodies are disabled)</p>
+     *
+     * @param fileResponseBodyRootDirectory directory containing the files returned by file response bodies
+     */
+    public Configuration fileResponseBodyRootDirectory(String fileResponseBodyRootDirectory) {
+        this.fileResponseBodyRootDirectory = fileResponseBodyRootDirectory;
+        return this;
+    }
+
     public Boolean persistExpectations() {
         if (persistExpectations == null) {
             return ConfigurationProperties.persistExpectations();
@@ -890,6 +1286,46 @@ public class Configuration {
         return this;
     }
 
+    public Boolean streamingProxyEnabled() {
+        if (streamingProxyEnabled == null) {
+            return ConfigurationProperties.streamingProxyEnabled();
+        }
+        return streamingProxyEnabled;
+    }
+
+    /**
+     * <p>If true proxied requests that don't match an expectation are streamed to the remote server, and the response streamed back, without aggregating the request or response body in memory, so large uploads and downloads can be proxied with a small heap</p>
+     * <p>Requests are only streamed when no expectation matches the request line and headers, and when they have a body only when no active expectation matches on the body, other requests are handled as normal</p>
+     * <p>
+     * Default is false
+     *
+     * @param streamingProxyEnabled true to stream proxied requests that don't match an expectation
+     */
+    public Configuration streamingProxyEnabled(Boolean streamingProxyEnabled) {
+        this.streamingProxyEnabled = streamingProxyEnabled;
+        return this;
+    }
+
+    public Integer streamingProxyMaxCapturedBodySize() {
+        if (streamingProxyMaxCapturedBodySize == null) {
+            return ConfigurationProperties.streamingProxyMaxCapturedBodySize();
+        }
+        return streamingProxyMaxCapturedBodySize;
+    }
+
+    /**
+     * <p>Maximum number of bytes of a streamed request or response body captured for the log, the rest of the body is streamed without being captured</p>
+     * <p>A value of 0 disables capturing of streamed bodies</p>
+     * <p>
+     * Default is 65536 bytes (64KB)
+     *
+     * @param streamingProxyMaxCapturedBodySize maximum number of bytes of a streamed body captured for the log
+     */
+    public Configuration streamingProxyMaxCapturedBodySize(Integer streamingProxyMaxCapturedBodySize) {
+        this.streamingProxyMaxCapturedBodySize = streamingProxyMaxCapturedBodySize;
+        return this;
+    }
+
     public InetSocketAddress forwardHttpProxy() {
         if (forwardHttpProxy == null) {
             return ConfigurationProperties.forwardHttpProxy();
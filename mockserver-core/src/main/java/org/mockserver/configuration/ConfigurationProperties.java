@@ -54,6 +54,7 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
+    private static final String MOCKSERVER_REQUEST_MATCHER_CACHE_SIZE = "mockserver.requestMatcherCacheSize";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
     private static final String MOCKSERVER_MEMORY_USAGE_CSV_DIRECTORY = "mockserver.memoryUsageCsvDirectory";
 
@@ -64,17 +65,33 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_WEB_SOCKET_CLIENT_EVENT_LOOP_THREAD_COUNT = "mockserver.webSocketClientEventLoopThreadCount";
     private static final String MOCKSERVER_MAX_FUTURE_TIMEOUT = "mockserver.maxFutureTimeout";
     private static final String MOCKSERVER_MATCHERS_FAIL_FAST = "mockserver.matchersFailFast";
+    private static final String MOCKSERVER_MAX_EXPECTATION_NOTIFICATION_LATENCY = "mockserver.maxExpectationNotificationLatency";
 
     // socket
     private static final String MOCKSERVER_MAX_SOCKET_TIMEOUT = "mockserver.maxSocketTimeout";
     private static final String MOCKSERVER_SOCKET_CONNECTION_TIMEOUT = "mockserver.socketConnectionTimeout";
     private static final String MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "mockserver.alwaysCloseSocketConnections";
     private static final String MOCKSERVER_LOCAL_BOUND_IP = "mockserver.localBoundIP";
+    private static final String MOCKSERVER_NATIVE_TRANSPORT = "mockserver.nativeTransport";
+    private static final String MOCKSERVER_REUSE_PORT_ACCEPTOR_COUNT = "mockserver.reusePortAcceptorCount";
+    private static final String MOCKSERVER_TCP_FAST_OPEN = "mockserver.tcpFastOpen";
+    private static final String MOCKSERVER_TCP_QUICK_ACK = "mockserver.tcpQuickAck";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED = "mockserver.forwardConnectionPoolEnabled";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_ROUTE = "mockserver.forwardConnectionPoolMaxConnectionsPerRoute";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT = "mockserver.forwardConnectionPoolIdleTimeout";
+    private static final String MOCKSERVER_FORWARD_REQUEST_COALESCING_ENABLED = "mockserver.forwardRequestCoalescingEnabled";
+    private static final String MOCKSERVER_FORWARD_REQUEST_COALESCING_HEADERS = "mockserver.forwardRequestCoalescingHeaders";
+    private static final String MOCKSERVER_FORWARD_RESPONSE_CACHE_ENABLED = "mockserver.forwardResponseCacheEnabled";
+    private static final String MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_SIZE = "mockserver.forwardResponseCacheMaxSize";
+    private static final String MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_TIME_TO_LIVE = "mockserver.forwardResponseCacheMaxTimeToLive";
+    private static final String MOCKSERVER_DNS_CACHE_TIME_TO_LIVE = "mockserver.dnsCacheTimeToLive";
+    private static final String MOCKSERVER_DNS_HOSTS_OVERRIDE = "mockserver.dnsHostsOverride";
 
     // http request parsing
     private static final String MOCKSERVER_MAX_INITIAL_LINE_LENGTH = "mockserver.maxInitialLineLength";
     private static final String MOCKSERVER_MAX_HEADER_SIZE = "mockserver.maxHeaderSize";
     private static final String MOCKSERVER_MAX_CHUNK_SIZE = "mockserver.maxChunkSize";
+    private static final String MOCKSERVER_MAX_IN_MEMORY_REQUEST_BODY_SIZE = "mockserver.maxInMemoryRequestBodySize";
     private static final String MOCKSERVER_USE_SEMICOLON_AS_QUERY_PARAMETER_SEPARATOR = "mockserver.useSemicolonAsQueryParameterSeparator";
 
     // CORS
@@ -90,6 +107,8 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_INITIALIZATION_CLASS = "mockserver.initializationClass";
     private static final String MOCKSERVER_INITIALIZATION_JSON_PATH = "mockserver.initializationJsonPath";
     private static final String MOCKSERVER_WATCH_INITIALIZATION_JSON = "mockserver.watchInitializationJson";
+    private static final String MOCKSERVER_INITIALIZATION_SNAPSHOT_PATH = "mockserver.initializationSnapshotPath";
+    private static final String MOCKSERVER_FILE_RESPONSE_BODY_ROOT_DIRECTORY = "mockserver.fileResponseBodyRootDirectory";
 
     // mock persistence
     private static final String MOCKSERVER_PERSIST_EXPECTATIONS = "mockserver.persistExpectations";
@@ -100,6 +119,8 @@ public class ConfigurationProperties {
 
     // proxy
     private static final String MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION = "mockserver.attemptToProxyIfNoMatchingExpectation";
+    private static final String MOCKSERVER_STREAMING_PROXY_ENABLED = "mockserver.streamingProxyEnabled";
+    private static final String MOCKSERVER_STREAMING_PROXY_MAX_CAPTURED_BODY_SIZE = "mockserver.streamingProxyMaxCapturedBodySize";
     private static final String MOCKSERVER_FORWARD_HTTP_PROXY = "mockserver.forwardHttpProxy";
     private static final String MOCKSERVER_FORWARD_HTTPS_PROXY = "mockserver.forwardHttpsProxy";
     private static final String MOCKSERVER_FORWARD_SOCKS_PROXY = "mockserver.forwardSocksProxy";
@@ -400,6 +421,24 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS, "" + count);
     }
 
+    public static int requestMatcherCacheSize() {
+        return readIntegerProperty(MOCKSERVER_REQUEST_MATCHER_CACHE_SIZE, "MOCKSERVER_REQUEST_MATCHER_CACHE_SIZE", 250);
+    }
+
+    /**
+     * <p>
+     * Maximum number of request matchers cached for clear, retrieve and verify requests, the least recently used request matchers are evicted once this limit is reached
+     * </p>
+     * <p>
+     * The default is 250
+     * </p>
+     *
+     * @param count maximum number of request matchers to cache
+     */
+    public static void requestMatcherCacheSize(int count) {
+        setProperty(MOCKSERVER_REQUEST_MATCHER_CACHE_SIZE, "" + count);
+    }
+
     public static boolean outputMemoryUsageCsv() {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV, "MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV", "false"));
     }
@@ -523,6 +562,22 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MATCHERS_FAIL_FAST, "" + enable);
     }
 
+    public static long maxExpectationNotificationLatency() {
+        return readLongProperty(MOCKSERVER_MAX_EXPECTATION_NOTIFICATION_LATENCY, "MOCKSERVER_MAX_EXPECTATION_NOTIFICATION_LATENCY", 100L);
+    }
+
+    /**
+     * Maximum time in milliseconds that expectation changes are collected for before listeners, such as expectation persistence and the dashboard, are notified.
+     * Changes made during this time are notified together as a single set of added, updated and removed expectation ids, if 0 listeners are notified of every change.
+     * <p>
+     * Default is 100 ms
+     *
+     * @param milliseconds maximum time in milliseconds to collect changes for
+     */
+    public static void maxExpectationNotificationLatency(long milliseconds) {
+        setProperty(MOCKSERVER_MAX_EXPECTATION_NOTIFICATION_LATENCY, "" + milliseconds);
+    }
+
     // socket
 
     public static long maxSocketTimeout() {
@@ -587,6 +642,221 @@ public class ConfigurationProperties {
         }
     }
 
+    public static boolean nativeTransport() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_NATIVE_TRANSPORT, "MOCKSERVER_NATIVE_TRANSPORT", "true"));
+    }
+
+    /**
+     * <p>If true the native epoll transport is used for server, client and relay sockets when it is available (i.e. on Linux), otherwise the NIO transport is used</p>
+     * <p>
+     * Default is true
+     *
+     * @param enable true to use the native epoll transport when it is available
+     */
+    public static void nativeTransport(boolean enable) {
+        setProperty(MOCKSERVER_NATIVE_TRANSPORT, "" + enable);
+    }
+
+    public static int reusePortAcceptorCount() {
+        return readIntegerProperty(MOCKSERVER_REUSE_PORT_ACCEPTOR_COUNT, "MOCKSERVER_REUSE_PORT_ACCEPTOR_COUNT", 1);
+    }
+
+    /**
+     * <p>Number of server sockets bound to each port using SO_REUSEPORT, each accepting connections on its own event loop, so new connections are spread across multiple accepting threads by the kernel</p>
+     * <p>Only used with the native epoll transport, with the NIO transport each port is always bound once</p>
+     * <p>
+     * Default is 1
+     *
+     * @param count number of server sockets bound to each port
+     */
+    public static void reusePortAcceptorCount(int count) {
+        setProperty(MOCKSERVER_REUSE_PORT_ACCEPTOR_COUNT, "" + count);
+    }
+
+    public static boolean tcpFastOpen() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_TCP_FAST_OPEN, "MOCKSERVER_TCP_FAST_OPEN", "false"));
+    }
+
+    /**
+     * <p>If true TCP_FASTOPEN is enabled for server sockets and TCP_FASTOPEN_CONNECT for client sockets, so data can be sent in the SYN of repeat connections</p>
+     * <p>Only used with the native epoll transport</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to enable TCP fast open
+     */
+    public static void tcpFastOpen(boolean enable) {
+        setProperty(MOCKSERVER_TCP_FAST_OPEN, "" + enable);
+    }
+
+    public static boolean tcpQuickAck() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_TCP_QUICK_ACK, "MOCKSERVER_TCP_QUICK_ACK", "false"));
+    }
+
+    /**
+     * <p>If true TCP_QUICKACK is enabled for accepted and client sockets, so acknowledgements are sent immediately instead of being delayed</p>
+     * <p>Only used with the native epoll transport</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to enable TCP quick acknowledgements
+     */
+    public static void tcpQuickAck(boolean enable) {
+        setProperty(MOCKSERVER_TCP_QUICK_ACK, "" + enable);
+    }
+
+    public static boolean forwardConnectionPoolEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED, "MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED", "false"));
+    }
+
+    /**
+     * <p>If true connections used to forward and proxy requests are kept alive and reused for later requests to the same host, port, scheme and proxy, instead of opening a new connection (and TLS session) for each request</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to pool and reuse connections for forwarded and proxied requests
+     */
+    public static void forwardConnectionPoolEnabled(boolean enable) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED, "" + enable);
+    }
+
+    public static int forwardConnectionPoolMaxConnectionsPerRoute() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_ROUTE, "MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_ROUTE", 20);
+    }
+
+    /**
+     * <p>Maximum number of pooled connections open at the same time to each host, port, scheme and proxy, further forwarded requests wait for a connection to be released, for up to the socket connection timeout</p>
+     * <p>
+     * Default is 20
+     *
+     * @param count maximum number of pooled connections for each route
+     */
+    public static void forwardConnectionPoolMaxConnectionsPerRoute(int count) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_ROUTE, "" + count);
+    }
+
+    public static long forwardConnectionPoolIdleTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT", TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * <p>Maximum time in milliseconds a pooled connection is kept open while it is not being used, after which it is closed and removed from the pool</p>
+     * <p>
+     * Default is 30000 ms
+     *
+     * @param milliseconds maximum time a pooled connection is kept open while it is idle
+     */
+    public static void forwardConnectionPoolIdleTimeout(long milliseconds) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "" + milliseconds);
+    }
+
+    public static boolean forwardRequestCoalescingEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_REQUEST_COALESCING_ENABLED, "MOCKSERVER_FORWARD_REQUEST_COALESCING_ENABLED", "false"));
+    }
+
+    /**
+     * <p>If true concurrent identical forwarded and proxied requests with a safe method (GET, HEAD or OPTIONS) share a single upstream request and each receive a copy of its response</p>
+     * <p>Requests are identical if they have the same method, scheme, host, path, query string parameters, body and values for the headers in forwardRequestCoalescingHeaders</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to coalesce concurrent identical forwarded requests into a single upstream request
+     */
+    public static void forwardRequestCoalescingEnabled(boolean enable) {
+        setProperty(MOCKSERVER_FORWARD_REQUEST_COALESCING_ENABLED, "" + enable);
+    }
+
+    public static String forwardRequestCoalescingHeaders() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_REQUEST_COALESCING_HEADERS, "MOCKSERVER_FORWARD_REQUEST_COALESCING_HEADERS", "Accept, Accept-Encoding, Accept-Language, Authorization, Cookie");
+    }
+
+    /**
+     * <p>Comma separated list of headers that must have the same values for concurrent forwarded requests to be coalesced into a single upstream request, any other headers are ignored</p>
+     * <p>The default is "Accept, Accept-Encoding, Accept-Language, Authorization, Cookie"</p>
+     *
+     * @param forwardRequestCoalescingHeaders comma separated list of headers that must match for forwarded requests to be coalesced
+     */
+    public static void forwardRequestCoalescingHeaders(String forwardRequestCoalescingHeaders) {
+        setProperty(MOCKSERVER_FORWARD_REQUEST_COALESCING_HEADERS, forwardRequestCoalescingHeaders);
+    }
+
+    public static boolean forwardResponseCacheEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_RESPONSE_CACHE_ENABLED, "MOCKSERVER_FORWARD_RESPONSE_CACHE_ENABLED", "false"));
+    }
+
+    /**
+     * <p>If true responses to forwarded and proxied GET requests are cached in memory following the HTTP caching rules for a shared cache, honouring Cache-Control, Expires and Vary, and stale responses are revalidated using ETag or Last-Modified</p>
+     * <p>Cache hits, misses and revalidations are logged as RESPONSE_CACHE_HIT, RESPONSE_CACHE_MISS and RESPONSE_CACHE_REVALIDATED</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to cache responses to forwarded and proxied requests
+     */
+    public static void forwardResponseCacheEnabled(boolean enable) {
+        setProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_ENABLED, "" + enable);
+    }
+
+    public static long forwardResponseCacheMaxSize() {
+        return readLongProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_SIZE, "MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_SIZE", 64L * 1024 * 1024);
+    }
+
+    /**
+     * <p>Maximum total size in bytes of the cached responses, when exceeded the least recently used responses are removed from the cache</p>
+     * <p>
+     * Default is 67108864 bytes (64MB)
+     *
+     * @param bytes maximum total size of the cached responses
+     */
+    public static void forwardResponseCacheMaxSize(long bytes) {
+        setProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_SIZE, "" + bytes);
+    }
+
+    public static long forwardResponseCacheMaxTimeToLive() {
+        return readLongProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_TIME_TO_LIVE, "MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_TIME_TO_LIVE", TimeUnit.MINUTES.toMillis(10));
+    }
+
+    /**
+     * <p>Maximum time in milliseconds a response is kept in the cache, regardless of its freshness lifetime, after which it is removed and the request is sent again</p>
+     * <p>
+     * Default is 600000 ms
+     *
+     * @param milliseconds maximum time a response is kept in the cache
+     */
+    public static void forwardResponseCacheMaxTimeToLive(long milliseconds) {
+        setProperty(MOCKSERVER_FORWARD_RESPONSE_CACHE_MAX_TIME_TO_LIVE, "" + milliseconds);
+    }
+
+    public static long dnsCacheTimeToLive() {
+        return readLongProperty(MOCKSERVER_DNS_CACHE_TIME_TO_LIVE, "MOCKSERVER_DNS_CACHE_TIME_TO_LIVE", TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * <p>Time in milliseconds the addresses of a host name resolved for an outbound connection are cached, host names are resolved without blocking the event loop and concurrent lookups of the same host share a single lookup</p>
+     * <p>A value of 0 disables caching of resolved addresses</p>
+     * <p>
+     * Default is 30000 ms
+     *
+     * @param milliseconds time resolved addresses are cached
+     */
+    public static void dnsCacheTimeToLive(long milliseconds) {
+        setProperty(MOCKSERVER_DNS_CACHE_TIME_TO_LIVE, "" + milliseconds);
+    }
+
+    public static Map<String, String> dnsHostsOverride() {
+        return Splitter.on(',').trimResults().omitEmptyStrings().withKeyValueSeparator(Splitter.on('=').trimResults()).split(readPropertyHierarchically(PROPERTIES, MOCKSERVER_DNS_HOSTS_OVERRIDE, "MOCKSERVER_DNS_HOSTS_OVERRIDE", ""));
+    }
+
+    /**
+     * <p>Host names resolved to a fixed IP address for outbound connections, instead of using DNS, as a comma separated list of host=ip, for example "api.example.com=127.0.0.1,db.example.com=::1"</p>
+     * <p>
+     * Default is no hosts override
+     *
+     * @param dnsHostsOverride map of host name to IP address
+     */
+    public static void dnsHostsOverride(Map<String, String> dnsHostsOverride) {
+        setProperty(MOCKSERVER_DNS_HOSTS_OVERRIDE, Joiner.on(',').withKeyValueSeparator("=").join(dnsHostsOverride));
+    }
+
     // http request parsing
 
     public static int maxInitialLineLength() {
@@ -634,6 +904,24 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_CHUNK_SIZE, "" + size);
     }
 
+    public static int maxInMemoryRequestBodySize() {
+        return readIntegerProperty(MOCKSERVER_MAX_IN_MEMORY_REQUEST_BODY_SIZE, "MOCKSERVER_MAX_IN_MEMORY_REQUEST_BODY_SIZE", Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maximum size in bytes of a request body held in memory, larger request bodies are streamed to a temporary file
+     * that is memory mapped and only read when a body matcher, or anything else, needs the body's content
+     * <p>
+     * Request bodies larger than this keep the body type of their Content-Type (i.e. json, xml, string or binary) and are only decoded, using the Content-Type charset, when first read
+     * <p>
+     * The default is Integer.MAX_VALUE (i.e. request bodies are always held in memory)
+     *
+     * @param size maximum size in bytes of a request body held in memory
+     */
+    public static void maxInMemoryRequestBodySize(int size) {
+        setProperty(MOCKSERVER_MAX_IN_MEMORY_REQUEST_BODY_SIZE, "" + size);
+    }
+
     /**
      * If true semicolons are treated as a separator for a query parameter string, if false the semicolon is treated as a normal character that is part of a query parameter value.
      * <p>
@@ -802,6 +1090,38 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_WATCH_INITIALIZATION_JSON, "" + enable);
     }
 
+    public static String initializationSnapshotPath() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_INITIALIZATION_SNAPSHOT_PATH, "MOCKSERVER_INITIALIZATION_SNAPSHOT_PATH", "");
+    }
+
+    /**
+     * <p>The path to a binary snapshot of the expectations loaded from the initialization json files, if set MockServer loads the expectations from this snapshot at startup, without validating and parsing the json files, as long as the json files are unchanged since the snapshot was written.</p>
+     * <p>If the snapshot is missing or any json file has changed the json files are loaded as normal and the snapshot is re-written.</p>
+     *
+     * <p>The default is null</p>
+     *
+     * @param initializationSnapshotPath path to the binary snapshot of the expectations loaded from the initialization json files
+     */
+    public static void initializationSnapshotPath(String initializationSnapshotPath) {
+        setProperty(MOCKSERVER_INITIALIZATION_SNAPSHOT_PATH, initializationSnapshotPath);
+    }
+
+    public static String fileResponseBodyRootDirectory() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_FILE_RESPONSE_BODY_ROOT_DIRECTORY, "MOCKSERVER_FILE_RESPONSE_BODY_ROOT_DIRECTORY", "");
+    }
+
+    /**
+     * <p>The directory containing the files returned by file response bodies, relative file paths are resolved against this directory and responses with a file outside this directory (i.e. using "..", an absolute path or a symbolic link) are rejected and a 404 returned instead.</p>
+     * <p>File response bodies are disabled unless this directory is set, so an expectation can't return arbitrary files, and responses with a file body are rejected and a 404 returned instead.</p>
+     *
+     * <p>The default is null (i.e. file response bodies are disabled)</p>
+     *
+     * @param fileResponseBodyRootDirectory directory containing the files returned by file response bodies
+     */
+    public static void fileResponseBodyRootDirectory(String fileResponseBodyRootDirectory) {
+        setProperty(MOCKSERVER_FILE_RESPONSE_BODY_ROOT_DIRECTORY, fileResponseBodyRootDirectory);
+    }
+
     // mock persistence
 
     public static boolean persistExpectations() {
@@ -865,6 +1185,38 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_ATTEMPT_TO_PROXY_IF_NO_MATCHING_EXPECTATION, "" + enable);
     }
 
+    public static boolean streamingProxyEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_STREAMING_PROXY_ENABLED, "MOCKSERVER_STREAMING_PROXY_ENABLED", "" + false));
+    }
+
+    /**
+     * <p>If true proxied requests that don't match an expectation are streamed to the remote server, and the response streamed back, without aggregating the request or response body in memory, so large uploads and downloads can be proxied with a small heap</p>
+     * <p>Requests are only streamed when no expectation matches the request line and headers, and when they have a body only when no active expectation matches on the body, other requests are handled as normal</p>
+     * <p>
+     * Default is false
+     *
+     * @param enable true to stream proxied requests that don't match an expectation
+     */
+    public static void streamingProxyEnabled(boolean enable) {
+        setProperty(MOCKSERVER_STREAMING_PROXY_ENABLED, "" + enable);
+    }
+
+    public static int streamingProxyMaxCapturedBodySize() {
+        return readIntegerProperty(MOCKSERVER_STREAMING_PROXY_MAX_CAPTURED_BODY_SIZE, "MOCKSERVER_STREAMING_PROXY_MAX_CAPTURED_BODY_SIZE", 64 * 1024);
+    }
+
+    /**
+     * <p>Maximum number of bytes of a streamed request or response body captured for the log, the rest of the body is streamed without being captured</p>
+     * <p>A value of 0 disables capturing of streamed bodies</p>
+     * <p>
+     * Default is 65536 bytes (64KB)
+     *
+     * @param size maximum number of bytes of a streamed body captured for the log
+     */
+    public static void streamingProxyMaxCapturedBodySize(int size) {
+        setProperty(MOCKSERVER_STREAMING_PROXY_MAX_CAPTURED_BODY_SIZE, "" + size);
+    }
+
     public static InetSocketAddress forwardHttpProxy() {
         return readInetSocketAddressProperty(MOCKSERVER_FORWARD_HTTP_PROXY, "MOCKSERVER_FORWARD_HTTP_PROXY");
     }
@@ -0,0 +1,295 @@
+package org.mockserver.httpclient;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
+import org.slf4j.event.Level;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the host names of client connections without blocking the event loop, lookups run on a separate thread
+ * pool, concurrent lookups of the same host share a single lookup and resolved addresses are cached for the DNS cache
+ * time to live
+ * <p>
+ * Host names in the hosts override are resolved to the configured IP address without a lookup, so tests can run
+ * without DNS, and IP address literals are never looked up.
+ * <p>
+ * Clients sharing an event loop group and the same DNS configuration share a single instance, see
+ * {@link #forEventLoopGroup}, which is closed, and its lookup threads stopped, when the event loop group terminates.
+ *
+ * @author jamesdbloom
+ */
+public class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    private static final int LOOKUP_THREAD_COUNT = 8;
+    private static final Map<EventLoopGroup, Map<ResolverSettings, CachingAddressResolverGroup>> SHARED_RESOLVER_GROUPS = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ExecutorService lookupExecutor = lookupExecutor();
+    private final MockServerLogger mockServerLogger;
+    private final long timeToLiveInMillis;
+    private final Map<String, InetAddress[]> hostsOverride;
+    private final ConcurrentMap<String, CachedLookup> cachedLookups = new ConcurrentHashMap<>();
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder failedLookupCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder hostsOverrideCount = new LongAdder();
+    private final LongAdder totalLookupNanos = new LongAdder();
+    private final AtomicLong maxLookupNanos = new AtomicLong();
+
+    private static ExecutorService lookupExecutor() {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+            LOOKUP_THREAD_COUNT,
+            LOOKUP_THREAD_COUNT,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new Scheduler.SchedulerThreadFactory("DnsResolver")
+        );
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    /**
+     * Returns the resolver group shared by all clients using the event loop group with the same DNS cache time to live
+     * and hosts override, creating it on first use; the resolver groups are closed when the event loop group terminates
+     */
+    public static CachingAddressResolverGroup forEventLoopGroup(EventLoopGroup eventLoopGroup, Configuration configuration, MockServerLogger mockServerLogger) {
+        if (eventLoopGroup == null) {
+            return new CachingAddressResolverGroup(configuration, mockServerLogger);
+        }
+        synchronized (SHARED_RESOLVER_GROUPS) {
+            Map<ResolverSettings, CachingAddressResolverGroup> addressResolverGroups = SHARED_RESOLVER_GROUPS.get(eventLoopGroup);
+            if (addressResolverGroups == null) {
+                Map<ResolverSettings, CachingAddressResolverGroup> newAddressResolverGroups = new HashMap<>();
+                SHARED_RESOLVER_GROUPS.put(eventLoopGroup, newAddressResolverGroups);
+                eventLoopGroup.terminationFuture().addListener(future -> {
+                    List<CachingAddressResolverGroup> terminatedAddressResolverGroups;
+                    synchronized (SHARED_RESOLVER_GROUPS) {
+                        SHARED_RESOLVER_GROUPS.remove(eventLoopGroup, newAddressResolverGroups);
+                        terminatedAddressResolverGroups = new ArrayList<>(newAddressResolverGroups.values());
+                    }
+                    terminatedAddressResolverGroups.forEach(CachingAddressResolverGroup::close);
+                });
+                addressResolverGroups = newAddressResolverGroups;
+            }
+            return addressResolverGroups.computeIfAbsent(new ResolverSettings(configuration), resolverSettings -> new CachingAddressResolverGroup(configuration, mockServerLogger));
+        }
+    }
+
+    public CachingAddressResolverGroup(Configuration configuration, MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.timeToLiveInMillis = configuration.dnsCacheTimeToLiveInMillis();
+        Map<String, InetAddress[]> hostsOverride = new HashMap<>();
+        for (Map.Entry<String, String> entry : configuration.dnsHostsOverride().entrySet()) {
+            String host = entry.getKey().trim().toLowerCase(Locale.ENGLISH);
+            byte[] address = NetUtil.createByteArrayFromIpAddressString(entry.getValue().trim());
+            if (address == null) {
+                throw new IllegalArgumentException("invalid IP address \"" + entry.getValue() + "\" in DNS hosts override for host \"" + entry.getKey() + "\"");
+            }
+            try {
+                hostsOverride.put(host, new InetAddress[]{InetAddress.getByAddress(entry.getKey().trim(), address)});
+            } catch (UnknownHostException unknownHostException) {
+                throw new IllegalArgumentException("invalid IP address \"" + entry.getValue() + "\" in DNS hosts override for host \"" + entry.getKey() + "\"", unknownHostException);
+            }
+        }
+        this.hostsOverride = hostsOverride;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new CachingNameResolver(executor).asAddressResolver();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        lookupExecutor.shutdown();
+    }
+
+    CompletableFuture<InetAddress[]> lookup(String host) {
+        InetAddress[] overriddenAddresses = hostsOverride.get(host.toLowerCase(Locale.ENGLISH));
+        if (overriddenAddresses != null) {
+            hostsOverrideCount.increment();
+            return CompletableFuture.completedFuture(overriddenAddresses);
+        }
+        if (NetUtil.isValidIpV4Address(host) || NetUtil.isValidIpV6Address(host)) {
+            try {
+                // an IP address literal is only parsed
+                return CompletableFuture.completedFuture(InetAddress.getAllByName(host));
+            } catch (UnknownHostException unknownHostException) {
+                CompletableFuture<InetAddress[]> failedLookup = new CompletableFuture<>();
+                failedLookup.completeExceptionally(unknownHostException);
+                return failedLookup;
+            }
+        }
+        String key = host.toLowerCase(Locale.ENGLISH);
+        CachedLookup cachedLookup = cachedLookups.get(key);
+        if (cachedLookup != null && !cachedLookup.isExpired()) {
+            cacheHitCount.increment();
+            return cachedLookup.addresses;
+        }
+        if (cachedLookup != null) {
+            cachedLookups.remove(key, cachedLookup);
+        }
+        CachedLookup newLookup = new CachedLookup();
+        CachedLookup existingLookup = cachedLookups.putIfAbsent(key, newLookup);
+        if (existingLookup != null) {
+            // another thread started a lookup for the same host
+            cacheHitCount.increment();
+            return existingLookup.addresses;
+        }
+        lookupCount.increment();
+        try {
+            lookupExecutor.execute(() -> lookup(host, key, newLookup));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            // resolver group has been closed
+            cachedLookups.remove(key, newLookup);
+            newLookup.addresses.completeExceptionally(rejectedExecutionException);
+        }
+        return newLookup.addresses;
+    }
+
+    private void lookup(String host, String key, CachedLookup newLookup) {
+        long startTime = System.nanoTime();
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(host);
+            recordLookupLatency(host, System.nanoTime() - startTime);
+            newLookup.expiresAt = System.currentTimeMillis() + timeToLiveInMillis;
+            if (timeToLiveInMillis <= 0) {
+                cachedLookups.remove(key, newLookup);
+            }
+            newLookup.addresses.complete(addresses);
+        } catch (Throwable throwable) {
+            recordLookupLatency(host, System.nanoTime() - startTime);
+            failedLookupCount.increment();
+            // failed lookups aren't cached
+            cachedLookups.remove(key, newLookup);
+            newLookup.addresses.completeExceptionally(throwable);
+        }
+    }
+
+    private void recordLookupLatency(String host, long lookupNanos) {
+        totalLookupNanos.add(lookupNanos);
+        maxLookupNanos.accumulateAndGet(lookupNanos, Math::max);
+        if (MockServerLogger.isEnabled(Level.DEBUG)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.DEBUG)
+                    .setMessageFormat("looked up host{}in{}ms")
+                    .setArguments(host, TimeUnit.NANOSECONDS.toMillis(lookupNanos))
+            );
+        }
+    }
+
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    public long getFailedLookupCount() {
+        return failedLookupCount.sum();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    public long getHostsOverrideCount() {
+        return hostsOverrideCount.sum();
+    }
+
+    public int getCachedHostCount() {
+        return cachedLookups.size();
+    }
+
+    public double getAverageLookupLatencyInMillis() {
+        long lookupCount = getLookupCount();
+        return lookupCount > 0 ? (double) totalLookupNanos.sum() / lookupCount / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    public double getMaxLookupLatencyInMillis() {
+        return (double) maxLookupNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static class ResolverSettings {
+
+        private final long timeToLiveInMillis;
+        private final Map<String, String> hostsOverride;
+
+        private ResolverSettings(Configuration configuration) {
+            this.timeToLiveInMillis = configuration.dnsCacheTimeToLiveInMillis();
+            this.hostsOverride = new HashMap<>(configuration.dnsHostsOverride());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ResolverSettings that = (ResolverSettings) o;
+            return timeToLiveInMillis == that.timeToLiveInMillis &&
+                Objects.equals(hostsOverride, that.hostsOverride);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timeToLiveInMillis, hostsOverride);
+        }
+    }
+
+    private static class CachedLookup {
+
+        private final CompletableFuture<InetAddress[]> addresses = new CompletableFuture<>();
+        // lookups in progress never expire
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    private class CachingNameResolver extends InetNameResolver {
+
+        private CachingNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            lookup(inetHost).whenComplete((addresses, throwable) -> {
+                if (throwable != null) {
+                    promise.tryFailure(throwable);
+                } else {
+                    promise.trySuccess(addresses[0]);
+                }
+            });
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            lookup(inetHost).whenComplete((addresses, throwable) -> {
+                if (throwable != null) {
+                    promise.tryFailure(throwable);
+                } else {
+                    promise.trySuccess(Arrays.asList(addresses));
+                }
+            });
+        }
+    }
+}
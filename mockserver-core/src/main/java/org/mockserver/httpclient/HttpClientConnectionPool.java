@@ -0,0 +1,285 @@
+package org.mockserver.httpclient;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Pools keep-alive connections used to forward and proxy requests, with a separate fixed size pool for each route (i.e.
+ * host, port, scheme and connect timeout), so later requests to the same route reuse an open connection and TLS session
+ * <p>
+ * The forward proxies are the same for every request sent by a client, so requests sent through an HTTP proxy share the
+ * routes of the proxy address and requests sent through an HTTPS or SOCKS proxy have the same route as the target.
+ * Connections are checked when they are acquired, closed once they have been idle for longer than the idle timeout and
+ * closed, instead of being returned to the pool, after a failed exchange or a response that closes the connection.
+ * The pool for a route is removed and closed once it has no open connections and no connections being acquired.
+ *
+ * @author jamesdbloom
+ */
+public class HttpClientConnectionPool {
+
+    private static final AttributeKey<Boolean> REUSED = AttributeKey.valueOf("POOLED_CONNECTION_REUSED");
+    private static final AttributeKey<ScheduledFuture<?>> IDLE_TIMEOUT = AttributeKey.valueOf("POOLED_CONNECTION_IDLE_TIMEOUT");
+    private static final AttributeKey<RoutePool> ROUTE_POOL = AttributeKey.valueOf("POOLED_CONNECTION_ROUTE_POOL");
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final Function<Route, Bootstrap> bootstrapFactory;
+    private final ChannelHandler channelInitializer;
+    private final ConcurrentMap<Route, RoutePool> pools = new ConcurrentHashMap<>();
+    private final AtomicInteger acquiredConnectionCount = new AtomicInteger();
+    private final LongAdder createdConnectionCount = new LongAdder();
+    private final LongAdder reusedConnectionCount = new LongAdder();
+    private final LongAdder idleEvictedConnectionCount = new LongAdder();
+    private final LongAdder closedConnectionCount = new LongAdder();
+    private volatile boolean closed;
+
+    HttpClientConnectionPool(Configuration configuration, MockServerLogger mockServerLogger, Function<Route, Bootstrap> bootstrapFactory, ChannelHandler channelInitializer) {
+        this.configuration = configuration;
+        this.mockServerLogger = mockServerLogger;
+        this.bootstrapFactory = bootstrapFactory;
+        this.channelInitializer = channelInitializer;
+    }
+
+    public Future<Channel> acquire(Route route) {
+        if (closed) {
+            return GlobalEventExecutor.INSTANCE.newFailedFuture(new IllegalStateException("connection pool closed"));
+        }
+        // referenced while the route's pool is locked by the map, so it can't be removed until the connection is released
+        RoutePool routePool = pools.compute(route, (key, existingRoutePool) -> {
+            RoutePool acquiredRoutePool = existingRoutePool != null ? existingRoutePool : new RoutePool(key);
+            acquiredRoutePool.references.incrementAndGet();
+            return acquiredRoutePool;
+        });
+        return routePool.pool.acquire().addListener(future -> {
+            if (!future.isSuccess()) {
+                dereference(routePool);
+            }
+        });
+    }
+
+    /**
+     * returns the connection to the pool of its route, or closes it first if it can't be reused
+     */
+    public void release(Channel channel, boolean keepAlive) {
+        RoutePool routePool = channel.attr(ROUTE_POOL).get();
+        if (keepAlive && channel.isActive()) {
+            routePool.pool.release(channel).addListener(future -> dereference(routePool));
+        } else {
+            closedConnectionCount.increment();
+            channel.close().addListener((ChannelFutureListener) closeFuture -> routePool.pool.release(channel).addListener(future -> dereference(routePool)));
+        }
+    }
+
+    private void dereference(RoutePool routePool) {
+        if (routePool.references.decrementAndGet() == 0) {
+            pools.computeIfPresent(routePool.route, (key, existingRoutePool) -> {
+                if (existingRoutePool == routePool && routePool.references.get() == 0) {
+                    routePool.removed = true;
+                    return null;
+                } else {
+                    return existingRoutePool;
+                }
+            });
+            if (routePool.removed) {
+                routePool.pool.closeAsync();
+            }
+        }
+    }
+
+    /**
+     * closes the idle connections and pool of every route, connections in use are closed when they are released
+     */
+    public void close() {
+        closed = true;
+        for (Route route : pools.keySet()) {
+            RoutePool routePool = pools.remove(route);
+            if (routePool != null) {
+                routePool.pool.closeAsync();
+            }
+        }
+    }
+
+    public boolean isReused(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(REUSED).get());
+    }
+
+    private FixedChannelPool createPool(RoutePool routePool) {
+        return new FixedChannelPool(
+            bootstrapFactory.apply(routePool.route).remoteAddress(routePool.route.getRemoteAddress()),
+            new PooledConnectionHandler(routePool),
+            ChannelHealthChecker.ACTIVE,
+            FixedChannelPool.AcquireTimeoutAction.FAIL,
+            configuration.socketConnectionTimeoutInMillis(),
+            configuration.forwardConnectionPoolMaxConnectionsPerRoute(),
+            Integer.MAX_VALUE,
+            true,
+            true
+        );
+    }
+
+    public int getRouteCount() {
+        return pools.size();
+    }
+
+    public int getAcquiredConnectionCount() {
+        return acquiredConnectionCount.get();
+    }
+
+    public long getCreatedConnectionCount() {
+        return createdConnectionCount.sum();
+    }
+
+    public long getReusedConnectionCount() {
+        return reusedConnectionCount.sum();
+    }
+
+    public long getIdleEvictedConnectionCount() {
+        return idleEvictedConnectionCount.sum();
+    }
+
+    public long getClosedConnectionCount() {
+        return closedConnectionCount.sum();
+    }
+
+    private class RoutePool {
+
+        private final Route route;
+        private final FixedChannelPool pool;
+        // connections being acquired or in use plus open connections, the pool is removed once there are none
+        private final AtomicInteger references = new AtomicInteger();
+        // only set while the map has locked the route
+        private boolean removed;
+
+        private RoutePool(Route route) {
+            this.route = route;
+            this.pool = createPool(this);
+        }
+    }
+
+    private class PooledConnectionHandler implements ChannelPoolHandler {
+
+        private final RoutePool routePool;
+        private final Route route;
+
+        private PooledConnectionHandler(RoutePool routePool) {
+            this.routePool = routePool;
+            this.route = routePool.route;
+        }
+
+        @Override
+        public void channelCreated(Channel channel) {
+            createdConnectionCount.increment();
+            routePool.references.incrementAndGet();
+            channel.attr(ROUTE_POOL).set(routePool);
+            channel.closeFuture().addListener(future -> dereference(routePool));
+            channel.pipeline().addLast(channelInitializer);
+            if (MockServerLogger.isEnabled(Level.TRACE)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.TRACE)
+                        .setMessageFormat("opening pooled connection for route{}with{}connections created,{}reused,{}evicted when idle and{}closed")
+                        .setArguments(route, getCreatedConnectionCount(), getReusedConnectionCount(), getIdleEvictedConnectionCount(), getClosedConnectionCount())
+                );
+            }
+        }
+
+        @Override
+        public void channelAcquired(Channel channel) {
+            acquiredConnectionCount.incrementAndGet();
+            ScheduledFuture<?> idleTimeout = channel.attr(IDLE_TIMEOUT).getAndSet(null);
+            if (idleTimeout != null) {
+                idleTimeout.cancel(false);
+            }
+            if (isReused(channel)) {
+                reusedConnectionCount.increment();
+            }
+        }
+
+        @Override
+        public void channelReleased(Channel channel) {
+            acquiredConnectionCount.decrementAndGet();
+            channel.attr(REUSED).set(true);
+            if (channel.isActive()) {
+                channel.attr(IDLE_TIMEOUT).set(channel.eventLoop().schedule(() -> {
+                    idleEvictedConnectionCount.increment();
+                    channel.close();
+                }, configuration.forwardConnectionPoolIdleTimeoutInMillis(), MILLISECONDS));
+            }
+        }
+    }
+
+    public static class Route {
+
+        private final InetSocketAddress remoteAddress;
+        private final boolean secure;
+        private final Integer connectionTimeoutMillis;
+        private final int hashCode;
+
+        public Route(InetSocketAddress remoteAddress, boolean secure, Integer connectionTimeoutMillis) {
+            this.remoteAddress = remoteAddress;
+            this.secure = secure;
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+            this.hashCode = Objects.hash(remoteAddress.getHostString(), remoteAddress.getPort(), secure, connectionTimeoutMillis);
+        }
+
+        public InetSocketAddress getRemoteAddress() {
+            return remoteAddress;
+        }
+
+        public boolean isSecure() {
+            return secure;
+        }
+
+        public Integer getConnectionTimeoutMillis() {
+            return connectionTimeoutMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Route route = (Route) o;
+            // compare host names not resolved addresses, as the host name is used for SNI and certificate validation
+            return secure == route.secure &&
+                remoteAddress.getPort() == route.remoteAddress.getPort() &&
+                Objects.equals(remoteAddress.getHostString(), route.remoteAddress.getHostString()) &&
+                Objects.equals(connectionTimeoutMillis, route.connectionTimeoutMillis);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return (secure ? "https://" : "http://") + remoteAddress.getHostString() + ":" + remoteAddress.getPort();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.mockserver.model.Message;
 import javax.net.ssl.SSLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
@@ -23,13 +24,20 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
         "Connection reset"
     );
 
-    HttpClientHandler() {
+    private final boolean pooled;
+
+    HttpClientHandler(boolean pooled) {
         super(false);
+        this.pooled = pooled;
     }
 
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
-        ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
+        CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+        // pooled connections are released by the client once the response has been handled, unless the response is unexpected
+        if (responseFuture != null && responseFuture.complete(response) && pooled) {
+            return;
+        }
         ctx.close();
     }
 
@@ -38,7 +46,10 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
         if (isNotSslException(cause) && isNotConnectionReset(cause)) {
             cause.printStackTrace();
         }
-        ctx.channel().attr(RESPONSE_FUTURE).get().completeExceptionally(cause);
+        CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+        if (responseFuture != null) {
+            responseFuture.completeExceptionally(cause);
+        }
         ctx.close();
     }
 
@@ -32,17 +32,34 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final boolean isHttp;
     private final HttpClientConnectionErrorHandler httpClientConnectionHandler;
     private final HttpClientHandler httpClientHandler;
+    private final ChannelHandler streamingResponseHandler;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final NettySslContextFactory nettySslContextFactory;
 
     HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp) {
+        this(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, isHttp, false);
+    }
+
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp, boolean pooled) {
+        this(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, isHttp, pooled, null);
+    }
+
+    /**
+     * response HttpObjects are passed to the streaming response handler without being decompressed or aggregated
+     */
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, NettySslContextFactory nettySslContextFactory, ChannelHandler streamingResponseHandler) {
+        this(proxyConfigurations, mockServerLogger, true, nettySslContextFactory, true, false, streamingResponseHandler);
+    }
+
+    private HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp, boolean pooled, ChannelHandler streamingResponseHandler) {
         this.proxyConfigurations = proxyConfigurations;
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
         this.isHttp = isHttp;
-        this.httpClientHandler = new HttpClientHandler();
+        this.httpClientHandler = new HttpClientHandler(pooled);
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
+        this.streamingResponseHandler = streamingResponseHandler;
     }
 
     @Override
@@ -71,7 +88,7 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
         if (secure) {
             InetSocketAddress remoteAddress = channel.attr(REMOTE_SOCKET).get();
-            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient).newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
+            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient).newHandler(channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
         }
 
         // add logging
@@ -79,7 +96,11 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
             pipeline.addLast(new LoggingHandler(HttpClientHandler.class.getName()));
         }
 
-        if (isHttp) {
+        if (streamingResponseHandler != null) {
+            pipeline.addLast(new HttpClientCodec());
+
+            pipeline.addLast(streamingResponseHandler);
+        } else if (isHttp) {
             pipeline.addLast(new HttpClientCodec());
 
             pipeline.addLast(new HttpContentDecompressor());
@@ -87,10 +108,12 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
             pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
 
             pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger, proxyConfigurations));
+
+            pipeline.addLast(httpClientHandler);
         } else {
             pipeline.addLast(new MockServerBinaryClientCodec());
-        }
 
-        pipeline.addLast(httpClientHandler);
+            pipeline.addLast(httpClientHandler);
+        }
     }
 }
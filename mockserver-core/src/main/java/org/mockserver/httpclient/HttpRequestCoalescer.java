@@ -0,0 +1,137 @@
+package org.mockserver.httpclient;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.Parameter;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent identical requests with a safe method (GET, HEAD or OPTIONS) so only the first is sent and the
+ * others wait for its response, each caller receives its own copy of the response
+ * <p>
+ * Requests are identical if they have the same method, scheme, remote address, host, path, query string parameters,
+ * body and values for the selected headers.  A request is only in flight until its response is received, so
+ * responses are never reused for requests sent after the response has been received.
+ *
+ * @author jamesdbloom
+ */
+public class HttpRequestCoalescer {
+
+    static final Set<String> SAFE_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS");
+    static final List<String> CONDITIONAL_HEADER_NAMES = ImmutableList.of("if-match", "if-modified-since", "if-none-match", "if-range", "if-unmodified-since", "range");
+    private final List<String> headerNames;
+    private final ConcurrentMap<String, CompletableFuture<HttpResponse>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder sentRequestCount = new LongAdder();
+    private final LongAdder coalescedRequestCount = new LongAdder();
+
+    public HttpRequestCoalescer(String headerNames) {
+        this.headerNames = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(headerNames)
+            .stream()
+            .map(headerName -> headerName.toLowerCase(Locale.ENGLISH))
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    public CompletableFuture<HttpResponse> sendRequest(HttpRequest httpRequest, InetSocketAddress remoteAddress, Supplier<CompletableFuture<HttpResponse>> sendRequest) {
+        if (!isSafe(httpRequest)) {
+            return sendRequest.get();
+        }
+        String key = key(httpRequest, remoteAddress);
+        CompletableFuture<HttpResponse> inFlightRequest = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> existingInFlightRequest = inFlightRequests.putIfAbsent(key, inFlightRequest);
+        if (existingInFlightRequest != null) {
+            coalescedRequestCount.increment();
+            inFlightRequest = existingInFlightRequest;
+        } else {
+            sentRequestCount.increment();
+            final CompletableFuture<HttpResponse> sentRequest = inFlightRequest;
+            try {
+                sendRequest.get().whenComplete((httpResponse, throwable) -> {
+                    // remove before completing so requests received after the response has been received are sent again
+                    inFlightRequests.remove(key, sentRequest);
+                    if (throwable != null) {
+                        sentRequest.completeExceptionally(throwable);
+                    } else {
+                        sentRequest.complete(httpResponse);
+                    }
+                });
+            } catch (RuntimeException runtimeException) {
+                inFlightRequests.remove(key, sentRequest);
+                sentRequest.completeExceptionally(runtimeException);
+                throw runtimeException;
+            }
+        }
+        return inFlightRequest.thenApply(httpResponse -> httpResponse != null ? httpResponse.clone() : null);
+    }
+
+    private boolean isSafe(HttpRequest httpRequest) {
+        return SAFE_METHODS.contains(httpRequest.getMethod("GET").toUpperCase(Locale.ENGLISH));
+    }
+
+    private String key(HttpRequest httpRequest, InetSocketAddress remoteAddress) {
+        StringBuilder key = new StringBuilder()
+            .append(httpRequest.getMethod("GET").toUpperCase(Locale.ENGLISH))
+            .append(' ')
+            .append(requestTarget(httpRequest, remoteAddress));
+        for (String headerName : headerNames) {
+            key.append('\n').append(headerName).append(':').append(httpRequest.getHeader(headerName));
+        }
+        // conditional requests can have a different response so must only be coalesced with identical conditional requests
+        for (String headerName : CONDITIONAL_HEADER_NAMES) {
+            if (httpRequest.containsHeader(headerName)) {
+                key.append('\n').append(headerName).append(':').append(httpRequest.getHeader(headerName));
+            }
+        }
+        if (httpRequest.getBody() != null) {
+            key.append('\n').append(Hashing.sha256().hashBytes(httpRequest.getBody().getRawBytes()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * scheme, remote address, host, path and query string parameters of the request
+     */
+    static String requestTarget(HttpRequest httpRequest, InetSocketAddress remoteAddress) {
+        StringBuilder requestTarget = new StringBuilder()
+            .append(Boolean.TRUE.equals(httpRequest.isSecure()) ? "https://" : "http://")
+            .append(remoteAddress != null ? remoteAddress.getHostString() + ":" + remoteAddress.getPort() : "")
+            .append('/')
+            .append(httpRequest.getFirstHeader("host"))
+            .append(httpRequest.getPath() != null ? httpRequest.getPath().getValue() : "")
+            .append('?');
+        for (Parameter parameter : httpRequest.getQueryStringParameterList()) {
+            for (NottableString value : parameter.getValues()) {
+                requestTarget.append(parameter.getName().getValue()).append('=').append(value.getValue()).append('&');
+            }
+        }
+        return requestTarget.toString();
+    }
+
+    public int getInFlightRequestCount() {
+        return inFlightRequests.size();
+    }
+
+    public long getSentRequestCount() {
+        return sentRequestCount.sum();
+    }
+
+    public long getCoalescedRequestCount() {
+        return coalescedRequestCount.sum();
+    }
+}
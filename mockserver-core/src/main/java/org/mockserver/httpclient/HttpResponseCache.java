@@ -0,0 +1,392 @@
+package org.mockserver.httpclient;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import io.netty.handler.codec.DateFormatter;
+import org.apache.commons.lang3.StringUtils;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.NottableString;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+
+/**
+ * In-memory cache of responses to forwarded and proxied GET requests following the HTTP caching semantics of a shared
+ * cache (RFC 7234), bounded by the total size of the cached responses, evicting the least recently used responses first,
+ * and by a maximum time to live for each response
+ * <p>
+ * Fresh responses are returned without sending the request, stale responses with an ETag or Last-Modified validator
+ * are revalidated with a conditional request, different variants are cached for the request headers listed in Vary
+ * and responses for a URL are invalidated by a successful request with an unsafe method to that URL.  Requests with
+ * an Authorization header, their own conditional headers or Cache-Control no-store are never answered from the cache.
+ *
+ * @author jamesdbloom
+ */
+public class HttpResponseCache {
+
+    private static final Set<Integer> CACHEABLE_STATUS_CODES = ImmutableSet.of(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501);
+    private static final Set<String> SAFE_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS", "TRACE");
+    // headers of a 304 response that must not replace the headers of the cached response
+    private static final Set<String> NOT_MODIFIED_IGNORED_HEADERS = ImmutableSet.of("content-length", "content-encoding", "transfer-encoding", "content-range");
+    private static final long ENTRY_OVERHEAD_IN_BYTES = 256;
+    private final MockServerLogger mockServerLogger;
+    private final long maxSizeInBytes;
+    private final long maxTimeToLiveInMillis;
+    // access ordered so iteration starts with the least recently used url
+    private final LinkedHashMap<String, List<CachedResponse>> cachedResponses = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    public HttpResponseCache(Configuration configuration, MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.maxSizeInBytes = configuration.forwardResponseCacheMaxSize();
+        this.maxTimeToLiveInMillis = configuration.forwardResponseCacheMaxTimeToLiveInMillis();
+    }
+
+    public CompletableFuture<HttpResponse> sendRequest(HttpRequest httpRequest, InetSocketAddress remoteAddress, Function<HttpRequest, CompletableFuture<HttpResponse>> sendRequest) {
+        String method = httpRequest.getMethod("GET").toUpperCase(Locale.ENGLISH);
+        String requestTarget = HttpRequestCoalescer.requestTarget(httpRequest, remoteAddress);
+        if (!method.equals("GET")) {
+            CompletableFuture<HttpResponse> responseFuture = sendRequest.apply(httpRequest);
+            if (SAFE_METHODS.contains(method)) {
+                return responseFuture;
+            } else {
+                return responseFuture.whenComplete((httpResponse, throwable) -> {
+                    if (httpResponse != null && httpResponse.getStatusCode() != null && httpResponse.getStatusCode() < 400) {
+                        invalidate(requestTarget);
+                    }
+                });
+            }
+        }
+        CacheControl requestCacheControl = new CacheControl(httpRequest.getHeader("cache-control"));
+        if (requestCacheControl.noStore || httpRequest.containsHeader("authorization") || hasConditionalHeaders(httpRequest)) {
+            return sendRequest.apply(httpRequest);
+        }
+        long requestTime = System.currentTimeMillis();
+        CachedResponse cachedResponse = get(requestTarget, httpRequest, requestTime);
+        if (cachedResponse != null && !requestCacheControl.noCache && cachedResponse.isFresh(requestTime, requestCacheControl.maxAge)) {
+            hitCount.increment();
+            HttpResponse httpResponse = cachedResponse.toResponse(requestTime);
+            log(RESPONSE_CACHE_HIT, httpRequest, httpResponse, "returning cached response:{}for forwarded request:{}");
+            return CompletableFuture.completedFuture(httpResponse);
+        }
+        missCount.increment();
+        if (cachedResponse != null && cachedResponse.hasValidator()) {
+            HttpRequest conditionalRequest = httpRequest.clone();
+            if (cachedResponse.response.containsHeader("etag")) {
+                conditionalRequest.withHeader("If-None-Match", cachedResponse.response.getFirstHeader("etag"));
+            }
+            if (cachedResponse.response.containsHeader("last-modified")) {
+                conditionalRequest.withHeader("If-Modified-Since", cachedResponse.response.getFirstHeader("last-modified"));
+            }
+            return sendRequest.apply(conditionalRequest).thenApply(httpResponse -> {
+                long responseTime = System.currentTimeMillis();
+                if (httpResponse != null && httpResponse.getStatusCode() != null && httpResponse.getStatusCode() == 304) {
+                    revalidatedCount.increment();
+                    CachedResponse revalidatedResponse = cachedResponse.revalidate(httpResponse, requestTime, responseTime);
+                    put(requestTarget, revalidatedResponse);
+                    HttpResponse revalidatedHttpResponse = revalidatedResponse.toResponse(responseTime);
+                    log(RESPONSE_CACHE_REVALIDATED, httpRequest, revalidatedHttpResponse, "returning revalidated cached response:{}for forwarded request:{}");
+                    return revalidatedHttpResponse;
+                } else {
+                    log(RESPONSE_CACHE_MISS, httpRequest, httpResponse, "returning response:{}from failed revalidation of cached response for forwarded request:{}");
+                    store(requestTarget, httpRequest, httpResponse, requestTime, responseTime);
+                    return httpResponse;
+                }
+            });
+        }
+        return sendRequest.apply(httpRequest).thenApply(httpResponse -> {
+            log(RESPONSE_CACHE_MISS, httpRequest, httpResponse, "returning response:{}not found in response cache for forwarded request:{}");
+            store(requestTarget, httpRequest, httpResponse, requestTime, System.currentTimeMillis());
+            return httpResponse;
+        });
+    }
+
+    private boolean hasConditionalHeaders(HttpRequest httpRequest) {
+        for (String headerName : HttpRequestCoalescer.CONDITIONAL_HEADER_NAMES) {
+            if (httpRequest.containsHeader(headerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void store(String requestTarget, HttpRequest httpRequest, HttpResponse httpResponse, long requestTime, long responseTime) {
+        if (httpResponse == null || httpResponse.getStatusCode() == null || !CACHEABLE_STATUS_CODES.contains(httpResponse.getStatusCode())) {
+            return;
+        }
+        CacheControl responseCacheControl = new CacheControl(httpResponse.getHeader("cache-control"));
+        List<String> varyHeaderNames = varyHeaderNames(httpResponse);
+        if (responseCacheControl.noStore
+            || responseCacheControl.isPrivate
+            || varyHeaderNames.contains("*")
+            || httpResponse.containsHeader("set-cookie")
+            || !httpResponse.getCookieList().isEmpty()) {
+            return;
+        }
+        // copy as the returned response can be modified by the caller
+        CachedResponse cachedResponse = new CachedResponse(httpRequest, httpResponse.clone(), varyHeaderNames, requestTime, responseTime);
+        if (cachedResponse.freshnessLifetimeInMillis > 0 || cachedResponse.hasValidator()) {
+            put(requestTarget, cachedResponse);
+        }
+    }
+
+    private List<String> varyHeaderNames(HttpResponse httpResponse) {
+        return httpResponse.getHeader("vary")
+            .stream()
+            .flatMap(vary -> Splitter.on(',').trimResults().omitEmptyStrings().splitToList(vary).stream())
+            .map(headerName -> headerName.toLowerCase(Locale.ENGLISH))
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private synchronized CachedResponse get(String requestTarget, HttpRequest httpRequest, long now) {
+        List<CachedResponse> variants = cachedResponses.get(requestTarget);
+        if (variants != null) {
+            for (Iterator<CachedResponse> iterator = variants.iterator(); iterator.hasNext(); ) {
+                CachedResponse variant = iterator.next();
+                if (variant.expiresAt < now) {
+                    iterator.remove();
+                    sizeInBytes -= variant.sizeInBytes;
+                } else if (variant.matches(httpRequest)) {
+                    return variant;
+                }
+            }
+            if (variants.isEmpty()) {
+                cachedResponses.remove(requestTarget);
+            }
+        }
+        return null;
+    }
+
+    private synchronized void put(String requestTarget, CachedResponse cachedResponse) {
+        if (cachedResponse.sizeInBytes > maxSizeInBytes) {
+            return;
+        }
+        List<CachedResponse> variants = cachedResponses.computeIfAbsent(requestTarget, key -> new ArrayList<>());
+        for (Iterator<CachedResponse> iterator = variants.iterator(); iterator.hasNext(); ) {
+            CachedResponse variant = iterator.next();
+            if (variant.varyHeaderValues.equals(cachedResponse.varyHeaderValues)) {
+                iterator.remove();
+                sizeInBytes -= variant.sizeInBytes;
+            }
+        }
+        variants.add(cachedResponse);
+        sizeInBytes += cachedResponse.sizeInBytes;
+        for (Iterator<Map.Entry<String, List<CachedResponse>>> iterator = cachedResponses.entrySet().iterator(); iterator.hasNext() && sizeInBytes > maxSizeInBytes; ) {
+            Map.Entry<String, List<CachedResponse>> leastRecentlyUsed = iterator.next();
+            if (!leastRecentlyUsed.getKey().equals(requestTarget)) {
+                iterator.remove();
+                for (CachedResponse variant : leastRecentlyUsed.getValue()) {
+                    sizeInBytes -= variant.sizeInBytes;
+                    evictedCount.increment();
+                }
+            }
+        }
+    }
+
+    private synchronized void invalidate(String requestTarget) {
+        List<CachedResponse> variants = cachedResponses.remove(requestTarget);
+        if (variants != null) {
+            for (CachedResponse variant : variants) {
+                sizeInBytes -= variant.sizeInBytes;
+            }
+        }
+    }
+
+    private void log(LogEntry.LogMessageType type, HttpRequest httpRequest, HttpResponse httpResponse, String messageFormat) {
+        if (MockServerLogger.isEnabled(Level.INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(type)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(httpRequest.getLogCorrelationId())
+                    .setHttpRequest(httpRequest)
+                    .setHttpResponse(httpResponse)
+                    .setMessageFormat(messageFormat)
+                    .setArguments(httpResponse, httpRequest)
+            );
+        }
+    }
+
+    public synchronized int getEntryCount() {
+        return cachedResponses.values().stream().mapToInt(List::size).sum();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    private class CachedResponse {
+
+        private final HttpResponse response;
+        private final Map<String, List<String>> varyHeaderValues;
+        private final long responseTime;
+        private final long initialAgeInMillis;
+        private final long freshnessLifetimeInMillis;
+        private final boolean mustRevalidate;
+        private final long expiresAt;
+        private final long sizeInBytes;
+
+        private CachedResponse(HttpRequest httpRequest, HttpResponse response, List<String> varyHeaderNames, long requestTime, long responseTime) {
+            this(response, varyHeaderNames.stream().collect(Collectors.toMap(headerName -> headerName, httpRequest::getHeader, (first, second) -> first, TreeMap::new)), requestTime, responseTime);
+        }
+
+        private CachedResponse(HttpResponse response, Map<String, List<String>> varyHeaderValues, long requestTime, long responseTime) {
+            this.response = response;
+            this.varyHeaderValues = varyHeaderValues;
+            this.responseTime = responseTime;
+            // age calculation from RFC 7234 section 4.2.3
+            long dateValue = parseHttpDate(response.getFirstHeader("date"), responseTime);
+            long apparentAgeInMillis = Math.max(0, responseTime - dateValue);
+            long ageValueInMillis = parseSeconds(response.getFirstHeader("age")) * 1000;
+            this.initialAgeInMillis = Math.max(apparentAgeInMillis, ageValueInMillis + (responseTime - requestTime));
+            CacheControl cacheControl = new CacheControl(response.getHeader("cache-control"));
+            if (cacheControl.sMaxAge != null) {
+                this.freshnessLifetimeInMillis = cacheControl.sMaxAge * 1000;
+            } else if (cacheControl.maxAge != null) {
+                this.freshnessLifetimeInMillis = cacheControl.maxAge * 1000;
+            } else if (response.containsHeader("expires")) {
+                // an invalid expires date, such as 0, means already expired
+                this.freshnessLifetimeInMillis = Math.max(0, parseHttpDate(response.getFirstHeader("expires"), dateValue) - dateValue);
+            } else {
+                this.freshnessLifetimeInMillis = 0;
+            }
+            this.mustRevalidate = cacheControl.noCache;
+            this.expiresAt = responseTime + maxTimeToLiveInMillis;
+            long sizeInBytes = ENTRY_OVERHEAD_IN_BYTES;
+            for (Header header : response.getHeaderList()) {
+                for (NottableString value : header.getValues()) {
+                    sizeInBytes += header.getName().getValue().length() + value.getValue().length();
+                }
+            }
+            if (response.getBody() != null && response.getBody().getRawBytes() != null) {
+                sizeInBytes += response.getBody().getRawBytes().length;
+            }
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        private boolean matches(HttpRequest httpRequest) {
+            for (Map.Entry<String, List<String>> varyHeader : varyHeaderValues.entrySet()) {
+                if (!httpRequest.getHeader(varyHeader.getKey()).equals(varyHeader.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long currentAgeInMillis(long now) {
+            return initialAgeInMillis + Math.max(0, now - responseTime);
+        }
+
+        private boolean isFresh(long now, Long requestMaxAge) {
+            long currentAgeInMillis = currentAgeInMillis(now);
+            return !mustRevalidate
+                && currentAgeInMillis < freshnessLifetimeInMillis
+                && (requestMaxAge == null || currentAgeInMillis < requestMaxAge * 1000);
+        }
+
+        private boolean hasValidator() {
+            return response.containsHeader("etag") || response.containsHeader("last-modified");
+        }
+
+        private CachedResponse revalidate(HttpResponse notModifiedResponse, long requestTime, long responseTime) {
+            HttpResponse revalidatedResponse = response.clone();
+            for (Header header : notModifiedResponse.getHeaderList()) {
+                if (!NOT_MODIFIED_IGNORED_HEADERS.contains(header.getName().getValue().toLowerCase(Locale.ENGLISH))) {
+                    revalidatedResponse.replaceHeader(header);
+                }
+            }
+            return new CachedResponse(revalidatedResponse, varyHeaderValues, requestTime, responseTime);
+        }
+
+        private HttpResponse toResponse(long now) {
+            return response.clone().replaceHeader("Age", String.valueOf(currentAgeInMillis(now) / 1000));
+        }
+
+        private long parseHttpDate(String value, long defaultValue) {
+            if (StringUtils.isNotBlank(value)) {
+                Date date = DateFormatter.parseHttpDate(value);
+                return date != null ? date.getTime() : 0;
+            }
+            return defaultValue;
+        }
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return StringUtils.isNotBlank(value) ? Math.max(0, Long.parseLong(StringUtils.strip(value.trim(), "\""))) : 0;
+        } catch (NumberFormatException ignore) {
+            return 0;
+        }
+    }
+
+    private static class CacheControl {
+
+        private boolean noStore;
+        private boolean noCache;
+        private boolean isPrivate;
+        private Long maxAge;
+        private Long sMaxAge;
+
+        private CacheControl(List<String> values) {
+            for (String value : values) {
+                for (String directive : Splitter.on(',').trimResults().omitEmptyStrings().split(value)) {
+                    String name = StringUtils.substringBefore(directive, "=").trim().toLowerCase(Locale.ENGLISH);
+                    String argument = StringUtils.substringAfter(directive, "=");
+                    switch (name) {
+                        case "no-store":
+                            noStore = true;
+                            break;
+                        case "no-cache":
+                            noCache = true;
+                            break;
+                        case "private":
+                            isPrivate = true;
+                            break;
+                        case "max-age":
+                            maxAge = parseSeconds(argument);
+                            break;
+                        case "s-maxage":
+                            sMaxAge = parseSeconds(argument);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+    }
+}
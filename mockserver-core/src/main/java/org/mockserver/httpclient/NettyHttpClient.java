@@ -1,16 +1,21 @@
 package org.mockserver.httpclient;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.filters.HopByHopHeaderFilter;
 import org.mockserver.log.model.LogEntry;
@@ -20,6 +25,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -30,12 +36,16 @@ import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.mockserver.model.HttpResponse.response;
 
 public class NettyHttpClient {
@@ -44,12 +54,18 @@ public class NettyHttpClient {
     static final AttributeKey<InetSocketAddress> REMOTE_SOCKET = AttributeKey.valueOf("REMOTE_SOCKET");
     static final AttributeKey<CompletableFuture<Message>> RESPONSE_FUTURE = AttributeKey.valueOf("RESPONSE_FUTURE");
     private static final HopByHopHeaderFilter hopByHopHeaderFilter = new HopByHopHeaderFilter();
+    // requests that can be retried on a new connection when a pooled connection was closed by the remote server
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE");
     private final Configuration configuration;
     private final MockServerLogger mockServerLogger;
     private final EventLoopGroup eventLoopGroup;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
+    private final HttpRequestCoalescer requestCoalescer;
+    private final HttpResponseCache responseCache;
+    private final CachingAddressResolverGroup addressResolverGroup;
 
     public NettyHttpClient(Configuration configuration, MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, List<ProxyConfiguration> proxyConfigurations, boolean forwardProxyClient) {
         this(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, forwardProxyClient, new NettySslContextFactory(configuration, mockServerLogger, false));
@@ -62,6 +78,44 @@ public class NettyHttpClient {
         this.proxyConfigurations = proxyConfigurations != null ? proxyConfigurations.stream().collect(Collectors.toMap(ProxyConfiguration::getType, proxyConfiguration -> proxyConfiguration)) : ImmutableMap.of();
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        this.addressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration, mockServerLogger);
+        if (forwardProxyClient && configuration.forwardConnectionPoolEnabled()) {
+            this.connectionPool = new HttpClientConnectionPool(
+                configuration,
+                mockServerLogger,
+                route -> bootstrap(route.getConnectionTimeoutMillis(), route.isSecure(), route.getRemoteAddress()),
+                new HttpClientInitializer(this.proxyConfigurations, mockServerLogger, true, nettySslContextFactory, true, true)
+            );
+        } else {
+            this.connectionPool = null;
+        }
+        if (forwardProxyClient && configuration.forwardRequestCoalescingEnabled()) {
+            this.requestCoalescer = new HttpRequestCoalescer(configuration.forwardRequestCoalescingHeaders());
+        } else {
+            this.requestCoalescer = null;
+        }
+        if (forwardProxyClient && configuration.forwardResponseCacheEnabled()) {
+            this.responseCache = new HttpResponseCache(configuration, mockServerLogger);
+        } else {
+            this.responseCache = null;
+        }
+    }
+
+    /**
+     * pool of connections used to forward requests, or null if connections aren't pooled
+     */
+    @Nullable
+    public HttpClientConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * closes pooled connections, which aren't closed by the event loop group as it is shared
+     */
+    public void stop() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -72,7 +126,46 @@ public class NettyHttpClient {
         return sendRequest(httpRequest, remoteAddress, configuration.socketConnectionTimeoutInMillis());
     }
 
+    /**
+     * coalesces concurrent identical requests, when enabled, or returns null if requests aren't coalesced
+     */
+    @Nullable
+    public HttpRequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * resolves host names without blocking the event loop and records lookup latency and cache statistics
+     */
+    public CachingAddressResolverGroup getAddressResolverGroup() {
+        return addressResolverGroup;
+    }
+
+    /**
+     * caches responses to forwarded requests, when enabled, or returns null if responses aren't cached
+     */
+    @Nullable
+    public HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest, @Nullable InetSocketAddress remoteAddress, Long connectionTimeoutMillis) throws SocketConnectionException {
+        if (responseCache != null) {
+            return responseCache.sendRequest(httpRequest, remoteAddress, request -> sendUncachedRequest(request, remoteAddress, connectionTimeoutMillis));
+        } else {
+            return sendUncachedRequest(httpRequest, remoteAddress, connectionTimeoutMillis);
+        }
+    }
+
+    private CompletableFuture<HttpResponse> sendUncachedRequest(final HttpRequest httpRequest, @Nullable InetSocketAddress remoteAddress, Long connectionTimeoutMillis) throws SocketConnectionException {
+        if (requestCoalescer != null) {
+            return requestCoalescer.sendRequest(httpRequest, remoteAddress, () -> sendUncoalescedRequest(httpRequest, remoteAddress, connectionTimeoutMillis));
+        } else {
+            return sendUncoalescedRequest(httpRequest, remoteAddress, connectionTimeoutMillis);
+        }
+    }
+
+    private CompletableFuture<HttpResponse> sendUncoalescedRequest(final HttpRequest httpRequest, @Nullable InetSocketAddress remoteAddress, Long connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfigurations != null && !Boolean.TRUE.equals(httpRequest.isSecure()) && proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP)) {
                 ProxyConfiguration proxyConfiguration = proxyConfigurations.get(ProxyConfiguration.Type.HTTP);
@@ -84,26 +177,24 @@ public class NettyHttpClient {
 
             final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
-                .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
-                .attr(REMOTE_SOCKET, remoteAddress)
-                .attr(RESPONSE_FUTURE, responseFuture)
-                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, true))
-                .connect(remoteAddress)
-                .addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        // send the HTTP request
-                        future.channel().writeAndFlush(httpRequest);
-                    } else {
-                        httpResponseFuture.completeExceptionally(future.cause());
-                    }
-                });
+            final boolean secure = httpRequest.isSecure() != null && httpRequest.isSecure();
+            final Integer connectionTimeout = connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null;
+            if (connectionPool != null) {
+                sendPooledRequest(new HttpClientConnectionPool.Route(remoteAddress, secure, connectionTimeout), httpRequest, responseFuture, true);
+            } else {
+                bootstrap(connectionTimeout, secure, remoteAddress)
+                    .attr(RESPONSE_FUTURE, responseFuture)
+                    .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, true))
+                    .connect(remoteAddress)
+                    .addListener((ChannelFutureListener) future -> {
+                        if (future.isSuccess()) {
+                            // send the HTTP request
+                            future.channel().writeAndFlush(httpRequest);
+                        } else {
+                            httpResponseFuture.completeExceptionally(future.cause());
+                        }
+                    });
+            }
 
             responseFuture
                 .whenComplete((message, throwable) -> {
@@ -138,15 +229,7 @@ public class NettyHttpClient {
 
             final CompletableFuture<BinaryMessage> binaryResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis)
-                .attr(SECURE, isSecure)
-                .attr(REMOTE_SOCKET, remoteAddress)
+            bootstrap(connectionTimeoutMillis, isSecure, remoteAddress)
                 .attr(RESPONSE_FUTURE, responseFuture)
                 .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, false))
                 .connect(remoteAddress)
@@ -183,6 +266,88 @@ public class NettyHttpClient {
         }
     }
 
+    /**
+     * connects to the remote address for a streamed request, the request is written to the connected channel as
+     * HttpObjects and the response HttpObjects are passed to the streaming response handler without being aggregated
+     */
+    public ChannelFuture connect(InetSocketAddress remoteAddress, boolean secure, ChannelHandler streamingResponseHandler) {
+        if (!eventLoopGroup.isShuttingDown()) {
+            return bootstrap(configuration.socketConnectionTimeoutInMillis().intValue(), secure, remoteAddress)
+                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, nettySslContextFactory, streamingResponseHandler))
+                .connect(remoteAddress);
+        } else {
+            throw new IllegalStateException("Request sent after client has been stopped - the event loop has been shutdown so it is not possible to send a request");
+        }
+    }
+
+    /**
+     * requests can't be streamed through an HTTP proxy because they must be sent with an absolute URI and proxy authentication
+     */
+    public boolean canStream(boolean secure) {
+        return secure || !proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP);
+    }
+
+    private Bootstrap bootstrap(Integer connectionTimeoutMillis, boolean secure, InetSocketAddress remoteAddress) {
+        return NettyTransport.bootstrap(configuration, eventLoopGroup)
+            .resolver(addressResolverGroup)
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis)
+            .attr(SECURE, secure)
+            .attr(REMOTE_SOCKET, remoteAddress);
+    }
+
+    private void sendPooledRequest(HttpClientConnectionPool.Route route, HttpRequest httpRequest, CompletableFuture<Message> responseFuture, boolean retryIfConnectionClosed) {
+        connectionPool.acquire(route).addListener((FutureListener<Channel>) acquireFuture -> {
+            if (acquireFuture.isSuccess()) {
+                Channel channel = acquireFuture.getNow();
+                boolean reused = connectionPool.isReused(channel);
+                CompletableFuture<Message> exchangeFuture = new CompletableFuture<>();
+                channel.attr(RESPONSE_FUTURE).set(exchangeFuture);
+                // ensure the connection is released even if no response is ever received
+                ScheduledFuture<?> responseTimeout = channel.eventLoop().schedule(
+                    () -> exchangeFuture.completeExceptionally(new SocketCommunicationException("Response was not received after " + configuration.maxFutureTimeoutInMillis() + " milliseconds", null)),
+                    configuration.maxFutureTimeoutInMillis(),
+                    TimeUnit.MILLISECONDS
+                );
+                exchangeFuture.whenComplete((message, throwable) -> {
+                    responseTimeout.cancel(false);
+                    connectionPool.release(channel, throwable == null && isKeepAlive(httpRequest, message));
+                    if (throwable != null && reused && retryIfConnectionClosed && isIdempotent(httpRequest) && isConnectionClosed(throwable)) {
+                        // the remote server closed the idle pooled connection, so retry once, which uses another pooled or new connection
+                        sendPooledRequest(route, httpRequest, responseFuture, false);
+                    } else if (throwable != null) {
+                        responseFuture.completeExceptionally(throwable);
+                    } else {
+                        responseFuture.complete(message);
+                    }
+                });
+                // send the HTTP request
+                channel.writeAndFlush(httpRequest).addListener((ChannelFutureListener) writeFuture -> {
+                    if (!writeFuture.isSuccess()) {
+                        exchangeFuture.completeExceptionally(writeFuture.cause());
+                    }
+                });
+            } else {
+                responseFuture.completeExceptionally(acquireFuture.cause());
+            }
+        });
+    }
+
+    private boolean isKeepAlive(HttpRequest httpRequest, Message message) {
+        return !containsIgnoreCase(httpRequest.getFirstHeader(CONNECTION.toString()), CLOSE)
+            && !(message instanceof HttpResponse && containsIgnoreCase(((HttpResponse) message).getFirstHeader(CONNECTION.toString()), CLOSE));
+    }
+
+    private boolean isIdempotent(HttpRequest httpRequest) {
+        return IDEMPOTENT_METHODS.contains(httpRequest.getMethod("GET").toUpperCase());
+    }
+
+    private boolean isConnectionClosed(Throwable throwable) {
+        return throwable instanceof IOException || throwable instanceof SocketConnectionException;
+    }
+
     public HttpResponse sendRequest(HttpRequest httpRequest, long timeout, TimeUnit unit, boolean ignoreErrors) {
         HttpResponse httpResponse = null;
         try {
@@ -197,9 +362,11 @@ public class NettyHttpClient {
                 if (cause instanceof SocketConnectionException) {
                     throw (SocketConnectionException) cause;
                 } else if (cause instanceof ConnectException) {
-                    throw new SocketConnectionException("Unable to connect to socket " + httpRequest.socketAddressFromHostHeader(), cause);
+                    InetSocketAddress remoteAddress = httpRequest.socketAddressFromHostHeader();
+                    throw new SocketConnectionException("Unable to connect to socket " + remoteAddress.getHostString() + ":" + remoteAddress.getPort(), cause);
                 } else if (cause instanceof UnknownHostException) {
-                    throw new SocketConnectionException("Unable to resolve host " + httpRequest.socketAddressFromHostHeader(), cause);
+                    InetSocketAddress remoteAddress = httpRequest.socketAddressFromHostHeader();
+                    throw new SocketConnectionException("Unable to resolve host " + remoteAddress.getHostString() + ":" + remoteAddress.getPort(), cause);
                 } else if (cause instanceof IOException) {
                     throw new SocketConnectionException(cause.getMessage(), cause);
                 } else {
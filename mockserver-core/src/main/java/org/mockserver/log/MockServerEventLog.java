@@ -1,6 +1,9 @@
 package org.mockserver.log;
 
+import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.mockserver.collections.CircularConcurrentLinkedDeque;
 import org.mockserver.configuration.Configuration;
@@ -24,17 +27,18 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -70,7 +74,11 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             || input.getType() == FORWARDED_REQUEST
     );
     private static final Predicate<LogEntry> recordedExpectationLogPredicate = input
-        -> !input.isDeleted() && input.getType() == FORWARDED_REQUEST;
+        -> !input.isDeleted() && input.getType() == FORWARDED_REQUEST && input.getExpectation() != null;
+    private static final Set<LogEntry.LogMessageType> requestLogTypes = EnumSet.of(RECEIVED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> expectationLogTypes = EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> requestResponseLogTypes = EnumSet.of(EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> recordedExpectationLogTypes = EnumSet.of(FORWARDED_REQUEST);
     private static final Function<LogEntry, RequestDefinition[]> logEntryToRequest = LogEntry::getHttpRequests;
     private static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
     private static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
@@ -78,14 +86,19 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .withHttpRequest(logEntry.getHttpRequest())
             .withHttpResponse(logEntry.getHttpResponse())
             .withTimestamp(logEntry.getTimestamp());
-    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
+    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor", "eventLogIndex", "processedSequence", "droppedLogEntries"};
+    // shared by every instance, idle threads time out so it never needs to be shutdown
+    private static final ThreadPoolExecutor readExecutor = readExecutor();
     private final Configuration configuration;
     private MockServerLogger mockServerLogger;
     private CircularConcurrentLinkedDeque<LogEntry> eventLog;
+    private final MockServerEventLogIndex eventLogIndex = new MockServerEventLogIndex();
     private MatcherBuilder matcherBuilder;
     private RequestDefinitionSerializer requestDefinitionSerializer;
     private final boolean asynchronousEventProcessing;
     private Disruptor<LogEntry> disruptor;
+    private final Sequence processedSequence = new Sequence();
+    private final LongAdder droppedLogEntries = new LongAdder();
 
     public MockServerEventLog(Configuration configuration, MockServerLogger mockServerLogger, Scheduler scheduler, boolean asynchronousEventProcessing) {
         super(scheduler);
@@ -94,14 +107,23 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(configuration, mockServerLogger);
         this.requestDefinitionSerializer = new RequestDefinitionSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
-        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), LogEntry::clear);
+        // evicted log entries are not cleared as they may still be being read by a concurrent retrieve or verify
+        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), eventLogIndex::remove);
         startRingBuffer();
     }
 
+    private static ThreadPoolExecutor readExecutor() {
+        int readThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor readExecutor = new ThreadPoolExecutor(readThreads, readThreads, 60, SECONDS, new LinkedBlockingQueue<>(), new Scheduler.SchedulerThreadFactory("EventLogReader"));
+        readExecutor.allowCoreThreadTimeOut(true);
+        return readExecutor;
+    }
+
     public void add(LogEntry logEntry) {
         logEntry.setPort(getPort());
         if (asynchronousEventProcessing) {
             if (!disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
+                droppedLogEntries.increment();
                 // if ring buffer full only write WARN and ERROR to logger
                 if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
                     logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
@@ -116,6 +138,26 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         return eventLog.size();
     }
 
+    public int ringBufferSize() {
+        return disruptor.getRingBuffer().getBufferSize();
+    }
+
+    /**
+     * @return number of events published to the ring buffer that haven't yet been through every stage of processing
+     */
+    public long ringBufferOccupancy() {
+        RingBuffer<LogEntry> ringBuffer = disruptor.getRingBuffer();
+        return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+    }
+
+    /**
+     * @return number of log entries dropped because the ring buffer was full
+     */
+    public long droppedLogEntries() {
+        return droppedLogEntries.sum();
+    }
+
+    @SuppressWarnings("unchecked")
     private void startRingBuffer() {
         disruptor = new Disruptor<>(LogEntry::new, configuration.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
 
@@ -137,25 +179,50 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         };
         disruptor.setDefaultExceptionHandler(errorHandler);
 
-        disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
+        // output runs on a separate thread after storage, so formatting and writing log messages doesn't delay the
+        // event log or queries waiting for it, but never reads the entry while storage is copying it, then once both
+        // have finished the ring buffer slot is cleared
+        final EventHandler<LogEntry> storageHandler = (logEntry, sequence, endOfBatch) -> {
+            try {
+                if (logEntry.getType() != RUNNABLE) {
+                    storeLogEntry(logEntry.clone());
+                } else {
+                    logEntry.getConsumer().run();
+                }
+            } finally {
+                processedSequence.set(sequence);
+            }
+        };
+        final EventHandler<LogEntry> outputHandler = (logEntry, sequence, endOfBatch) -> {
             if (logEntry.getType() != RUNNABLE) {
-                processLogEntry(logEntry);
-            } else {
-                logEntry.getConsumer().run();
-                logEntry.clear();
+                writeToSystemOut(logger, logEntry);
             }
-        });
+        };
+        disruptor
+            .handleEventsWith(storageHandler)
+            .then(outputHandler)
+            .then((logEntry, sequence, endOfBatch) -> logEntry.clear());
 
         disruptor.start();
     }
 
     private void processLogEntry(LogEntry logEntry) {
         logEntry = logEntry.cloneAndClear();
-        eventLog.add(logEntry);
-        notifyListeners(this, false);
+        storeLogEntry(logEntry);
         writeToSystemOut(logger, logEntry);
     }
 
+    private void storeLogEntry(LogEntry logEntry) {
+        // copied here, off the event loop, so retained entries don't keep memory mapped request bodies alive
+        logEntry.releaseSpilledContent();
+        // indexed before being added so an immediate eviction also removes it from the index
+        eventLogIndex.add(logEntry);
+        if (!eventLog.add(logEntry)) {
+            eventLogIndex.remove(logEntry);
+        }
+        notifyListeners(this, false);
+    }
+
     public void stop() {
         try {
             notifyListeners(this, true);
@@ -243,6 +310,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            null,
             notDeletedPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -251,6 +319,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveMessageLogEntriesIncludingDeleted(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            null,
             allPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -259,6 +328,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequestLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestLogTypes,
             requestLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -268,6 +338,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         if (verification.getExpectationId() != null) {
             retrieveLogEntries(
                 Collections.singletonList(verification.getExpectationId().getId()),
+                expectationLogTypes,
                 expectationLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -280,6 +351,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         } else {
             retrieveLogEntries(
                 verification.getHttpRequest().withLogCorrelationId(logCorrelationId),
+                requestLogTypes,
                 requestLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -296,6 +368,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         if (matchingExpectationsOnly) {
             retrieveLogEntries(
                 (List<String>) null,
+                expectationLogTypes,
                 expectationLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -308,6 +381,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         } else {
             retrieveLogEntries(
                 (RequestDefinition) null,
+                requestLogTypes,
                 requestLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -323,6 +397,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveAllRequests(List<String> expectationIds, Consumer<List<RequestAndExpectationId>> listConsumer) {
         retrieveLogEntries(
             expectationIds,
+            expectationLogTypes,
             expectationLogPredicate,
             logEntry -> new RequestAndExpectationId(logEntry.getHttpRequest(), logEntry.getExpectationId()),
             logEventStream -> listConsumer.accept(
@@ -336,6 +411,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(RequestDefinition requestDefinition, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestLogTypes,
             requestLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -350,6 +426,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(ExpectationId expectationId, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             expectationId != null ? Collections.singletonList(expectationId.getId()) : Collections.emptyList(),
+            expectationLogTypes,
             expectationLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -364,6 +441,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(List<String> expectationIds, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             expectationIds,
+            expectationLogTypes,
             expectationLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -378,6 +456,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequestResponseMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestResponseLogTypes,
             requestResponseLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -386,6 +465,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequestResponses(RequestDefinition requestDefinition, Consumer<List<LogEventRequestAndResponse>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestResponseLogTypes,
             requestResponseLogPredicate,
             logEntryToHttpRequestAndHttpResponse,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
@@ -395,6 +475,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRecordedExpectationLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            recordedExpectationLogTypes,
             recordedExpectationLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -403,69 +484,113 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRecordedExpectations(RequestDefinition requestDefinition, Consumer<List<Expectation>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            recordedExpectationLogTypes,
             recordedExpectationLogPredicate,
             logEntryToExpectation,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
-    private void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(this.eventLog
-                    .stream()
-                    .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                );
-            })
-        );
+    private void retrieveLogEntries(RequestDefinition requestDefinition, Set<LogEntry.LogMessageType> logMessageTypes, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
+        readAfterPublishedLogEntries(() -> {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+            return logEntries(logMessageTypes, requestDefinition)
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate);
+        }, consumer);
     }
 
-    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
-                consumer.accept(this.eventLog
-                    .stream()
-                    .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                    .map(logEntryMapper)
-                );
-            })
-        );
+    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Set<LogEntry.LogMessageType> logMessageTypes, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        readAfterPublishedLogEntries(() -> {
+            RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
+            return logEntries(logMessageTypes, requestDefinitionMatcher)
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate)
+                .map(logEntryMapper);
+        }, consumer);
     }
 
     @SuppressWarnings("SameParameterValue")
-    private <T> void retrieveLogEntries(List<String> expectationIds, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> consumer.accept(this.eventLog
-                .stream()
+    private <T> void retrieveLogEntries(List<String> expectationIds, Set<LogEntry.LogMessageType> logMessageTypes, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        readAfterPublishedLogEntries(() ->
+            (expectationIds != null ? eventLogIndex.logEntriesForExpectationIds(expectationIds) : logEntries(logMessageTypes, null))
                 .filter(logEntryPredicate)
                 .filter(logItem -> expectationIds == null || logItem.matchesAnyExpectationId(expectationIds))
-                .map(logEntryMapper)
-            ))
+                .map(logEntryMapper),
+            consumer
         );
     }
 
-    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
+    /**
+     * Reads run on a separate reader thread against the concurrent event log, instead of on the ring buffer or the
+     * calling thread, so slow queries don't delay log ingestion and callers, such as event loops, are never blocked.
+     * To keep reads consistent with writes, a read is handed to the reader thread by the ring buffer once every log
+     * entry published before it has been added to the event log.
+     */
+    private <T> void readAfterPublishedLogEntries(Supplier<Stream<T>> read, Consumer<Stream<T>> consumer) {
+        if (!asynchronousEventProcessing) {
+            readAndConsume(read, consumer);
+        } else if (processedSequence.get() >= disruptor.getRingBuffer().getCursor()) {
+            submitRead(() -> readAndConsume(read, consumer));
+        } else if (!disruptor.getRingBuffer().tryPublishEvent(new LogEntry()
             .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(
-                    StreamSupport
-                        .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
-                        .filter(logItem -> logItem.matches(httpRequestMatcher))
-                        .filter(logEntryPredicate)
-                        .map(logEntryMapper)
-                );
-            })
-        );
+            .setConsumer(() -> submitRead(() -> readAndConsume(read, consumer)))
+        )) {
+            // ring buffer full, so the reader thread waits until the log entries published so far have been stored
+            long publishedSequence = disruptor.getRingBuffer().getCursor();
+            submitRead(() -> {
+                long timeout = System.nanoTime() + SECONDS.toNanos(2);
+                while (processedSequence.get() < publishedSequence && System.nanoTime() < timeout) {
+                    LockSupport.parkNanos(MILLISECONDS.toNanos(1));
+                }
+                readAndConsume(read, consumer);
+            });
+        }
+    }
+
+    /**
+     * the results are collected before being passed to the consumer, so the consumer is always called once, with no
+     * results if the read fails
+     */
+    private <T> void readAndConsume(Supplier<Stream<T>> read, Consumer<Stream<T>> consumer) {
+        List<T> results;
+        try {
+            results = read.get().collect(Collectors.toList());
+        } catch (Throwable throwable) {
+            logger.error("exception reading event log", throwable);
+            results = Collections.emptyList();
+        }
+        consumer.accept(results.stream());
+    }
+
+    private void submitRead(Runnable read) {
+        readExecutor.execute(() -> {
+            try {
+                read.run();
+            } catch (Throwable throwable) {
+                logger.error("exception handling event log read", throwable);
+            }
+        });
+    }
+
+    /**
+     * @return the log entries narrowed by the secondary indexes, or all log entries if they can't be narrowed
+     */
+    private Stream<LogEntry> logEntries(Set<LogEntry.LogMessageType> logMessageTypes, RequestDefinition requestDefinition) {
+        Stream<LogEntry> logEntries = eventLogIndex.logEntries(logMessageTypes, requestDefinition);
+        return logEntries != null ? logEntries : eventLog.stream();
+    }
+
+    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        readAfterPublishedLogEntries(() -> {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+            return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate)
+                .map(logEntryMapper);
+        }, consumer);
     }
 
     public Future<String> verify(Verification verification) {
@@ -0,0 +1,218 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.mock.ExpectationDispatchIndex.literalPathKey;
+
+/**
+ * Secondary indexes over the event log, by log message type and literal request path and by expectation id, used to
+ * narrow the log entries that need to be fully matched when retrieving or verifying
+ * <p>
+ * Log entries without requests or with any request that doesn't have a literal path match any path, so are indexed
+ * under an empty path and are always included when looking up a path.  Entries in each index bucket are in the order
+ * they were added to the event log and lookups across buckets are merged back into that order.
+ *
+ * @author jamesdbloom
+ */
+class MockServerEventLogIndex {
+
+    private static final String ANY_PATH = "";
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<LogEntry.LogMessageType, ConcurrentLinkedDeque<IndexedLogEntry>> byType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LogEntry.LogMessageType, ConcurrentMap<String, ConcurrentLinkedDeque<IndexedLogEntry>>> byTypeAndPath = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentLinkedDeque<IndexedLogEntry>> byExpectationId = new ConcurrentHashMap<>();
+
+    void add(LogEntry logEntry) {
+        if (logEntry.getType() != null) {
+            IndexedLogEntry indexedLogEntry = new IndexedLogEntry(sequence.incrementAndGet(), logEntry);
+            addToBucket(byType, logEntry.getType(), indexedLogEntry);
+            ConcurrentMap<String, ConcurrentLinkedDeque<IndexedLogEntry>> byPath = byTypeAndPath.computeIfAbsent(logEntry.getType(), type -> new ConcurrentHashMap<>());
+            for (String pathKey : pathKeys(logEntry)) {
+                addToBucket(byPath, pathKey, indexedLogEntry);
+            }
+            if (isNotBlank(logEntry.getExpectationId())) {
+                addToBucket(byExpectationId, logEntry.getExpectationId(), indexedLogEntry);
+            }
+        }
+    }
+
+    /**
+     * must be called before the log entry is cleared, as the index keys are read from the log entry
+     */
+    void remove(LogEntry logEntry) {
+        if (logEntry.getType() != null) {
+            removeFromBucket(byType, logEntry.getType(), logEntry);
+            ConcurrentMap<String, ConcurrentLinkedDeque<IndexedLogEntry>> byPath = byTypeAndPath.get(logEntry.getType());
+            if (byPath != null) {
+                for (String pathKey : pathKeys(logEntry)) {
+                    removeFromBucket(byPath, pathKey, logEntry);
+                }
+            }
+            if (isNotBlank(logEntry.getExpectationId())) {
+                removeFromBucket(byExpectationId, logEntry.getExpectationId(), logEntry);
+            }
+        }
+    }
+
+    void clear() {
+        byType.clear();
+        byTypeAndPath.clear();
+        byExpectationId.clear();
+    }
+
+    /**
+     * @param types             the log message types to include or null for all types
+     * @param requestDefinition the request definition the log entries will be matched against, used to narrow by path if it has a literal path
+     * @return log entries, in log order, that could match or null if the lookup can't be narrowed by the index
+     */
+    Stream<LogEntry> logEntries(Set<LogEntry.LogMessageType> types, RequestDefinition requestDefinition) {
+        String pathKey = literalPathKey(requestDefinition);
+        if (types == null && pathKey == null) {
+            return null;
+        }
+        List<ConcurrentLinkedDeque<IndexedLogEntry>> buckets = new ArrayList<>();
+        if (pathKey == null) {
+            for (LogEntry.LogMessageType type : types) {
+                addIfPresent(buckets, byType.get(type));
+            }
+        } else {
+            for (Map.Entry<LogEntry.LogMessageType, ConcurrentMap<String, ConcurrentLinkedDeque<IndexedLogEntry>>> entry : byTypeAndPath.entrySet()) {
+                if (types == null || types.contains(entry.getKey())) {
+                    // an entry is either in the bucket for each of its literal paths or in the any path bucket, so these buckets never overlap
+                    addIfPresent(buckets, entry.getValue().get(pathKey));
+                    addIfPresent(buckets, entry.getValue().get(ANY_PATH));
+                }
+            }
+        }
+        return merge(buckets);
+    }
+
+    /**
+     * @return log entries, in log order, with any of the expectation ids
+     */
+    Stream<LogEntry> logEntriesForExpectationIds(Collection<String> expectationIds) {
+        List<ConcurrentLinkedDeque<IndexedLogEntry>> buckets = new ArrayList<>();
+        for (String expectationId : new LinkedHashSet<>(expectationIds)) {
+            if (isNotBlank(expectationId)) {
+                addIfPresent(buckets, byExpectationId.get(expectationId));
+            }
+        }
+        return merge(buckets);
+    }
+
+    private static Set<String> pathKeys(LogEntry logEntry) {
+        RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+        if (httpRequests == null || httpRequests.length == 0) {
+            return Collections.singleton(ANY_PATH);
+        }
+        Set<String> pathKeys = new HashSet<>();
+        for (RequestDefinition httpRequest : httpRequests) {
+            String pathKey = literalPathKey(httpRequest);
+            if (pathKey == null) {
+                return Collections.singleton(ANY_PATH);
+            }
+            pathKeys.add(pathKey);
+        }
+        return pathKeys;
+    }
+
+    private static <K> void addToBucket(ConcurrentMap<K, ConcurrentLinkedDeque<IndexedLogEntry>> buckets, K key, IndexedLogEntry indexedLogEntry) {
+        buckets.compute(key, (bucketKey, bucket) -> {
+            if (bucket == null) {
+                bucket = new ConcurrentLinkedDeque<>();
+            }
+            bucket.addLast(indexedLogEntry);
+            return bucket;
+        });
+    }
+
+    private static <K> void removeFromBucket(ConcurrentMap<K, ConcurrentLinkedDeque<IndexedLogEntry>> buckets, K key, LogEntry logEntry) {
+        buckets.computeIfPresent(key, (bucketKey, bucket) -> {
+            // entries are usually evicted oldest first so are normally at the head of the bucket
+            IndexedLogEntry first = bucket.peekFirst();
+            if (first != null && first.logEntry == logEntry) {
+                bucket.pollFirst();
+            } else {
+                bucket.removeIf(indexedLogEntry -> indexedLogEntry.logEntry == logEntry);
+            }
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static void addIfPresent(List<ConcurrentLinkedDeque<IndexedLogEntry>> buckets, ConcurrentLinkedDeque<IndexedLogEntry> bucket) {
+        if (bucket != null) {
+            buckets.add(bucket);
+        }
+    }
+
+    private static Stream<LogEntry> merge(List<ConcurrentLinkedDeque<IndexedLogEntry>> buckets) {
+        if (buckets.isEmpty()) {
+            return Stream.empty();
+        } else if (buckets.size() == 1) {
+            return buckets.get(0).stream().map(indexedLogEntry -> indexedLogEntry.logEntry);
+        } else {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new SequenceMergeIterator(buckets), Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+    }
+
+    private static class IndexedLogEntry {
+        private final long sequence;
+        private final LogEntry logEntry;
+
+        private IndexedLogEntry(long sequence, LogEntry logEntry) {
+            this.sequence = sequence;
+            this.logEntry = logEntry;
+        }
+    }
+
+    private static class SequenceMergeIterator implements Iterator<LogEntry> {
+        private final List<Iterator<IndexedLogEntry>> iterators = new ArrayList<>();
+        private final List<IndexedLogEntry> heads = new ArrayList<>();
+
+        private SequenceMergeIterator(List<ConcurrentLinkedDeque<IndexedLogEntry>> buckets) {
+            for (ConcurrentLinkedDeque<IndexedLogEntry> bucket : buckets) {
+                Iterator<IndexedLogEntry> iterator = bucket.iterator();
+                iterators.add(iterator);
+                heads.add(iterator.hasNext() ? iterator.next() : null);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (IndexedLogEntry head : heads) {
+                if (head != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public LogEntry next() {
+            int lowestIndex = -1;
+            for (int i = 0; i < heads.size(); i++) {
+                IndexedLogEntry head = heads.get(i);
+                if (head != null && (lowestIndex == -1 || head.sequence < heads.get(lowestIndex).sequence)) {
+                    lowestIndex = i;
+                }
+            }
+            if (lowestIndex == -1) {
+                throw new NoSuchElementException();
+            }
+            IndexedLogEntry next = heads.get(lowestIndex);
+            Iterator<IndexedLogEntry> iterator = iterators.get(lowestIndex);
+            heads.set(lowestIndex, iterator.hasNext() ? iterator.next() : null);
+            return next.logEntry;
+        }
+    }
+}
@@ -57,6 +57,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     private String messageFormat;
     private String message;
+    private Object[] rawArguments;
     private Object[] arguments;
     private String because;
 
@@ -96,6 +97,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         deleted = false;
         messageFormat = null;
         message = null;
+        rawArguments = null;
         arguments = null;
         because = null;
     }
@@ -336,6 +338,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     @JsonIgnore
     public String getMessage() {
         if (message == null) {
+            Object[] arguments = getArguments();
             if (arguments != null) {
                 message = formatLogMessage(messageFormat, arguments);
             } else {
@@ -346,13 +349,9 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public Object[] getArguments() {
-        return arguments;
-    }
-
-    public LogEntry setArguments(Object... arguments) {
-        if (arguments != null) {
-            this.arguments = Arrays
-                .stream(arguments)
+        if (arguments == null && rawArguments != null) {
+            arguments = Arrays
+                .stream(rawArguments)
                 .map(argument -> {
                     if (argument instanceof HttpRequest) {
                         return updateBody((HttpRequest) argument);
@@ -365,12 +364,63 @@ public class LogEntry implements EventTranslator<LogEntry> {
                     }
                 })
                 .toArray(Object[]::new);
+        }
+        return arguments;
+    }
+
+    /**
+     * request and response arguments are copied when logged, so later changes don't alter the message, but only
+     * converted for logging, which reads their bodies, when the message is formatted, so this isn't done by the
+     * thread logging the event (i.e. an event loop thread)
+     */
+    public LogEntry setArguments(Object... arguments) {
+        if (arguments != null) {
+            this.rawArguments = Arrays
+                .stream(arguments)
+                .map(argument -> {
+                    if (argument instanceof HttpRequest && hasBodyToUpdate(((HttpRequest) argument).getBody())) {
+                        return ((HttpRequest) argument).shallowClone();
+                    } else if (argument instanceof HttpResponse && hasBodyToUpdate(((HttpResponse) argument).getBody())) {
+                        return ((HttpResponse) argument).shallowClone();
+                    } else {
+                        return argument;
+                    }
+                })
+                .toArray(Object[]::new);
         } else {
-            this.arguments = null;
+            this.rawArguments = null;
         }
+        this.arguments = null;
         return this;
     }
 
+    private static boolean hasBodyToUpdate(Body<?> body) {
+        return body != null && !(body instanceof LogEntryBody);
+    }
+
+    /**
+     * copies request bodies streamed to a temporary file onto the heap, so the memory mapped file isn't held for as long
+     * as this log entry is retained
+     */
+    public LogEntry releaseSpilledContent() {
+        releaseSpilledContent(httpRequests);
+        releaseSpilledContent(httpUpdatedRequests);
+        if (rawArguments != null) {
+            releaseSpilledContent(Arrays.stream(rawArguments).filter(argument -> argument instanceof HttpRequest).toArray(RequestDefinition[]::new));
+        }
+        return this;
+    }
+
+    private static void releaseSpilledContent(RequestDefinition[] requestDefinitions) {
+        if (requestDefinitions != null) {
+            for (RequestDefinition requestDefinition : requestDefinitions) {
+                if (requestDefinition instanceof HttpRequest && ((HttpRequest) requestDefinition).getBody() instanceof BodyWithContentType) {
+                    ((BodyWithContentType<?>) ((HttpRequest) requestDefinition).getBody()).releaseSpilledContent();
+                }
+            }
+        }
+    }
+
     public String getBecause() {
         return because;
     }
@@ -384,7 +434,14 @@ public class LogEntry implements EventTranslator<LogEntry> {
         if (requestDefinition instanceof HttpRequest) {
             HttpRequest httpRequest = (HttpRequest) requestDefinition;
             Body<?> body = httpRequest.getBody();
-            if (body instanceof JsonBody) {
+            if (body instanceof BodyWithContentType && ((BodyWithContentType<?>) body).getSpilledLength() >= 0) {
+                // too large to hold in memory, so not decoded into the message, the body is still retained with the request
+                return httpRequest
+                    .shallowClone()
+                    .withBody(
+                        new LogEntryBody("<" + ((BodyWithContentType<?>) body).getSpilledLength() + " bytes, larger than maxInMemoryRequestBodySize>")
+                    );
+            } else if (body instanceof JsonBody) {
                 try {
                     return httpRequest
                         .shallowClone()
@@ -494,7 +551,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
             .setExpectation(getExpectation())
             .setExpectationId(getExpectationId())
             .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
+            .setArguments(rawArguments)
             .setBecause(getBecause())
             .setThrowable(getThrowable())
             .setConsumer(getConsumer())
@@ -525,7 +582,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
             Objects.equals(expectation, logEntry.expectation) &&
             Objects.equals(expectationId, logEntry.expectationId) &&
             Objects.equals(consumer, logEntry.consumer) &&
-            Arrays.equals(arguments, logEntry.arguments) &&
+            Arrays.equals(getArguments(), logEntry.getArguments()) &&
             Arrays.equals(httpRequests, logEntry.httpRequests);
     }
 
@@ -533,7 +590,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     public int hashCode() {
         if (hashCode == 0) {
             int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, httpResponse, httpError, expectation, expectationId, consumer);
-            result = 31 * result + Arrays.hashCode(arguments);
+            result = 31 * result + Arrays.hashCode(getArguments());
             result = 31 * result + Arrays.hashCode(httpRequests);
             hashCode = result;
         }
@@ -573,6 +630,9 @@ public class LogEntry implements EventTranslator<LogEntry> {
         VERIFICATION_FAILED,
         VERIFICATION_PASSED,
         FORWARDED_REQUEST,
+        RESPONSE_CACHE_HIT,
+        RESPONSE_CACHE_MISS,
+        RESPONSE_CACHE_REVALIDATED,
         TEMPLATE_GENERATED,
         SERVER_CONFIGURATION,
         AUTHENTICATION_FAILED,
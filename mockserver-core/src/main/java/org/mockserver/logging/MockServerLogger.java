@@ -93,6 +93,9 @@ public class MockServerLogger {
     public void logEvent(LogEntry logEntry) {
         if (logEntry.getType() == RECEIVED_REQUEST
             || logEntry.getType() == FORWARDED_REQUEST
+            || logEntry.getType() == RESPONSE_CACHE_HIT
+            || logEntry.getType() == RESPONSE_CACHE_MISS
+            || logEntry.getType() == RESPONSE_CACHE_REVALIDATED
             || logEntry.getType() == EXPECTATION_RESPONSE
             || logEntry.isAlwaysLog()
             || isEnabled(logEntry.getLogLevel())) {
@@ -4,8 +4,10 @@ import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.netty.handler.codec.http2.HttpConversionUtil;
 import org.mockserver.codec.BodyDecoderEncoder;
 import org.mockserver.codec.ExpandedParameterDecoder;
+import org.mockserver.codec.SpilledFullHttpRequest;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -60,6 +62,7 @@ public class FullHttpRequestToMockServerHttpRequest {
                             .setThrowable(fullHttpRequest.decoderResult().cause())
                     );
                 }
+                setStreamId(httpRequest, fullHttpRequest);
                 setMethod(httpRequest, fullHttpRequest);
 
                 setPath(httpRequest, fullHttpRequest);
@@ -92,6 +95,18 @@ public class FullHttpRequestToMockServerHttpRequest {
         }
     }
 
+    private void setStreamId(HttpRequest httpRequest, FullHttpRequest fullHttpRequest) {
+        // HTTP/2 requests are converted to HTTP/1.x requests with extension headers, such as the stream id, which aren't sent by the client
+        HttpHeaders httpHeaders = fullHttpRequest.headers();
+        Integer streamId = httpHeaders.getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text());
+        if (streamId != null) {
+            httpRequest.withStreamId(streamId);
+            for (HttpConversionUtil.ExtensionHeaderNames extensionHeaderName : HttpConversionUtil.ExtensionHeaderNames.values()) {
+                httpHeaders.remove(extensionHeaderName.text());
+            }
+        }
+    }
+
     private void setMethod(HttpRequest httpRequest, FullHttpRequest fullHttpResponse) {
         httpRequest.withMethod(fullHttpResponse.method().name());
     }
@@ -135,6 +150,10 @@ public class FullHttpRequestToMockServerHttpRequest {
     }
 
     private void setBody(HttpRequest httpRequest, FullHttpRequest fullHttpRequest) {
-        httpRequest.withBody(bodyDecoderEncoder.byteBufToBody(fullHttpRequest.content(), fullHttpRequest.headers().get(CONTENT_TYPE)));
+        if (fullHttpRequest instanceof SpilledFullHttpRequest) {
+            httpRequest.withBody(bodyDecoderEncoder.byteBufferToBody(((SpilledFullHttpRequest) fullHttpRequest).spilledContent(), fullHttpRequest.headers().get(CONTENT_TYPE)));
+        } else {
+            httpRequest.withBody(bodyDecoderEncoder.byteBufToBody(fullHttpRequest.content(), fullHttpRequest.headers().get(CONTENT_TYPE)));
+        }
     }
 }
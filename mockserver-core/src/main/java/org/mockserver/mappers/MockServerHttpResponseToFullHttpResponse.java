@@ -1,16 +1,25 @@
 package org.mockserver.mappers;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.cookie.DefaultCookie;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.stream.ChunkedNioFile;
 import org.mockserver.codec.BodyDecoderEncoder;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ConnectionOptions;
+import org.mockserver.model.FileBody;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.NottableString;
 import org.slf4j.event.Level;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +34,7 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
  */
 public class MockServerHttpResponseToFullHttpResponse {
 
+    private static final int FILE_CHUNK_SIZE = 64 * 1024;
     private final MockServerLogger mockServerLogger;
     private final BodyDecoderEncoder bodyDecoderEncoder;
 
@@ -43,7 +53,7 @@ public class MockServerHttpResponseToFullHttpResponse {
                     HttpVersion.HTTP_1_1,
                     getStatus(httpResponse)
                 );
-                setHeaders(httpResponse, defaultHttpResponse, body);
+                setHeaders(httpResponse, defaultHttpResponse, body.readableBytes());
                 HttpUtil.setTransferEncodingChunked(defaultHttpResponse, true);
                 setCookies(httpResponse, defaultHttpResponse);
                 httpMessages.add(defaultHttpResponse);
@@ -62,22 +72,79 @@ public class MockServerHttpResponseToFullHttpResponse {
                     getStatus(httpResponse),
                     body
                 );
-                setHeaders(httpResponse, defaultFullHttpResponse, body);
+                setHeaders(httpResponse, defaultFullHttpResponse, body.readableBytes());
                 setCookies(httpResponse, defaultFullHttpResponse);
                 return Collections.singletonList(defaultFullHttpResponse);
             }
         } catch (Throwable throwable) {
-            mockServerLogger.logEvent(
-                new LogEntry()
-                    .setLogLevel(Level.ERROR)
-                    .setMessageFormat("exception encoding response{}")
-                    .setArguments(httpResponse)
-                    .setThrowable(throwable)
+            return Collections.singletonList(exceptionResponse(httpResponse, throwable));
+        }
+    }
+
+    /**
+     * maps a response with a file body without reading the file into memory, the file is written using a FileRegion,
+     * for zero-copy transfer, or using a ChunkedInput, which requires a ChunkedWriteHandler in the pipeline, when the
+     * connection can't transfer the file directly (i.e. TLS or HTTP/2) or the response is chunked
+     */
+    public List<Object> mapMockServerFileResponseToNettyResponse(HttpResponse httpResponse, boolean zeroCopy) {
+        FileChannel fileChannel = null;
+        try {
+            FileBody fileBody = (FileBody) httpResponse.getBody();
+            if (!Files.isRegularFile(fileBody.getFile().toPath(), LinkOption.NOFOLLOW_LINKS) || !fileBody.getFile().canRead()) {
+                throw new FileNotFoundException("response body file " + fileBody.getFile() + " does not exist or can't be read");
+            }
+            // symbolic links aren't followed, so the file checked against the root directory is the file written
+            fileChannel = fileBody.openChannel();
+            long length = fileChannel.size();
+            List<Object> httpMessages = new ArrayList<>();
+            DefaultHttpResponse defaultHttpResponse = new DefaultHttpResponse(
+                HttpVersion.HTTP_1_1,
+                getStatus(httpResponse)
             );
-            return Collections.singletonList(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, getStatus(httpResponse)));
+            setHeaders(httpResponse, defaultHttpResponse, length);
+            setCookies(httpResponse, defaultHttpResponse);
+            httpMessages.add(defaultHttpResponse);
+
+            ConnectionOptions connectionOptions = httpResponse.getConnectionOptions();
+            if (connectionOptions != null && connectionOptions.getChunkSize() != null && connectionOptions.getChunkSize() > 0) {
+                HttpUtil.setTransferEncodingChunked(defaultHttpResponse, true);
+                httpMessages.add(new HttpChunkedInput(new ChunkedNioFile(fileChannel, connectionOptions.getChunkSize())));
+            } else if (zeroCopy) {
+                httpMessages.add(new DefaultFileRegion(fileChannel, 0, length));
+                httpMessages.add(LastHttpContent.EMPTY_LAST_CONTENT);
+            } else {
+                httpMessages.add(new HttpChunkedInput(new ChunkedNioFile(fileChannel, FILE_CHUNK_SIZE)));
+            }
+            return httpMessages;
+        } catch (Throwable throwable) {
+            closeQuietly(fileChannel);
+            return Collections.singletonList(exceptionResponse(httpResponse, throwable));
+        }
+    }
+
+    private void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignore) {
+                // already failed
+            }
         }
     }
 
+    private DefaultFullHttpResponse exceptionResponse(HttpResponse httpResponse, Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("exception encoding response{}")
+                .setArguments(httpResponse)
+                .setThrowable(throwable)
+        );
+        DefaultFullHttpResponse defaultFullHttpResponse = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, getStatus(httpResponse));
+        setStreamId(httpResponse, defaultFullHttpResponse);
+        return defaultFullHttpResponse;
+    }
+
     private HttpResponseStatus getStatus(HttpResponse httpResponse) {
         int statusCode = httpResponse.getStatusCode() != null ? httpResponse.getStatusCode() : 200;
         if (!isEmpty(httpResponse.getReasonPhrase())) {
@@ -91,7 +158,7 @@ public class MockServerHttpResponseToFullHttpResponse {
         return bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()));
     }
 
-    private void setHeaders(HttpResponse httpResponse, DefaultHttpResponse response, ByteBuf body) {
+    private void setHeaders(HttpResponse httpResponse, DefaultHttpResponse response, long contentLength) {
         if (httpResponse.getHeaderMultimap() != null) {
             httpResponse
                 .getHeaderMultimap()
@@ -120,12 +187,21 @@ public class MockServerHttpResponseToFullHttpResponse {
             if (overrideContentLength) {
                 response.headers().set(CONTENT_LENGTH, connectionOptions.getContentLengthHeaderOverride());
             } else if (addContentLength && !chunkedEncoding) {
-                response.headers().set(CONTENT_LENGTH, body.readableBytes());
+                response.headers().set(CONTENT_LENGTH, contentLength);
             }
             if (chunkedEncoding) {
                 response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
             }
         }
+
+        setStreamId(httpResponse, response);
+    }
+
+    private void setStreamId(HttpResponse httpResponse, DefaultHttpResponse response) {
+        // HTTP/2 stream, used to convert the response into HTTP/2 frames on the same stream as the request
+        if (httpResponse.getStreamId() != null) {
+            response.headers().setInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), httpResponse.getStreamId());
+        }
     }
 
     private void setCookies(HttpResponse httpResponse, DefaultHttpResponse response) {
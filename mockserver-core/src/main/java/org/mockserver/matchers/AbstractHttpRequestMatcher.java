@@ -81,7 +81,12 @@ public abstract class AbstractHttpRequestMatcher extends NotMatcher<RequestDefin
     }
 
     @Override
-    public abstract boolean matches(MatchDifference context, RequestDefinition requestDefinition);
+    public boolean matches(MatchDifference context, RequestDefinition requestDefinition) {
+        return matches(context, null, requestDefinition);
+    }
+
+    @Override
+    public abstract boolean matches(MatchDifference context, MatchContext matchContext, RequestDefinition requestDefinition);
 
     @Override
     public Expectation getExpectation() {
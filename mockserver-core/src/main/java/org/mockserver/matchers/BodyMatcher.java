@@ -5,4 +5,11 @@ package org.mockserver.matchers;
  */
 public abstract class BodyMatcher<MatchedType> extends NotMatcher<MatchedType> {
 
+    /**
+     * matches using the request scoped match context, so values parsed from the body are shared with other body matchers
+     */
+    public boolean matches(MatchDifference context, MatchContext matchContext, MatchedType matched) {
+        return matches(context, matched);
+    }
+
 }
@@ -15,6 +15,8 @@ public interface HttpRequestMatcher extends Matcher<RequestDefinition> {
 
     boolean matches(MatchDifference context, RequestDefinition httpRequest);
 
+    boolean matches(MatchDifference context, MatchContext matchContext, RequestDefinition httpRequest);
+
     Expectation getExpectation();
 
     boolean update(Expectation expectation);
@@ -195,11 +195,11 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         this.sslMatcher = new BooleanMatcher(mockServerLogger, isSsl);
     }
 
-    public boolean matches(final MatchDifference context, final RequestDefinition requestDefinition) {
+    public boolean matches(final MatchDifference context, final MatchContext matchContext, final RequestDefinition requestDefinition) {
         if (requestDefinition instanceof HttpRequest) {
             HttpRequest request = (HttpRequest) requestDefinition;
             StringBuilder becauseBuilder = new StringBuilder();
-            boolean overallMatch = matches(context, request, becauseBuilder);
+            boolean overallMatch = matches(context, MatchContext.matchContextFor(matchContext, request), request, becauseBuilder);
             if (!controlPlaneMatcher) {
                 if (overallMatch) {
                     if (MockServerLogger.isEnabled(Level.INFO)) {
@@ -250,7 +250,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         }
     }
 
-    private boolean matches(MatchDifference context, HttpRequest request, StringBuilder becauseBuilder) {
+    private boolean matches(MatchDifference context, MatchContext matchContext, HttpRequest request, StringBuilder becauseBuilder) {
         if (isActive()) {
             if (request == this.httpRequest) {
                 return true;
@@ -281,7 +281,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                         return false;
                     }
 
-                    boolean bodyMatches = bodyMatches(context, request);
+                    boolean bodyMatches = bodyMatches(context, matchContext, request);
                     if (failFast(bodyMatcher, context, matchDifferenceCount, becauseBuilder, bodyMatches, BODY)) {
                         return false;
                     }
@@ -384,13 +384,13 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return count % 2 != 0;
     }
 
-    private boolean bodyMatches(MatchDifference context, HttpRequest request) {
+    private boolean bodyMatches(MatchDifference context, MatchContext matchContext, HttpRequest request) {
         boolean bodyMatches;
         if (bodyMatcher != null) {
             if (controlPlaneMatcher) {
                 if (httpRequest.getBody() != null && String.valueOf(httpRequest.getBody()).equalsIgnoreCase(String.valueOf(request.getBody()))) {
                     bodyMatches = true;
-                } else if (bodyMatches(bodyMatcher, context, request)) {
+                } else if (bodyMatches(bodyMatcher, context, matchContext, request)) {
                     // allow match of entries in EchoServer log (i.e. for java client integration tests)
                     bodyMatches = true;
                 } else {
@@ -401,6 +401,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                                 bodyMatches = bodyMatches(
                                     buildBodyMatcher(bodyDTO.buildObject()),
                                     context,
+                                    new MatchContext(httpRequest),
                                     httpRequest
                                 );
                             } else {
@@ -415,7 +416,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                     }
                 }
             } else {
-                bodyMatches = bodyMatches(bodyMatcher, context, request);
+                bodyMatches = bodyMatches(bodyMatcher, context, matchContext, request);
             }
         } else {
             bodyMatches = true;
@@ -424,43 +425,51 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     }
 
     @SuppressWarnings("unchecked")
-    private boolean bodyMatches(BodyMatcher bodyMatcher, MatchDifference context, HttpRequest request) {
+    private boolean bodyMatches(BodyMatcher bodyMatcher, MatchDifference context, MatchContext matchContext, HttpRequest request) {
         boolean bodyMatches;
         if (httpRequest.getBody().getOptional() != null && httpRequest.getBody().getOptional() && request.getBody() == null) {
             bodyMatches = true;
         } else if (bodyMatcher instanceof BinaryMatcher) {
-            bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsRawBytes());
+            bodyMatches = bodyMatches(context, matchContext, bodyMatcher, request.getBodyAsRawBytes());
         } else {
             if (bodyMatcher instanceof ExactStringMatcher ||
                 bodyMatcher instanceof SubStringMatcher ||
                 bodyMatcher instanceof RegexStringMatcher) {
                 // string body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, string(request.getBodyAsString()));
+                bodyMatches = bodyMatches(context, matchContext, bodyMatcher, string(matchContext.getBodyAsString()));
             } else if (bodyMatcher instanceof XmlStringMatcher ||
                 bodyMatcher instanceof XmlSchemaMatcher
             ) {
                 // xml body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = bodyMatches(context, matchContext, bodyMatcher, matchContext.getBodyAsString());
             } else if (bodyMatcher instanceof JsonStringMatcher ||
                 bodyMatcher instanceof JsonSchemaMatcher ||
                 bodyMatcher instanceof JsonPathMatcher
             ) {
                 // json body matcher
                 try {
-                    bodyMatches = matches(BODY, context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher));
+                    bodyMatches = bodyMatches(context, matchContext, bodyMatcher, matchContext.getBodyAsJson(bodyMatcher, () -> jsonSchemaBodyParser.convertToJson(request, bodyMatcher)));
                 } catch (IllegalArgumentException iae) {
                     if (context != null) {
                         context.addDifference(mockServerLogger, iae, iae.getMessage());
                     }
-                    bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                    bodyMatches = bodyMatches(context, matchContext, bodyMatcher, matchContext.getBodyAsString());
                 }
             } else {
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = bodyMatches(context, matchContext, bodyMatcher, matchContext.getBodyAsString());
             }
         }
         return bodyMatches;
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean bodyMatches(MatchDifference context, MatchContext matchContext, BodyMatcher bodyMatcher, Object matched) {
+        if (context != null) {
+            context.currentField(BODY);
+        }
+        return bodyMatcher.matches(context, matchContext, matched);
+    }
+
     private <T> boolean matches(MatchDifference.Field field, MatchDifference context, Matcher<T> matcher, T t) {
         if (context != null) {
             context.currentField(field);
@@ -496,18 +496,22 @@ public class HttpRequestsPropertiesMatcher extends AbstractHttpRequestMatcher {
     }
 
     @Override
-    public boolean matches(MatchDifference context, RequestDefinition requestDefinition) {
+    public boolean matches(MatchDifference context, MatchContext matchContext, RequestDefinition requestDefinition) {
         boolean result = false;
         if (httpRequestPropertiesMatchers != null && !httpRequestPropertiesMatchers.isEmpty()) {
+            if (matchContext == null && requestDefinition instanceof HttpRequest) {
+                // share parsed body between all operations
+                matchContext = new MatchContext((HttpRequest) requestDefinition);
+            }
             for (HttpRequestPropertiesMatcher httpRequestPropertiesMatcher : httpRequestPropertiesMatchers) {
                 if (context == null) {
                     if (MockServerLogger.isEnabled(Level.TRACE) && requestDefinition instanceof HttpRequest) {
                         context = new MatchDifference(configuration.detailedMatchFailures(), requestDefinition);
                     }
-                    result = httpRequestPropertiesMatcher.matches(context, requestDefinition);
+                    result = httpRequestPropertiesMatcher.matches(context, matchContext, requestDefinition);
                 } else {
                     MatchDifference singleMatchDifference = new MatchDifference(configuration.detailedMatchFailures(), context.getHttpRequest());
-                    result = httpRequestPropertiesMatcher.matches(singleMatchDifference, requestDefinition);
+                    result = httpRequestPropertiesMatcher.matches(singleMatchDifference, matchContext, requestDefinition);
                     context.addDifferences(singleMatchDifference.getAllDifferences());
                 }
                 if (result) {
@@ -41,6 +41,11 @@ public class JsonPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, null, matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final MatchContext matchContext, final String matched) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -53,7 +58,12 @@ public class JsonPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = !jsonPath.<JSONArray>read(matched).isEmpty();
+                Object matchedDocument = matchContext != null ? matchContext.getJsonPathDocument(matched) : null;
+                if (matchedDocument != null) {
+                    result = !jsonPath.<JSONArray>read(matchedDocument).isEmpty();
+                } else {
+                    result = !jsonPath.<JSONArray>read(matched).isEmpty();
+                }
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "json path match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
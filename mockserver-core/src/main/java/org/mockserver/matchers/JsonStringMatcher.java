@@ -39,6 +39,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, null, matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final MatchContext matchContext, String matched) {
         boolean result = false;
 
         try {
@@ -64,10 +69,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
                     if (matcherJsonNode == null) {
                         matcherJsonNode = ObjectMapperFactory.createObjectMapper().readTree(matcher);
                     }
+                    JsonNode matchedJsonNode = matchContext != null ? matchContext.getJsonNode(matched) : null;
                     result = Diff
                         .create(
                             matcherJsonNode,
-                            ObjectMapperFactory.createObjectMapper().readTree(matched),
+                            matchedJsonNode != null ? matchedJsonNode : ObjectMapperFactory.createObjectMapper().readTree(matched),
                             "",
                             "",
                             diffConfig
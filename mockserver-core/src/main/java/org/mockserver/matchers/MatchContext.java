@@ -0,0 +1,173 @@
+package org.mockserver.matchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.Configuration;
+import org.mockserver.codec.ExpandedParameterDecoder;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.ParameterStyle;
+import org.mockserver.model.Parameters;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.xml.StringToXmlDocumentParser;
+import org.w3c.dom.Document;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Request scoped context that lazily parses the body of a single request so that the parsed values
+ * are shared by every body matcher the request is matched against, instead of being parsed once per expectation
+ * <p>
+ * A context is only used by the thread matching the request, so it is not thread safe
+ *
+ * @author jamesdbloom
+ */
+public class MatchContext {
+
+    private static final StringToXmlDocumentParser STRING_TO_XML_DOCUMENT_PARSER = new StringToXmlDocumentParser();
+    private final HttpRequest httpRequest;
+    private String bodyAsString;
+    private boolean bodyAsStringRead;
+    private Map<Map<String, ParameterStyle>, String> bodiesAsJson;
+    private Map<String, Optional<JsonNode>> jsonNodes;
+    private Map<String, Optional<Object>> jsonPathDocuments;
+    private Map<String, ParsedXml> xmlDocuments;
+    private Map<String, ParsedXml> namespaceAwareXmlDocuments;
+    private Map<String, Parameters> formParameters;
+
+    public MatchContext(HttpRequest httpRequest) {
+        this.httpRequest = httpRequest;
+    }
+
+    public static MatchContext matchContextFor(MatchContext matchContext, HttpRequest httpRequest) {
+        if (matchContext != null && matchContext.httpRequest == httpRequest) {
+            return matchContext;
+        } else {
+            return new MatchContext(httpRequest);
+        }
+    }
+
+    public HttpRequest getHttpRequest() {
+        return httpRequest;
+    }
+
+    public String getBodyAsString() {
+        if (!bodyAsStringRead) {
+            bodyAsString = httpRequest != null ? httpRequest.getBodyAsString() : null;
+            bodyAsStringRead = true;
+        }
+        return bodyAsString;
+    }
+
+    /**
+     * the body converted to json, for form bodies the conversion depends on the parameter styles of json schema matchers
+     */
+    public String getBodyAsJson(BodyMatcher<?> bodyMatcher, Supplier<String> converter) {
+        Map<String, ParameterStyle> parameterStyles = bodyMatcher instanceof JsonSchemaMatcher ? ((JsonSchemaMatcher) bodyMatcher).getParameterStyle() : null;
+        if (bodiesAsJson == null) {
+            bodiesAsJson = new HashMap<>();
+        }
+        String bodyAsJson = bodiesAsJson.get(parameterStyles);
+        if (bodyAsJson == null) {
+            bodyAsJson = converter.get();
+            bodiesAsJson.put(parameterStyles, bodyAsJson);
+        }
+        return bodyAsJson;
+    }
+
+    /**
+     * @return the parsed json or null if the json is invalid
+     */
+    public JsonNode getJsonNode(String json) {
+        if (json == null) {
+            return null;
+        }
+        if (jsonNodes == null) {
+            jsonNodes = new HashMap<>();
+        }
+        return jsonNodes.computeIfAbsent(json, key -> {
+            try {
+                return Optional.ofNullable(ObjectMapperFactory.createObjectMapper().readTree(key));
+            } catch (Throwable throwable) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @return the json parsed by the default json path provider or null if the json is invalid
+     */
+    public Object getJsonPathDocument(String json) {
+        if (json == null) {
+            return null;
+        }
+        if (jsonPathDocuments == null) {
+            jsonPathDocuments = new HashMap<>();
+        }
+        return jsonPathDocuments.computeIfAbsent(json, key -> {
+            try {
+                return Optional.ofNullable(Configuration.defaultConfiguration().jsonProvider().parse(key));
+            } catch (Throwable throwable) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * parses the xml once per namespace awareness, replaying any parsing errors to each error logger
+     */
+    public Document getXmlDocument(String xml, StringToXmlDocumentParser.ErrorLogger errorLogger, boolean namespaceAware) throws Exception {
+        if (xmlDocuments == null) {
+            xmlDocuments = new HashMap<>();
+            namespaceAwareXmlDocuments = new HashMap<>();
+        }
+        ParsedXml parsedXml = (namespaceAware ? namespaceAwareXmlDocuments : xmlDocuments).computeIfAbsent(xml, key -> {
+            ParsedXml result = new ParsedXml();
+            try {
+                result.document = STRING_TO_XML_DOCUMENT_PARSER.buildDocument(xml, (xmlAsString, exception, level) -> result.errors.add(new XmlError(exception, level)), namespaceAware);
+            } catch (Exception exception) {
+                result.exception = exception;
+            }
+            return result;
+        });
+        if (errorLogger != null) {
+            for (XmlError error : parsedXml.errors) {
+                errorLogger.logError(xml, error.exception, error.level);
+            }
+        }
+        if (parsedXml.exception != null) {
+            throw parsedXml.exception;
+        }
+        return parsedXml.document;
+    }
+
+    /**
+     * @return a copy of the decoded form parameters, so the caller is free to modify them
+     */
+    public Parameters getFormParameters(String parameterString, ExpandedParameterDecoder formParameterParser) {
+        if (formParameters == null) {
+            formParameters = new HashMap<>();
+        }
+        Parameters parameters = formParameters.get(parameterString);
+        if (parameters == null) {
+            parameters = formParameterParser.retrieveFormParameters(parameterString, parameterString != null && parameterString.contains("?"));
+            formParameters.put(parameterString, parameters);
+        }
+        return parameters.clone();
+    }
+
+    private static class ParsedXml {
+        private final List<XmlError> errors = new ArrayList<>();
+        private Document document;
+        private Exception exception;
+    }
+
+    private static class XmlError {
+        private final Exception exception;
+        private final StringToXmlDocumentParser.ErrorLevel level;
+
+        private XmlError(Exception exception, StringToXmlDocumentParser.ErrorLevel level) {
+            this.exception = exception;
+            this.level = level;
+        }
+    }
+}
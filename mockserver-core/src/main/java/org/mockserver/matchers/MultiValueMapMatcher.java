@@ -47,7 +47,7 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
             }
             result = allKeysNotted || allKeysOptional;
         } else {
-            result = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).containsAll(mockServerLogger, context, matcher);
+            result = matched.getLookup(mockServerLogger, controlPlaneMatcher).containsAll(mockServerLogger, context, matcher);
         }
 
         if (!result && context != null) {
@@ -24,9 +24,14 @@ public class ParameterStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, null, matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final MatchContext matchContext, String matched) {
         boolean result = false;
 
-        Parameters matchedParameters = formParameterParser.retrieveFormParameters(matched, matched != null && matched.contains("?"));
+        Parameters matchedParameters = matchContext != null ? matchContext.getFormParameters(matched, formParameterParser) : formParameterParser.retrieveFormParameters(matched, matched != null && matched.contains("?"));
         expandedParameterDecoder.splitParameters(matcherParameters, matchedParameters);
         if (matcher.matches(context, matchedParameters)) {
             result = true;
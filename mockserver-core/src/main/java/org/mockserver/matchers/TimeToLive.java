@@ -22,7 +22,7 @@ public class TimeToLive extends ObjectWithReflectiveEqualsHashCodeToString {
     private final TimeUnit timeUnit;
     private final Long timeToLive;
     private final boolean unlimited;
-    private long endDate;
+    private volatile long endDate;
 
     private TimeToLive(TimeUnit timeUnit, Long timeToLive, boolean unlimited) {
         this.timeUnit = timeUnit;
@@ -3,6 +3,7 @@ package org.mockserver.matchers;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * @author jamesdbloom
@@ -25,10 +26,15 @@ public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
         public final boolean decrement() {
             return false;
         }
+
+        public final boolean claim() {
+            return true;
+        }
     };
+    private static final AtomicIntegerFieldUpdater<Times> REMAINING_TIMES_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Times.class, "remainingTimes");
 
     private int hashCode;
-    private int remainingTimes;
+    private volatile int remainingTimes;
     private final boolean unlimited;
 
     private Times(int remainingTimes, boolean unlimited) {
@@ -62,12 +68,33 @@ public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
 
     public boolean decrement() {
         if (!unlimited) {
-            remainingTimes--;
+            REMAINING_TIMES_UPDATER.decrementAndGet(this);
             return true;
         }
         return false;
     }
 
+    /**
+     * Atomically claims one of the remaining matches, so when many threads match concurrently
+     * no more than the remaining number of matches are ever claimed
+     *
+     * @return true if a match was claimed (always true when unlimited), false if no matches remain
+     */
+    public boolean claim() {
+        if (unlimited) {
+            return true;
+        }
+        while (true) {
+            int current = remainingTimes;
+            if (current <= 0) {
+                return false;
+            }
+            if (REMAINING_TIMES_UPDATER.compareAndSet(this, current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     public Times clone() {
         if (unlimited) {
@@ -58,6 +58,11 @@ public class XPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, null, matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final MatchContext matchContext, final String matched) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -70,11 +75,16 @@ public class XPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, (matchedInException, throwable, level) -> {
+                StringToXmlDocumentParser.ErrorLogger errorLogger = (matchedInException, throwable, level) -> {
                     if (context != null) {
                         context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
                     }
-                }, XPathConstants.BOOLEAN);
+                };
+                if (matchContext != null) {
+                    result = (Boolean) xPathEvaluator.evaluateXPathExpression(matchContext.getXmlDocument(matched, errorLogger, xPathEvaluator.isNamespaceAware()), XPathConstants.BOOLEAN);
+                } else {
+                    result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, errorLogger, XPathConstants.BOOLEAN);
+                }
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.mockserver.character.Character.NEW_LINE;
@@ -31,6 +32,8 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
 
     private static final AtomicInteger memoryUpdateFrequency = new AtomicInteger(0);
     private static final AtomicInteger currentLogEntriesCount = new AtomicInteger(0);
+    private static final AtomicLong currentRingBufferOccupancy = new AtomicLong(0);
+    private static final AtomicLong currentDroppedLogEntriesCount = new AtomicLong(0);
     private static final AtomicInteger currentExpectationsCount = new AtomicInteger(0);
     private static final List<MemoryPoolMXBean> memoryPoolMXBeans = ManagementFactory.getMemoryPoolMXBeans();
     private final Configuration configuration;
@@ -84,6 +87,8 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
         memoryStatistics.add(ImmutablePair.of("mockServerPort", getPort()));
         memoryStatistics.add(ImmutablePair.of("eventLogSize", currentLogEntriesCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxLogEntries", configuration.maxLogEntries()));
+        memoryStatistics.add(ImmutablePair.of("eventLogRingBufferOccupancy", currentRingBufferOccupancy.get()));
+        memoryStatistics.add(ImmutablePair.of("eventLogDroppedEntries", currentDroppedLogEntriesCount.get()));
         memoryStatistics.add(ImmutablePair.of("expectationsSize", currentExpectationsCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxExpectations", configuration.maxExpectations()));
         memoryStatistics.add(ImmutablePair.of("heapInitialAllocation", heap.getNet().getInit()));
@@ -100,6 +105,8 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     @Override
     public void updated(MockServerEventLog mockServerLog) {
         currentLogEntriesCount.set(mockServerLog.size());
+        currentRingBufferOccupancy.set(mockServerLog.ringBufferOccupancy());
+        currentDroppedLogEntriesCount.set(mockServerLog.droppedLogEntries());
         if (shouldLogMetrics()) {
             logMemoryMetrics();
         }
@@ -555,6 +555,16 @@ public class Expectation extends ObjectWithJsonToString {
         return false;
     }
 
+    /**
+     * Claims one of the remaining matches before the expectation is served, the claim fails if the
+     * time to live has expired or another thread has already claimed the last remaining match
+     *
+     * @return true if the expectation can be served
+     */
+    public boolean claimRemainingMatch() {
+        return isStillAlive() && (times == null || times.claim());
+    }
+
     @SuppressWarnings("PointlessNullCheck")
     public boolean contains(HttpRequest httpRequest) {
         return httpRequest != null && this.httpRequest.equals(httpRequest);
@@ -0,0 +1,104 @@
+package org.mockserver.mock;
+
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.HttpRequestPropertiesMatcher;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the keys used to narrow the expectations that need to be fully matched against a request, keyed on method
+ * and literal path, expectations with a regex, notted or schema path (or method) are not indexed and so are always
+ * fully matched
+ *
+ * @author jamesdbloom
+ */
+public class ExpectationDispatchIndex {
+
+    private static final String SEPARATOR = " ";
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
+
+    /**
+     * @return the index key for the expectation or null if the expectation can't be indexed
+     */
+    public static String indexKey(HttpRequestMatcher httpRequestMatcher) {
+        if (httpRequestMatcher instanceof HttpRequestPropertiesMatcher) {
+            HttpRequest httpRequest = ((HttpRequestPropertiesMatcher) httpRequestMatcher).getHttpRequest();
+            if (httpRequest != null && !httpRequest.isNot() && isLiteral(httpRequest.getPath())) {
+                if (isBlank(httpRequest.getMethod())) {
+                    return SEPARATOR + fold(httpRequest.getPath().getValue());
+                } else if (isLiteral(httpRequest.getMethod())) {
+                    return fold(httpRequest.getMethod().getValue()) + SEPARATOR + fold(httpRequest.getPath().getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the index keys to look up for the request or null if all expectations must be matched
+     */
+    public static List<String> lookupKeys(RequestDefinition requestDefinition) {
+        if (requestDefinition instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) requestDefinition;
+            if (!httpRequest.isNot() && isPlain(httpRequest.getMethod()) && isPlain(httpRequest.getPath())) {
+                String path = fold(httpRequest.getPath().getValue());
+                return Arrays.asList(
+                    fold(httpRequest.getMethod().getValue()) + SEPARATOR + path,
+                    SEPARATOR + path
+                );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the case folded path if the request definition has a literal path, otherwise null
+     */
+    public static String literalPathKey(RequestDefinition requestDefinition) {
+        if (requestDefinition instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) requestDefinition;
+            if (!httpRequest.isNot() && isLiteral(httpRequest.getPath())) {
+                return fold(httpRequest.getPath().getValue());
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(NottableString value) {
+        return value == null || (value.isBlank() && !value.isNot() && !(value instanceof NottableSchemaString));
+    }
+
+    private static boolean isPlain(NottableString value) {
+        return value != null && !value.isBlank() && !value.isNot() && !(value instanceof NottableSchemaString);
+    }
+
+    private static boolean isLiteral(NottableString value) {
+        if (!isPlain(value)) {
+            return false;
+        }
+        String string = value.getValue();
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            if (character > 127 || REGEX_META_CHARACTERS.indexOf(character) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * folds case in the same way as String.equalsIgnoreCase so keys are equal when values are equal ignoring case
+     */
+    private static String fold(String value) {
+        char[] characters = value.toCharArray();
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = Character.toLowerCase(Character.toUpperCase(characters[i]));
+        }
+        return new String(characters);
+    }
+}
@@ -270,6 +270,13 @@ public class HttpState {
         }
     }
 
+    /**
+     * checks if an active expectation matches the request without using up a match
+     */
+    public boolean hasMatchingExpectation(HttpRequest request) {
+        return !requestMatchers.isEmpty() && requestMatchers.anyActiveExpectationMatches(request);
+    }
+
     @VisibleForTesting
     public List<Expectation> allMatchingExpectation(HttpRequest request) {
         if (requestMatchers.isEmpty()) {
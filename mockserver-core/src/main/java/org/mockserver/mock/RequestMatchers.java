@@ -7,6 +7,7 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatchContext;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.MatcherBuilder;
 import org.mockserver.metrics.Metrics;
@@ -17,8 +18,10 @@ import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -37,17 +40,22 @@ import static org.slf4j.event.Level.TRACE;
 @SuppressWarnings("FieldMayBeFinal")
 public class RequestMatchers extends MockServerMatcherNotifier {
 
+    private static final int PARALLEL_MATCHER_BUILD_THRESHOLD = 100;
+
     final CircularPriorityQueue<String, HttpRequestMatcher, SortableExpectationId> httpRequestMatchers;
     final CircularHashMap<String, RequestDefinition> expectationRequestDefinitions;
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private final Scheduler scheduler;
+    private final Set<HttpRequestMatcher> pendingRemovals = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean removalScheduled = new AtomicBoolean(false);
     private WebSocketClientRegistry webSocketClientRegistry;
     private MatcherBuilder matcherBuilder;
     private Metrics metrics;
+    private volatile BodyMatching bodyMatching;
 
     public RequestMatchers(Configuration configuration, MockServerLogger mockServerLogger, Scheduler scheduler, WebSocketClientRegistry webSocketClientRegistry) {
-        super(scheduler);
+        super(scheduler, configuration.maxExpectationNotificationLatencyInMillis());
         this.configuration = configuration;
         this.scheduler = scheduler;
         this.matcherBuilder = new MatcherBuilder(configuration, mockServerLogger);
@@ -58,7 +66,8 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             configuration.maxExpectations(),
             EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
             httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
-            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : ""
+            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : "",
+            ExpectationDispatchIndex::indexKey
         );
         expectationRequestDefinitions = new CircularHashMap<>(configuration.maxExpectations());
         if (MockServerLogger.isEnabled(TRACE)) {
@@ -73,6 +82,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     public Expectation add(Expectation expectation, Cause cause) {
         Expectation upsertedExpectation = null;
         if (expectation != null) {
+            Changes changes = new Changes();
             expectationRequestDefinitions.put(expectation.getId(), expectation.getHttpRequest());
             upsertedExpectation = httpRequestMatchers
                 .getByKey(expectation.getId())
@@ -84,9 +94,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                         // propagate created time from previous entry to avoid re-ordering on update
                         expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                     }
-                    httpRequestMatchers.removePriorityKey(httpRequestMatcher);
-                    if (httpRequestMatcher.update(expectation)) {
-                        httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                    if (httpRequestMatchers.update(httpRequestMatcher, () -> httpRequestMatcher.update(expectation))) {
                         if (MockServerLogger.isEnabled(Level.INFO)) {
                             mockServerLogger.logEvent(
                                 new LogEntry()
@@ -100,20 +108,22 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                         if (expectation.getAction() != null) {
                             metrics.increment(expectation.getAction().getType());
                         }
-                    } else {
-                        httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                        changes.updated(expectation.getId());
                     }
                     return httpRequestMatcher;
                 })
-                .orElseGet(() -> addPrioritisedExpectation(expectation, cause))
+                .orElseGet(() -> {
+                    changes.added(expectation.getId());
+                    return addPrioritisedExpectation(expectation, cause);
+                })
                 .getExpectation();
-            notifyListeners(this, cause);
+            notifyListeners(this, cause, changes);
         }
         return upsertedExpectation;
     }
 
     public void update(Expectation[] expectations, Cause cause) {
-        AtomicInteger numberOfChanges = new AtomicInteger(0);
+        Changes changes = new Changes();
         if (expectations != null) {
             Map<String, HttpRequestMatcher> httpRequestMatchersByKey = httpRequestMatchers.keyMap();
             Set<String> existingKeysForCause = httpRequestMatchersByKey
@@ -123,9 +133,11 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toSet());
             Set<String> addedIds = new HashSet<>();
-            Arrays
-                .stream(expectations)
-                .forEach(expectation -> {
+            HttpRequestMatcher[] newHttpRequestMatchers = buildNewHttpRequestMatchers(expectations, httpRequestMatchersByKey);
+            IntStream
+                .range(0, expectations.length)
+                .forEach(index -> {
+                    Expectation expectation = expectations[index];
                     // ensure duplicate ids are skipped in input array
                     if (!addedIds.contains(expectation.getId())) {
                         addedIds.add(expectation.getId());
@@ -142,10 +154,8 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 // propagate created time from previous entry to avoid re-ordering on update
                                 expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                             }
-                            httpRequestMatchers.removePriorityKey(httpRequestMatcher);
-                            if (httpRequestMatcher.update(expectation)) {
-                                httpRequestMatchers.addPriorityKey(httpRequestMatcher);
-                                numberOfChanges.getAndIncrement();
+                            if (httpRequestMatchers.update(httpRequestMatcher, () -> httpRequestMatcher.update(expectation))) {
+                                changes.updated(expectation.getId());
                                 if (MockServerLogger.isEnabled(Level.INFO)) {
                                     mockServerLogger.logEvent(
                                         new LogEntry()
@@ -159,32 +169,52 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 if (expectation.getAction() != null) {
                                     metrics.increment(expectation.getAction().getType());
                                 }
-                            } else {
-                                httpRequestMatchers.addPriorityKey(httpRequestMatcher);
                             }
                         } else {
-                            addPrioritisedExpectation(expectation, cause);
-                            numberOfChanges.getAndIncrement();
+                            addPrioritisedExpectation(expectation, cause, newHttpRequestMatchers[index]);
+                            changes.added(expectation.getId());
                         }
                     }
                 });
             existingKeysForCause
                 .forEach(key -> {
-                    numberOfChanges.getAndIncrement();
+                    changes.removed(key);
                     HttpRequestMatcher httpRequestMatcher = httpRequestMatchersByKey.get(key);
                     removeHttpRequestMatcher(httpRequestMatcher, cause, false, UUIDService.getUUID());
                     if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
                         metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
                     }
                 });
-            if (numberOfChanges.get() > 0) {
-                notifyListeners(this, cause);
+            if (!changes.isEmpty()) {
+                notifyListeners(this, cause, changes);
             }
         }
     }
 
+    /**
+     * builds matchers for the expectations that don't already exist, in parallel for large updates such as initialization
+     * files, so only adding the matchers in order is done sequentially
+     */
+    private HttpRequestMatcher[] buildNewHttpRequestMatchers(Expectation[] expectations, Map<String, HttpRequestMatcher> httpRequestMatchersByKey) {
+        HttpRequestMatcher[] newHttpRequestMatchers = new HttpRequestMatcher[expectations.length];
+        IntStream indexes = IntStream.range(0, expectations.length);
+        if (expectations.length > PARALLEL_MATCHER_BUILD_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(index -> {
+            if (!httpRequestMatchersByKey.containsKey(expectations[index].getId())) {
+                newHttpRequestMatchers[index] = matcherBuilder.transformsToMatcher(expectations[index]);
+            }
+        });
+        return newHttpRequestMatchers;
+    }
+
     private HttpRequestMatcher addPrioritisedExpectation(Expectation expectation, Cause cause) {
-        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(expectation);
+        return addPrioritisedExpectation(expectation, cause, null);
+    }
+
+    private HttpRequestMatcher addPrioritisedExpectation(Expectation expectation, Cause cause, HttpRequestMatcher prebuiltHttpRequestMatcher) {
+        HttpRequestMatcher httpRequestMatcher = prebuiltHttpRequestMatcher != null ? prebuiltHttpRequestMatcher : matcherBuilder.transformsToMatcher(expectation);
         httpRequestMatchers.add(httpRequestMatcher);
         httpRequestMatcher.withSource(cause);
         if (expectation.getAction() != null) {
@@ -208,10 +238,15 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public void reset(Cause cause) {
-        httpRequestMatchers.stream().forEach(httpRequestMatcher -> removeHttpRequestMatcher(httpRequestMatcher, cause, false, UUIDService.getUUID()));
+        Changes changes = new Changes();
+        httpRequestMatchers.stream().forEach(httpRequestMatcher -> {
+            if (removeHttpRequestMatcher(httpRequestMatcher, cause, false, UUIDService.getUUID()) && httpRequestMatcher.getExpectation() != null) {
+                changes.removed(httpRequestMatcher.getExpectation().getId());
+            }
+        });
         expectationRequestDefinitions.clear();
         Metrics.clearActionMetrics();
-        notifyListeners(this, cause);
+        notifyListeners(this, cause, changes);
     }
 
     public void reset() {
@@ -219,21 +254,27 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public Expectation firstMatchingExpectation(HttpRequest httpRequest) {
-        Optional<Expectation> first = getHttpRequestMatchersCopy()
+        MatchContext matchContext = new MatchContext(httpRequest);
+        Optional<Expectation> first = httpRequestMatchers
+            .stream(ExpectationDispatchIndex.lookupKeys(httpRequest))
             .map(httpRequestMatcher -> {
                 Expectation matchingExpectation = null;
                 boolean remainingMatchesDecremented = false;
-                if (httpRequestMatcher.matches(MockServerLogger.isEnabled(DEBUG) ? new MatchDifference(configuration.detailedMatchFailures(), httpRequest) : null, httpRequest)) {
-                    matchingExpectation = httpRequestMatcher.getExpectation();
-                    httpRequestMatcher.setResponseInProgress(true);
-                    if (matchingExpectation.decrementRemainingMatches()) {
-                        remainingMatchesDecremented = true;
+                if (httpRequestMatcher.matches(MockServerLogger.isEnabled(DEBUG) ? new MatchDifference(configuration.detailedMatchFailures(), httpRequest) : null, matchContext, httpRequest)) {
+                    Expectation expectation = httpRequestMatcher.getExpectation();
+                    // claim before serving so concurrent requests can't serve a limited expectation more times than it allows
+                    if (expectation.claimRemainingMatch()) {
+                        matchingExpectation = expectation;
+                        httpRequestMatcher.setResponseInProgress(true);
+                        remainingMatchesDecremented = expectation.getTimes() != null && !expectation.getTimes().isUnlimited();
+                    } else {
+                        scheduleRemoval(httpRequestMatcher);
                     }
                 } else if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
-                    scheduler.submit(() -> removeHttpRequestMatcher(httpRequestMatcher, UUIDService.getUUID()));
+                    scheduleRemoval(httpRequestMatcher);
                 }
                 if (remainingMatchesDecremented) {
-                    notifyListeners(this, Cause.API);
+                    notifyListeners(this, Cause.API, new Changes().updated(matchingExpectation.getId()));
                 }
                 return matchingExpectation;
             })
@@ -251,6 +292,39 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return first.orElse(null);
     }
 
+    /**
+     * true if an active expectation matches the request, unlike {@link #firstMatchingExpectation} no match is claimed
+     * and no listeners or metrics are updated, so it can be used to decide how a request is handled before it is matched
+     */
+    public boolean anyActiveExpectationMatches(HttpRequest httpRequest) {
+        MatchContext matchContext = new MatchContext(httpRequest);
+        return httpRequestMatchers
+            .stream(ExpectationDispatchIndex.lookupKeys(httpRequest))
+            .anyMatch(httpRequestMatcher -> httpRequestMatcher.isActive() && httpRequestMatcher.matches(null, matchContext, httpRequest));
+    }
+
+    /**
+     * queues an inactive matcher for removal, all queued matchers are removed by a single scheduled task
+     * instead of submitting a task per request
+     */
+    private void scheduleRemoval(HttpRequestMatcher httpRequestMatcher) {
+        if (pendingRemovals.add(httpRequestMatcher) && removalScheduled.compareAndSet(false, true)) {
+            scheduler.submit(this::removePendingHttpRequestMatchers);
+        }
+    }
+
+    private void removePendingHttpRequestMatchers() {
+        removalScheduled.set(false);
+        Iterator<HttpRequestMatcher> iterator = pendingRemovals.iterator();
+        while (iterator.hasNext()) {
+            HttpRequestMatcher httpRequestMatcher = iterator.next();
+            iterator.remove();
+            if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
+                removeHttpRequestMatcher(httpRequestMatcher, UUIDService.getUUID());
+            }
+        }
+    }
+
     public void clear(RequestDefinition requestDefinition) {
         if (requestDefinition != null) {
             HttpRequestMatcher clearHttpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
@@ -323,7 +397,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     @SuppressWarnings("rawtypes")
-    private void removeHttpRequestMatcher(HttpRequestMatcher httpRequestMatcher, Cause cause, boolean notifyAndUpdateMetrics, String logCorrelationId) {
+    private boolean removeHttpRequestMatcher(HttpRequestMatcher httpRequestMatcher, Cause cause, boolean notifyAndUpdateMetrics, String logCorrelationId) {
         if (httpRequestMatchers.remove(httpRequestMatcher)) {
             if (httpRequestMatcher.getExpectation() != null && MockServerLogger.isEnabled(Level.INFO)) {
                 Expectation expectation = httpRequestMatcher.getExpectation().clone();
@@ -347,8 +421,15 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                 }
             }
             if (notifyAndUpdateMetrics) {
-                notifyListeners(this, cause);
+                Changes changes = new Changes();
+                if (httpRequestMatcher.getExpectation() != null) {
+                    changes.removed(httpRequestMatcher.getExpectation().getId());
+                }
+                notifyListeners(this, cause, changes);
             }
+            return true;
+        } else {
+            return false;
         }
     }
 
@@ -368,6 +449,10 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             .filter(Objects::nonNull);
     }
 
+    public Optional<Expectation> retrieveActiveExpectation(String expectationId) {
+        return httpRequestMatchers.getByKey(expectationId).map(HttpRequestMatcher::getExpectation);
+    }
+
     public List<Expectation> retrieveActiveExpectations(RequestDefinition requestDefinition) {
         if (requestDefinition == null) {
             return httpRequestMatchers.stream().map(HttpRequestMatcher::getExpectation).collect(Collectors.toList());
@@ -402,8 +487,39 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return httpRequestMatchers.isEmpty();
     }
 
-    protected void notifyListeners(final RequestMatchers notifier, Cause cause) {
-        super.notifyListeners(notifier, cause);
+    /**
+     * true if any expectation may match on the request body (or isn't an http request), so a request can only be
+     * matched once its body is received, the result is cached until the expectations next change
+     */
+    public boolean anyExpectationMayMatchBody() {
+        long currentVersion = httpRequestMatchers.getVersion();
+        BodyMatching currentBodyMatching = bodyMatching;
+        if (currentBodyMatching == null || currentBodyMatching.version != currentVersion) {
+            // computed from the version read before the expectations, so a concurrent change leaves it stale and the next call recomputes it
+            currentBodyMatching = new BodyMatching(
+                currentVersion,
+                httpRequestMatchers
+                    .stream()
+                    .map(HttpRequestMatcher::getExpectation)
+                    .anyMatch(expectation -> expectation == null || !(expectation.getHttpRequest() instanceof HttpRequest) || ((HttpRequest) expectation.getHttpRequest()).getBody() != null)
+            );
+            bodyMatching = currentBodyMatching;
+        }
+        return currentBodyMatching.anyExpectationMayMatchBody;
+    }
+
+    private static class BodyMatching {
+        private final long version;
+        private final boolean anyExpectationMayMatchBody;
+
+        private BodyMatching(long version, boolean anyExpectationMayMatchBody) {
+            this.version = version;
+            this.anyExpectationMayMatchBody = anyExpectationMayMatchBody;
+        }
+    }
+
+    protected void notifyListeners(final RequestMatchers notifier, Cause cause, Changes changes) {
+        super.notifyListeners(notifier, cause, changes);
     }
 
     private Stream<HttpRequestMatcher> getHttpRequestMatchersCopy() {
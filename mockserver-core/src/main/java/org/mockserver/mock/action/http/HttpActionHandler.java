@@ -582,6 +582,10 @@ public class HttpActionHandler {
         return httpClient;
     }
 
+    public void stop() {
+        httpClient.stop();
+    }
+
 
     public static InetSocketAddress getRemoteAddress(final ChannelHandlerContext ctx) {
         if (ctx != null && ctx.channel() != null && ctx.channel().attr(REMOTE_SOCKET) != null) {
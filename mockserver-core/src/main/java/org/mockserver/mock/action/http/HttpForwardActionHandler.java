@@ -18,7 +18,7 @@ public class HttpForwardActionHandler extends HttpForwardAction {
 
     public HttpForwardActionResult handle(HttpForward httpForward, HttpRequest httpRequest) {
         httpRequest.withSecure(HttpForward.Scheme.HTTPS.equals(httpForward.getScheme()));
-        return sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()), null);
+        return sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()), null);
     }
 
 }
@@ -9,4 +9,12 @@ public interface MockServerMatcherListener {
 
     void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause);
 
+    /**
+     * called once for each burst of changes from the same cause, with the ids of the expectations that were added,
+     * updated or removed, listeners that only need to know something changed can implement updated(RequestMatchers, Cause)
+     */
+    default void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause, MockServerMatcherNotifier.Changes changes) {
+        updated(requestMatchers, cause);
+    }
+
 }
@@ -1,15 +1,21 @@
 package org.mockserver.mock.listeners;
 
 import org.mockserver.mock.RequestMatchers;
+import org.mockserver.model.Delay;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 import org.mockserver.scheduler.Scheduler;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
+ * Notifies listeners of changes to expectations
+ * <p>
+ * Changes are collected for up to the maximum notification latency and then delivered to each listener as a single
+ * change set per cause, so a burst of changes, such as a large expectation initializer or many requests decrementing
+ * limited expectations, results in one notification instead of one per change.
+ *
  * @author jamesdbloom
  */
 public class MockServerMatcherNotifier extends ObjectWithReflectiveEqualsHashCodeToString {
@@ -17,15 +23,55 @@ public class MockServerMatcherNotifier extends ObjectWithReflectiveEqualsHashCod
     private boolean listenerAdded = false;
     private final List<MockServerMatcherListener> listeners = Collections.synchronizedList(new ArrayList<>());
     private final Scheduler scheduler;
+    private final long maxNotificationLatencyInMillis;
+    private final Map<Cause, Changes> pendingChanges = new LinkedHashMap<>();
+    private boolean notificationScheduled = false;
 
     public MockServerMatcherNotifier(Scheduler scheduler) {
+        this(scheduler, 0);
+    }
+
+    public MockServerMatcherNotifier(Scheduler scheduler, long maxNotificationLatencyInMillis) {
         this.scheduler = scheduler;
+        this.maxNotificationLatencyInMillis = maxNotificationLatencyInMillis;
     }
 
     protected void notifyListeners(final RequestMatchers notifier, Cause cause) {
+        notifyListeners(notifier, cause, new Changes());
+    }
+
+    protected void notifyListeners(final RequestMatchers notifier, Cause cause, Changes changes) {
         if (listenerAdded && !listeners.isEmpty()) {
-            for (MockServerMatcherListener listener : listeners.toArray(new MockServerMatcherListener[0])) {
-                scheduler.submit(() -> listener.updated(notifier, cause));
+            if (maxNotificationLatencyInMillis <= 0 || scheduler.isSynchronous()) {
+                deliver(notifier, Collections.singletonMap(cause, changes));
+            } else {
+                boolean scheduleNotification;
+                synchronized (pendingChanges) {
+                    pendingChanges.computeIfAbsent(cause, key -> new Changes()).merge(changes);
+                    scheduleNotification = !notificationScheduled;
+                    notificationScheduled = true;
+                }
+                if (scheduleNotification) {
+                    scheduler.schedule(() -> flush(notifier), false, new Delay(MILLISECONDS, maxNotificationLatencyInMillis));
+                }
+            }
+        }
+    }
+
+    private void flush(final RequestMatchers notifier) {
+        Map<Cause, Changes> changesByCause;
+        synchronized (pendingChanges) {
+            changesByCause = new LinkedHashMap<>(pendingChanges);
+            pendingChanges.clear();
+            notificationScheduled = false;
+        }
+        deliver(notifier, changesByCause);
+    }
+
+    private void deliver(final RequestMatchers notifier, Map<Cause, Changes> changesByCause) {
+        for (MockServerMatcherListener listener : listeners.toArray(new MockServerMatcherListener[0])) {
+            for (Map.Entry<Cause, Changes> entry : changesByCause.entrySet()) {
+                scheduler.submit(() -> listener.updated(notifier, entry.getKey(), entry.getValue()));
             }
         }
     }
@@ -39,6 +85,64 @@ public class MockServerMatcherNotifier extends ObjectWithReflectiveEqualsHashCod
         listeners.remove(listener);
     }
 
+    /**
+     * Ids of the expectations added, updated or removed, merged so that each id appears in at most one set and reflects
+     * the net effect of all the changes to that expectation since the last notification
+     */
+    public static class Changes extends ObjectWithReflectiveEqualsHashCodeToString {
+
+        private final Set<String> addedIds = new LinkedHashSet<>();
+        private final Set<String> updatedIds = new LinkedHashSet<>();
+        private final Set<String> removedIds = new LinkedHashSet<>();
+
+        public Changes added(String id) {
+            if (removedIds.remove(id)) {
+                updatedIds.add(id);
+            } else {
+                addedIds.add(id);
+            }
+            return this;
+        }
+
+        public Changes updated(String id) {
+            if (!addedIds.contains(id)) {
+                updatedIds.add(id);
+            }
+            return this;
+        }
+
+        public Changes removed(String id) {
+            if (!addedIds.remove(id)) {
+                updatedIds.remove(id);
+                removedIds.add(id);
+            }
+            return this;
+        }
+
+        public Changes merge(Changes changes) {
+            changes.addedIds.forEach(this::added);
+            changes.updatedIds.forEach(this::updated);
+            changes.removedIds.forEach(this::removed);
+            return this;
+        }
+
+        public Set<String> getAddedIds() {
+            return Collections.unmodifiableSet(addedIds);
+        }
+
+        public Set<String> getUpdatedIds() {
+            return Collections.unmodifiableSet(updatedIds);
+        }
+
+        public Set<String> getRemovedIds() {
+            return Collections.unmodifiableSet(removedIds);
+        }
+
+        public boolean isEmpty() {
+            return addedIds.isEmpty() && updatedIds.isEmpty() && removedIds.isEmpty();
+        }
+    }
+
     public static class Cause {
         public Cause(String source, Type type) {
             this.source = source;
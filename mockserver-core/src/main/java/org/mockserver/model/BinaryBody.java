@@ -3,6 +3,7 @@ package org.mockserver.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.mockserver.serialization.Base64Converter;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Objects;
@@ -13,6 +14,7 @@ import java.util.Objects;
 public class BinaryBody extends BodyWithContentType<byte[]> {
     private int hashCode;
     private final byte[] bytes;
+    private final LazyBodyContent lazyContent;
     private final Base64Converter base64Converter = new Base64Converter();
 
     public BinaryBody(byte[] bytes) {
@@ -22,6 +24,17 @@ public class BinaryBody extends BodyWithContentType<byte[]> {
     public BinaryBody(byte[] bytes, MediaType contentType) {
         super(Type.BINARY, contentType);
         this.bytes = bytes;
+        this.lazyContent = null;
+    }
+
+    /**
+     * body backed by a buffer, such as a memory mapped file, that is only copied into a byte array when the
+     * body's content is first read
+     */
+    public BinaryBody(ByteBuffer byteBuffer, MediaType contentType) {
+        super(Type.BINARY, contentType);
+        this.bytes = null;
+        this.lazyContent = new LazyBodyContent(byteBuffer, determineCharacterSet(contentType, MediaType.DEFAULT_TEXT_HTTP_CHARACTER_SET));
     }
 
     public static BinaryBody binary(byte[] body) {
@@ -33,16 +46,26 @@ public class BinaryBody extends BodyWithContentType<byte[]> {
     }
 
     public byte[] getValue() {
-        return bytes;
+        return getBytes();
     }
 
     @JsonIgnore
     public byte[] getRawBytes() {
-        return bytes;
+        return getBytes();
+    }
+
+    private byte[] getBytes() {
+        return lazyContent != null ? lazyContent.getBytes() : bytes;
+    }
+
+    @Override
+    LazyBodyContent lazyContent() {
+        return lazyContent;
     }
 
     @Override
     public String toString() {
+        byte[] bytes = getBytes();
         return bytes != null ? base64Converter.bytesToBase64String(bytes) : null;
     }
 
@@ -61,7 +84,7 @@ public class BinaryBody extends BodyWithContentType<byte[]> {
             return false;
         }
         BinaryBody that = (BinaryBody) o;
-        return Arrays.equals(bytes, that.bytes) &&
+        return Arrays.equals(getBytes(), that.getBytes()) &&
             Objects.equals(base64Converter, that.base64Converter);
     }
 
@@ -69,7 +92,7 @@ public class BinaryBody extends BodyWithContentType<byte[]> {
     public int hashCode() {
         if (hashCode == 0) {
             int result = Objects.hash(super.hashCode(), base64Converter);
-            hashCode = 31 * result + Arrays.hashCode(bytes);
+            hashCode = 31 * result + Arrays.hashCode(getBytes());
         }
         return hashCode;
     }
@@ -28,6 +28,33 @@ public abstract class BodyWithContentType<T> extends Body<T> {
         return defaultCharset;
     }
 
+    /**
+     * @return content streamed to a temporary file, because it was larger than maxInMemoryRequestBodySize, or null if the content was held in memory
+     */
+    LazyBodyContent lazyContent() {
+        return null;
+    }
+
+    /**
+     * @return length of content streamed to a temporary file, because it was larger than maxInMemoryRequestBodySize, or -1 if the content was held in memory
+     */
+    @JsonIgnore
+    public int getSpilledLength() {
+        LazyBodyContent lazyContent = lazyContent();
+        return lazyContent != null ? lazyContent.getLength() : -1;
+    }
+
+    /**
+     * copies content streamed to a temporary file onto the heap, so the memory mapped file isn't held by anything, such
+     * as a log entry, that retains this body
+     */
+    public void releaseSpilledContent() {
+        LazyBodyContent lazyContent = lazyContent();
+        if (lazyContent != null) {
+            lazyContent.release();
+        }
+    }
+
     @Override
     @JsonIgnore
     public Charset getCharset(Charset defaultIfNotSet) {
@@ -0,0 +1,120 @@
+package org.mockserver.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Response body read from a file when the response is written, so large files are never held in memory
+ * <p>
+ * Over plain HTTP/1.x connections the file is written with zero-copy file transfer (i.e. sendfile), otherwise, such as
+ * over TLS or HTTP/2, the file is read and written in chunks
+ * <p>
+ * The file path is resolved against the file response body root directory and files outside that directory are
+ * rejected when the response is written, the file is always opened without following a symbolic link at the file path
+ *
+ * @author jamesdbloom
+ */
+public class FileBody extends BodyWithContentType<String> {
+    private int hashCode;
+    private final String filePath;
+
+    public FileBody(String filePath) {
+        this(filePath, null);
+    }
+
+    public FileBody(String filePath, MediaType contentType) {
+        super(Type.FILE, contentType);
+        this.filePath = filePath;
+    }
+
+    public static FileBody file(String filePath) {
+        return new FileBody(filePath);
+    }
+
+    public static FileBody file(String filePath, MediaType contentType) {
+        return new FileBody(filePath, contentType);
+    }
+
+    public String getValue() {
+        return filePath;
+    }
+
+    @JsonIgnore
+    public File getFile() {
+        return new File(filePath);
+    }
+
+    @JsonIgnore
+    public long getLength() {
+        try {
+            return Files.readAttributes(getFile().toPath(), BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).size();
+        } catch (IOException ioe) {
+            return 0;
+        }
+    }
+
+    /**
+     * opens the file for reading, a symbolic link at the file path isn't followed
+     */
+    @JsonIgnore
+    public FileChannel openChannel() throws IOException {
+        return FileChannel.open(getFile().toPath(), StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    /**
+     * reads the whole file into memory, only used when the response can't be written directly from the file
+     */
+    @JsonIgnore
+    public byte[] getRawBytes() {
+        try (FileChannel fileChannel = openChannel()) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) fileChannel.size());
+            while (bytes.hasRemaining() && fileChannel.read(bytes) >= 0) {
+                // read until full or end of file
+            }
+            return bytes.array();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception reading response body file " + filePath, ioe);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return filePath;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        FileBody fileBody = (FileBody) o;
+        return Objects.equals(filePath, fileBody.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(super.hashCode(), filePath);
+        }
+        return hashCode;
+    }
+}
@@ -37,6 +37,7 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
     private List<X509Certificate> clientCertificateChain;
     private SocketAddress socketAddress;
     private String remoteAddress;
+    private Integer streamId;
 
     public static HttpRequest request() {
         return new HttpRequest();
@@ -188,6 +189,20 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
         return remoteAddress;
     }
 
+    /**
+     * The HTTP/2 stream the request was received on, used to send the response on the same stream, so isn't matched on
+     *
+     * @param streamId the HTTP/2 stream id or null for HTTP/1.x
+     */
+    public HttpRequest withStreamId(Integer streamId) {
+        this.streamId = streamId;
+        return this;
+    }
+
+    public Integer getStreamId() {
+        return streamId;
+    }
+
     /**
      * The HTTP method to match on such as "GET" or "POST"
      *
@@ -1087,14 +1102,18 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
         }
     }
 
+    /**
+     * The remote address from the socket address or host header, which is unresolved so the host name is resolved
+     * without blocking when a connection is opened
+     */
     public InetSocketAddress socketAddressFromHostHeader() {
         if (socketAddress != null && socketAddress.getHost() != null) {
             boolean isSsl = socketAddress.getScheme() != null && socketAddress.getScheme().equals(SocketAddress.Scheme.HTTPS);
-            return new InetSocketAddress(socketAddress.getHost(), socketAddress.getPort() != null ? socketAddress.getPort() : isSsl ? 443 : 80);
+            return InetSocketAddress.createUnresolved(socketAddress.getHost(), socketAddress.getPort() != null ? socketAddress.getPort() : isSsl ? 443 : 80);
         } else if (isNotBlank(getFirstHeader(HOST.toString()))) {
             boolean isSsl = isSecure() != null && isSecure();
             String[] hostHeaderParts = getFirstHeader(HOST.toString()).split(":");
-            return new InetSocketAddress(hostHeaderParts[0], hostHeaderParts.length > 1 ? Integer.parseInt(hostHeaderParts[1]) : isSsl ? 443 : 80);
+            return InetSocketAddress.createUnresolved(hostHeaderParts[0], hostHeaderParts.length > 1 ? Integer.parseInt(hostHeaderParts[1]) : isSsl ? 443 : 80);
         } else {
             throw new IllegalArgumentException("Host header must be provided to determine remote socket address, the request does not include the \"Host\" header:" + NEW_LINE + this);
         }
@@ -1128,7 +1147,8 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
             .withSecure(secure)
             .withClientCertificateChain(clientCertificateChain != null && !clientCertificateChain.isEmpty() ? clientCertificateChain.stream().map(X509Certificate::clone).collect(Collectors.toList()) : null)
             .withSocketAddress(socketAddress)
-            .withRemoteAddress(remoteAddress);
+            .withRemoteAddress(remoteAddress)
+            .withStreamId(streamId);
     }
 
     public HttpRequest update(HttpRequest requestOverride, HttpRequestModifier requestModifier) {
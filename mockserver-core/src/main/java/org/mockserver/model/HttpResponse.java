@@ -29,6 +29,7 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
     private Headers headers;
     private Cookies cookies;
     private ConnectionOptions connectionOptions;
+    private Integer streamId;
 
     /**
      * Static builder to create a response.
@@ -526,6 +527,20 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
         return connectionOptions;
     }
 
+    /**
+     * The HTTP/2 stream the response is sent on, this is set from the request's stream so isn't part of an expectation
+     *
+     * @param streamId the HTTP/2 stream id or null for HTTP/1.x
+     */
+    public HttpResponse withStreamId(Integer streamId) {
+        this.streamId = streamId;
+        return this;
+    }
+
+    public Integer getStreamId() {
+        return streamId;
+    }
+
     @Override
     @JsonIgnore
     public Type getType() {
@@ -553,7 +568,8 @@ public class HttpResponse extends Action<HttpResponse> implements HttpMessage<Ht
             .withHeaders(headers != null ? headers.clone() : null)
             .withCookies(cookies != null ? cookies.clone() : null)
             .withDelay(getDelay())
-            .withConnectionOptions(connectionOptions);
+            .withConnectionOptions(connectionOptions)
+            .withStreamId(streamId);
     }
 
     public HttpResponse update(HttpResponse responseOverride, HttpResponseModifier responseModifier) {
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.mockserver.matchers.MatchType;
 import org.mockserver.serialization.ObjectMapperFactory;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Objects;
@@ -24,6 +25,7 @@ public class JsonBody extends BodyWithContentType<String> {
     private final String json;
     private final MatchType matchType;
     private final byte[] rawBytes;
+    private final LazyBodyContent lazyContent;
     private static ObjectMapper objectMapper;
     private JsonNode jsonNode;
 
@@ -43,6 +45,7 @@ public class JsonBody extends BodyWithContentType<String> {
         super(Type.JSON, contentType);
         this.json = json;
         this.matchType = matchType;
+        this.lazyContent = null;
 
         if (rawBytes == null && json != null) {
             this.rawBytes = json.getBytes(determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
@@ -51,6 +54,18 @@ public class JsonBody extends BodyWithContentType<String> {
         }
     }
 
+    /**
+     * body backed by a buffer, such as a memory mapped file, that is only decoded, using the content type's charset,
+     * when the body's content is first read
+     */
+    public JsonBody(ByteBuffer byteBuffer, MediaType contentType, MatchType matchType) {
+        super(Type.JSON, contentType);
+        this.json = null;
+        this.rawBytes = null;
+        this.matchType = matchType;
+        this.lazyContent = new LazyBodyContent(byteBuffer, determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
+    }
+
     public static JsonBody json(String json) {
         return new JsonBody(json);
     }
@@ -115,7 +130,7 @@ public class JsonBody extends BodyWithContentType<String> {
                 objectMapper = ObjectMapperFactory.createObjectMapper();
             }
             try {
-                jsonNode = objectMapper.readTree(json);
+                jsonNode = objectMapper.readTree(getValue());
             } catch (JsonProcessingException jpe) {
                 throw new RuntimeException(jpe.getMessage(), jpe);
             }
@@ -124,12 +139,17 @@ public class JsonBody extends BodyWithContentType<String> {
     }
 
     public String getValue() {
-        return json;
+        return lazyContent != null ? lazyContent.getString() : json;
     }
 
     @JsonIgnore
     public byte[] getRawBytes() {
-        return rawBytes;
+        return lazyContent != null ? lazyContent.getBytes() : rawBytes;
+    }
+
+    @Override
+    LazyBodyContent lazyContent() {
+        return lazyContent;
     }
 
     public MatchType getMatchType() {
@@ -138,7 +158,7 @@ public class JsonBody extends BodyWithContentType<String> {
 
     @Override
     public String toString() {
-        return json;
+        return getValue();
     }
 
     @Override
@@ -156,16 +176,16 @@ public class JsonBody extends BodyWithContentType<String> {
             return false;
         }
         JsonBody jsonBody = (JsonBody) o;
-        return Objects.equals(json, jsonBody.json) &&
+        return Objects.equals(getValue(), jsonBody.getValue()) &&
             matchType == jsonBody.matchType &&
-            Arrays.equals(rawBytes, jsonBody.rawBytes);
+            Arrays.equals(getRawBytes(), jsonBody.getRawBytes());
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(super.hashCode(), json, matchType);
-            hashCode = 31 * result + Arrays.hashCode(rawBytes);
+            int result = Objects.hash(super.hashCode(), getValue(), matchType);
+            hashCode = 31 * result + Arrays.hashCode(getRawBytes());
         }
         return hashCode;
     }
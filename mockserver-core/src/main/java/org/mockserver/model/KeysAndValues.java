@@ -1,5 +1,8 @@
 package org.mockserver.model;
 
+import org.mockserver.collections.NottableStringHashMap;
+import org.mockserver.logging.MockServerLogger;
+
 import java.util.*;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -12,6 +15,8 @@ import static org.mockserver.model.NottableString.string;
 public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValues> extends ObjectWithJsonToString {
 
     private final Map<NottableString, NottableString> map;
+    private transient volatile NottableStringHashMap dataPlaneLookup;
+    private transient volatile NottableStringHashMap controlPlaneLookup;
 
     protected KeysAndValues() {
         map = new LinkedHashMap<>();
@@ -24,6 +29,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     public abstract T build(NottableString name, NottableString value);
 
     public K withEntries(List<T> entries) {
+        modified();
         map.clear();
         if (entries != null) {
             for (T cookie : entries) {
@@ -41,6 +47,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     }
 
     public K withEntry(T entry) {
+        modified();
         if (entry != null) {
             map.put(entry.getName(), entry.getValue());
         }
@@ -48,16 +55,19 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     }
 
     public K withEntry(String name, String value) {
+        modified();
         map.put(string(name), string(value));
         return (K) this;
     }
 
     public K withEntry(NottableString name, NottableString value) {
+        modified();
         map.put(name, value);
         return (K) this;
     }
 
     public K replaceEntryIfExists(final T entry) {
+        modified();
         if (entry != null) {
             if (remove(entry.getName())) {
                 map.put(entry.getName(), entry.getValue());
@@ -66,6 +76,28 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
         return (K) this;
     }
 
+    /**
+     * lazily built lookup of the entries used by matchers, so a request's entries are only converted once
+     * no matter how many expectations it is matched against, the lookup is rebuilt after any modification
+     */
+    public NottableStringHashMap getLookup(MockServerLogger mockServerLogger, boolean controlPlaneMatcher) {
+        NottableStringHashMap lookup = controlPlaneMatcher ? controlPlaneLookup : dataPlaneLookup;
+        if (lookup == null) {
+            lookup = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, getEntries());
+            if (controlPlaneMatcher) {
+                controlPlaneLookup = lookup;
+            } else {
+                dataPlaneLookup = lookup;
+            }
+        }
+        return lookup;
+    }
+
+    private void modified() {
+        dataPlaneLookup = null;
+        controlPlaneLookup = null;
+    }
+
     public List<T> getEntries() {
         if (!map.isEmpty()) {
             ArrayList<T> cookies = new ArrayList<>();
@@ -91,6 +123,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     }
 
     public boolean remove(String name) {
+        modified();
         if (isNotBlank(name)) {
             return map.remove(string(name)) != null;
         }
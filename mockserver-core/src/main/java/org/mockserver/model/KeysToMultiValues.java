@@ -3,6 +3,8 @@ package org.mockserver.model;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import org.apache.commons.lang3.ArrayUtils;
+import org.mockserver.collections.NottableStringMultiMap;
+import org.mockserver.logging.MockServerLogger;
 
 import java.util.*;
 
@@ -18,6 +20,8 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     private final Multimap<NottableString, NottableString> multimap;
     private final K k = (K) this;
+    private transient volatile NottableStringMultiMap dataPlaneLookup;
+    private transient volatile NottableStringMultiMap controlPlaneLookup;
 
     protected KeysToMultiValues() {
         multimap = LinkedHashMultimap.create();
@@ -35,11 +39,13 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     @SuppressWarnings("UnusedReturnValue")
     public KeysToMultiValues<T, K> withKeyMatchStyle(KeyMatchStyle keyMatchStyle) {
+        modified();
         this.keyMatchStyle = keyMatchStyle;
         return this;
     }
 
     public K withEntries(final Map<String, List<String>> entries) {
+        modified();
         multimap.clear();
         for (String name : entries.keySet()) {
             for (String value : entries.get(name)) {
@@ -50,6 +56,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntries(final List<T> entries) {
+        modified();
         multimap.clear();
         if (entries != null) {
             for (T entry : entries) {
@@ -68,6 +75,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final T entry) {
+        modified();
         if (entry != null) {
             if (entry.getValues().isEmpty()) {
                 multimap.put(entry.getName(), null);
@@ -79,6 +87,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final String name, final String... values) {
+        modified();
         if (values == null || values.length == 0) {
             multimap.put(string(name), string(""));
         } else {
@@ -88,6 +97,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final String name, final List<String> values) {
+        modified();
         if (values == null || values.size() == 0) {
             multimap.put(string(name), null);
         } else {
@@ -97,6 +107,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final NottableString name, final List<NottableString> values) {
+        modified();
         if (values != null) {
             multimap.putAll(name, values);
         }
@@ -111,6 +122,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public boolean remove(final String name) {
+        modified();
         boolean exists = false;
         if (name != null) {
             for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
@@ -124,6 +136,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public boolean remove(final NottableString name) {
+        modified();
         boolean exists = false;
         if (name != null) {
             for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
@@ -138,6 +151,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntry(final T entry) {
+        modified();
         if (entry != null) {
             remove(entry.getName());
             multimap.putAll(entry.getName(), entry.getValues());
@@ -147,6 +161,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntryIfExists(final T entry) {
+        modified();
         if (entry != null) {
             if (remove(entry.getName())) {
                 multimap.putAll(entry.getName(), entry.getValues());
@@ -157,6 +172,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntry(final String name, final String... values) {
+        modified();
         if (ArrayUtils.isNotEmpty(values)) {
             remove(name);
             multimap.putAll(string(name), deserializeNottableStrings(values));
@@ -164,6 +180,28 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         return k;
     }
 
+    /**
+     * lazily built lookup of the entries used by matchers, so a request's entries are only converted once
+     * no matter how many expectations it is matched against, the lookup is rebuilt after any modification
+     */
+    public NottableStringMultiMap getLookup(MockServerLogger mockServerLogger, boolean controlPlaneMatcher) {
+        NottableStringMultiMap lookup = controlPlaneMatcher ? controlPlaneLookup : dataPlaneLookup;
+        if (lookup == null) {
+            lookup = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, keyMatchStyle, getEntries());
+            if (controlPlaneMatcher) {
+                controlPlaneLookup = lookup;
+            } else {
+                dataPlaneLookup = lookup;
+            }
+        }
+        return lookup;
+    }
+
+    private void modified() {
+        dataPlaneLookup = null;
+        controlPlaneLookup = null;
+    }
+
     public List<T> getEntries() {
         if (!isEmpty()) {
             ArrayList<T> headers = new ArrayList<>();
@@ -0,0 +1,69 @@
+package org.mockserver.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Body content backed by a buffer, such as a memory mapped file, that is only copied into a byte array, or decoded
+ * into a string, when the content is first read
+ *
+ * @author jamesdbloom
+ */
+class LazyBodyContent {
+
+    private final Charset charset;
+    private final int length;
+    private volatile ByteBuffer byteBuffer;
+    private volatile byte[] bytes;
+    private volatile String string;
+
+    LazyBodyContent(ByteBuffer byteBuffer, Charset charset) {
+        this.byteBuffer = byteBuffer.asReadOnlyBuffer();
+        this.charset = charset;
+        this.length = this.byteBuffer.remaining();
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    byte[] getBytes() {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            ByteBuffer byteBuffer = this.byteBuffer;
+            if (byteBuffer == null) {
+                // released concurrently, which copies the content before dropping the buffer
+                return this.bytes;
+            }
+            ByteBuffer duplicate = byteBuffer.duplicate();
+            bytes = new byte[duplicate.remaining()];
+            duplicate.get(bytes);
+            this.bytes = bytes;
+        }
+        return bytes;
+    }
+
+    String getString() {
+        String string = this.string;
+        if (string == null) {
+            ByteBuffer byteBuffer = this.byteBuffer;
+            if (byteBuffer != null) {
+                // decoded from the buffer so the byte array copy is only made if the raw bytes are also read
+                string = charset.decode(byteBuffer.duplicate()).toString();
+            } else {
+                string = new String(getBytes(), charset);
+            }
+            this.string = string;
+        }
+        return string;
+    }
+
+    /**
+     * copies the content onto the heap, unless already copied, and drops the buffer so the memory mapping, and the
+     * temporary file behind it, can be released
+     */
+    void release() {
+        getBytes();
+        byteBuffer = null;
+    }
+}
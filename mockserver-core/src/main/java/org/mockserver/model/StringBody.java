@@ -2,6 +2,7 @@ package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Objects;
@@ -18,6 +19,7 @@ public class StringBody extends BodyWithContentType<String> {
     private final boolean subString;
     private final String value;
     private final byte[] rawBytes;
+    private final LazyBodyContent lazyContent;
 
     public StringBody(String value) {
         this(value, null, false, null);
@@ -35,6 +37,7 @@ public class StringBody extends BodyWithContentType<String> {
         super(Type.STRING, contentType);
         this.value = isNotBlank(value) ? value : "";
         this.subString = subString;
+        this.lazyContent = null;
 
         if (rawBytes == null && value != null) {
             this.rawBytes = value.getBytes(determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
@@ -43,6 +46,18 @@ public class StringBody extends BodyWithContentType<String> {
         }
     }
 
+    /**
+     * body backed by a buffer, such as a memory mapped file, that is only decoded, using the content type's charset,
+     * when the body's content is first read
+     */
+    public StringBody(ByteBuffer byteBuffer, MediaType contentType) {
+        super(Type.STRING, contentType);
+        this.value = null;
+        this.rawBytes = null;
+        this.subString = false;
+        this.lazyContent = new LazyBodyContent(byteBuffer, determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
+    }
+
     public static StringBody exact(String body) {
         return new StringBody(body);
     }
@@ -68,12 +83,17 @@ public class StringBody extends BodyWithContentType<String> {
     }
 
     public String getValue() {
-        return value;
+        return lazyContent != null ? lazyContent.getString() : value;
     }
 
     @JsonIgnore
     public byte[] getRawBytes() {
-        return rawBytes;
+        return lazyContent != null ? lazyContent.getBytes() : rawBytes;
+    }
+
+    @Override
+    LazyBodyContent lazyContent() {
+        return lazyContent;
     }
 
     public boolean isSubString() {
@@ -82,7 +102,7 @@ public class StringBody extends BodyWithContentType<String> {
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 
     @Override
@@ -101,15 +121,15 @@ public class StringBody extends BodyWithContentType<String> {
         }
         StringBody that = (StringBody) o;
         return subString == that.subString &&
-            Objects.equals(value, that.value) &&
-            Arrays.equals(rawBytes, that.rawBytes);
+            Objects.equals(getValue(), that.getValue()) &&
+            Arrays.equals(getRawBytes(), that.getRawBytes());
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(super.hashCode(), subString, value);
-            hashCode = 31 * result + Arrays.hashCode(rawBytes);
+            int result = Objects.hash(super.hashCode(), subString, getValue());
+            hashCode = 31 * result + Arrays.hashCode(getRawBytes());
         }
         return hashCode;
     }
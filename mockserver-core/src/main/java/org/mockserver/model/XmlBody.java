@@ -2,6 +2,7 @@ package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Objects;
@@ -17,6 +18,7 @@ public class XmlBody extends BodyWithContentType<String> {
     public static final MediaType DEFAULT_XML_CONTENT_TYPE = MediaType.APPLICATION_XML_UTF_8;
     private final String xml;
     private final byte[] rawBytes;
+    private final LazyBodyContent lazyContent;
 
     public XmlBody(String xml) {
         this(xml, DEFAULT_XML_CONTENT_TYPE);
@@ -33,6 +35,7 @@ public class XmlBody extends BodyWithContentType<String> {
     public XmlBody(String xml, byte[] rawBytes, MediaType contentType) {
         super(Type.XML, contentType);
         this.xml = xml;
+        this.lazyContent = null;
 
         if (rawBytes == null && xml != null) {
             this.rawBytes = xml.getBytes(determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
@@ -41,6 +44,17 @@ public class XmlBody extends BodyWithContentType<String> {
         }
     }
 
+    /**
+     * body backed by a buffer, such as a memory mapped file, that is only decoded, using the content type's charset,
+     * when the body's content is first read
+     */
+    public XmlBody(ByteBuffer byteBuffer, MediaType contentType) {
+        super(Type.XML, contentType);
+        this.xml = null;
+        this.rawBytes = null;
+        this.lazyContent = new LazyBodyContent(byteBuffer, determineCharacterSet(contentType, DEFAULT_TEXT_HTTP_CHARACTER_SET));
+    }
+
     public static XmlBody xml(String xml) {
         return new XmlBody(xml);
     }
@@ -54,17 +68,22 @@ public class XmlBody extends BodyWithContentType<String> {
     }
 
     public String getValue() {
-        return xml;
+        return lazyContent != null ? lazyContent.getString() : xml;
     }
 
     @JsonIgnore
     public byte[] getRawBytes() {
-        return rawBytes;
+        return lazyContent != null ? lazyContent.getBytes() : rawBytes;
+    }
+
+    @Override
+    LazyBodyContent lazyContent() {
+        return lazyContent;
     }
 
     @Override
     public String toString() {
-        return xml;
+        return getValue();
     }
 
     @Override
@@ -82,15 +101,15 @@ public class XmlBody extends BodyWithContentType<String> {
             return false;
         }
         XmlBody xmlBody = (XmlBody) o;
-        return Objects.equals(xml, xmlBody.xml) &&
-            Arrays.equals(rawBytes, xmlBody.rawBytes);
+        return Objects.equals(getValue(), xmlBody.getValue()) &&
+            Arrays.equals(getRawBytes(), xmlBody.getRawBytes());
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(super.hashCode(), xml);
-            hashCode = 31 * result + Arrays.hashCode(rawBytes);
+            int result = Objects.hash(super.hashCode(), getValue());
+            hashCode = 31 * result + Arrays.hashCode(getRawBytes());
         }
         return hashCode;
     }
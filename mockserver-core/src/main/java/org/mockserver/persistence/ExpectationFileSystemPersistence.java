@@ -1,14 +1,20 @@
 package org.mockserver.persistence;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.file.FilePath;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.Times;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerMatcherListener;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
+import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.serializers.response.TimeToLiveSerializer;
 import org.slf4j.event.Level;
 
@@ -16,27 +22,64 @@ import java.io.FileOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.serialization.ObjectMapperFactory.createObjectMapper;
 import static org.slf4j.event.Level.*;
 
+/**
+ * Persists active expectations as a snapshot file, containing a json array of expectations, and an append only journal
+ * <p>
+ * Each change is recorded as a journal record (upsert, remove or decrement of remaining times) which is appended by a
+ * background writer, so records from many changes are written together.  The snapshot is only rewritten from the
+ * active expectations once the journal exceeds a maximum number of records or size, and when stopped, after which the
+ * journal is truncated.  On start any journal left by a previous process is replayed into the snapshot, so the snapshot
+ * file can be loaded using initializationJsonPath.
+ */
 public class ExpectationFileSystemPersistence implements MockServerMatcherListener {
 
+    private static final long COMPACTION_INTERVAL_IN_MILLIS = 500;
+    private static final long COMPACTION_JOURNAL_RECORD_THRESHOLD = 10_000;
+    private static final long COMPACTION_JOURNAL_SIZE_THRESHOLD_IN_BYTES = 4 * 1024 * 1024;
+    private static final String UPSERT = "UPSERT";
+    private static final String REMOVE = "REMOVE";
+    private static final String DECREMENT = "DECREMENT";
     private final Configuration configuration;
     private final MockServerLogger mockServerLogger;
     private final RequestMatchers requestMatchers;
     private final ObjectWriter objectWriter;
+    private final ObjectWriter journalObjectWriter;
+    private final ObjectMapper objectMapper;
     private final Path filePath;
+    private final Path journalPath;
     private final boolean initializationPathMatchesPersistencePath;
     private final ReentrantLock fileWriteLock = new ReentrantLock();
+    private final ScheduledExecutorService journalWriter;
+    private final ConcurrentLinkedQueue<String> pendingJournalRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    // records and bytes written to the journal since the last snapshot, only updated by the journal writer or when it isn't running
+    private volatile long journalRecordCount;
+    private volatile long journalSizeInBytes;
+    // the expectations, and their remaining times, as of the last journal record or snapshot, null until the first snapshot
+    private Map<String, PersistedExpectation> persistedExpectations;
 
     public ExpectationFileSystemPersistence(Configuration configuration, MockServerLogger mockServerLogger, RequestMatchers requestMatchers) {
         this.configuration = configuration;
@@ -44,7 +87,11 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
             this.mockServerLogger = mockServerLogger;
             this.requestMatchers = requestMatchers;
             this.objectWriter = createObjectMapper(true, false, new TimeToLiveSerializer());
+            this.journalObjectWriter = createObjectMapper(false, false, new TimeToLiveSerializer());
+            this.objectMapper = createObjectMapper();
             this.filePath = Paths.get(configuration.persistedExpectationsPath());
+            this.journalPath = Paths.get(configuration.persistedExpectationsPath() + ".journal");
+            this.journalWriter = Executors.newSingleThreadScheduledExecutor(new Scheduler.SchedulerThreadFactory("ExpectationPersistence"));
             try {
                 Files.createFile(filePath);
             } catch (FileAlreadyExistsException ignore) {
@@ -56,6 +103,7 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
                         .setThrowable(throwable)
                 );
             }
+            replayJournal();
             this.initializationPathMatchesPersistencePath = FilePath.expandFilePathGlobs(configuration.initializationJsonPath()).contains(configuration.persistedExpectationsPath());
             requestMatchers.registerListener(this);
             if (MockServerLogger.isEnabled(INFO)) {
@@ -70,63 +118,282 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
             this.mockServerLogger = null;
             this.requestMatchers = null;
             this.objectWriter = null;
+            this.journalObjectWriter = null;
+            this.objectMapper = null;
             this.filePath = null;
+            this.journalPath = null;
+            this.journalWriter = null;
             this.initializationPathMatchesPersistencePath = true;
         }
     }
 
     @Override
     public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
+        updated(requestMatchers, cause, null);
+    }
+
+    /**
+     * journals only the expectations in the change set, without a change set all active expectations are compared with
+     * the expectations persisted so far
+     */
+    @Override
+    public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause, MockServerMatcherNotifier.Changes changes) {
         // ignore non-API changes from the same file
         if (cause == MockServerMatcherNotifier.Cause.API || cause.getType() == MockServerMatcherNotifier.Cause.Type.CLASS_INITIALISER || !initializationPathMatchesPersistencePath) {
             fileWriteLock.lock();
             try {
-                try {
-                    try (
-                        FileOutputStream fileOutputStream = new FileOutputStream(filePath.toFile());
-                        FileChannel fileChannel = fileOutputStream.getChannel();
-                        FileLock fileLock = fileChannel.lock()
-                    ) {
-                        if (fileLock != null) {
-                            List<Expectation> expectations = requestMatchers.retrieveActiveExpectations(null);
-                            if (MockServerLogger.isEnabled(TRACE)) {
-                                mockServerLogger.logEvent(
-                                    new LogEntry()
-                                        .setLogLevel(TRACE)
-                                        .setMessageFormat("persisting expectations{}to{}")
-                                        .setArguments(expectations, configuration.persistedExpectationsPath())
-                                );
-                            } else if (MockServerLogger.isEnabled(DEBUG)) {
-                                mockServerLogger.logEvent(
-                                    new LogEntry()
-                                        .setLogLevel(DEBUG)
-                                        .setMessageFormat("persisting expectations to{}")
-                                        .setArguments(configuration.persistedExpectationsPath())
-                                );
-                            }
-                            byte[] data = serialize(expectations).getBytes(UTF_8);
-                            ByteBuffer buffer = ByteBuffer.wrap(data);
-                            buffer.put(data);
-                            buffer.rewind();
-                            while (buffer.hasRemaining()) {
-                                fileChannel.write(buffer);
-                            }
+                if (persistedExpectations == null) {
+                    // nothing persisted by this process yet, so start with a snapshot instead of a journal
+                    scheduleCompaction();
+                } else if (changes != null) {
+                    journalChanges(requestMatchers, changes);
+                } else {
+                    journalChanges(requestMatchers.retrieveActiveExpectations(null));
+                }
+            } catch (Throwable throwable) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while persisting expectations to " + journalPath.toString())
+                        .setThrowable(throwable)
+                );
+            } finally {
+                fileWriteLock.unlock();
+            }
+        }
+    }
+
+    private void journalChanges(RequestMatchers requestMatchers, MockServerMatcherNotifier.Changes changes) throws Exception {
+        for (String id : changes.getRemovedIds()) {
+            journalRemove(id);
+        }
+        for (Set<String> ids : Arrays.asList(changes.getAddedIds(), changes.getUpdatedIds())) {
+            for (String id : ids) {
+                Optional<Expectation> expectation = requestMatchers.retrieveActiveExpectation(id);
+                if (expectation.isPresent()) {
+                    journalUpsert(expectation.get());
+                } else {
+                    // removed since the change was notified
+                    journalRemove(id);
+                }
+            }
+        }
+        scheduleFlush();
+    }
+
+    private void journalChanges(List<Expectation> expectations) throws Exception {
+        Set<String> removedIds = new HashSet<>(persistedExpectations.keySet());
+        for (Expectation expectation : expectations) {
+            removedIds.remove(expectation.getId());
+            journalUpsert(expectation);
+        }
+        for (String id : removedIds) {
+            journalRemove(id);
+        }
+        scheduleFlush();
+    }
+
+    private void journalUpsert(Expectation expectation) throws Exception {
+        String id = expectation.getId();
+        PersistedExpectation persistedExpectation = persistedExpectations.get(id);
+        if (persistedExpectation == null || persistedExpectation.expectation != expectation) {
+            pendingJournalRecords.add("{\"type\":\"" + UPSERT + "\",\"expectation\":" + journalObjectWriter.writeValueAsString(expectation) + "}");
+            persistedExpectations.put(id, new PersistedExpectation(expectation));
+        } else if (persistedExpectation.remainingTimes != remainingTimes(expectation)) {
+            pendingJournalRecords.add("{\"type\":\"" + DECREMENT + "\",\"id\":" + objectMapper.writeValueAsString(id) + ",\"times\":" + journalObjectWriter.writeValueAsString(expectation.getTimes()) + "}");
+            persistedExpectations.put(id, new PersistedExpectation(expectation));
+        }
+    }
+
+    private void journalRemove(String id) throws Exception {
+        if (persistedExpectations.remove(id) != null) {
+            pendingJournalRecords.add("{\"type\":\"" + REMOVE + "\",\"id\":" + objectMapper.writeValueAsString(id) + "}");
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!pendingJournalRecords.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            journalWriter.submit(this::flushJournal);
+        }
+    }
+
+    private void flushJournal() {
+        flushScheduled.set(false);
+        StringBuilder records = new StringBuilder();
+        int recordCount = 0;
+        String record;
+        while ((record = pendingJournalRecords.poll()) != null) {
+            records.append(record).append('\n');
+            recordCount++;
+        }
+        if (records.length() > 0) {
+            try {
+                byte[] data = records.toString().getBytes(UTF_8);
+                try (
+                    FileChannel fileChannel = FileChannel.open(journalPath, CREATE, WRITE, APPEND);
+                    FileLock fileLock = fileChannel.lock()
+                ) {
+                    if (fileLock != null) {
+                        write(fileChannel, data);
+                    }
+                }
+                journalRecordCount += recordCount;
+                journalSizeInBytes += data.length;
+            } catch (Throwable throwable) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while persisting expectations to " + journalPath.toString())
+                        .setThrowable(throwable)
+                );
+            }
+            if (journalRecordCount >= COMPACTION_JOURNAL_RECORD_THRESHOLD || journalSizeInBytes >= COMPACTION_JOURNAL_SIZE_THRESHOLD_IN_BYTES) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            journalWriter.schedule(this::compact, COMPACTION_INTERVAL_IN_MILLIS, MILLISECONDS);
+        }
+    }
+
+    private void compact() {
+        compactionScheduled.set(false);
+        fileWriteLock.lock();
+        try {
+            List<Expectation> expectations = requestMatchers.retrieveActiveExpectations(null);
+            if (MockServerLogger.isEnabled(TRACE)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(TRACE)
+                        .setMessageFormat("persisting expectations{}to{}")
+                        .setArguments(expectations, configuration.persistedExpectationsPath())
+                );
+            } else if (MockServerLogger.isEnabled(DEBUG)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(DEBUG)
+                        .setMessageFormat("persisting expectations to{}")
+                        .setArguments(configuration.persistedExpectationsPath())
+                );
+            }
+            // the snapshot includes every change so far, so any records not yet written are no longer needed
+            pendingJournalRecords.clear();
+            writeSnapshot(serialize(expectations));
+            Map<String, PersistedExpectation> persistedExpectations = new HashMap<>();
+            for (Expectation expectation : expectations) {
+                persistedExpectations.put(expectation.getId(), new PersistedExpectation(expectation));
+            }
+            this.persistedExpectations = persistedExpectations;
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while persisting expectations to " + filePath.toString())
+                    .setThrowable(throwable)
+            );
+        } finally {
+            fileWriteLock.unlock();
+        }
+    }
+
+    /**
+     * the snapshot is written to a temporary file and then moved, so it is always complete, before the journal is truncated
+     */
+    private void writeSnapshot(String snapshot) throws Exception {
+        Path temporaryFilePath = Paths.get(filePath + ".tmp");
+        try (
+            FileOutputStream fileOutputStream = new FileOutputStream(temporaryFilePath.toFile());
+            FileChannel fileChannel = fileOutputStream.getChannel();
+            FileLock fileLock = fileChannel.lock()
+        ) {
+            if (fileLock != null) {
+                write(fileChannel, snapshot.getBytes(UTF_8));
+                fileChannel.force(true);
+            }
+        }
+        try {
+            Files.move(temporaryFilePath, filePath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(temporaryFilePath, filePath, REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(journalPath);
+        journalRecordCount = 0;
+        journalSizeInBytes = 0;
+    }
+
+    private void write(FileChannel fileChannel, byte[] data) throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    /**
+     * applies any journal left by a previous process to the snapshot, an incomplete last record is ignored
+     */
+    private void replayJournal() {
+        fileWriteLock.lock();
+        try {
+            if (Files.exists(journalPath) && Files.size(journalPath) > 0) {
+                Map<String, JsonNode> expectations = new LinkedHashMap<>();
+                String snapshot = new String(Files.readAllBytes(filePath), UTF_8);
+                if (isNotBlank(snapshot)) {
+                    JsonNode snapshotJsonNode = objectMapper.readTree(snapshot);
+                    Iterable<JsonNode> snapshotExpectations = snapshotJsonNode.isArray() ? snapshotJsonNode : Collections.singletonList(snapshotJsonNode);
+                    for (JsonNode expectation : snapshotExpectations) {
+                        expectations.put(expectation.path("id").asText(), expectation);
+                    }
+                }
+                for (String line : Files.readAllLines(journalPath, UTF_8)) {
+                    if (isNotBlank(line)) {
+                        JsonNode record;
+                        try {
+                            record = objectMapper.readTree(line);
+                        } catch (Throwable throwable) {
+                            break;
+                        }
+                        String type = record.path("type").asText();
+                        if (UPSERT.equals(type)) {
+                            expectations.put(record.path("expectation").path("id").asText(), record.get("expectation"));
+                        } else if (REMOVE.equals(type)) {
+                            expectations.remove(record.path("id").asText());
+                        } else if (DECREMENT.equals(type) && expectations.get(record.path("id").asText()) instanceof ObjectNode) {
+                            ((ObjectNode) expectations.get(record.path("id").asText())).set("times", record.get("times"));
                         }
                     }
-                } catch (Throwable throwable) {
+                }
+                ArrayNode snapshotArray = objectMapper.createArrayNode();
+                expectations.values().forEach(snapshotArray::add);
+                writeSnapshot(snapshotArray.size() > 0 ? objectWriter.writeValueAsString(snapshotArray) : "[]");
+                if (MockServerLogger.isEnabled(INFO)) {
                     mockServerLogger.logEvent(
                         new LogEntry()
-                            .setLogLevel(Level.ERROR)
-                            .setMessageFormat("exception while persisting expectations to " + filePath.toString())
-                            .setThrowable(throwable)
+                            .setLogLevel(INFO)
+                            .setMessageFormat("replayed expectation persistence journal{}into{}")
+                            .setArguments(journalPath.toString(), filePath.toString())
                     );
                 }
-            } finally {
-                fileWriteLock.unlock();
             }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while replaying expectation persistence journal " + journalPath.toString())
+                    .setThrowable(throwable)
+            );
+        } finally {
+            fileWriteLock.unlock();
         }
     }
 
+    private static int remainingTimes(Expectation expectation) {
+        Times times = expectation.getTimes();
+        return times == null || times.isUnlimited() ? -1 : times.getRemainingTimes();
+    }
+
     public String serialize(List<Expectation> expectations) {
         return serialize(expectations.toArray(new Expectation[0]));
     }
@@ -153,5 +420,26 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
         if (requestMatchers != null) {
             requestMatchers.unregisterListener(this);
         }
+        if (journalWriter != null) {
+            journalWriter.shutdown();
+            try {
+                journalWriter.awaitTermination(2, SECONDS);
+            } catch (InterruptedException ignore) {
+                // ignore
+            }
+            // leave a complete snapshot so the journal doesn't need to be replayed on the next start, the snapshot is
+            // always written because changes still waiting to be notified (i.e. not yet journaled) would otherwise be lost
+            compact();
+        }
+    }
+
+    private static class PersistedExpectation {
+        private final Expectation expectation;
+        private final int remainingTimes;
+
+        private PersistedExpectation(Expectation expectation) {
+            this.expectation = expectation;
+            this.remainingTimes = remainingTimes(expectation);
+        }
     }
 }
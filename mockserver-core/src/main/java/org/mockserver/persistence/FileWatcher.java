@@ -4,21 +4,31 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.scheduler.Scheduler;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import static java.nio.file.StandardWatchEventKinds.*;
 import static org.slf4j.event.Level.INFO;
+import static org.slf4j.event.Level.WARN;
 
+/**
+ * Watches a file for modifications, using a WatchService on the file's directory so modifications are detected within
+ * milliseconds, with polling as a fallback for file systems that don't support or don't reliably deliver watch events
+ * <p>
+ * Watch events are debounced, so a burst of writes, such as an editor saving a file, results in a single update once the
+ * writes have finished.  Polling only reads and hashes the file if its size or modified time has changed.
+ */
 public class FileWatcher {
 
     private static ScheduledExecutorService scheduler;
+    private static WatchService watchService;
+    private static final Map<Path, Set<FileWatcher>> watchersByDirectory = new ConcurrentHashMap<>();
 
     public synchronized static ScheduledExecutorService getScheduler() {
         if (scheduler == null) {
@@ -32,30 +42,145 @@ public class FileWatcher {
         return scheduler;
     }
 
-    private boolean running = true;
+    private synchronized static WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            WatchService newWatchService = FileSystems.getDefault().newWatchService();
+            Thread watchThread = new Thread(() -> processWatchEvents(newWatchService), "MockServer-FileWatcher-WatchService");
+            watchThread.setDaemon(true);
+            watchThread.start();
+            watchService = newWatchService;
+        }
+        return watchService;
+    }
+
+    private synchronized static void register(FileWatcher fileWatcher, Path directory) throws IOException {
+        try {
+            fileWatcher.watchKey = directory.register(getWatchService(), ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchersByDirectory.computeIfAbsent(directory, key -> ConcurrentHashMap.newKeySet()).add(fileWatcher);
+        } finally {
+            closeWatchServiceIfUnused();
+        }
+    }
+
+    private synchronized static void unregister(FileWatcher fileWatcher, Path directory) {
+        Set<FileWatcher> fileWatchers = watchersByDirectory.get(directory);
+        if (fileWatchers != null && fileWatchers.remove(fileWatcher) && fileWatchers.isEmpty()) {
+            // the watch key is shared by every watcher of the directory so is only cancelled for the last one
+            watchersByDirectory.remove(directory);
+            fileWatcher.watchKey.cancel();
+        }
+        closeWatchServiceIfUnused();
+    }
+
+    private synchronized static void closeWatchServiceIfUnused() {
+        if (watchersByDirectory.isEmpty() && watchService != null) {
+            // closing the watch service also ends its thread, a new one is created if another file is watched
+            try {
+                watchService.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+            watchService = null;
+        }
+    }
+
+    private static void processWatchEvents(WatchService watchService) {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path directory = (Path) watchKey.watchable();
+            Set<FileWatcher> fileWatchers = watchersByDirectory.get(directory);
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (fileWatchers != null) {
+                    for (FileWatcher fileWatcher : fileWatchers) {
+                        // overflow means events were lost so every watched file in the directory is checked
+                        if (watchEvent.kind() == OVERFLOW || fileWatcher.path.equals(directory.resolve((Path) watchEvent.context()))) {
+                            fileWatcher.scheduleCheck();
+                        }
+                    }
+                }
+            }
+            watchKey.reset();
+        }
+    }
+
+    private volatile boolean running = true;
+    private final Path path;
+    private final Runnable updatedHandler;
+    private final Consumer<Throwable> errorHandler;
     private final ScheduledFuture<?> scheduledFuture;
+    private final Object pendingCheckLock = new Object();
+    private ScheduledFuture<?> pendingCheck;
+    private WatchKey watchKey;
+    private Integer fileHash;
+    private FileMetadata fileMetadata;
     private static long pollPeriod = 5;
     private static TimeUnit pollPeriodUnits = TimeUnit.SECONDS;
+    private static long debouncePeriodInMillis = 100;
 
     public FileWatcher(Path filePath, Runnable updatedHandler, Consumer<Throwable> errorHandler, MockServerLogger mockServerLogger) {
-        final Path path = filePath.getParent() != null ? filePath : Paths.get(new File(".").getAbsolutePath(), filePath.toString());
-        final AtomicReference<Integer> fileHash = new AtomicReference<>(getFileHash(path));
+        this.path = filePath.toAbsolutePath().normalize();
+        this.updatedHandler = updatedHandler;
+        this.errorHandler = errorHandler;
+        this.fileMetadata = getFileMetadata(path);
+        this.fileHash = getFileHash(path);
         mockServerLogger.logEvent(
             new LogEntry()
                 .setLogLevel(INFO)
                 .setMessageFormat("watching file:{}with file fingerprint:{}")
                 .setArguments(path, fileHash)
         );
-        scheduledFuture = getScheduler().scheduleAtFixedRate(() -> {
-            try {
-                if (!getFileHash(path).equals(fileHash.get())) {
+        registerWithWatchService(mockServerLogger);
+        scheduledFuture = getScheduler().scheduleAtFixedRate(() -> checkForUpdate(false), pollPeriod, pollPeriod, pollPeriodUnits);
+    }
+
+    private void registerWithWatchService(MockServerLogger mockServerLogger) {
+        Path directory = path.getParent();
+        try {
+            if (directory != null && Files.isDirectory(directory)) {
+                register(this, directory);
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(WARN)
+                    .setMessageFormat("exception watching directory:{}for modifications, polling for modifications to file:{}every " + pollPeriod + " " + pollPeriodUnits.name().toLowerCase())
+                    .setArguments(directory, path)
+                    .setThrowable(throwable)
+            );
+        }
+    }
+
+    private void scheduleCheck() {
+        // not synchronized on this watcher so the watch service thread isn't blocked while an update is being handled
+        synchronized (pendingCheckLock) {
+            if (running) {
+                if (pendingCheck != null) {
+                    pendingCheck.cancel(false);
+                }
+                pendingCheck = getScheduler().schedule(() -> checkForUpdate(true), debouncePeriodInMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized void checkForUpdate(boolean watchEvent) {
+        try {
+            FileMetadata currentFileMetadata = getFileMetadata(path);
+            if (running && (watchEvent || !currentFileMetadata.equals(fileMetadata))) {
+                fileMetadata = currentFileMetadata;
+                Integer currentFileHash = getFileHash(path);
+                if (!currentFileHash.equals(fileHash)) {
+                    fileHash = currentFileHash;
                     updatedHandler.run();
-                    fileHash.set(getFileHash(path));
                 }
-            } catch (Throwable throwable) {
-                errorHandler.accept(throwable);
             }
-        }, pollPeriod, pollPeriod, pollPeriodUnits);
+        } catch (Throwable throwable) {
+            errorHandler.accept(throwable);
+        }
     }
 
     private Integer getFileHash(Path path) {
@@ -66,18 +191,45 @@ public class FileWatcher {
         }
     }
 
+    private FileMetadata getFileMetadata(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileMetadata(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException ioe) {
+            return new FileMetadata(-1, -1);
+        }
+    }
+
     public boolean isRunning() {
         return running;
     }
 
     public FileWatcher setRunning(boolean running) {
         this.running = running;
-        if (!running && this.scheduledFuture != null) {
-            this.scheduledFuture.cancel(true);
+        if (!running) {
+            if (this.scheduledFuture != null) {
+                this.scheduledFuture.cancel(true);
+            }
+            synchronized (pendingCheckLock) {
+                if (this.pendingCheck != null) {
+                    this.pendingCheck.cancel(false);
+                }
+            }
+            if (path.getParent() != null) {
+                unregister(this, path.getParent());
+            }
         }
         return this;
     }
 
+    WatchKey getWatchKey() {
+        return watchKey;
+    }
+
+    synchronized static WatchService currentWatchService() {
+        return watchService;
+    }
+
     public static long getPollPeriod() {
         return FileWatcher.pollPeriod;
     }
@@ -93,4 +245,39 @@ public class FileWatcher {
     public static void setPollPeriodUnits(TimeUnit pollPeriodUnits) {
         FileWatcher.pollPeriodUnits = pollPeriodUnits;
     }
+
+    public static long getDebouncePeriodInMillis() {
+        return FileWatcher.debouncePeriodInMillis;
+    }
+
+    public static void setDebouncePeriodInMillis(long debouncePeriodInMillis) {
+        FileWatcher.debouncePeriodInMillis = debouncePeriodInMillis;
+    }
+
+    private static class FileMetadata {
+        private final long size;
+        private final long lastModifiedInMillis;
+
+        private FileMetadata(long size, long lastModifiedInMillis) {
+            this.size = size;
+            this.lastModifiedInMillis = lastModifiedInMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileMetadata that = (FileMetadata) o;
+            return size == that.size && lastModifiedInMillis == that.lastModifiedInMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(lastModifiedInMillis);
+        }
+    }
 }
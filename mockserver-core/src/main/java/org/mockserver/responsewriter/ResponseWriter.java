@@ -6,16 +6,26 @@ import org.mockserver.cors.CORSHeaders;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ConnectionOptions;
+import org.mockserver.model.FileBody;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.model.MediaType;
 import org.mockserver.version.Version;
 import org.slf4j.event.Level;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
 import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
 import static io.netty.handler.codec.http.HttpHeaderValues.KEEP_ALIVE;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.log.model.LogEntry.LogMessageType.INFO;
+import static org.mockserver.log.model.LogEntry.LogMessageType.WARN;
 import static org.mockserver.mock.HttpState.PATH_PREFIX;
 import static org.mockserver.model.Header.header;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
@@ -55,6 +65,9 @@ public abstract class ResponseWriter {
         if (response == null) {
             response = notFoundResponse();
         }
+        if (response.getBody() instanceof FileBody) {
+            response = resolveFileBody(request, response);
+        }
         if (configuration.enableCORSForAllResponses()) {
             corsHeaders.addCORSHeaders(request, response);
         } else if (apiResponse && configuration.enableCORSForAPI()) {
@@ -63,8 +76,10 @@ public abstract class ResponseWriter {
         String contentLengthHeader = response.getFirstHeader(CONTENT_LENGTH.toString());
         if (isNotBlank(contentLengthHeader)) {
             try {
-                int contentLength = Integer.parseInt(contentLengthHeader);
-                if (response.getBodyAsRawBytes().length > contentLength) {
+                long contentLength = Long.parseLong(contentLengthHeader);
+                // file bodies aren't read into memory to check their length
+                long bodyLength = response.getBody() instanceof FileBody ? ((FileBody) response.getBody()).getLength() : response.getBodyAsRawBytes().length;
+                if (bodyLength > contentLength) {
                     mockServerLogger.logEvent(
                         new LogEntry()
                             .setType(INFO)
@@ -72,7 +87,7 @@ public abstract class ResponseWriter {
                             .setCorrelationId(request.getLogCorrelationId())
                             .setHttpRequest(request)
                             .setHttpResponse(response)
-                            .setMessageFormat("returning response with content-length header " + contentLength + " which is smaller then response body length " + response.getBodyAsRawBytes().length + ", body will likely be truncated by client receiving request")
+                            .setMessageFormat("returning response with content-length header " + contentLength + " which is smaller then response body length " + bodyLength + ", body will likely be truncated by client receiving request")
                     );
                 }
             } catch (NumberFormatException ignore) {
@@ -91,6 +106,54 @@ public abstract class ResponseWriter {
         sendResponse(request, addConnectionHeader(request, response));
     }
 
+    /**
+     * resolves the file of a file body against the file response body root directory, files outside the root
+     * directory, including via symbolic links, are rejected so an expectation can't return arbitrary files, and file
+     * bodies are rejected if no root directory is configured
+     */
+    private HttpResponse resolveFileBody(HttpRequest request, HttpResponse response) {
+        FileBody fileBody = (FileBody) response.getBody();
+        if (isBlank(configuration.fileResponseBodyRootDirectory())) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(WARN)
+                    .setLogLevel(Level.WARN)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setMessageFormat("returning 404 for response body file{}as file response bodies are disabled, set fileResponseBodyRootDirectory to enable them")
+                    .setArguments(fileBody.getValue())
+            );
+            return notFoundResponse();
+        }
+        try {
+            Path rootDirectory = Paths.get(configuration.fileResponseBodyRootDirectory()).toAbsolutePath().normalize();
+            Path filePath = rootDirectory.resolve(fileBody.getValue()).normalize();
+            if (filePath.startsWith(rootDirectory) && filePath.getParent() != null) {
+                // the parent directory must exist so its real path can be checked, the file itself is opened without
+                // following symbolic links so a link created at the path after this check isn't followed
+                Path realFilePath = filePath.getParent().toRealPath().resolve(filePath.getFileName());
+                if (Files.isSymbolicLink(realFilePath)) {
+                    realFilePath = realFilePath.toRealPath();
+                }
+                if (realFilePath.startsWith(rootDirectory.toRealPath())) {
+                    return response.clone().withBody(new FileBody(realFilePath.toString(), fileBody.getContentType() != null ? MediaType.parse(fileBody.getContentType()) : null));
+                }
+            }
+        } catch (IOException | InvalidPathException exception) {
+            // rejected below
+        }
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(WARN)
+                .setLogLevel(Level.WARN)
+                .setCorrelationId(request.getLogCorrelationId())
+                .setHttpRequest(request)
+                .setMessageFormat("returning 404 as response body file{}is not within file response body root directory{}")
+                .setArguments(fileBody.getValue(), configuration.fileResponseBodyRootDirectory())
+        );
+        return notFoundResponse();
+    }
+
     public abstract void sendResponse(HttpRequest request, HttpResponse response);
 
     protected HttpResponse addConnectionHeader(final HttpRequest request, final HttpResponse response) {
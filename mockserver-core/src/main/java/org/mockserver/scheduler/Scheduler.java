@@ -77,6 +77,13 @@ public class Scheduler {
         }
     }
 
+    /**
+     * @return true if all commands run on the calling thread, so any delay blocks the caller
+     */
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
     public synchronized void shutdown() {
         if (!scheduler.isShutdown()) {
             scheduler.shutdown();
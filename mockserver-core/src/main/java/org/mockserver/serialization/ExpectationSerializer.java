@@ -16,8 +16,12 @@ import org.slf4j.event.Level;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -39,6 +43,8 @@ public class ExpectationSerializer implements Serializer<Expectation> {
     private JsonSchemaExpectationValidator expectationValidator;
     private OpenAPIExpectationSerializer openAPIExpectationSerializer;
     private static boolean printedECMA262Warning = false;
+    private static final int PARALLEL_DESERIALIZATION_THRESHOLD = 100;
+    private static final BiFunction<String, List<Expectation>, List<Expectation>> UNMODIFIED = (s, expectations) -> expectations;
 
     public ExpectationSerializer(MockServerLogger mockServerLogger) {
         this(mockServerLogger, false);
@@ -124,28 +130,45 @@ public class ExpectationSerializer implements Serializer<Expectation> {
                     OPEN_API_SPECIFICATION_URL
             );
         } else {
-            String validationErrors = getValidator().isValid(jsonExpectation);
-            if (validationErrors.isEmpty()) {
-                Expectation expectation = null;
-                try {
-                    ExpectationDTO expectationDTO = objectMapper.readValue(jsonExpectation, ExpectationDTO.class);
-                    if (expectationDTO != null) {
-                        expectation = expectationDTO.buildObject();
-                    }
-                } catch (Throwable throwable) {
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setLogLevel(Level.ERROR)
-                            .setMessageFormat("exception while parsing{}for Expectation " + throwable.getMessage())
-                            .setArguments(jsonExpectation)
-                            .setThrowable(throwable)
-                    );
-                    throw new IllegalArgumentException("exception while parsing [" + jsonExpectation + "] for Expectation", throwable);
+            JsonNode jsonNode;
+            try {
+                jsonNode = objectMapper.readTree(jsonExpectation);
+            } catch (Throwable throwable) {
+                throw new IllegalArgumentException(StringUtils.removeEndIgnoreCase(formatLogMessage("incorrect expectation json format for:{}schema validation errors:{}", jsonExpectation, throwable.getClass().getSimpleName() + " - " + throwable.getMessage()), "\n"));
+            }
+            return deserialize(jsonNode, () -> jsonExpectation);
+        }
+    }
+
+    /**
+     * validates and binds the already parsed json tree, so the json for each expectation is only parsed once
+     */
+    private Expectation deserialize(JsonNode jsonExpectation) {
+        return deserialize(jsonExpectation, () -> JacksonUtils.prettyPrint(jsonExpectation));
+    }
+
+    private Expectation deserialize(JsonNode jsonExpectation, Supplier<String> json) {
+        String validationErrors = getValidator().isValid(jsonExpectation, true);
+        if (validationErrors.isEmpty()) {
+            Expectation expectation = null;
+            try {
+                ExpectationDTO expectationDTO = objectMapper.treeToValue(jsonExpectation, ExpectationDTO.class);
+                if (expectationDTO != null) {
+                    expectation = expectationDTO.buildObject();
                 }
-                return expectation;
-            } else {
-                throw new IllegalArgumentException(StringUtils.removeEndIgnoreCase(formatLogMessage("incorrect expectation json format for:{}schema validation errors:{}", jsonExpectation, validationErrors), "\n"));
+            } catch (Throwable throwable) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while parsing{}for Expectation " + throwable.getMessage())
+                        .setArguments(json.get())
+                        .setThrowable(throwable)
+                );
+                throw new IllegalArgumentException("exception while parsing [" + json.get() + "] for Expectation", throwable);
             }
+            return expectation;
+        } else {
+            throw new IllegalArgumentException(StringUtils.removeEndIgnoreCase(formatLogMessage("incorrect expectation json format for:{}schema validation errors:{}", json.get(), validationErrors), "\n"));
         }
     }
 
@@ -155,47 +178,72 @@ public class ExpectationSerializer implements Serializer<Expectation> {
     }
 
     public Expectation[] deserializeArray(String jsonExpectations, boolean allowEmpty) {
-        return deserializeArray(jsonExpectations, allowEmpty, (s, expectation) -> expectation);
+        return deserializeArray(jsonExpectations, allowEmpty, UNMODIFIED);
     }
 
     public Expectation[] deserializeArray(String jsonExpectations, boolean allowEmpty, BiFunction<String, List<Expectation>, List<Expectation>> expectationModifier) {
+        return deserializeArray(jsonExpectations, allowEmpty, expectationModifier, null);
+    }
+
+    /**
+     * @param previouslyDeserialized concurrent map of json elements to the expectations previously deserialized from them,
+     *                               used to skip validating and binding unchanged elements when the same json is deserialized
+     *                               again, it is updated with the elements in this json and elements no longer present are removed
+     */
+    public Expectation[] deserializeArray(String jsonExpectations, boolean allowEmpty, BiFunction<String, List<Expectation>, List<Expectation>> expectationModifier, Map<JsonNode, Expectation> previouslyDeserialized) {
         List<Expectation> expectations = new ArrayList<>();
         if (isBlank(jsonExpectations)) {
             throw new IllegalArgumentException("1 error:" + NEW_LINE + " - an expectation or expectation array is required but value was \"" + jsonExpectations + "\"");
         } else {
             List<String> validationErrorsList = new ArrayList<>();
             List<JsonNode> jsonExpectationList = jsonArraySerializer.splitJSONArrayToJSONNodes(jsonExpectations);
+            if (previouslyDeserialized != null) {
+                previouslyDeserialized.keySet().retainAll(new HashSet<>(jsonExpectationList));
+            }
             if (!jsonExpectationList.isEmpty()) {
-                for (int i = 0; i < jsonExpectationList.size(); i++) {
-                    String jsonExpectation = JacksonUtils.prettyPrint(jsonExpectationList.get(i));
-                    if (jsonExpectationList.size() > 100) {
-                        if (MockServerLogger.isEnabled(DEBUG)) {
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setLogLevel(DEBUG)
-                                    .setMessageFormat("processing JSON expectation " + (i + 1) + " of " + jsonExpectationList.size() + ":{}")
-                                    .setArguments(jsonExpectation)
-                            );
-                        } else if (MockServerLogger.isEnabled(INFO)) {
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setLogLevel(INFO)
-                                    .setMessageFormat("processing JSON expectation " + (i + 1) + " of " + jsonExpectationList.size())
-                            );
+                // expectations are validated and bound from the parsed json tree, in parallel for large arrays, and then
+                // added in the same order as the array, open api expectations are deserialized in order as they may load specs
+                Object[] deserializedExpectations = new Object[jsonExpectationList.size()];
+                getValidator();
+                IntStream indexes = IntStream.range(0, jsonExpectationList.size());
+                if (jsonExpectationList.size() > PARALLEL_DESERIALIZATION_THRESHOLD) {
+                    indexes = indexes.parallel();
+                }
+                indexes.forEach(i -> {
+                    JsonNode jsonExpectation = jsonExpectationList.get(i);
+                    if (!jsonExpectation.has("specUrlOrPayload")) {
+                        Expectation previousExpectation = previouslyDeserialized != null ? previouslyDeserialized.get(jsonExpectation) : null;
+                        if (previousExpectation != null) {
+                            // cloned as the expectation modifier may update the expectation
+                            deserializedExpectations[i] = previousExpectation.clone();
+                            return;
                         }
-                    }
-                    if (jsonExpectationList.get(i).has("specUrlOrPayload")) {
+                        logProgress(jsonExpectation, i, jsonExpectationList.size());
                         try {
-                            expectations.addAll(expectationModifier.apply(jsonExpectation, openAPIExpectationSerializer.deserializeToExpectations(jsonExpectation)));
+                            Expectation expectation = deserialize(jsonExpectation);
+                            if (previouslyDeserialized != null && expectation != null) {
+                                previouslyDeserialized.put(jsonExpectation, expectation.clone());
+                            }
+                            deserializedExpectations[i] = expectation;
                         } catch (IllegalArgumentException iae) {
-                            validationErrorsList.add(iae.getMessage());
+                            deserializedExpectations[i] = iae;
                         }
-                    } else {
-                        try {
-                            expectations.addAll(expectationModifier.apply(jsonExpectation, Collections.singletonList(deserialize(jsonExpectation))));
-                        } catch (IllegalArgumentException iae) {
-                            validationErrorsList.add(iae.getMessage());
+                    }
+                });
+                for (int i = 0; i < jsonExpectationList.size(); i++) {
+                    JsonNode jsonExpectation = jsonExpectationList.get(i);
+                    String jsonExpectationString = expectationModifier != UNMODIFIED || jsonExpectation.has("specUrlOrPayload") ? JacksonUtils.prettyPrint(jsonExpectation) : null;
+                    try {
+                        if (jsonExpectation.has("specUrlOrPayload")) {
+                            logProgress(jsonExpectation, i, jsonExpectationList.size());
+                            expectations.addAll(expectationModifier.apply(jsonExpectationString, openAPIExpectationSerializer.deserializeToExpectations(jsonExpectationString)));
+                        } else if (deserializedExpectations[i] instanceof IllegalArgumentException) {
+                            throw (IllegalArgumentException) deserializedExpectations[i];
+                        } else {
+                            expectations.addAll(expectationModifier.apply(jsonExpectationString, Collections.singletonList((Expectation) deserializedExpectations[i])));
                         }
+                    } catch (IllegalArgumentException iae) {
+                        validationErrorsList.add(iae.getMessage());
                     }
                 }
                 if (!validationErrorsList.isEmpty()) {
@@ -212,4 +260,23 @@ public class ExpectationSerializer implements Serializer<Expectation> {
         return expectations.toArray(new Expectation[0]);
     }
 
+    private void logProgress(JsonNode jsonExpectation, int index, int size) {
+        if (size > 100) {
+            if (MockServerLogger.isEnabled(DEBUG)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(DEBUG)
+                        .setMessageFormat("processing JSON expectation " + (index + 1) + " of " + size + ":{}")
+                        .setArguments(JacksonUtils.prettyPrint(jsonExpectation))
+                );
+            } else if (MockServerLogger.isEnabled(INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(INFO)
+                        .setMessageFormat("processing JSON expectation " + (index + 1) + " of " + size)
+                );
+            }
+        }
+    }
+
 }
@@ -216,6 +216,8 @@ public class ObjectMapperFactory {
             // request body
             new BinaryBodySerializer(),
             new BinaryBodyDTOSerializer(),
+            new FileBodySerializer(),
+            new FileBodyDTOSerializer(),
             new JsonBodySerializer(serialiseDefaultValues),
             new JsonBodyDTOSerializer(serialiseDefaultValues),
             new JsonSchemaBodySerializer(),
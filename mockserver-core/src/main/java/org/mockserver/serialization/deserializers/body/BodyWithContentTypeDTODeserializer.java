@@ -35,6 +35,7 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
 
     static {
         fieldNameToType.put("base64Bytes".toLowerCase(), Body.Type.BINARY);
+        fieldNameToType.put("filePath".toLowerCase(), Body.Type.FILE);
         fieldNameToType.put("json".toLowerCase(), Body.Type.JSON);
         fieldNameToType.put("string".toLowerCase(), Body.Type.STRING);
         fieldNameToType.put("xml".toLowerCase(), Body.Type.XML);
@@ -52,6 +53,7 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
         JsonToken currentToken = jsonParser.getCurrentToken();
         String valueJsonValue = "";
         byte[] rawBytes = null;
+        String filePath = null;
         Body.Type type = null;
         Boolean not = null;
         Boolean optional = null;
@@ -91,6 +93,10 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
                             valueJsonValue = String.valueOf(entry.getValue());
                         }
                     }
+                    if (key.equalsIgnoreCase("filePath")) {
+                        type = fieldNameToType.get(key.toLowerCase());
+                        filePath = String.valueOf(entry.getValue());
+                    }
                     if (containsIgnoreCase(key, "rawBytes", "base64Bytes")) {
                         if (entry.getValue() instanceof String) {
                             try {
@@ -168,6 +174,14 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
                             result = new BinaryBodyDTO(new BinaryBody(rawBytes), not);
                             break;
                         }
+                    case FILE:
+                        if (contentType != null && isNotBlank(contentType.toString())) {
+                            result = new FileBodyDTO(new FileBody(filePath, contentType), not);
+                            break;
+                        } else {
+                            result = new FileBodyDTO(new FileBody(filePath), not);
+                            break;
+                        }
                     case JSON:
                         if (contentType != null && isNotBlank(contentType.toString())) {
                             result = new JsonBodyDTO(new JsonBody(valueJsonValue, rawBytes, contentType, JsonBody.DEFAULT_MATCH_TYPE), not);
@@ -36,6 +36,8 @@ public class HttpResponseToJavaSerializer implements ToJavaSerializer<HttpRespon
                     appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output);
                     BinaryBody body = (BinaryBody) httpResponse.getBody();
                     output.append(".withBody(new Base64Converter().base64StringToBytes(\"").append(base64Converter.bytesToBase64String(body.getRawBytes())).append("\"))");
+                } else if (httpResponse.getBody() instanceof FileBody) {
+                    appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withBody(new FileBody(\"").append(StringEscapeUtils.escapeJava(httpResponse.getBodyAsString())).append("\"))");
                 } else {
                     appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withBody(\"").append(StringEscapeUtils.escapeJava(httpResponse.getBodyAsString())).append("\")");
                 }
@@ -0,0 +1,29 @@
+package org.mockserver.serialization.model;
+
+import org.mockserver.model.Body;
+import org.mockserver.model.FileBody;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileBodyDTO extends BodyWithContentTypeDTO {
+
+    private final String filePath;
+
+    public FileBodyDTO(FileBody fileBody) {
+        this(fileBody, null);
+    }
+
+    public FileBodyDTO(FileBody fileBody, Boolean not) {
+        super(Body.Type.FILE, not, fileBody);
+        filePath = fileBody.getValue();
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public FileBody buildObject() {
+        return (FileBody) new FileBody(getFilePath(), getMediaType()).withOptional(getOptional());
+    }
+}
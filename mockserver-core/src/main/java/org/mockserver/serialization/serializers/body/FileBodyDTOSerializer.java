@@ -0,0 +1,35 @@
+package org.mockserver.serialization.serializers.body;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.mockserver.serialization.model.FileBodyDTO;
+
+import java.io.IOException;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileBodyDTOSerializer extends StdSerializer<FileBodyDTO> {
+
+    public FileBodyDTOSerializer() {
+        super(FileBodyDTO.class);
+    }
+
+    @Override
+    public void serialize(FileBodyDTO fileBodyDTO, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartObject();
+        if (fileBodyDTO.getNot() != null && fileBodyDTO.getNot()) {
+            jgen.writeBooleanField("not", fileBodyDTO.getNot());
+        }
+        if (fileBodyDTO.getOptional() != null && fileBodyDTO.getOptional()) {
+            jgen.writeBooleanField("optional", fileBodyDTO.getOptional());
+        }
+        if (fileBodyDTO.getContentType() != null) {
+            jgen.writeStringField("contentType", fileBodyDTO.getContentType());
+        }
+        jgen.writeStringField("type", fileBodyDTO.getType().name());
+        jgen.writeStringField("filePath", fileBodyDTO.getFilePath());
+        jgen.writeEndObject();
+    }
+}
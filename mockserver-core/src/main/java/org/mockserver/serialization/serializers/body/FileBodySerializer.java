@@ -0,0 +1,35 @@
+package org.mockserver.serialization.serializers.body;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.mockserver.model.FileBody;
+
+import java.io.IOException;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileBodySerializer extends StdSerializer<FileBody> {
+
+    public FileBodySerializer() {
+        super(FileBody.class);
+    }
+
+    @Override
+    public void serialize(FileBody fileBody, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartObject();
+        if (fileBody.getNot() != null && fileBody.getNot()) {
+            jgen.writeBooleanField("not", fileBody.getNot());
+        }
+        if (fileBody.getOptional() != null && fileBody.getOptional()) {
+            jgen.writeBooleanField("optional", fileBody.getOptional());
+        }
+        if (fileBody.getContentType() != null) {
+            jgen.writeStringField("contentType", fileBody.getContentType());
+        }
+        jgen.writeStringField("type", fileBody.getType().name());
+        jgen.writeStringField("filePath", fileBody.getValue());
+        jgen.writeEndObject();
+    }
+}
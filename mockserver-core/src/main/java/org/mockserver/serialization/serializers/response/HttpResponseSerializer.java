@@ -39,6 +39,8 @@ public class HttpResponseSerializer extends StdSerializer<HttpResponse> {
                 jgen.writeObjectField("body", body);
             } else if (body instanceof BinaryBody && ((BinaryBody) body).getValue().length > 0) {
                 jgen.writeObjectField("body", body);
+            } else if (body instanceof FileBody) {
+                jgen.writeObjectField("body", body);
             } else if (body instanceof ParameterBody && !((ParameterBody) body).getValue().isEmpty()) {
                 jgen.writeObjectField("body", body);
             } else if (body instanceof XmlBody && !((XmlBody) body).getValue().isEmpty()) {
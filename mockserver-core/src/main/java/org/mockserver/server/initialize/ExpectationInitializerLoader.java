@@ -1,5 +1,6 @@
 package org.mockserver.server.initialize;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.ArrayUtils;
 import org.mockserver.cache.LRUCache;
@@ -12,13 +13,13 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause;
+import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.ExpectationSerializer;
 
 import java.lang.reflect.Constructor;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
@@ -34,10 +35,13 @@ public class ExpectationInitializerLoader {
     private final ExpectationSerializer expectationSerializer;
     private final MockServerLogger mockServerLogger;
     private final RequestMatchers requestMatchers;
+    private final ExpectationSnapshot expectationSnapshot;
+    private final Map<String, Map<JsonNode, Expectation>> previouslyDeserializedByPath = new ConcurrentHashMap<>();
 
     public ExpectationInitializerLoader(Configuration configuration, MockServerLogger mockServerLogger, RequestMatchers requestMatchers) {
         this.configuration = configuration;
         this.expectationSerializer = new ExpectationSerializer(mockServerLogger);
+        this.expectationSnapshot = new ExpectationSnapshot(mockServerLogger);
         this.mockServerLogger = mockServerLogger;
         this.requestMatchers = requestMatchers;
         addExpectationsFromInitializer();
@@ -113,42 +117,104 @@ public class ExpectationInitializerLoader {
     }
 
     private Expectation[] retrieveExpectationsFromJson() {
-        return retrieveExpectationsFromFile("loading JSON initialization file:{}", "exception while loading JSON initialization file, ignoring file:{}", "loaded expectations:{}from file:{}", Cause.Type.FILE_INITIALISER).toArray(new Expectation[0]);
+        String initializationSnapshotPath = configuration.initializationSnapshotPath();
+        Map<String, Long> sourceFingerprints = isNotBlank(initializationSnapshotPath) ? initializationJsonFingerprints() : null;
+        if (sourceFingerprints != null) {
+            Map<String, Expectation[]> expectationsBySource = expectationSnapshot.read(initializationSnapshotPath, sourceFingerprints);
+            if (expectationsBySource != null) {
+                return retrieveExpectationsFromSnapshot(initializationSnapshotPath, expectationsBySource);
+            }
+        }
+        Map<String, Expectation[]> expectationsBySource = new LinkedHashMap<>();
+        Expectation[] expectations = retrieveExpectationsFromFile("loading JSON initialization file:{}", "exception while loading JSON initialization file, ignoring file:{}", "loaded expectations:{}from file:{}", Cause.Type.FILE_INITIALISER, expectationsBySource).toArray(new Expectation[0]);
+        // only written if every file loaded successfully, so files with errors are always reloaded and reported
+        if (sourceFingerprints != null && expectationsBySource.keySet().equals(sourceFingerprints.keySet())) {
+            expectationSnapshot.write(initializationSnapshotPath, sourceFingerprints, expectationsBySource);
+        }
+        return expectations;
     }
 
-    public List<Expectation> retrieveExpectationsFromFile(String initialLogMessage, String expectationLogMessage, String completedLogMessage, Cause.Type causeType) {
+    /**
+     * @return fingerprint of each initialization json file, in load order, or null if any file can't be read
+     */
+    private Map<String, Long> initializationJsonFingerprints() {
         List<String> initializationJsonPaths = ExpectationInitializerLoader.expandedInitializationJsonPaths(configuration.initializationJsonPath());
-        return initializationJsonPaths
-            .stream()
-            .flatMap(initializationJsonPath -> {
-                Expectation[] expectations = new Expectation[0];
+        if (initializationJsonPaths.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> sourceFingerprints = new LinkedHashMap<>();
+        try {
+            for (String initializationJsonPath : initializationJsonPaths) {
                 if (isNotBlank(initializationJsonPath)) {
-                    if (isNotBlank(initialLogMessage) && MockServerLogger.isEnabled(INFO)) {
-                        mockServerLogger.logEvent(
-                            new LogEntry()
-                                .setType(SERVER_CONFIGURATION)
-                                .setLogLevel(INFO)
-                                .setMessageFormat(initialLogMessage)
-                                .setArguments(initializationJsonPath)
-                        );
-                    }
-                    List<String> expectationIds = new ArrayList<>();
+                    sourceFingerprints.put(initializationJsonPath, ExpectationSnapshot.fingerprint(FileReader.readFileFromClassPathOrPath(initializationJsonPath)));
+                }
+            }
+        } catch (Throwable throwable) {
+            return null;
+        }
+        return sourceFingerprints;
+    }
+
+    private Expectation[] retrieveExpectationsFromSnapshot(String initializationSnapshotPath, Map<String, Expectation[]> expectationsBySource) {
+        if (MockServerLogger.isEnabled(INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(SERVER_CONFIGURATION)
+                    .setLogLevel(INFO)
+                    .setMessageFormat("loading JSON initialization files:{}from snapshot:{}")
+                    .setArguments(expectationsBySource.keySet(), initializationSnapshotPath)
+            );
+        }
+        List<Expectation> expectations = new ArrayList<>();
+        for (Map.Entry<String, Expectation[]> entry : expectationsBySource.entrySet()) {
+            requestMatchers.update(entry.getValue(), new Cause(entry.getKey(), Cause.Type.FILE_INITIALISER));
+            expectations.addAll(Arrays.asList(entry.getValue()));
+        }
+        return expectations.toArray(new Expectation[0]);
+    }
+
+    public List<Expectation> retrieveExpectationsFromFile(String initialLogMessage, String expectationLogMessage, String completedLogMessage, Cause.Type causeType) {
+        return retrieveExpectationsFromFile(initialLogMessage, expectationLogMessage, completedLogMessage, causeType, null);
+    }
+
+    /**
+     * files are read and deserialized concurrently on a bounded pool and then applied to the request matchers in the same
+     * order as the file paths, so the resulting expectations and their priority order don't depend on timing
+     */
+    private List<Expectation> retrieveExpectationsFromFile(String initialLogMessage, String expectationLogMessage, String completedLogMessage, Cause.Type causeType, Map<String, Expectation[]> loadedExpectationsBySource) {
+        List<String> initializationJsonPaths = ExpectationInitializerLoader.expandedInitializationJsonPaths(configuration.initializationJsonPath());
+        List<Expectation[]> expectationsByFile = loadExpectationsFromFiles(initializationJsonPaths, initialLogMessage, expectationLogMessage);
+        List<Expectation> expectations = new ArrayList<>();
+        for (int i = 0; i < initializationJsonPaths.size(); i++) {
+            String initializationJsonPath = initializationJsonPaths.get(i);
+            Expectation[] expectationsFromFile = expectationsByFile.get(i);
+            if (expectationsFromFile != null && loadedExpectationsBySource != null) {
+                loadedExpectationsBySource.put(initializationJsonPath, expectationsFromFile);
+            }
+            expectations.addAll(Arrays.asList(applyExpectationsFromFile(initializationJsonPath, expectationsFromFile, completedLogMessage, causeType)));
+        }
+        return expectations;
+    }
+
+    private List<Expectation[]> loadExpectationsFromFiles(List<String> initializationJsonPaths, String initialLogMessage, String expectationLogMessage) {
+        List<Expectation[]> expectationsByFile = new ArrayList<>();
+        if (initializationJsonPaths.size() <= 1) {
+            for (String initializationJsonPath : initializationJsonPaths) {
+                expectationsByFile.add(loadExpectationsFromFile(initializationJsonPath, initialLogMessage, expectationLogMessage));
+            }
+        } else {
+            ExecutorService executorService = Executors.newFixedThreadPool(
+                Math.min(initializationJsonPaths.size(), Runtime.getRuntime().availableProcessors()),
+                new Scheduler.SchedulerThreadFactory("ExpectationInitializer")
+            );
+            try {
+                List<Future<Expectation[]>> futures = new ArrayList<>();
+                for (String initializationJsonPath : initializationJsonPaths) {
+                    futures.add(executorService.submit(() -> loadExpectationsFromFile(initializationJsonPath, initialLogMessage, expectationLogMessage)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
                     try {
-                        String jsonExpectations = FileReader.readFileFromClassPathOrPath(initializationJsonPath);
-                        if (isNotBlank(jsonExpectations)) {
-                            expectations = expectationSerializer.deserializeArray(jsonExpectations, true, (expectationString, deserialisedExpectations) -> {
-                                for (int i = 0; i < deserialisedExpectations.size(); i++) {
-                                    int counter = 0;
-                                    String expectationId;
-                                    do {
-                                        expectationId = UUID.nameUUIDFromBytes(String.valueOf(Objects.hash(initializationJsonPath, expectationString, i, counter++)).getBytes(StandardCharsets.UTF_8)).toString();
-                                    } while (expectationIds.contains(expectationId) && counter < 50);
-                                    expectationIds.add(expectationId);
-                                    deserialisedExpectations.get(i).withIdIfNull(expectationId);
-                                }
-                                return deserialisedExpectations;
-                            });
-                        }
+                        expectationsByFile.add(futures.get(i).get());
                     } catch (Throwable throwable) {
                         if (MockServerLogger.isEnabled(WARN)) {
                             mockServerLogger.logEvent(
@@ -156,24 +222,103 @@ public class ExpectationInitializerLoader {
                                     .setType(SERVER_CONFIGURATION)
                                     .setLogLevel(WARN)
                                     .setMessageFormat(expectationLogMessage)
-                                    .setArguments(initializationJsonPath)
+                                    .setArguments(initializationJsonPaths.get(i))
                                     .setThrowable(throwable)
                             );
                         }
+                        expectationsByFile.add(null);
                     }
                 }
-                if (MockServerLogger.isEnabled(TRACE)) {
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        return expectationsByFile;
+    }
+
+    /**
+     * loads a single initialization json file, such as a file that has been modified, expectations in the file that are
+     * unchanged keep the same id so are not rebuilt or notified as updated
+     */
+    public Expectation[] retrieveExpectationsFromFile(String initializationJsonPath, String initialLogMessage, String expectationLogMessage, String completedLogMessage, Cause.Type causeType) {
+        return applyExpectationsFromFile(initializationJsonPath, loadExpectationsFromFile(initializationJsonPath, initialLogMessage, expectationLogMessage), completedLogMessage, causeType);
+    }
+
+    /**
+     * @return expectations in the file or null if the file couldn't be read or contains invalid expectations
+     */
+    private Expectation[] loadExpectationsFromFile(String initializationJsonPath, String initialLogMessage, String expectationLogMessage) {
+        Expectation[] expectations = new Expectation[0];
+        if (isNotBlank(initializationJsonPath)) {
+            if (isNotBlank(initialLogMessage) && MockServerLogger.isEnabled(INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(INFO)
+                        .setMessageFormat(initialLogMessage)
+                        .setArguments(initializationJsonPath)
+                );
+            }
+            long startTime = System.currentTimeMillis();
+            Set<String> expectationIds = new HashSet<>();
+            try {
+                String jsonExpectations = FileReader.readFileFromClassPathOrPath(initializationJsonPath);
+                if (isNotBlank(jsonExpectations)) {
+                    // when watching, unchanged expectations in the file are not validated and deserialized again
+                    Map<JsonNode, Expectation> previouslyDeserialized = configuration.watchInitializationJson() ? previouslyDeserializedByPath.computeIfAbsent(initializationJsonPath, path -> new ConcurrentHashMap<>()) : null;
+                    expectations = expectationSerializer.deserializeArray(jsonExpectations, true, (expectationString, deserialisedExpectations) -> {
+                        for (int i = 0; i < deserialisedExpectations.size(); i++) {
+                            int counter = 0;
+                            String expectationId;
+                            do {
+                                expectationId = UUID.nameUUIDFromBytes(String.valueOf(Objects.hash(initializationJsonPath, expectationString, i, counter++)).getBytes(StandardCharsets.UTF_8)).toString();
+                            } while (expectationIds.contains(expectationId) && counter < 50);
+                            expectationIds.add(expectationId);
+                            deserialisedExpectations.get(i).withIdIfNull(expectationId);
+                        }
+                        return deserialisedExpectations;
+                    }, previouslyDeserialized);
+                }
+                if (isNotBlank(initialLogMessage) && MockServerLogger.isEnabled(INFO)) {
                     mockServerLogger.logEvent(
                         new LogEntry()
-                            .setLogLevel(TRACE)
-                            .setMessageFormat(completedLogMessage)
-                            .setArguments(Arrays.asList(expectations), initializationJsonPath)
+                            .setType(SERVER_CONFIGURATION)
+                            .setLogLevel(INFO)
+                            .setMessageFormat("loaded{}expectations in{}ms from file:{}")
+                            .setArguments(expectations.length, System.currentTimeMillis() - startTime, initializationJsonPath)
+                    );
+                }
+            } catch (Throwable throwable) {
+                if (MockServerLogger.isEnabled(WARN)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(SERVER_CONFIGURATION)
+                            .setLogLevel(WARN)
+                            .setMessageFormat(expectationLogMessage)
+                            .setArguments(initializationJsonPath)
+                            .setThrowable(throwable)
                     );
                 }
-                requestMatchers.update(expectations, new Cause(initializationJsonPath, causeType));
-                return Arrays.stream(expectations);
-            })
-            .collect(Collectors.toList());
+                return null;
+            }
+        }
+        return expectations;
+    }
+
+    private Expectation[] applyExpectationsFromFile(String initializationJsonPath, Expectation[] expectations, String completedLogMessage, Cause.Type causeType) {
+        if (expectations == null) {
+            expectations = new Expectation[0];
+        }
+        if (MockServerLogger.isEnabled(TRACE)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(TRACE)
+                    .setMessageFormat(completedLogMessage)
+                    .setArguments(Arrays.asList(expectations), initializationJsonPath)
+            );
+        }
+        requestMatchers.update(expectations, new Cause(initializationJsonPath, causeType));
+        return expectations;
     }
 
     @VisibleForTesting
@@ -0,0 +1,220 @@
+package org.mockserver.server.initialize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.serialization.model.ExpectationDTO;
+import org.mockserver.version.Version;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
+import static org.slf4j.event.Level.INFO;
+import static org.slf4j.event.Level.WARN;
+
+/**
+ * Versioned binary snapshot of the expectations loaded from each initialization json file, so that unchanged files can
+ * be loaded at startup without json schema validation or parsing the expectations as a json tree
+ * <p>
+ * The layout is a header of magic number, format version, MockServer version and number of source files, followed by
+ * each source file's path, fingerprint and length prefixed records each containing one already validated expectation
+ * as compact json.  The file is memory mapped when read and records are bound to expectations in parallel for large
+ * files.  The snapshot is stale, and not used, if it was written by a different MockServer version, because the
+ * expectation json may have changed, or if the source files or any of their fingerprints differ from the current json
+ * files.
+ *
+ * @author jamesdbloom
+ */
+public class ExpectationSnapshot {
+
+    private static final int MAGIC = 0x4D534553;
+    private static final int VERSION = 2;
+    private static final int PARALLEL_BINDING_THRESHOLD = 100;
+    private final MockServerLogger mockServerLogger;
+    private final String mockServerVersion;
+    private final ObjectWriter objectWriter;
+    private final ObjectMapper objectMapper;
+
+    public ExpectationSnapshot(MockServerLogger mockServerLogger) {
+        this(mockServerLogger, Version.getVersion());
+    }
+
+    ExpectationSnapshot(MockServerLogger mockServerLogger, String mockServerVersion) {
+        this.mockServerLogger = mockServerLogger;
+        this.mockServerVersion = mockServerVersion;
+        this.objectWriter = ObjectMapperFactory.createObjectMapper(false, false);
+        this.objectMapper = ObjectMapperFactory.createObjectMapper();
+    }
+
+    /**
+     * @return length and CRC32 checksum of the file contents, used to detect if a file has changed since the snapshot was written
+     */
+    public static long fingerprint(String contents) {
+        byte[] bytes = contents.getBytes(UTF_8);
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+        return ((long) bytes.length << 32) ^ crc32.getValue();
+    }
+
+    /**
+     * @param snapshotPath       path of the snapshot file
+     * @param sourceFingerprints fingerprint of each current initialization json file, in load order
+     * @return expectations for each initialization json file, in load order, or null if the snapshot doesn't exist, is stale or can't be read
+     */
+    public Map<String, Expectation[]> read(String snapshotPath, Map<String, Long> sourceFingerprints) {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel fileChannel = FileChannel.open(path, READ)) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !new String(readBytes(buffer), UTF_8).equals(mockServerVersion) || buffer.getInt() != sourceFingerprints.size()) {
+                logStale(snapshotPath);
+                return null;
+            }
+            Map<String, Expectation[]> expectationsBySource = new LinkedHashMap<>();
+            for (Map.Entry<String, Long> sourceFingerprint : sourceFingerprints.entrySet()) {
+                String source = new String(readBytes(buffer), UTF_8);
+                if (!source.equals(sourceFingerprint.getKey()) || buffer.getLong() != sourceFingerprint.getValue()) {
+                    logStale(snapshotPath);
+                    return null;
+                }
+                byte[][] records = new byte[buffer.getInt()][];
+                for (int i = 0; i < records.length; i++) {
+                    records[i] = readBytes(buffer);
+                }
+                expectationsBySource.put(source, bind(records));
+            }
+            return expectationsBySource;
+        } catch (Throwable throwable) {
+            if (MockServerLogger.isEnabled(WARN)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(WARN)
+                        .setMessageFormat("exception while reading expectation snapshot, loading JSON initialization files instead of snapshot:{}")
+                        .setArguments(snapshotPath)
+                        .setThrowable(throwable)
+                );
+            }
+            return null;
+        }
+    }
+
+    /**
+     * the snapshot is written to a temporary file and then moved, so a partially written snapshot is never read
+     *
+     * @param snapshotPath         path of the snapshot file
+     * @param sourceFingerprints   fingerprint of each initialization json file, in load order
+     * @param expectationsBySource expectations loaded from each initialization json file
+     */
+    public void write(String snapshotPath, Map<String, Long> sourceFingerprints, Map<String, Expectation[]> expectationsBySource) {
+        Path path = Paths.get(snapshotPath);
+        Path temporaryPath = Paths.get(snapshotPath + ".tmp");
+        try {
+            try (
+                FileOutputStream fileOutputStream = new FileOutputStream(temporaryPath.toFile());
+                DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream))
+            ) {
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(VERSION);
+                writeBytes(dataOutputStream, mockServerVersion.getBytes(UTF_8));
+                dataOutputStream.writeInt(sourceFingerprints.size());
+                for (Map.Entry<String, Long> sourceFingerprint : sourceFingerprints.entrySet()) {
+                    writeBytes(dataOutputStream, sourceFingerprint.getKey().getBytes(UTF_8));
+                    dataOutputStream.writeLong(sourceFingerprint.getValue());
+                    Expectation[] expectations = expectationsBySource.get(sourceFingerprint.getKey());
+                    dataOutputStream.writeInt(expectations.length);
+                    for (Expectation expectation : expectations) {
+                        writeBytes(dataOutputStream, objectWriter.writeValueAsBytes(new ExpectationDTO(expectation)));
+                    }
+                }
+                dataOutputStream.flush();
+                fileOutputStream.getChannel().force(true);
+            }
+            try {
+                Files.move(temporaryPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(temporaryPath, path, REPLACE_EXISTING);
+            }
+            if (MockServerLogger.isEnabled(INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(INFO)
+                        .setMessageFormat("written expectation snapshot:{}")
+                        .setArguments(snapshotPath)
+                );
+            }
+        } catch (Throwable throwable) {
+            if (MockServerLogger.isEnabled(WARN)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(WARN)
+                        .setMessageFormat("exception while writing expectation snapshot:{}")
+                        .setArguments(snapshotPath)
+                        .setThrowable(throwable)
+                );
+            }
+        }
+    }
+
+    private Expectation[] bind(byte[][] records) {
+        Expectation[] expectations = new Expectation[records.length];
+        IntStream indexes = IntStream.range(0, records.length);
+        if (records.length > PARALLEL_BINDING_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(index -> {
+            try {
+                expectations[index] = objectMapper.readValue(records[index], ExpectationDTO.class).buildObject();
+            } catch (Exception exception) {
+                throw new IllegalArgumentException("exception while binding expectation snapshot record " + index, exception);
+            }
+        });
+        return expectations;
+    }
+
+    private void logStale(String snapshotPath) {
+        if (MockServerLogger.isEnabled(INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(SERVER_CONFIGURATION)
+                    .setLogLevel(INFO)
+                    .setMessageFormat("expectation snapshot is stale, loading JSON initialization files instead of snapshot:{}")
+                    .setArguments(snapshotPath)
+            );
+        }
+    }
+
+    private static byte[] readBytes(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeBytes(DataOutputStream dataOutputStream, byte[] bytes) throws Exception {
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+}
@@ -0,0 +1,111 @@
+package org.mockserver.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.mockserver.configuration.Configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Selects the netty transport, using the native epoll transport when it is available and enabled and NIO otherwise
+ * <p>
+ * Channel classes and socket options are chosen from the type of event loop group the channel is registered with, so
+ * channels always match their event loop, even when the event loop group was created outside MockServer.  The epoll
+ * only options SO_REUSEPORT, TCP_FASTOPEN and TCP_QUICKACK are ignored for the NIO transport.
+ *
+ * @author jamesdbloom
+ */
+public class NettyTransport {
+
+    private static final int TCP_FASTOPEN_PENDING_REQUESTS = 256;
+    private static final boolean EPOLL_AVAILABLE = epollAvailable();
+
+    private static boolean epollAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (Throwable throwable) {
+            // native transport classes aren't on the classpath, such as when deployed as a war
+            return false;
+        }
+    }
+
+    public static boolean isNative(Configuration configuration) {
+        return EPOLL_AVAILABLE && configuration.nativeTransport();
+    }
+
+    public static boolean isNative(EventLoopGroup eventLoopGroup) {
+        if (eventLoopGroup instanceof EventLoop && ((EventLoop) eventLoopGroup).parent() != null) {
+            eventLoopGroup = ((EventLoop) eventLoopGroup).parent();
+        }
+        return EPOLL_AVAILABLE && eventLoopGroup instanceof EpollEventLoopGroup;
+    }
+
+    public static EventLoopGroup eventLoopGroup(Configuration configuration, int threadCount, ThreadFactory threadFactory) {
+        if (isNative(configuration)) {
+            return new EpollEventLoopGroup(threadCount, threadFactory);
+        } else {
+            return new NioEventLoopGroup(threadCount, threadFactory);
+        }
+    }
+
+    public static Class<? extends ServerChannel> serverSocketChannelClass(EventLoopGroup eventLoopGroup) {
+        return isNative(eventLoopGroup) ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public static Class<? extends Channel> socketChannelClass(EventLoopGroup eventLoopGroup) {
+        return isNative(eventLoopGroup) ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    /**
+     * @return number of server sockets to bind to each port, which is only more than one if SO_REUSEPORT is supported
+     */
+    public static int acceptorCount(Configuration configuration, EventLoopGroup bossGroup) {
+        return isNative(bossGroup) ? Math.max(1, configuration.reusePortAcceptorCount()) : 1;
+    }
+
+    public static ServerBootstrap serverBootstrap(Configuration configuration, EventLoopGroup bossGroup, EventLoopGroup workerGroup) {
+        ServerBootstrap serverBootstrap = new ServerBootstrap()
+            .group(bossGroup, workerGroup)
+            .channel(serverSocketChannelClass(bossGroup));
+        if (isNative(bossGroup)) {
+            if (acceptorCount(configuration, bossGroup) > 1) {
+                serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            }
+            if (configuration.tcpFastOpen()) {
+                serverBootstrap.option(ChannelOption.TCP_FASTOPEN, TCP_FASTOPEN_PENDING_REQUESTS);
+            }
+            if (configuration.tcpQuickAck()) {
+                serverBootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+            }
+        }
+        return serverBootstrap;
+    }
+
+    public static Bootstrap bootstrap(Configuration configuration, EventLoopGroup eventLoopGroup) {
+        Bootstrap bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(socketChannelClass(eventLoopGroup));
+        if (isNative(eventLoopGroup)) {
+            if (configuration.tcpFastOpen()) {
+                bootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
+            }
+            if (configuration.tcpQuickAck()) {
+                bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+            }
+        }
+        return bootstrap;
+    }
+}
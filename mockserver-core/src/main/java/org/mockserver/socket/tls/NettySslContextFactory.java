@@ -1,6 +1,8 @@
 package org.mockserver.socket.tls;
 
 import com.google.common.base.Joiner;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -56,6 +58,7 @@ public class NettySslContextFactory {
     private final KeyAndCertificateFactory keyAndCertificateFactory;
     private SslContext clientSslContext = null;
     private SslContext serverSslContext = null;
+    private SslContext http2ServerSslContext = null;
     private Function<SslContextBuilder, SslContext> instanceClientSslContextBuilderFunction = clientSslContextBuilderFunction;
     private final boolean forServer;
 
@@ -219,6 +222,16 @@ public class NettySslContextFactory {
                 serverSslContext = sslServerContextBuilderCustomizer
                     .apply(sslContextBuilder)
                     .build();
+                http2ServerSslContext = sslServerContextBuilderCustomizer
+                    .apply(sslContextBuilder)
+                    .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2,
+                        ApplicationProtocolNames.HTTP_1_1
+                    ))
+                    .build();
                 configuration.rebuildServerTLSContext(false);
             } catch (Throwable throwable) {
                 mockServerLogger.logEvent(
@@ -232,6 +245,15 @@ public class NettySslContextFactory {
         return serverSslContext;
     }
 
+    /**
+     * Server context that negotiates HTTP/2 or HTTP/1.1 using ALPN, clients that don't support ALPN use HTTP/1.1, so
+     * must only be used for connections that support both HTTP/2 and HTTP/1.1
+     */
+    public synchronized SslContext createHttp2ServerSslContext() {
+        createServerSslContext();
+        return http2ServerSslContext;
+    }
+
     private X509Certificate[] trustCertificateChain() {
         return trustCertificateChain(configuration.tlsMutualAuthenticationCertificateChain());
     }
@@ -43,7 +43,7 @@ public class SniHandler extends AbstractSniHandler<SslContext> {
         if (isNotBlank(hostname)) {
             configuration.addSubjectAlternativeName(hostname);
         }
-        return ctx.executor().newSucceededFuture(nettySslContextFactory.createServerSslContext());
+        return ctx.executor().newSucceededFuture(nettySslContextFactory.createHttp2ServerSslContext());
     }
 
     @Override
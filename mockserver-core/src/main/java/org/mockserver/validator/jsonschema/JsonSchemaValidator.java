@@ -163,25 +163,43 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
     public String isValid(String json, boolean addOpenAPISpecificationMessage) {
         String validationResult = "";
         if (isNotBlank(json)) {
+            JsonNode jsonNode;
             try {
-                validationResult = formatProcessingReport(validator.validate(OBJECT_MAPPER.readTree(json)), addOpenAPISpecificationMessage);
+                jsonNode = OBJECT_MAPPER.readTree(json);
+            } catch (Throwable throwable) {
+                return validationException(throwable);
+            }
+            validationResult = isValid(jsonNode, addOpenAPISpecificationMessage);
+        }
+        return validationResult;
+    }
+
+    public String isValid(JsonNode json, boolean addOpenAPISpecificationMessage) {
+        String validationResult = "";
+        if (json != null) {
+            try {
+                validationResult = formatProcessingReport(validator.validate(json), addOpenAPISpecificationMessage);
             } catch (Throwable throwable) {
                 if (isNotBlank(throwable.getMessage()) && throwable.getMessage().contains("Unknown MetaSchema")) {
                     validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
                     return isValid(json, addOpenAPISpecificationMessage);
                 }
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception validating JSON")
-                        .setThrowable(throwable)
-                );
-                return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+                return validationException(throwable);
             }
         }
         return validationResult;
     }
 
+    private String validationException(Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("exception validating JSON")
+                .setThrowable(throwable)
+        );
+        return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+    }
+
     private String formatProcessingReport(Set<ValidationMessage> validationMessages, boolean addOpenAPISpecificationMessage) {
         if (validationMessages.isEmpty()) {
             return "";
@@ -160,4 +160,58 @@ public class LRUCacheTest {
         assertThat(lruCacheThree.get("one"), is(nullValue()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 3, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.get("one");
+        lruCache.put("four", "d");
+
+        // then
+        assertThat(lruCache.get("one"), is("a"));
+        assertThat(lruCache.get("two"), is(nullValue()));
+        assertThat(lruCache.get("three"), is("c"));
+        assertThat(lruCache.get("four"), is("d"));
+        assertThat(lruCache.size(), is(3));
+    }
+
+    @Test
+    public void shouldCountHitsMissesAndEvictions() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 2, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.get("three");
+        lruCache.get("one");
+
+        // then
+        assertThat(lruCache.getHitCount(), is(1L));
+        assertThat(lruCache.getMissCount(), is(1L));
+        assertThat(lruCache.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldLimitSegmentedCache() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 512, MINUTES.toMillis(10));
+
+        // when
+        for (int i = 0; i < 2000; i++) {
+            lruCache.put("key_" + i, i);
+        }
+
+        // then
+        assertThat(lruCache.size() <= 512, is(true));
+        assertThat(lruCache.get("key_1999"), is(1999));
+        assertThat(lruCache.get("key_0"), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.MockServerHttpResponseToFullHttpResponse;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.ConnectionOptions.connectionOptions;
+import static org.mockserver.model.FileBody.file;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.MediaType.APPLICATION_OCTET_STREAM;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerHttpToNettyHttpResponseEncoderFileBodyTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+    private File responseBodyFile;
+
+    @Before
+    public void createResponseBodyFile() throws Exception {
+        responseBodyFile = File.createTempFile("response-body", ".bin");
+        Files.write(responseBodyFile.toPath(), "some_file_contents".getBytes(UTF_8));
+    }
+
+    @After
+    public void deleteResponseBodyFile() {
+        responseBodyFile.delete();
+    }
+
+    @Test
+    public void shouldEncodeFileBodyAsFileRegion() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChunkedWriteHandler(), new MockServerHttpToNettyHttpResponseEncoder(mockServerLogger));
+
+        // when
+        embeddedChannel.writeOutbound(response().withBody(file(responseBodyFile.getAbsolutePath(), APPLICATION_OCTET_STREAM)));
+
+        // then
+        HttpResponse httpResponse = embeddedChannel.readOutbound();
+        assertThat(httpResponse.headers().get(CONTENT_LENGTH), is("18"));
+        assertThat(httpResponse.headers().get(CONTENT_TYPE), is("application/octet-stream"));
+        DefaultFileRegion fileRegion = embeddedChannel.readOutbound();
+        assertThat(fileRegion.count(), is(18L));
+        fileRegion.release();
+        assertThat(embeddedChannel.readOutbound(), is(LastHttpContent.EMPTY_LAST_CONTENT));
+    }
+
+    @Test
+    public void shouldEncodeFileBodyAsChunksWhenZeroCopyNotSupported() throws Exception {
+        // when
+        List<Object> httpMessages = new MockServerHttpResponseToFullHttpResponse(mockServerLogger).mapMockServerFileResponseToNettyResponse(
+            response().withBody(file(responseBodyFile.getAbsolutePath())),
+            false
+        );
+
+        // then
+        assertThat(((HttpResponse) httpMessages.get(0)).headers().get(CONTENT_LENGTH), is("18"));
+        assertThat(httpMessages.get(1), instanceOf(HttpChunkedInput.class));
+        HttpChunkedInput chunkedInput = (HttpChunkedInput) httpMessages.get(1);
+        HttpContent content = chunkedInput.readChunk(ByteBufAllocator.DEFAULT);
+        assertThat(content.content().toString(UTF_8), is("some_file_contents"));
+        content.release();
+        chunkedInput.close();
+    }
+
+    @Test
+    public void shouldEncodeFileBodyAsChunkedResponse() throws Exception {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChunkedWriteHandler(), new MockServerHttpToNettyHttpResponseEncoder(mockServerLogger));
+
+        // when
+        embeddedChannel.writeOutbound(
+            response()
+                .withBody(file(responseBodyFile.getAbsolutePath()))
+                .withConnectionOptions(connectionOptions().withChunkSize(10))
+        );
+
+        // then
+        HttpResponse httpResponse = embeddedChannel.readOutbound();
+        assertThat(HttpUtil.isTransferEncodingChunked(httpResponse), is(true));
+        HttpContent firstChunk = embeddedChannel.readOutbound();
+        assertThat(firstChunk.content().toString(UTF_8), is("some_file_"));
+        firstChunk.release();
+        HttpContent secondChunk = embeddedChannel.readOutbound();
+        assertThat(secondChunk.content().toString(UTF_8), is("contents"));
+        secondChunk.release();
+        assertThat(embeddedChannel.readOutbound(), instanceOf(LastHttpContent.class));
+    }
+
+    @Test
+    public void shouldEncodeMissingFileBodyAsResponseWithoutBody() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChunkedWriteHandler(), new MockServerHttpToNettyHttpResponseEncoder(mockServerLogger));
+
+        // when
+        embeddedChannel.writeOutbound(response().withStatusCode(200).withBody(file(responseBodyFile.getAbsolutePath() + ".missing")));
+
+        // then
+        FullHttpResponse httpResponse = embeddedChannel.readOutbound();
+        assertThat(httpResponse.status().code(), is(200));
+        assertThat(httpResponse.content().readableBytes(), is(0));
+        httpResponse.release();
+    }
+
+    @Test
+    public void shouldNotFollowSymbolicLinkAtFilePath() throws Exception {
+        // given - symbolic link created at the file path after the path was checked
+        File symbolicLink = new File(responseBodyFile.getAbsolutePath() + ".link");
+        Files.createSymbolicLink(symbolicLink.toPath(), responseBodyFile.toPath());
+        try {
+            EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChunkedWriteHandler(), new MockServerHttpToNettyHttpResponseEncoder(mockServerLogger));
+
+            // when
+            embeddedChannel.writeOutbound(response().withStatusCode(200).withBody(file(symbolicLink.getAbsolutePath())));
+
+            // then
+            FullHttpResponse httpResponse = embeddedChannel.readOutbound();
+            assertThat(httpResponse.content().readableBytes(), is(0));
+            httpResponse.release();
+        } finally {
+            symbolicLink.delete();
+        }
+    }
+}
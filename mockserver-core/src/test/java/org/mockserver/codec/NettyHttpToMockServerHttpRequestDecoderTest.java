@@ -2,6 +2,7 @@ package org.mockserver.codec;
 
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
@@ -11,6 +12,7 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.*;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +26,7 @@ import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.Cookie.cookie;
 import static org.mockserver.model.Header.header;
+import static org.mockserver.model.JsonBody.json;
 import static org.mockserver.model.MediaType.DEFAULT_TEXT_HTTP_CHARACTER_SET;
 import static org.mockserver.model.NottableString.string;
 import static org.mockserver.model.Parameter.param;
@@ -148,6 +151,67 @@ public class NettyHttpToMockServerHttpRequestDecoderTest {
         ));
     }
 
+    @Test
+    public void shouldDecodeHttp2StreamId() {
+        // given
+        fullHttpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/uri");
+        fullHttpRequest.headers().add("x-http2-stream-id", "3");
+        fullHttpRequest.headers().add("headerName", "headerValue");
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        HttpRequest httpRequest = (HttpRequest) output.get(0);
+        assertThat(httpRequest.getStreamId(), is(3));
+        assertThat(httpRequest.getHeaderList(), containsInAnyOrder(
+            header("headerName", "headerValue")
+        ));
+    }
+
+    @Test
+    public void shouldDecodeSpilledJsonBodyAsJsonBody() {
+        // given
+        fullHttpRequest = new SpilledFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri", ByteBuffer.wrap("{ \"some_field\": \"some_value\" }".getBytes(UTF_8)), new DefaultHttpHeaders(), new DefaultHttpHeaders());
+        fullHttpRequest.headers().add(CONTENT_TYPE, MediaType.APPLICATION_JSON_UTF_8.toString());
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        Body body = ((HttpRequest) output.get(0)).getBody();
+        assertThat(body, is(json("{ \"some_field\": \"some_value\" }", MediaType.APPLICATION_JSON_UTF_8)));
+    }
+
+    @Test
+    public void shouldDecodeSpilledStringBodyUsingContentTypeCharset() {
+        // given
+        fullHttpRequest = new SpilledFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri", ByteBuffer.wrap("some_body\u00e9".getBytes(StandardCharsets.ISO_8859_1)), new DefaultHttpHeaders(), new DefaultHttpHeaders());
+        fullHttpRequest.headers().add(CONTENT_TYPE, MediaType.PLAIN_TEXT_UTF_8.withCharset(StandardCharsets.ISO_8859_1).toString());
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        Body body = ((HttpRequest) output.get(0)).getBody();
+        assertThat(body, is(exact("some_body\u00e9", MediaType.PLAIN_TEXT_UTF_8.withCharset(StandardCharsets.ISO_8859_1))));
+        assertThat(((HttpRequest) output.get(0)).getBodyAsString(), is("some_body\u00e9"));
+    }
+
+    @Test
+    public void shouldDecodeSpilledBinaryBodyAsBinaryBody() {
+        // given
+        fullHttpRequest = new SpilledFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri", ByteBuffer.wrap("some_binary_body".getBytes(UTF_8)), new DefaultHttpHeaders(), new DefaultHttpHeaders());
+        fullHttpRequest.headers().add(CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM.toString());
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        Body body = ((HttpRequest) output.get(0)).getBody();
+        assertThat(body, is(binary("some_binary_body".getBytes(UTF_8), MediaType.APPLICATION_OCTET_STREAM)));
+    }
+
     @Test
     public void shouldDecodeIsKeepAlive() {
         // given
@@ -0,0 +1,135 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author jamesdbloom
+ */
+public class SpillingHttpRequestAggregatorTest {
+
+    @Test
+    public void shouldNotAggregateRequestWithContentLengthWithinInMemoryLimit() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new SpillingHttpRequestAggregator(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri");
+        HttpUtil.setContentLength(request, 5);
+
+        // when
+        embeddedChannel.writeInbound(request, new DefaultLastHttpContent(Unpooled.copiedBuffer("12345", UTF_8)));
+
+        // then
+        assertThat(embeddedChannel.readInbound(), is(request));
+        HttpContent content = embeddedChannel.readInbound();
+        assertThat(content.content().toString(UTF_8), is("12345"));
+        content.release();
+    }
+
+    @Test
+    public void shouldSpillRequestWithContentLengthLargerThanInMemoryLimit() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new SpillingHttpRequestAggregator(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri");
+        HttpUtil.setContentLength(request, 20);
+
+        // when
+        embeddedChannel.writeInbound(
+            request,
+            new DefaultHttpContent(Unpooled.copiedBuffer("1234567890", UTF_8)),
+            new DefaultLastHttpContent(Unpooled.copiedBuffer("abcdefghij", UTF_8))
+        );
+
+        // then
+        FullHttpRequest fullHttpRequest = embeddedChannel.readInbound();
+        assertThat(fullHttpRequest, instanceOf(SpilledFullHttpRequest.class));
+        assertThat(fullHttpRequest.uri(), is("/uri"));
+        assertThat(fullHttpRequest.headers().get(CONTENT_LENGTH), is("20"));
+        assertThat(fullHttpRequest.content().toString(UTF_8), is("1234567890abcdefghij"));
+
+        // and - spilled content readable after release
+        fullHttpRequest.release();
+        ByteBuffer spilledContent = ((SpilledFullHttpRequest) fullHttpRequest).spilledContent();
+        assertThat(UTF_8.decode(spilledContent).toString(), is("1234567890abcdefghij"));
+    }
+
+    @Test
+    public void shouldAggregateChunkedRequestWithinInMemoryLimitInMemory() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new SpillingHttpRequestAggregator(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri");
+        HttpUtil.setTransferEncodingChunked(request, true);
+
+        // when
+        embeddedChannel.writeInbound(
+            request,
+            new DefaultHttpContent(Unpooled.copiedBuffer("12345", UTF_8)),
+            new DefaultLastHttpContent(Unpooled.copiedBuffer("abcde", UTF_8))
+        );
+
+        // then
+        FullHttpRequest fullHttpRequest = embeddedChannel.readInbound();
+        assertThat(fullHttpRequest, not(instanceOf(SpilledFullHttpRequest.class)));
+        assertThat(fullHttpRequest.headers().get(TRANSFER_ENCODING), nullValue());
+        assertThat(fullHttpRequest.headers().get(CONTENT_LENGTH), is("10"));
+        assertThat(fullHttpRequest.content().toString(UTF_8), is("12345abcde"));
+        fullHttpRequest.release();
+    }
+
+    @Test
+    public void shouldSpillChunkedRequestOnceLargerThanInMemoryLimit() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new SpillingHttpRequestAggregator(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri");
+        HttpUtil.setTransferEncodingChunked(request, true);
+        ByteBuf firstChunk = Unpooled.copiedBuffer("1234567", UTF_8);
+        ByteBuf secondChunk = Unpooled.copiedBuffer("abcdefg", UTF_8);
+
+        // when
+        embeddedChannel.writeInbound(
+            request,
+            new DefaultHttpContent(firstChunk),
+            new DefaultHttpContent(secondChunk),
+            new DefaultLastHttpContent(Unpooled.copiedBuffer("ABCDEFG", UTF_8))
+        );
+
+        // then
+        FullHttpRequest fullHttpRequest = embeddedChannel.readInbound();
+        assertThat(fullHttpRequest, instanceOf(SpilledFullHttpRequest.class));
+        assertThat(fullHttpRequest.headers().get(TRANSFER_ENCODING), nullValue());
+        assertThat(fullHttpRequest.headers().get(CONTENT_LENGTH), is("21"));
+        assertThat(fullHttpRequest.content().toString(UTF_8), is("1234567abcdefgABCDEFG"));
+        fullHttpRequest.release();
+
+        // and - chunks released
+        assertThat(firstChunk.refCnt(), is(0));
+        assertThat(secondChunk.refCnt(), is(0));
+    }
+
+    @Test
+    public void shouldNotAggregateFullRequest() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new SpillingHttpRequestAggregator(10));
+        DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri", Unpooled.copiedBuffer("1234567890abcdefghij", UTF_8));
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then
+        assertThat(embeddedChannel.readInbound(), is(request));
+        request.release();
+    }
+}
@@ -2,12 +2,19 @@ package org.mockserver.collections;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * @author jamesdbloom
@@ -45,4 +52,82 @@ public class CircularConcurrentLinkedDequeTest {
         assertThat(concurrentLinkedQueue, contains("2", "3", "4"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldTrackSizeAndNotifyEvictions() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(3, evicted::add);
+
+        // when
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3", "4", "5"));
+
+        // then
+        assertEquals(3, concurrentLinkedQueue.size());
+        assertThat(evicted, contains("1", "2"));
+
+        // when
+        concurrentLinkedQueue.removeItem("4");
+
+        // then
+        assertEquals(2, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("3", "5"));
+        assertThat(evicted, contains("1", "2", "4"));
+
+        // when
+        Iterator<String> iterator = concurrentLinkedQueue.descendingIterator();
+        iterator.next();
+        iterator.remove();
+
+        // then
+        assertEquals(1, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("3"));
+
+        // when
+        concurrentLinkedQueue.clear();
+
+        // then
+        assertEquals(0, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, empty());
+        assertThat(evicted, contains("1", "2", "4", "3"));
+    }
+
+    @Test
+    public void shouldSupportDequeOperationsAndTrackSize() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        Deque<String> deque = new CircularConcurrentLinkedDeque<>(3, evicted::add);
+        deque.addAll(Arrays.asList("1", "2", "3"));
+
+        // when
+        deque.offerFirst("0");
+
+        // then
+        assertThat(deque, contains("0", "1", "2"));
+        assertThat(evicted, contains("3"));
+        assertThat(deque.peekFirst(), is("0"));
+        assertThat(deque.peekLast(), is("2"));
+
+        // when
+        String first = deque.pollFirst();
+        String last = deque.pollLast();
+
+        // then
+        assertThat(first, is("0"));
+        assertThat(last, is("2"));
+        assertEquals(1, deque.size());
+        assertThat(deque, contains("1"));
+
+        // when
+        deque.push("4");
+        deque.offerLast("5");
+
+        // then
+        assertThat(deque.pop(), is("4"));
+        assertThat(deque.removeLast(), is("5"));
+        assertThat(deque.removeFirstOccurrence("1"), is(true));
+        assertEquals(0, deque.size());
+        assertThat(deque.pollFirst(), nullValue());
+        assertThat(deque.peekLast(), nullValue());
+    }
+
+}
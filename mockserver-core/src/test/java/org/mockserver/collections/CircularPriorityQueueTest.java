@@ -4,8 +4,12 @@ import org.junit.Test;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.SortableExpectationId;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.hamcrest.CoreMatchers.not;
@@ -597,4 +601,145 @@ public class CircularPriorityQueueTest {
         assertThat(concurrentLinkedQueue.toSortedList(), contains(five, one, two));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldStreamIndexedAndUnindexedElementsInSortOrder() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            10,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id,
+            sortableExpectationId -> sortableExpectationId.id.startsWith("a") ? "a" : sortableExpectationId.id.startsWith("b") ? "b" : null
+        );
+
+        // when
+        concurrentLinkedQueue.add(new SortableExpectationId("a1", 0, 3));
+        concurrentLinkedQueue.add(new SortableExpectationId("b1", 0, 2));
+        concurrentLinkedQueue.add(new SortableExpectationId("c1", 0, 4));
+        concurrentLinkedQueue.add(new SortableExpectationId("a2", 5, 5));
+        concurrentLinkedQueue.add(new SortableExpectationId("c2", 0, 1));
+
+        // then
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(
+            new SortableExpectationId("a2", 5, 5),
+            new SortableExpectationId("c2", 0, 1),
+            new SortableExpectationId("a1", 0, 3),
+            new SortableExpectationId("c1", 0, 4)
+        ));
+        assertThat(concurrentLinkedQueue.stream(Arrays.asList("a", "b")).collect(Collectors.toList()), contains(
+            new SortableExpectationId("a2", 5, 5),
+            new SortableExpectationId("c2", 0, 1),
+            new SortableExpectationId("b1", 0, 2),
+            new SortableExpectationId("a1", 0, 3),
+            new SortableExpectationId("c1", 0, 4)
+        ));
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("d")).collect(Collectors.toList()), contains(
+            new SortableExpectationId("c2", 0, 1),
+            new SortableExpectationId("c1", 0, 4)
+        ));
+        assertThat(concurrentLinkedQueue.stream(null).collect(Collectors.toList()), is(concurrentLinkedQueue.toSortedList()));
+
+        // when
+        concurrentLinkedQueue.remove(new SortableExpectationId("a2", 5, 5));
+        concurrentLinkedQueue.remove(new SortableExpectationId("c2", 0, 1));
+
+        // then
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(
+            new SortableExpectationId("a1", 0, 3),
+            new SortableExpectationId("c1", 0, 4)
+        ));
+    }
+
+    @Test
+    public void shouldRefreshSnapshotAfterEachMutation() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            10,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id,
+            sortableExpectationId -> sortableExpectationId.id.startsWith("a") ? "a" : null
+        );
+        SortableExpectationId one = new SortableExpectationId("a1", 0, 1);
+        SortableExpectationId two = new SortableExpectationId("b1", 0, 2);
+
+        // when
+        concurrentLinkedQueue.add(one);
+
+        // then
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(one));
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(one));
+
+        // when
+        concurrentLinkedQueue.add(two);
+
+        // then
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(one, two));
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(one, two));
+
+        // when
+        concurrentLinkedQueue.removePriorityKey(one);
+
+        // then
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(two));
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(two));
+
+        // when
+        concurrentLinkedQueue.addPriorityKey(one);
+        concurrentLinkedQueue.remove(two);
+
+        // then
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(one));
+        assertThat(concurrentLinkedQueue.stream(Collections.singletonList("a")).collect(Collectors.toList()), contains(one));
+    }
+
+    @Test
+    public void shouldOnlyRebuildSnapshotWhenUpdateChangesPriority() {
+        // given
+        CircularPriorityQueue<String, AtomicReference<SortableExpectationId>, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            10,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            AtomicReference::get,
+            reference -> reference.get().id
+        );
+        AtomicReference<SortableExpectationId> one = new AtomicReference<>(new SortableExpectationId("one", 0, 1));
+        AtomicReference<SortableExpectationId> two = new AtomicReference<>(new SortableExpectationId("two", 0, 2));
+        concurrentLinkedQueue.add(one);
+        concurrentLinkedQueue.add(two);
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(one, two));
+        long snapshotVersion = concurrentLinkedQueue.getSnapshotVersion();
+        long version = concurrentLinkedQueue.getVersion();
+
+        // when - unchanged
+        boolean updated = concurrentLinkedQueue.update(one, () -> false);
+
+        // then
+        assertThat(updated, is(false));
+        assertThat(concurrentLinkedQueue.getVersion(), is(version));
+        assertThat(concurrentLinkedQueue.getSnapshotVersion(), is(snapshotVersion));
+
+        // when - changed with same priority
+        updated = concurrentLinkedQueue.update(one, () -> {
+            one.set(new SortableExpectationId("one", 0, 1));
+            return true;
+        });
+
+        // then
+        assertThat(updated, is(true));
+        assertThat(concurrentLinkedQueue.getVersion(), greaterThan(version));
+        assertThat(concurrentLinkedQueue.getSnapshotVersion(), is(snapshotVersion));
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(one, two));
+
+        // when - changed priority
+        updated = concurrentLinkedQueue.update(one, () -> {
+            one.set(new SortableExpectationId("one", -1, 1));
+            return true;
+        });
+
+        // then
+        assertThat(updated, is(true));
+        assertThat(concurrentLinkedQueue.getSnapshotVersion(), greaterThan(snapshotVersion));
+        assertThat(concurrentLinkedQueue.stream().collect(Collectors.toList()), contains(two, one));
+        assertThat(concurrentLinkedQueue.size(), is(2));
+    }
+}
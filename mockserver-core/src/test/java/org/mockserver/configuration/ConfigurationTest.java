@@ -279,6 +279,56 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetRequestMatcherCacheSize() {
+        int original = ConfigurationProperties.requestMatcherCacheSize();
+        try {
+            // then - default value
+            assertThat(configuration.requestMatcherCacheSize(), equalTo(250));
+
+            // when - system property setter
+            ConfigurationProperties.requestMatcherCacheSize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.requestMatcherCacheSize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.requestMatcherCacheSize"), equalTo("10"));
+            assertThat(configuration.requestMatcherCacheSize(), equalTo(10));
+
+            // when - setter
+            configuration.requestMatcherCacheSize(20);
+
+            // then - getter
+            assertThat(configuration.requestMatcherCacheSize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.requestMatcherCacheSize(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetMaxExpectationNotificationLatency() {
+        long original = ConfigurationProperties.maxExpectationNotificationLatency();
+        try {
+            // then - default value
+            assertThat(configuration.maxExpectationNotificationLatencyInMillis(), equalTo(100L));
+
+            // when - system property setter
+            ConfigurationProperties.maxExpectationNotificationLatency(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxExpectationNotificationLatency(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.maxExpectationNotificationLatency"), equalTo("10"));
+            assertThat(configuration.maxExpectationNotificationLatencyInMillis(), equalTo(10L));
+
+            // when - setter
+            configuration.maxExpectationNotificationLatencyInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.maxExpectationNotificationLatencyInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.maxExpectationNotificationLatency(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetOutputMemoryUsageCsv() {
         boolean original = ConfigurationProperties.outputMemoryUsageCsv();
@@ -585,6 +635,369 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetNativeTransport() {
+        boolean original = ConfigurationProperties.nativeTransport();
+        try {
+            // then - default value
+            assertThat(configuration.nativeTransport(), equalTo(true));
+
+            // when - system property setter
+            ConfigurationProperties.nativeTransport(false);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.nativeTransport(), equalTo(false));
+            assertThat(System.getProperty("mockserver.nativeTransport"), equalTo("false"));
+            assertThat(configuration.nativeTransport(), equalTo(false));
+            ConfigurationProperties.nativeTransport(original);
+
+            // when - setter
+            configuration.nativeTransport(false);
+
+            // then - getter
+            assertThat(configuration.nativeTransport(), equalTo(false));
+        } finally {
+            ConfigurationProperties.nativeTransport(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetReusePortAcceptorCount() {
+        int original = ConfigurationProperties.reusePortAcceptorCount();
+        try {
+            // then - default value
+            assertThat(configuration.reusePortAcceptorCount(), equalTo(1));
+
+            // when - system property setter
+            ConfigurationProperties.reusePortAcceptorCount(4);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.reusePortAcceptorCount(), equalTo(4));
+            assertThat(System.getProperty("mockserver.reusePortAcceptorCount"), equalTo("4"));
+            assertThat(configuration.reusePortAcceptorCount(), equalTo(4));
+            ConfigurationProperties.reusePortAcceptorCount(original);
+
+            // when - setter
+            configuration.reusePortAcceptorCount(4);
+
+            // then - getter
+            assertThat(configuration.reusePortAcceptorCount(), equalTo(4));
+        } finally {
+            ConfigurationProperties.reusePortAcceptorCount(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetTcpFastOpen() {
+        boolean original = ConfigurationProperties.tcpFastOpen();
+        try {
+            // then - default value
+            assertThat(configuration.tcpFastOpen(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.tcpFastOpen(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.tcpFastOpen(), equalTo(true));
+            assertThat(System.getProperty("mockserver.tcpFastOpen"), equalTo("true"));
+            assertThat(configuration.tcpFastOpen(), equalTo(true));
+            ConfigurationProperties.tcpFastOpen(original);
+
+            // when - setter
+            configuration.tcpFastOpen(true);
+
+            // then - getter
+            assertThat(configuration.tcpFastOpen(), equalTo(true));
+        } finally {
+            ConfigurationProperties.tcpFastOpen(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetTcpQuickAck() {
+        boolean original = ConfigurationProperties.tcpQuickAck();
+        try {
+            // then - default value
+            assertThat(configuration.tcpQuickAck(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.tcpQuickAck(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.tcpQuickAck(), equalTo(true));
+            assertThat(System.getProperty("mockserver.tcpQuickAck"), equalTo("true"));
+            assertThat(configuration.tcpQuickAck(), equalTo(true));
+            ConfigurationProperties.tcpQuickAck(original);
+
+            // when - setter
+            configuration.tcpQuickAck(true);
+
+            // then - getter
+            assertThat(configuration.tcpQuickAck(), equalTo(true));
+        } finally {
+            ConfigurationProperties.tcpQuickAck(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolEnabled() {
+        boolean original = ConfigurationProperties.forwardConnectionPoolEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolEnabled"), equalTo("true"));
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(true));
+            ConfigurationProperties.forwardConnectionPoolEnabled(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolEnabled(true);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolMaxConnectionsPerRoute() {
+        int original = ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerRoute(), equalTo(20));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute(50);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute(), equalTo(50));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolMaxConnectionsPerRoute"), equalTo("50"));
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerRoute(), equalTo(50));
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolMaxConnectionsPerRoute(50);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerRoute(), equalTo(50));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerRoute(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolIdleTimeoutInMillis() {
+        long original = ConfigurationProperties.forwardConnectionPoolIdleTimeout();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(30000L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolIdleTimeout(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolIdleTimeout"), equalTo("10"));
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(10L));
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolIdleTimeoutInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardRequestCoalescingEnabled() {
+        boolean original = ConfigurationProperties.forwardRequestCoalescingEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.forwardRequestCoalescingEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardRequestCoalescingEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardRequestCoalescingEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardRequestCoalescingEnabled"), equalTo("true"));
+            assertThat(configuration.forwardRequestCoalescingEnabled(), equalTo(true));
+            ConfigurationProperties.forwardRequestCoalescingEnabled(original);
+
+            // when - setter
+            configuration.forwardRequestCoalescingEnabled(true);
+
+            // then - getter
+            assertThat(configuration.forwardRequestCoalescingEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardRequestCoalescingEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardRequestCoalescingHeaders() {
+        String original = ConfigurationProperties.forwardRequestCoalescingHeaders();
+        try {
+            // then - default value
+            assertThat(configuration.forwardRequestCoalescingHeaders(), equalTo("Accept, Accept-Encoding, Accept-Language, Authorization, Cookie"));
+
+            // when - system property setter
+            ConfigurationProperties.forwardRequestCoalescingHeaders("Accept, Authorization");
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardRequestCoalescingHeaders(), equalTo("Accept, Authorization"));
+            assertThat(System.getProperty("mockserver.forwardRequestCoalescingHeaders"), equalTo("Accept, Authorization"));
+            assertThat(configuration.forwardRequestCoalescingHeaders(), equalTo("Accept, Authorization"));
+
+            // when - setter
+            configuration.forwardRequestCoalescingHeaders("Accept, Authorization, X-Tenant-Id");
+
+            // then - getter
+            assertThat(configuration.forwardRequestCoalescingHeaders(), equalTo("Accept, Authorization, X-Tenant-Id"));
+        } finally {
+            ConfigurationProperties.forwardRequestCoalescingHeaders(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardResponseCacheEnabled() {
+        boolean original = ConfigurationProperties.forwardResponseCacheEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.forwardResponseCacheEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardResponseCacheEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardResponseCacheEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardResponseCacheEnabled"), equalTo("true"));
+            assertThat(configuration.forwardResponseCacheEnabled(), equalTo(true));
+            ConfigurationProperties.forwardResponseCacheEnabled(original);
+
+            // when - setter
+            configuration.forwardResponseCacheEnabled(true);
+
+            // then - getter
+            assertThat(configuration.forwardResponseCacheEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardResponseCacheEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardResponseCacheMaxSize() {
+        long original = ConfigurationProperties.forwardResponseCacheMaxSize();
+        try {
+            // then - default value
+            assertThat(configuration.forwardResponseCacheMaxSize(), equalTo(67108864L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardResponseCacheMaxSize(1024L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardResponseCacheMaxSize(), equalTo(1024L));
+            assertThat(System.getProperty("mockserver.forwardResponseCacheMaxSize"), equalTo("1024"));
+            assertThat(configuration.forwardResponseCacheMaxSize(), equalTo(1024L));
+            ConfigurationProperties.forwardResponseCacheMaxSize(original);
+
+            // when - setter
+            configuration.forwardResponseCacheMaxSize(2048L);
+
+            // then - getter
+            assertThat(configuration.forwardResponseCacheMaxSize(), equalTo(2048L));
+        } finally {
+            ConfigurationProperties.forwardResponseCacheMaxSize(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardResponseCacheMaxTimeToLiveInMillis() {
+        long original = ConfigurationProperties.forwardResponseCacheMaxTimeToLive();
+        try {
+            // then - default value
+            assertThat(configuration.forwardResponseCacheMaxTimeToLiveInMillis(), equalTo(600000L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardResponseCacheMaxTimeToLive(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardResponseCacheMaxTimeToLive(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.forwardResponseCacheMaxTimeToLive"), equalTo("10"));
+            assertThat(configuration.forwardResponseCacheMaxTimeToLiveInMillis(), equalTo(10L));
+            ConfigurationProperties.forwardResponseCacheMaxTimeToLive(original);
+
+            // when - setter
+            configuration.forwardResponseCacheMaxTimeToLiveInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.forwardResponseCacheMaxTimeToLiveInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.forwardResponseCacheMaxTimeToLive(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetDnsCacheTimeToLiveInMillis() {
+        long original = ConfigurationProperties.dnsCacheTimeToLive();
+        try {
+            // then - default value
+            assertThat(configuration.dnsCacheTimeToLiveInMillis(), equalTo(30000L));
+
+            // when - system property setter
+            ConfigurationProperties.dnsCacheTimeToLive(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.dnsCacheTimeToLive(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.dnsCacheTimeToLive"), equalTo("10"));
+            assertThat(configuration.dnsCacheTimeToLiveInMillis(), equalTo(10L));
+            ConfigurationProperties.dnsCacheTimeToLive(original);
+
+            // when - setter
+            configuration.dnsCacheTimeToLiveInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.dnsCacheTimeToLiveInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.dnsCacheTimeToLive(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetDnsHostsOverride() {
+        Map<String, String> original = ConfigurationProperties.dnsHostsOverride();
+        try {
+            // then - default value
+            assertThat(configuration.dnsHostsOverride(), equalTo(ImmutableMap.of()));
+
+            // when - system property setter
+            ConfigurationProperties.dnsHostsOverride(ImmutableMap.of("api.example.com", "127.0.0.1", "db.example.com", "::1"));
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.dnsHostsOverride(), equalTo(ImmutableMap.of("api.example.com", "127.0.0.1", "db.example.com", "::1")));
+            assertThat(System.getProperty("mockserver.dnsHostsOverride"), equalTo("api.example.com=127.0.0.1,db.example.com=::1"));
+            assertThat(configuration.dnsHostsOverride(), equalTo(ImmutableMap.of("api.example.com", "127.0.0.1", "db.example.com", "::1")));
+            ConfigurationProperties.dnsHostsOverride(original);
+
+            // when - setter
+            configuration.dnsHostsOverride(ImmutableMap.of("api.example.com", "10.0.0.1"));
+
+            // then - getter
+            assertThat(configuration.dnsHostsOverride(), equalTo(ImmutableMap.of("api.example.com", "10.0.0.1")));
+        } finally {
+            ConfigurationProperties.dnsHostsOverride(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxInitialLineLength() {
         int original = ConfigurationProperties.maxInitialLineLength();
@@ -660,6 +1073,31 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxInMemoryRequestBodySize() {
+        int original = ConfigurationProperties.maxInMemoryRequestBodySize();
+        try {
+            // then - default value
+            assertThat(configuration.maxInMemoryRequestBodySize(), equalTo(Integer.MAX_VALUE));
+
+            // when - system property setter
+            ConfigurationProperties.maxInMemoryRequestBodySize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxInMemoryRequestBodySize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.maxInMemoryRequestBodySize"), equalTo("10"));
+            assertThat(configuration.maxInMemoryRequestBodySize(), equalTo(10));
+
+            // when - setter
+            configuration.maxInMemoryRequestBodySize(20);
+
+            // then - getter
+            assertThat(configuration.maxInMemoryRequestBodySize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.maxInMemoryRequestBodySize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetUseSemicolonAsQueryParameterSeparator() {
         boolean original = ConfigurationProperties.useSemicolonAsQueryParameterSeparator();
@@ -943,6 +1381,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetInitializationSnapshotPath() {
+        String original = ConfigurationProperties.initializationSnapshotPath();
+        try {
+            // then - default value
+            assertThat(configuration.initializationSnapshotPath(), equalTo(""));
+
+            // when - system property setter
+            String firstPath = tempFilePath();
+            ConfigurationProperties.initializationSnapshotPath(firstPath);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.initializationSnapshotPath(), equalTo(firstPath));
+            assertThat(System.getProperty("mockserver.initializationSnapshotPath"), equalTo(firstPath));
+            assertThat(configuration.initializationSnapshotPath(), equalTo(firstPath));
+
+            // when - setter
+            String secondPath = tempFilePath();
+            configuration.initializationSnapshotPath(secondPath);
+
+            // then - getter
+            assertThat(configuration.initializationSnapshotPath(), equalTo(secondPath));
+        } finally {
+            ConfigurationProperties.initializationSnapshotPath(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetFileResponseBodyRootDirectory() {
+        String original = ConfigurationProperties.fileResponseBodyRootDirectory();
+        try {
+            // then - default value
+            assertThat(configuration.fileResponseBodyRootDirectory(), equalTo(""));
+
+            // when - system property setter
+            ConfigurationProperties.fileResponseBodyRootDirectory("/first/directory");
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.fileResponseBodyRootDirectory(), equalTo("/first/directory"));
+            assertThat(System.getProperty("mockserver.fileResponseBodyRootDirectory"), equalTo("/first/directory"));
+            assertThat(configuration.fileResponseBodyRootDirectory(), equalTo("/first/directory"));
+
+            // when - setter
+            configuration.fileResponseBodyRootDirectory("/second/directory");
+
+            // then - getter
+            assertThat(configuration.fileResponseBodyRootDirectory(), equalTo("/second/directory"));
+        } finally {
+            ConfigurationProperties.fileResponseBodyRootDirectory(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetPersistExpectations() {
         boolean original = ConfigurationProperties.persistExpectations();
@@ -1048,6 +1538,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetStreamingProxyEnabled() {
+        boolean original = ConfigurationProperties.streamingProxyEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.streamingProxyEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.streamingProxyEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.streamingProxyEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.streamingProxyEnabled"), equalTo("true"));
+            assertThat(configuration.streamingProxyEnabled(), equalTo(true));
+            ConfigurationProperties.streamingProxyEnabled(original);
+
+            // when - setter
+            configuration.streamingProxyEnabled(true);
+
+            // then - getter
+            assertThat(configuration.streamingProxyEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.streamingProxyEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetStreamingProxyMaxCapturedBodySize() {
+        int original = ConfigurationProperties.streamingProxyMaxCapturedBodySize();
+        try {
+            // then - default value
+            assertThat(configuration.streamingProxyMaxCapturedBodySize(), equalTo(65536));
+
+            // when - system property setter
+            ConfigurationProperties.streamingProxyMaxCapturedBodySize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.streamingProxyMaxCapturedBodySize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.streamingProxyMaxCapturedBodySize"), equalTo("10"));
+            assertThat(configuration.streamingProxyMaxCapturedBodySize(), equalTo(10));
+            ConfigurationProperties.streamingProxyMaxCapturedBodySize(original);
+
+            // when - setter
+            configuration.streamingProxyMaxCapturedBodySize(20);
+
+            // then - getter
+            assertThat(configuration.streamingProxyMaxCapturedBodySize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.streamingProxyMaxCapturedBodySize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetForwardHttpProxy() {
         InetSocketAddress original = ConfigurationProperties.forwardHttpProxy();
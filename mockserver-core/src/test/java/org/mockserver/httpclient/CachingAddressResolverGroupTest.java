@@ -0,0 +1,149 @@
+package org.mockserver.httpclient;
+
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * @author jamesdbloom
+ */
+public class CachingAddressResolverGroupTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+
+    @Test
+    public void shouldResolveHostsOverrideWithoutLookup() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(configuration().dnsHostsOverride(ImmutableMap.of("Some.Test.Host", "127.0.0.2")), mockServerLogger);
+        AddressResolver<InetSocketAddress> addressResolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        InetSocketAddress resolvedAddress = addressResolver.resolve(InetSocketAddress.createUnresolved("some.test.host", 8080)).get();
+
+        // then
+        assertThat(resolvedAddress.getAddress().getHostAddress(), is("127.0.0.2"));
+        assertThat(resolvedAddress.getHostString(), is("Some.Test.Host"));
+        assertThat(resolvedAddress.getPort(), is(8080));
+        assertThat(addressResolverGroup.getHostsOverrideCount(), is(1L));
+        assertThat(addressResolverGroup.getLookupCount(), is(0L));
+    }
+
+    @Test
+    public void shouldCacheResolvedAddresses() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(configuration(), mockServerLogger);
+        AddressResolver<InetSocketAddress> addressResolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        InetSocketAddress firstAddress = addressResolver.resolve(InetSocketAddress.createUnresolved("localhost", 1080)).get();
+        InetSocketAddress secondAddress = addressResolver.resolve(InetSocketAddress.createUnresolved("localhost", 1090)).get();
+
+        // then
+        assertThat(firstAddress.isUnresolved(), is(false));
+        assertThat(secondAddress.getAddress(), is(firstAddress.getAddress()));
+        assertThat(addressResolverGroup.getLookupCount(), is(1L));
+        assertThat(addressResolverGroup.getCacheHitCount(), is(1L));
+        assertThat(addressResolverGroup.getCachedHostCount(), is(1));
+        assertThat(addressResolverGroup.getMaxLookupLatencyInMillis() >= addressResolverGroup.getAverageLookupLatencyInMillis(), is(true));
+    }
+
+    @Test
+    public void shouldNotCacheResolvedAddressesWhenTimeToLiveIsZero() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(configuration().dnsCacheTimeToLiveInMillis(0L), mockServerLogger);
+        AddressResolver<InetSocketAddress> addressResolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        addressResolver.resolve(InetSocketAddress.createUnresolved("localhost", 1080)).get();
+        addressResolver.resolve(InetSocketAddress.createUnresolved("localhost", 1080)).get();
+
+        // then
+        assertThat(addressResolverGroup.getLookupCount(), is(2L));
+        assertThat(addressResolverGroup.getCachedHostCount(), is(0));
+    }
+
+    @Test
+    public void shouldNotLookupIpAddressLiterals() throws Exception {
+        // given
+        CachingAddressResolverGroup addressResolverGroup = new CachingAddressResolverGroup(configuration(), mockServerLogger);
+        AddressResolver<InetSocketAddress> addressResolver = addressResolverGroup.getResolver(GlobalEventExecutor.INSTANCE);
+
+        // when
+        InetSocketAddress resolvedAddress = addressResolver.resolve(InetSocketAddress.createUnresolved("127.0.0.1", 1080)).get();
+
+        // then
+        assertThat(resolvedAddress.getAddress().getHostAddress(), is("127.0.0.1"));
+        assertThat(addressResolverGroup.getLookupCount(), is(0L));
+    }
+
+    @Test
+    public void shouldShareResolverGroupForEventLoopGroupAndCloseOnShutdown() throws Exception {
+        // given
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+        CachingAddressResolverGroup addressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration(), mockServerLogger);
+
+        // when
+        CachingAddressResolverGroup sharedAddressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration(), mockServerLogger);
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).get();
+        // termination listeners are notified asynchronously
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // then
+        assertThat(sharedAddressResolverGroup, sameInstance(addressResolverGroup));
+        try {
+            addressResolverGroup.lookup("localhost").get();
+            fail("expected exception to be thrown");
+        } catch (ExecutionException executionException) {
+            assertThat(executionException.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+    }
+
+    @Test
+    public void shouldNotShareResolverGroupForDifferentConfiguration() throws Exception {
+        // given
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+        try {
+            CachingAddressResolverGroup addressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration(), mockServerLogger);
+
+            // when
+            CachingAddressResolverGroup overriddenAddressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration().dnsHostsOverride(ImmutableMap.of("some.test.host", "127.0.0.2")), mockServerLogger);
+            CachingAddressResolverGroup sameOverriddenAddressResolverGroup = CachingAddressResolverGroup.forEventLoopGroup(eventLoopGroup, configuration().dnsHostsOverride(ImmutableMap.of("some.test.host", "127.0.0.2")), mockServerLogger);
+
+            // then
+            assertThat(overriddenAddressResolverGroup, not(sameInstance(addressResolverGroup)));
+            assertThat(sameOverriddenAddressResolverGroup, sameInstance(overriddenAddressResolverGroup));
+            assertThat(overriddenAddressResolverGroup.lookup("some.test.host").get()[0].getHostAddress(), is("127.0.0.2"));
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).get();
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidHostsOverrideAddress() {
+        try {
+            // when
+            new CachingAddressResolverGroup(configuration().dnsHostsOverride(ImmutableMap.of("some.test.host", "not_an_ip_address")), mockServerLogger);
+            fail("expected exception to be thrown");
+        } catch (IllegalArgumentException illegalArgumentException) {
+            // then
+            assertThat(illegalArgumentException.getMessage(), is("invalid IP address \"not_an_ip_address\" in DNS hosts override for host \"some.test.host\""));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.mockserver.httpclient;
+
+import org.junit.Test;
+import org.mockserver.model.HttpResponse;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpRequestCoalescerTest {
+
+    private final InetSocketAddress remoteAddress = new InetSocketAddress("localhost", 1080);
+    private final HttpRequestCoalescer httpRequestCoalescer = new HttpRequestCoalescer("Accept, Authorization");
+    private final AtomicInteger sentRequests = new AtomicInteger();
+    private final CompletableFuture<HttpResponse> upstreamResponse = new CompletableFuture<>();
+
+    private CompletableFuture<HttpResponse> sendRequest() {
+        sentRequests.incrementAndGet();
+        return upstreamResponse;
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentIdenticalRequests() throws Exception {
+        // given
+        CompletableFuture<HttpResponse> firstResponse = httpRequestCoalescer.sendRequest(request("/some_path").withHeader("Accept", "application/json"), remoteAddress, this::sendRequest);
+        CompletableFuture<HttpResponse> secondResponse = httpRequestCoalescer.sendRequest(request("/some_path").withHeader("Accept", "application/json").withHeader("X-Request-Id", "2"), remoteAddress, this::sendRequest);
+
+        // when
+        HttpResponse httpResponse = response().withStatusCode(200).withHeader("some_header", "some_value").withBody("some_body");
+        upstreamResponse.complete(httpResponse);
+
+        // then
+        assertThat(sentRequests.get(), is(1));
+        assertThat(firstResponse.get(), is(httpResponse));
+        assertThat(secondResponse.get(), is(httpResponse));
+        assertThat(firstResponse.get(), not(sameInstance(secondResponse.get())));
+        assertThat(httpRequestCoalescer.getSentRequestCount(), is(1L));
+        assertThat(httpRequestCoalescer.getCoalescedRequestCount(), is(1L));
+        assertThat(httpRequestCoalescer.getInFlightRequestCount(), is(0));
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsWithDifferentSelectedHeaders() {
+        // when
+        httpRequestCoalescer.sendRequest(request("/some_path").withHeader("Authorization", "Basic one"), remoteAddress, this::sendRequest);
+        httpRequestCoalescer.sendRequest(request("/some_path").withHeader("Authorization", "Basic two"), remoteAddress, this::sendRequest);
+
+        // then
+        assertThat(sentRequests.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsWithDifferentQueryParametersOrBody() {
+        // when
+        httpRequestCoalescer.sendRequest(request("/some_path").withMethod("OPTIONS").withQueryStringParameter("a", "1").withBody("one"), remoteAddress, this::sendRequest);
+        httpRequestCoalescer.sendRequest(request("/some_path").withMethod("OPTIONS").withQueryStringParameter("a", "2").withBody("one"), remoteAddress, this::sendRequest);
+        httpRequestCoalescer.sendRequest(request("/some_path").withMethod("OPTIONS").withQueryStringParameter("a", "1").withBody("two"), remoteAddress, this::sendRequest);
+        httpRequestCoalescer.sendRequest(request("/some_path").withMethod("OPTIONS").withQueryStringParameter("a", "1").withBody("one"), remoteAddress, this::sendRequest);
+
+        // then
+        assertThat(sentRequests.get(), is(3));
+    }
+
+    @Test
+    public void shouldNotCoalesceUnsafeRequests() {
+        // when
+        for (String method : new String[]{"POST", "PUT", "DELETE", "PATCH", "TRACE"}) {
+            httpRequestCoalescer.sendRequest(request("/some_path").withMethod(method), remoteAddress, this::sendRequest);
+            httpRequestCoalescer.sendRequest(request("/some_path").withMethod(method), remoteAddress, this::sendRequest);
+        }
+
+        // then
+        assertThat(sentRequests.get(), is(10));
+        assertThat(httpRequestCoalescer.getInFlightRequestCount(), is(0));
+    }
+
+    @Test
+    public void shouldSendRequestAgainAfterResponseReceived() throws Exception {
+        // given
+        httpRequestCoalescer.sendRequest(request("/some_path"), remoteAddress, this::sendRequest);
+        upstreamResponse.complete(response());
+
+        // when
+        httpRequestCoalescer.sendRequest(request("/some_path"), remoteAddress, this::sendRequest).get();
+
+        // then
+        assertThat(sentRequests.get(), is(2));
+    }
+
+    @Test
+    public void shouldCompleteCoalescedRequestsExceptionally() throws Exception {
+        // given
+        CompletableFuture<HttpResponse> firstResponse = httpRequestCoalescer.sendRequest(request("/some_path"), remoteAddress, this::sendRequest);
+        CompletableFuture<HttpResponse> secondResponse = httpRequestCoalescer.sendRequest(request("/some_path"), remoteAddress, this::sendRequest);
+
+        // when
+        upstreamResponse.completeExceptionally(new SocketConnectionException("Unable to connect to socket localhost:1080"));
+
+        // then
+        for (CompletableFuture<HttpResponse> responseFuture : Arrays.asList(firstResponse, secondResponse)) {
+            try {
+                responseFuture.get();
+                fail("expected exception to be thrown");
+            } catch (ExecutionException executionException) {
+                assertThat(executionException.getCause().getMessage(), is("Unable to connect to socket localhost:1080"));
+            }
+        }
+        assertThat(sentRequests.get(), is(1));
+        assertThat(httpRequestCoalescer.getInFlightRequestCount(), is(0));
+    }
+}
@@ -0,0 +1,206 @@
+package org.mockserver.httpclient;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpResponseCacheTest {
+
+    private final InetSocketAddress remoteAddress = new InetSocketAddress("localhost", 1080);
+    private final MockServerLogger mockServerLogger = mock(MockServerLogger.class);
+    private final HttpResponseCache httpResponseCache = new HttpResponseCache(configuration(), mockServerLogger);
+    private final List<HttpRequest> sentRequests = new ArrayList<>();
+    private final List<HttpResponse> upstreamResponses = new ArrayList<>();
+
+    private CompletableFuture<HttpResponse> sendRequest(HttpRequest httpRequest) {
+        sentRequests.add(httpRequest);
+        return CompletableFuture.completedFuture(upstreamResponses.remove(0));
+    }
+
+    private HttpResponse send(HttpResponseCache httpResponseCache, HttpRequest httpRequest) throws Exception {
+        return httpResponseCache.sendRequest(httpRequest, remoteAddress, this::sendRequest).get();
+    }
+
+    private HttpResponse send(HttpRequest httpRequest) throws Exception {
+        return send(httpResponseCache, httpRequest);
+    }
+
+    @Test
+    public void shouldReturnFreshResponseFromCache() throws Exception {
+        // given
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=60"));
+        send(request("/some_path"));
+
+        // when
+        HttpResponse httpResponse = send(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(1));
+        assertThat(httpResponse.getBodyAsString(), is("some_body"));
+        assertThat(httpResponse.getFirstHeader("Age"), is("0"));
+        assertThat(httpResponseCache.getHitCount(), is(1L));
+        assertThat(httpResponseCache.getMissCount(), is(1L));
+        ArgumentCaptor<LogEntry> logEntryArgumentCaptor = ArgumentCaptor.forClass(LogEntry.class);
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntryArgumentCaptor.capture());
+        assertThat(logEntryArgumentCaptor.getAllValues().stream().map(LogEntry::getType).collect(Collectors.toList()), contains(RESPONSE_CACHE_MISS, RESPONSE_CACHE_HIT));
+    }
+
+    @Test
+    public void shouldRevalidateStaleResponseWithETag() throws Exception {
+        // given
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=0").withHeader("ETag", "\"v1\""));
+        upstreamResponses.add(response().withStatusCode(304).withHeader("ETag", "\"v1\"").withHeader("Cache-Control", "max-age=60"));
+        send(request("/some_path"));
+
+        // when
+        HttpResponse revalidatedResponse = send(request("/some_path"));
+        HttpResponse cachedResponse = send(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+        assertThat(sentRequests.get(1).getFirstHeader("If-None-Match"), is("\"v1\""));
+        assertThat(revalidatedResponse.getStatusCode(), is(200));
+        assertThat(revalidatedResponse.getBodyAsString(), is("some_body"));
+        assertThat(cachedResponse.getBodyAsString(), is("some_body"));
+        assertThat(httpResponseCache.getRevalidatedCount(), is(1L));
+        assertThat(httpResponseCache.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldReplaceCachedResponseWhenModified() throws Exception {
+        // given
+        upstreamResponses.add(response("old_body").withHeader("Cache-Control", "no-cache").withHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT"));
+        upstreamResponses.add(response("new_body").withHeader("Cache-Control", "no-cache").withHeader("Last-Modified", "Thu, 22 Oct 2015 07:28:00 GMT"));
+        send(request("/some_path"));
+
+        // when
+        HttpResponse httpResponse = send(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.get(1).getFirstHeader("If-Modified-Since"), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertThat(httpResponse.getBodyAsString(), is("new_body"));
+        assertThat(httpResponseCache.getRevalidatedCount(), is(0L));
+        assertThat(httpResponseCache.getEntryCount(), is(1));
+    }
+
+    @Test
+    public void shouldNotCacheUncacheableResponses() throws Exception {
+        // given
+        upstreamResponses.add(response("no_store").withHeader("Cache-Control", "no-store, max-age=60"));
+        upstreamResponses.add(response("private").withHeader("Cache-Control", "private, max-age=60"));
+        upstreamResponses.add(response("set_cookie").withHeader("Cache-Control", "max-age=60").withHeader("Set-Cookie", "session=1"));
+        upstreamResponses.add(response("no_freshness_or_validator"));
+        upstreamResponses.add(response("server_error").withStatusCode(500).withHeader("Cache-Control", "max-age=60"));
+
+        // when
+        send(request("/no_store"));
+        send(request("/private"));
+        send(request("/set_cookie"));
+        send(request("/no_freshness_or_validator"));
+        send(request("/server_error"));
+
+        // then
+        assertThat(httpResponseCache.getEntryCount(), is(0));
+    }
+
+    @Test
+    public void shouldNotUseCacheForRequestsWithAuthorizationOrNoStore() throws Exception {
+        // given
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=60"));
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=60"));
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=60"));
+        send(request("/some_path"));
+
+        // when
+        send(request("/some_path").withHeader("Authorization", "Basic dXNlcjpwYXNz"));
+        send(request("/some_path").withHeader("Cache-Control", "no-store"));
+
+        // then
+        assertThat(sentRequests.size(), is(3));
+        assertThat(httpResponseCache.getHitCount(), is(0L));
+    }
+
+    @Test
+    public void shouldCacheVariantsForVaryHeaders() throws Exception {
+        // given
+        upstreamResponses.add(response("json").withHeader("Cache-Control", "max-age=60").withHeader("Vary", "Accept"));
+        upstreamResponses.add(response("xml").withHeader("Cache-Control", "max-age=60").withHeader("Vary", "Accept"));
+        send(request("/some_path").withHeader("Accept", "application/json"));
+        send(request("/some_path").withHeader("Accept", "application/xml"));
+
+        // when
+        HttpResponse jsonResponse = send(request("/some_path").withHeader("Accept", "application/json"));
+        HttpResponse xmlResponse = send(request("/some_path").withHeader("Accept", "application/xml"));
+
+        // then
+        assertThat(sentRequests.size(), is(2));
+        assertThat(jsonResponse.getBodyAsString(), is("json"));
+        assertThat(xmlResponse.getBodyAsString(), is("xml"));
+        assertThat(httpResponseCache.getEntryCount(), is(2));
+    }
+
+    @Test
+    public void shouldInvalidateCachedResponseAfterUnsafeRequest() throws Exception {
+        // given
+        upstreamResponses.add(response("some_body").withHeader("Cache-Control", "max-age=60"));
+        upstreamResponses.add(response().withStatusCode(204));
+        upstreamResponses.add(response("updated_body").withHeader("Cache-Control", "max-age=60"));
+        send(request("/some_path"));
+
+        // when
+        send(request("/some_path").withMethod("PUT").withBody("updated_body"));
+        HttpResponse httpResponse = send(request("/some_path"));
+
+        // then
+        assertThat(sentRequests.size(), is(3));
+        assertThat(httpResponse.getBodyAsString(), is("updated_body"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResponsesWhenFull() throws Exception {
+        // given
+        HttpResponseCache httpResponseCache = new HttpResponseCache(configuration().forwardResponseCacheMaxSize(1024L), mockServerLogger);
+        String body = new String(new char[200]).replace('\0', 'a');
+        upstreamResponses.add(response(body).withHeader("Cache-Control", "max-age=60"));
+        upstreamResponses.add(response(body).withHeader("Cache-Control", "max-age=60"));
+        upstreamResponses.add(response(body).withHeader("Cache-Control", "max-age=60"));
+        send(httpResponseCache, request("/first"));
+        send(httpResponseCache, request("/second"));
+
+        // when
+        send(httpResponseCache, request("/first"));
+        send(httpResponseCache, request("/third"));
+
+        // then
+        assertThat(httpResponseCache.getEntryCount(), is(2));
+        assertThat(httpResponseCache.getEvictedCount(), is(1L));
+        assertThat(httpResponseCache.getHitCount(), is(1L));
+        send(httpResponseCache, request("/first"));
+        assertThat(httpResponseCache.getHitCount(), is(2L));
+        assertThat(upstreamResponses, empty());
+    }
+}
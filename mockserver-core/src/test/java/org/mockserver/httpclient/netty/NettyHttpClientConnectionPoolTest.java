@@ -0,0 +1,185 @@
+package org.mockserver.httpclient.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.httpclient.HttpClientConnectionPool;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class NettyHttpClientConnectionPoolTest {
+
+    private static EchoServer echoServer;
+    private static EventLoopGroup clientEventLoopGroup;
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(NettyHttpClientConnectionPoolTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @BeforeClass
+    public static void startEchoServer() {
+        echoServer = new EchoServer(false);
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @AfterClass
+    public static void stopEchoServer() {
+        stopQuietly(echoServer);
+    }
+
+    private Configuration pooledConfiguration() {
+        return configuration().forwardConnectionPoolEnabled(true);
+    }
+
+    @Test
+    public void shouldNotPoolConnectionsByDefault() {
+        assertThat(new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true).getConnectionPool(), nullValue());
+    }
+
+    @Test
+    public void shouldNotPoolConnectionsForNonForwardingClient() {
+        assertThat(new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, false).getConnectionPool(), nullValue());
+    }
+
+    @Test
+    public void shouldReuseConnectionForSameRoute() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        HttpResponse firstResponse = nettyHttpClient.sendRequest(request().withPath("/first").withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+        HttpResponse secondResponse = nettyHttpClient.sendRequest(request().withPath("/second").withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(firstResponse.getStatusCode(), is(200));
+        assertThat(secondResponse.getStatusCode(), is(200));
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getRouteCount(), is(1));
+        assertThat(connectionPool.getCreatedConnectionCount(), is(1L));
+        assertThat(connectionPool.getReusedConnectionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldUseSeparateConnectionsForDifferentRoutes() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "localhost:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+
+        // then
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getRouteCount(), is(2));
+        assertThat(connectionPool.getCreatedConnectionCount(), is(2L));
+        assertThat(connectionPool.getReusedConnectionCount(), is(0L));
+    }
+
+    @Test
+    public void shouldCloseConnectionWhenNotKeepAlive() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+
+        // when
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()).withHeader(CONNECTION.toString(), "close"))
+            .get(10, TimeUnit.SECONDS);
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+
+        // then
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getClosedConnectionCount(), is(1L));
+        assertThat(connectionPool.getCreatedConnectionCount(), is(2L));
+        assertThat(connectionPool.getReusedConnectionCount(), is(0L));
+    }
+
+    @Test
+    public void shouldEvictIdleConnection() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration().forwardConnectionPoolIdleTimeoutInMillis(50L), mockServerLogger, clientEventLoopGroup, null, true);
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+
+        // when
+        MILLISECONDS.sleep(500);
+        HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getIdleEvictedConnectionCount(), is(1L));
+        assertThat(connectionPool.getCreatedConnectionCount(), is(2L));
+        assertThat(connectionPool.getAcquiredConnectionCount(), is(0));
+    }
+
+    @Test
+    public void shouldRemoveRouteOnceIdleConnectionsEvicted() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration().forwardConnectionPoolIdleTimeoutInMillis(50L), mockServerLogger, clientEventLoopGroup, null, true);
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getRouteCount(), is(1));
+
+        // when
+        MILLISECONDS.sleep(500);
+
+        // then
+        assertThat(connectionPool.getIdleEvictedConnectionCount(), is(1L));
+        assertThat(connectionPool.getRouteCount(), is(0));
+    }
+
+    @Test
+    public void shouldClosePoolsWhenStopped() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS);
+        HttpClientConnectionPool connectionPool = nettyHttpClient.getConnectionPool();
+        assertThat(connectionPool.getRouteCount(), is(1));
+
+        // when
+        nettyHttpClient.stop();
+
+        // then
+        assertThat(connectionPool.getRouteCount(), is(0));
+        try {
+            nettyHttpClient.sendRequest(request().withHeader(HOST.toString(), "127.0.0.1:" + echoServer.getPort()))
+                .get(10, TimeUnit.SECONDS);
+            fail("expected exception to be thrown");
+        } catch (ExecutionException executionException) {
+            assertThat(executionException.getCause().getMessage(), is("connection pool closed"));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package org.mockserver.httpclient.netty;
 
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.handler.codec.http.*;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -15,6 +20,9 @@ import org.mockserver.model.MediaType;
 import org.mockserver.scheduler.Scheduler;
 
 import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
@@ -229,4 +237,41 @@ public class NettyHttpClientTest {
         ));
     }
 
+    @Test
+    public void shouldStreamRequestAndResponseWithoutAggregation() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+        List<HttpObject> responseObjects = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> responseBody = new CompletableFuture<>();
+        StringBuilder receivedBody = new StringBuilder();
+
+        // when
+        Channel channel = nettyHttpClient.connect(new InetSocketAddress("0.0.0.0", echoServer.getPort()), false, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                responseObjects.add((HttpObject) msg);
+                if (msg instanceof HttpContent) {
+                    receivedBody.append(((HttpContent) msg).content().toString(UTF_8));
+                    ((HttpContent) msg).release();
+                }
+                if (msg instanceof LastHttpContent) {
+                    responseBody.complete(receivedBody.toString());
+                }
+            }
+        }).sync().channel();
+        DefaultHttpRequest streamedRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        streamedRequest.headers().set(HOST, "0.0.0.0:" + echoServer.getPort());
+        HttpUtil.setTransferEncodingChunked(streamedRequest, true);
+        channel.write(streamedRequest);
+        channel.write(new DefaultHttpContent(Unpooled.copiedBuffer("first chunk ", UTF_8)));
+        channel.writeAndFlush(new DefaultLastHttpContent(Unpooled.copiedBuffer("second chunk", UTF_8)));
+
+        // then
+        assertThat(responseBody.get(10, TimeUnit.SECONDS), is("first chunk second chunk"));
+        assertThat(responseObjects.get(0) instanceof io.netty.handler.codec.http.HttpResponse, is(true));
+        assertThat(responseObjects.get(0) instanceof FullHttpResponse, is(false));
+        assertThat(((io.netty.handler.codec.http.HttpResponse) responseObjects.get(0)).status().code(), is(200));
+        channel.close();
+    }
+
 }
@@ -0,0 +1,82 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+
+public class MockServerEventLogIndexTest {
+
+    @Test
+    public void shouldLookupByTypeAndLiteralPathInLogOrder() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry two = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+        LogEntry regex = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/o.*"));
+        LogEntry noRequest = new LogEntry().setType(RECEIVED_REQUEST);
+        LogEntry other = new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(request("/one"));
+        LogEntry oneAgain = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/ONE"));
+
+        // when
+        for (LogEntry logEntry : Arrays.asList(one, two, regex, noRequest, other, oneAgain)) {
+            index.add(logEntry);
+        }
+
+        // then
+        assertThat(index.logEntries(EnumSet.of(RECEIVED_REQUEST), request("/one")).collect(Collectors.toList()), contains(one, regex, noRequest, oneAgain));
+        assertThat(index.logEntries(null, request("/one")).collect(Collectors.toList()), contains(one, regex, noRequest, other, oneAgain));
+        assertThat(index.logEntries(EnumSet.of(RECEIVED_REQUEST), request("/t.*")).collect(Collectors.toList()), contains(one, two, regex, noRequest, oneAgain));
+        assertThat(index.logEntries(EnumSet.of(FORWARDED_REQUEST), request("/one")).collect(Collectors.toList()), empty());
+        assertThat(index.logEntries(null, (RequestDefinition) null), nullValue());
+    }
+
+    @Test
+    public void shouldLookupByExpectationId() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("one").setHttpRequest(request("/one"));
+        LogEntry two = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("two").setHttpRequest(request("/two"));
+        LogEntry oneAgain = new LogEntry().setType(FORWARDED_REQUEST).setExpectationId("one").setHttpRequest(request("/two"));
+
+        // when
+        for (LogEntry logEntry : Arrays.asList(one, two, oneAgain)) {
+            index.add(logEntry);
+        }
+
+        // then
+        assertThat(index.logEntriesForExpectationIds(Collections.singletonList("one")).collect(Collectors.toList()), contains(one, oneAgain));
+        assertThat(index.logEntriesForExpectationIds(Arrays.asList("two", "one")).collect(Collectors.toList()), contains(one, two, oneAgain));
+        assertThat(index.logEntriesForExpectationIds(Collections.singletonList("three")).collect(Collectors.toList()), empty());
+    }
+
+    @Test
+    public void shouldRemoveFromAllIndexes() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("one").setHttpRequest(request("/one"));
+        LogEntry two = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("one").setHttpRequest(request("/one"));
+        index.add(one);
+        index.add(two);
+
+        // when
+        index.remove(two);
+        index.remove(one);
+
+        // then
+        assertThat(index.logEntries(EnumSet.of(EXPECTATION_RESPONSE), null).collect(Collectors.toList()), empty());
+        assertThat(index.logEntries(EnumSet.of(EXPECTATION_RESPONSE), request("/one")).collect(Collectors.toList()), empty());
+        assertThat(index.logEntriesForExpectationIds(Collections.singletonList("one")).collect(Collectors.toList()), empty());
+    }
+}
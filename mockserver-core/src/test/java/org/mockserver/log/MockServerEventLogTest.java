@@ -15,9 +15,12 @@ import org.mockserver.scheduler.Scheduler;
 import org.mockserver.time.EpochService;
 import org.slf4j.event.Level;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static junit.framework.TestCase.fail;
@@ -25,6 +28,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
@@ -957,4 +961,95 @@ public class MockServerEventLogTest {
             ConfigurationProperties.logLevel(originalLevel.name());
         }
     }
+
+    @Test
+    public void shouldNotBlockLoggingWhileRetrieving() throws Exception {
+        Level originalLevel = ConfigurationProperties.logLevel();
+        try {
+            // given
+            ConfigurationProperties.logLevel("INFO");
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_one"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_one"))
+            );
+            CountDownLatch slowRetrieveStarted = new CountDownLatch(1);
+            CountDownLatch slowRetrieveReleased = new CountDownLatch(1);
+            CompletableFuture<List<RequestDefinition>> slowRetrieve = new CompletableFuture<>();
+            new Thread(() -> mockServerEventLog.retrieveRequests((RequestDefinition) null, requests -> {
+                slowRetrieveStarted.countDown();
+                try {
+                    slowRetrieveReleased.await();
+                } catch (InterruptedException ignore) {
+                    // ignore
+                }
+                slowRetrieve.complete(requests);
+            })).start();
+            assertTrue(slowRetrieveStarted.await(10, SECONDS));
+
+            // when
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(INFO)
+                    .setHttpRequest(request("request_two"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_two"))
+            );
+
+            // then
+            assertThat(retrieveRequests(null), contains(
+                request("request_one"),
+                request("request_two")
+            ));
+            slowRetrieveReleased.countDown();
+            assertThat(slowRetrieve.get(10, SECONDS), contains(
+                request("request_one")
+            ));
+        } finally {
+            ConfigurationProperties.logLevel(originalLevel.name());
+        }
+    }
+
+    @Test
+    public void shouldExposeRingBufferMetrics() {
+        // given
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(INFO)
+                .setHttpRequest(request("request_one"))
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request("request_one"))
+        );
+
+        // when
+        retrieveRequests(null);
+
+        // then
+        assertThat(mockServerEventLog.ringBufferSize(), is(configuration().ringBufferSize()));
+        assertTrue(mockServerEventLog.ringBufferOccupancy() <= mockServerEventLog.ringBufferSize());
+        assertThat(mockServerEventLog.droppedLogEntries(), is(0L));
+    }
+
+    @Test
+    public void shouldRetrieveNoRequestsWhenReadFails() throws Exception {
+        // given
+        List<String> expectationIds = new ArrayList<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                throw new IllegalStateException("failed to read expectation ids");
+            }
+        };
+        CompletableFuture<List<RequestDefinition>> result = new CompletableFuture<>();
+
+        // when
+        mockServerEventLog.retrieveRequests(expectationIds, result::complete);
+
+        // then
+        assertThat(result.get(10, SECONDS), is(empty()));
+    }
 }
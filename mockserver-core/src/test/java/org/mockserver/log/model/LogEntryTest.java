@@ -0,0 +1,99 @@
+package org.mockserver.log.model;
+
+import org.junit.Test;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.MediaType;
+import org.mockserver.model.StringBody;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class LogEntryTest {
+
+    @Test
+    public void shouldOnlyReadRequestBodyWhenMessageFormatted() {
+        // given
+        AtomicInteger bodyReads = new AtomicInteger();
+        StringBody body = new StringBody("some_body") {
+            @Override
+            public String toString() {
+                bodyReads.incrementAndGet();
+                return super.toString();
+            }
+        };
+        LogEntry logEntry = new LogEntry()
+            .setMessageFormat("received request:{}")
+            .setArguments(request("/some_path").withBody(body));
+
+        // when
+        LogEntry publishedLogEntry = new LogEntry();
+        logEntry.translateTo(publishedLogEntry, 0);
+
+        // then
+        assertThat(bodyReads.get(), is(0));
+        assertThat(publishedLogEntry.getMessage().contains("some_body"), is(true));
+        assertThat(bodyReads.get(), is(1));
+    }
+
+    @Test
+    public void shouldFormatArgumentsAsTheyWereWhenLogged() {
+        // given
+        HttpResponse response = response().withStatusCode(200).withBody("some_body");
+        LogEntry logEntry = new LogEntry()
+            .setMessageFormat("returning response:{}")
+            .setArguments(response);
+
+        // when
+        response.withStatusCode(500).withBody("some_other_body");
+
+        // then
+        assertThat(logEntry.getMessage().contains("some_body"), is(true));
+        assertThat(logEntry.getMessage().contains("some_other_body"), is(false));
+        assertThat(logEntry.getMessage().contains("500"), is(false));
+    }
+
+    @Test
+    public void shouldNotDecodeSpilledRequestBodyIntoMessage() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setMessageFormat("received request:{}")
+            .setArguments(request("/some_path").withBody(new StringBody(ByteBuffer.wrap("some_body".getBytes(UTF_8)), MediaType.TEXT_PLAIN)));
+
+        // when
+        String message = logEntry.getMessage();
+
+        // then
+        assertThat(message.contains("some_body"), is(false));
+        assertThat(message.contains("<9 bytes, larger than maxInMemoryRequestBodySize>"), is(true));
+    }
+
+    @Test
+    public void shouldCopySpilledRequestBodyWhenReleased() {
+        // given
+        byte[] spilledBytes = "some_body".getBytes(UTF_8);
+        HttpRequest request = request("/some_path").withBody(new StringBody(ByteBuffer.wrap(spilledBytes), MediaType.TEXT_PLAIN));
+        LogEntry logEntry = new LogEntry()
+            .setHttpRequest(request)
+            .setMessageFormat("received request:{}")
+            .setArguments(request);
+
+        // when
+        logEntry.releaseSpilledContent();
+        spilledBytes[0] = 'S';
+
+        // then - no longer reads the spilled buffer
+        assertThat(request.getBodyAsString(), is("some_body"));
+        assertThat(request.getBodyAsRawBytes(), is("some_body".getBytes(UTF_8)));
+    }
+}
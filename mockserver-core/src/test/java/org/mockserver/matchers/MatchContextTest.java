@@ -0,0 +1,119 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.codec.ExpandedParameterDecoder;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.Parameters;
+import org.mockserver.xml.StringToXmlDocumentParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class MatchContextTest {
+
+    @Test
+    public void shouldParseJsonOnce() {
+        // given
+        MatchContext matchContext = new MatchContext(request().withBody("{ \"id\": 1 }"));
+
+        // then
+        assertThat(matchContext.getJsonNode("{ \"id\": 1 }"), sameInstance(matchContext.getJsonNode("{ \"id\": 1 }")));
+        assertThat(matchContext.getJsonNode("{ \"id\": 1 }").get("id").asInt(), is(1));
+        assertThat(matchContext.getJsonPathDocument("{ \"id\": 1 }"), sameInstance(matchContext.getJsonPathDocument("{ \"id\": 1 }")));
+    }
+
+    @Test
+    public void shouldReturnNullForInvalidJson() {
+        // given
+        MatchContext matchContext = new MatchContext(request().withBody("{ invalid"));
+
+        // then
+        assertThat(matchContext.getJsonNode("{ invalid"), nullValue());
+        assertThat(matchContext.getJsonNode(null), nullValue());
+    }
+
+    @Test
+    public void shouldReadBodyAsStringOnce() {
+        // given
+        HttpRequest httpRequest = request().withBody("some_body");
+        MatchContext matchContext = new MatchContext(httpRequest);
+
+        // then
+        assertThat(matchContext.getBodyAsString(), is("some_body"));
+        assertThat(matchContext.getBodyAsString(), sameInstance(matchContext.getBodyAsString()));
+    }
+
+    @Test
+    public void shouldReuseContextForSameRequest() {
+        // given
+        HttpRequest httpRequest = request().withBody("some_body");
+        MatchContext matchContext = new MatchContext(httpRequest);
+
+        // then
+        assertThat(MatchContext.matchContextFor(matchContext, httpRequest), sameInstance(matchContext));
+        assertThat(MatchContext.matchContextFor(matchContext, request().withBody("some_body")), not(sameInstance(matchContext)));
+        assertThat(MatchContext.matchContextFor(null, httpRequest).getHttpRequest(), sameInstance(httpRequest));
+    }
+
+    @Test
+    public void shouldReturnCopyOfFormParameters() {
+        // given
+        MatchContext matchContext = new MatchContext(request().withBody("name=value"));
+        ExpandedParameterDecoder formParameterParser = new ExpandedParameterDecoder(configuration(), new MockServerLogger());
+
+        // when
+        Parameters parameters = matchContext.getFormParameters("name=value", formParameterParser);
+        parameters.withEntry("other", "value");
+
+        // then
+        assertThat(matchContext.getFormParameters("name=value", formParameterParser).getEntries().size(), is(1));
+    }
+
+    @Test
+    public void shouldReplayXmlParsingErrors() throws Exception {
+        // given
+        MatchContext matchContext = new MatchContext(request().withBody("<element>"));
+        List<StringToXmlDocumentParser.ErrorLevel> firstErrors = new ArrayList<>();
+        List<StringToXmlDocumentParser.ErrorLevel> secondErrors = new ArrayList<>();
+
+        // when
+        try {
+            matchContext.getXmlDocument("<element>", (xmlAsString, exception, level) -> firstErrors.add(level), false);
+            fail("expected exception to be thrown");
+        } catch (Exception ignore) {
+            // expected
+        }
+        try {
+            matchContext.getXmlDocument("<element>", (xmlAsString, exception, level) -> secondErrors.add(level), false);
+            fail("expected exception to be thrown");
+        } catch (Exception ignore) {
+            // expected
+        }
+
+        // then
+        assertThat(firstErrors, not(empty()));
+        assertThat(secondErrors, is(firstErrors));
+    }
+
+    @Test
+    public void shouldShareParsedBodyBetweenBodyMatchers() {
+        // given
+        MatchContext matchContext = new MatchContext(request().withBody("<element><key>some_key</key></element>"));
+
+        // then
+        assertTrue(new XPathMatcher(new MockServerLogger(), "/element[key = 'some_key']").matches(null, matchContext, matchContext.getBodyAsString()));
+        assertFalse(new XPathMatcher(new MockServerLogger(), "/element[key = 'other_key']").matches(null, matchContext, matchContext.getBodyAsString()));
+        assertTrue(new JsonStringMatcher(new MockServerLogger(), "{ \"id\": 1 }", MatchType.STRICT).matches(null, matchContext, "{ \"id\": 1 }"));
+        assertTrue(new JsonPathMatcher(new MockServerLogger(), "$..item[?(@.id == 1)]").matches(null, matchContext, "{ \"item\": [ { \"id\": 1 } ] }"));
+    }
+}
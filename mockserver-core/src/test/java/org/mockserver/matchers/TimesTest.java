@@ -2,6 +2,11 @@ package org.mockserver.matchers;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
@@ -31,4 +36,53 @@ public class TimesTest {
         times.decrement();
         assertThat(times.greaterThenZero(), is(false));
     }
+
+    @Test
+    public void shouldClaimRemainingTimes() {
+        // given
+        Times times = Times.exactly(2);
+
+        // then
+        assertThat(times.claim(), is(true));
+        assertThat(times.claim(), is(true));
+        assertThat(times.claim(), is(false));
+        assertThat(times.getRemainingTimes(), is(0));
+        assertThat(Times.unlimited().claim(), is(true));
+    }
+
+    @Test
+    public void shouldNotClaimMoreThanRemainingTimesConcurrently() throws Exception {
+        // given
+        Times times = Times.exactly(10);
+        AtomicInteger claimed = new AtomicInteger();
+        int threads = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        try {
+            // when
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < 100; j++) {
+                        if (times.claim()) {
+                            claimed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            // then
+            assertThat(claimed.get(), is(10));
+            assertThat(times.getRemainingTimes(), is(0));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
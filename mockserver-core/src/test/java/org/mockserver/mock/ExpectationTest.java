@@ -150,6 +150,19 @@ public class ExpectationTest {
         assertThat(expectation.getTimes().getRemainingTimes(), is(0));
     }
 
+    @Test
+    public void shouldClaimRemainingMatches() {
+        // given
+        Expectation expectation = new Expectation(null, Times.once(), TimeToLive.unlimited(), 0);
+
+        // then
+        assertThat(expectation.claimRemainingMatch(), is(true));
+        assertThat(expectation.claimRemainingMatch(), is(false));
+        assertThat(expectation.getTimes().getRemainingTimes(), is(0));
+        assertThat(new Expectation(null, null, TimeToLive.unlimited(), 0).claimRemainingMatch(), is(true));
+        assertThat(new Expectation(null, Times.unlimited(), TimeToLive.exactly(TimeUnit.MICROSECONDS, 0L), 0).claimRemainingMatch(), is(false));
+    }
+
     @Test
     public void shouldCalculateRemainingMatches() {
         assertThat(new Expectation(null, Times.once(), TimeToLive.unlimited(), 0).isActive(), is(true));
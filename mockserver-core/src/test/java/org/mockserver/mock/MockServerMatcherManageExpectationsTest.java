@@ -23,6 +23,7 @@ import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.OpenAPIDefinition.openAPI;
 
 /**
  * @author jamesdbloom
@@ -154,4 +155,40 @@ public class MockServerMatcherManageExpectationsTest {
         assertThat(requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("someOtherPath")), nullValue());
         assertThat(requestMatchers.httpRequestMatchers.toSortedList(), empty());
     }
+
+    @Test
+    public void shouldTrackWhetherAnyExpectationMayMatchBody() {
+        // then - no expectations
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(false));
+
+        // when - expectation without body
+        requestMatchers.add(new Expectation(request().withPath("somePath"), Times.unlimited(), TimeToLive.unlimited(), 0).withId("noBody").thenRespond(response().withBody("someBody")), API);
+
+        // then
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(false));
+
+        // when - expectation with body
+        requestMatchers.add(new Expectation(request().withPath("somePath").withBody("someBody"), Times.unlimited(), TimeToLive.unlimited(), 0).withId("withBody").thenRespond(response().withBody("someBody")), API);
+
+        // then
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(true));
+
+        // when - expectation with body updated to not match on body
+        requestMatchers.add(new Expectation(request().withPath("somePath"), Times.unlimited(), TimeToLive.unlimited(), 0).withId("withBody").thenRespond(response().withBody("someBody")), API);
+
+        // then
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(false));
+
+        // when - open api expectation
+        requestMatchers.add(new Expectation(openAPI("org/mockserver/openapi/openapi_petstore_example.json"), Times.unlimited(), TimeToLive.unlimited(), 0).withId("openAPI").thenRespond(response().withBody("someBody")), API);
+
+        // then
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(true));
+
+        // when - reset
+        requestMatchers.reset();
+
+        // then
+        assertThat(requestMatchers.anyExpectationMayMatchBody(), is(false));
+    }
 }
@@ -8,6 +8,7 @@ import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.metrics.Metrics;
+import org.mockserver.mock.listeners.MockServerMatcherListener;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.model.HttpObjectCallback;
 import org.mockserver.scheduler.Scheduler;
@@ -104,7 +105,7 @@ public class MockServerMatcherNotificationAndMetricsTest {
         // then
         MILLISECONDS.sleep(500);
         assertThat(requestMatchers.httpRequestMatchers.size(), is(2));
-        assertThat(causes, contains(API, API));
+        assertThat(causes, contains(API));
         assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_COUNT), is(1));
         assertThat(Metrics.get(Metrics.Name.ACTION_FORWARD_COUNT), is(1));
 
@@ -181,11 +182,7 @@ public class MockServerMatcherNotificationAndMetricsTest {
         // then
         MILLISECONDS.sleep(500);
         assertThat(requestMatchers.httpRequestMatchers.size(), is(3));
-        assertThat(causes, contains(
-            API,
-            API,
-            API
-        ));
+        assertThat(causes, contains(API));
         assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_COUNT), is(1));
         assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_OBJECT_CALLBACK_COUNT), is(1));
         assertThat(Metrics.get(Metrics.Name.ACTION_FORWARD_OBJECT_CALLBACK_COUNT), is(1));
@@ -208,4 +205,39 @@ public class MockServerMatcherNotificationAndMetricsTest {
         assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_COUNT), is(3));
     }
 
+    @Test
+    public void shouldCoalesceChangesIntoSingleNotification() throws InterruptedException {
+        // given
+        List<MockServerMatcherNotifier.Changes> changes = new ArrayList<>();
+        requestMatchers.registerListener(new MockServerMatcherListener() {
+            @Override
+            public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
+                // not called as change sets are handled
+            }
+
+            @Override
+            public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause, MockServerMatcherNotifier.Changes changeSet) {
+                changes.add(changeSet);
+            }
+        });
+        requestMatchers.add(new Expectation(request().withPath("path_one")).withId("one").thenRespond(response().withBody("body_one")), API);
+        requestMatchers.add(new Expectation(request().withPath("path_two")).withId("two").thenRespond(response().withBody("body_two")), API);
+        MILLISECONDS.sleep(500);
+        changes.clear();
+
+        // when
+        requestMatchers.add(new Expectation(request().withPath("new_path_one")).withId("one").thenRespond(response().withBody("new_body_one")), API);
+        requestMatchers.add(new Expectation(request().withPath("path_three")).withId("three").thenRespond(response().withBody("body_three")), API);
+        requestMatchers.add(new Expectation(request().withPath("path_four")).withId("four").thenRespond(response().withBody("body_four")), API);
+        requestMatchers.clear(request().withPath("path_two"));
+        requestMatchers.clear(request().withPath("path_four"));
+
+        // then
+        MILLISECONDS.sleep(500);
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).getAddedIds(), contains("three"));
+        assertThat(changes.get(0).getUpdatedIds(), contains("one"));
+        assertThat(changes.get(0).getRemovedIds(), contains("two"));
+    }
+
 }
@@ -71,4 +71,35 @@ public class MockServerMatcherOverlappingRequestsTest {
         assertEquals(expectationOne, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath").withCookies(new Cookie("name", "value"))));
     }
 
+    @Test
+    public void respondWithHighestPriorityMatchAcrossLiteralAndRegexPaths() {
+        // when
+        Expectation literalPath = new Expectation(new HttpRequest().withMethod("GET").withPath("/some/path"), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(httpResponse[0].withBody("somebody1"));
+        requestMatchers.add(literalPath, API);
+        Expectation regexPath = new Expectation(new HttpRequest().withPath("/some/.*"), Times.unlimited(), TimeToLive.unlimited(), 10).thenRespond(httpResponse[1].withBody("somebody2"));
+        requestMatchers.add(regexPath, API);
+        Expectation anyMethodLiteralPath = new Expectation(new HttpRequest().withPath("/other/path"), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(httpResponse[0].withBody("somebody3"));
+        requestMatchers.add(anyMethodLiteralPath, API);
+
+        // then
+        assertEquals(regexPath, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/some/path")));
+        assertEquals(anyMethodLiteralPath, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("POST").withPath("/OTHER/path")));
+        assertEquals(null, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/another/path")));
+    }
+
+    @Test
+    public void respondWhenLiteralPathUpdated() {
+        // given
+        Expectation expectation = new Expectation(new HttpRequest().withMethod("GET").withPath("/some/path")).withId("one").thenRespond(httpResponse[0].withBody("somebody1"));
+        requestMatchers.add(expectation, API);
+
+        // when
+        Expectation updatedExpectation = new Expectation(new HttpRequest().withMethod("GET").withPath("/updated/path")).withId("one").thenRespond(httpResponse[0].withBody("somebody1"));
+        requestMatchers.add(updatedExpectation, API);
+
+        // then
+        assertEquals(null, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/some/path")));
+        assertEquals(updatedExpectation, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("get").withPath("/updated/path")));
+    }
+
 }
@@ -44,7 +44,7 @@ public class HttpForwardActionHandlerTest {
             .withHost("some_host")
             .withPort(1090)
             .withScheme(HttpForward.Scheme.HTTP);
-        when(mockHttpClient.sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()))).thenReturn(responseFuture);
+        when(mockHttpClient.sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()))).thenReturn(responseFuture);
 
         // when
         CompletableFuture<HttpResponse> actualHttpResponse = httpForwardActionHandler
@@ -53,7 +53,7 @@ public class HttpForwardActionHandlerTest {
 
         // then
         assertThat(actualHttpResponse, is(sameInstance(responseFuture)));
-        verify(mockHttpClient).sendRequest(httpRequest.withSecure(false), new InetSocketAddress(httpForward.getHost(), httpForward.getPort()));
+        verify(mockHttpClient).sendRequest(httpRequest.withSecure(false), InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()));
     }
 
     @Test
@@ -65,7 +65,7 @@ public class HttpForwardActionHandlerTest {
             .withHost("some_host")
             .withPort(1090)
             .withScheme(HttpForward.Scheme.HTTPS);
-        when(mockHttpClient.sendRequest(httpRequest, new InetSocketAddress(httpForward.getHost(), httpForward.getPort()))).thenReturn(httpResponse);
+        when(mockHttpClient.sendRequest(httpRequest, InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()))).thenReturn(httpResponse);
 
         // when
         CompletableFuture<HttpResponse> actualHttpResponse = httpForwardActionHandler
@@ -74,6 +74,6 @@ public class HttpForwardActionHandlerTest {
 
         // then
         assertThat(actualHttpResponse, is(sameInstance(httpResponse)));
-        verify(mockHttpClient).sendRequest(httpRequest.withSecure(true), new InetSocketAddress(httpForward.getHost(), httpForward.getPort()));
+        verify(mockHttpClient).sendRequest(httpRequest.withSecure(true), InetSocketAddress.createUnresolved(httpForward.getHost(), httpForward.getPort()));
     }
 }
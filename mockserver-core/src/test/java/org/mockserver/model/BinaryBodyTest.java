@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.mockserver.serialization.Base64Converter;
 
 import jakarta.xml.bind.DatatypeConverter;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -34,6 +35,21 @@ public class BinaryBodyTest {
         assertEquals(base64Converter.bytesToBase64String("some_body".getBytes(UTF_8)), binary("some_body".getBytes(UTF_8)).toString());
     }
 
+    @Test
+    public void shouldReadValueFromByteBuffer() {
+        // given
+        byte[] body = "some_body".getBytes(UTF_8);
+
+        // when
+        BinaryBody binaryBody = new BinaryBody(ByteBuffer.wrap(body), MediaType.APPLICATION_OCTET_STREAM);
+
+        // then
+        assertThat(binaryBody.getValue(), is(body));
+        assertThat(binaryBody.getRawBytes(), is(body));
+        assertThat(binaryBody, is(binary(body, MediaType.APPLICATION_OCTET_STREAM)));
+        assertThat(binaryBody.getContentType(), is(MediaType.APPLICATION_OCTET_STREAM.toString()));
+    }
+
     @Test
     public void shouldReturnValuesSetInConstructor() {
         // given
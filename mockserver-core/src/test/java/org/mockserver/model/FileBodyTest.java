@@ -0,0 +1,73 @@
+package org.mockserver.model;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.FileBody.file;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileBodyTest {
+
+    @Test
+    public void shouldAlwaysCreateNewObject() {
+        assertEquals(file("/some/file.txt"), file("/some/file.txt"));
+        assertNotSame(file("/some/file.txt"), file("/some/file.txt"));
+    }
+
+    @Test
+    public void shouldReturnFormattedRequestInToString() {
+        assertEquals("/some/file.txt", file("/some/file.txt").toString());
+    }
+
+    @Test
+    public void shouldReturnValuesSetInConstructor() {
+        // when
+        FileBody fileBody = new FileBody("/some/file.txt");
+
+        // then
+        assertThat(fileBody.getValue(), is("/some/file.txt"));
+        assertThat(fileBody.getFile(), is(new File("/some/file.txt")));
+        assertThat(fileBody.getType(), is(Body.Type.FILE));
+        assertThat(fileBody.getContentType(), nullValue());
+    }
+
+    @Test
+    public void shouldReturnValuesSetInStaticConstructorWithContentType() {
+        // when
+        FileBody fileBody = file("/some/file.txt", MediaType.PLAIN_TEXT_UTF_8);
+
+        // then
+        assertThat(fileBody.getValue(), is("/some/file.txt"));
+        assertThat(fileBody.getType(), is(Body.Type.FILE));
+        assertThat(fileBody.getCharset(null), is(UTF_8));
+        assertThat(fileBody.getContentType(), is(MediaType.PLAIN_TEXT_UTF_8.toString()));
+    }
+
+    @Test
+    public void shouldReadFileContents() throws Exception {
+        // given
+        File responseBodyFile = File.createTempFile("response-body", ".txt");
+        try {
+            Files.write(responseBodyFile.toPath(), "some_file_contents".getBytes(UTF_8));
+
+            // when
+            FileBody fileBody = file(responseBodyFile.getAbsolutePath());
+
+            // then
+            assertThat(fileBody.getLength(), is(18L));
+            assertThat(fileBody.getRawBytes(), is("some_file_contents".getBytes(UTF_8)));
+        } finally {
+            responseBodyFile.delete();
+        }
+    }
+}
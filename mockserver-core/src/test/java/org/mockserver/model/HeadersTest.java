@@ -1,6 +1,8 @@
 package org.mockserver.model;
 
 import org.junit.Test;
+import org.mockserver.collections.NottableStringMultiMap;
+import org.mockserver.logging.MockServerLogger;
 
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -11,6 +13,8 @@ import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
 import static org.mockserver.model.Header.header;
 import static org.mockserver.model.NottableString.not;
@@ -329,4 +333,25 @@ public class HeadersTest {
         assertFalse(headers.containsEntry(string("name_three"), string("value_three_other")));
     }
 
+    @Test
+    public void shouldCacheLookupUntilModified() {
+        // given
+        Headers headers = new Headers(new Header("name", "value"));
+        MockServerLogger mockServerLogger = new MockServerLogger();
+
+        // when
+        NottableStringMultiMap lookup = headers.getLookup(mockServerLogger, false);
+
+        // then
+        assertThat(headers.getLookup(mockServerLogger, false), sameInstance(lookup));
+        assertThat(headers.getLookup(mockServerLogger, true), not(sameInstance(lookup)));
+        assertTrue(lookup.containsAll(mockServerLogger, null, new NottableStringMultiMap(mockServerLogger, false, KeyMatchStyle.SUB_SET, new NottableString[]{string("NAME"), string("value")})));
+
+        // when
+        headers.withEntry("other", "value");
+
+        // then
+        assertThat(headers.getLookup(mockServerLogger, false), not(sameInstance(lookup)));
+        assertTrue(headers.getLookup(mockServerLogger, false).containsAll(mockServerLogger, null, new NottableStringMultiMap(mockServerLogger, false, KeyMatchStyle.SUB_SET, new NottableString[]{string("other"), string("value")})));
+    }
 }
@@ -15,7 +15,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
@@ -586,4 +588,174 @@ public class ExpectationFileSystemPersistenceTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldJournalChangesAndOnlyCompactWhenStopped() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some first response")
+                ), API);
+            MILLISECONDS.sleep(1500);
+            String snapshot = new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8);
+
+            // when
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleSecond")
+            )
+                .withId("two")
+                .thenRespond(
+                    response()
+                        .withBody("some second response")
+                ), API);
+            MILLISECONDS.sleep(1500);
+
+            // then - change is only journaled
+            assertThat(new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is(snapshot));
+            assertThat(journal.exists(), is(true));
+            assertThat(new String(Files.readAllBytes(journal.toPath()), StandardCharsets.UTF_8), containsString("\"id\":\"two\""));
+
+            // when
+            expectationFileSystemPersistence.stop();
+
+            // then - snapshot is compacted
+            assertThat(new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), containsString("\"path\" : \"/simpleSecond\""));
+            assertThat(journal.exists(), is(false));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldPersistChangesNotYetNotifiedWhenStopped() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+            requestMatchers.add(new Expectation(request().withPath("/simpleFirst")).withId("one").thenRespond(response()), API);
+            MILLISECONDS.sleep(1500);
+
+            // when - stopped before the change is notified
+            requestMatchers.add(new Expectation(request().withPath("/simpleSecond")).withId("two").thenRespond(response()), API);
+            expectationFileSystemPersistence.stop();
+
+            // then
+            String snapshot = new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8);
+            assertThat(snapshot, containsString("\"path\" : \"/simpleFirst\""));
+            assertThat(snapshot, containsString("\"path\" : \"/simpleSecond\""));
+            assertThat(journal.exists(), is(false));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyJournalExpectationsInChangeSet() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+            requestMatchers.add(new Expectation(request().withPath("/simpleFirst")).withId("one").thenRespond(response()), API);
+            MILLISECONDS.sleep(1500);
+            requestMatchers.unregisterListener(expectationFileSystemPersistence);
+            requestMatchers.add(new Expectation(request().withPath("/simpleSecond")).withId("two").thenRespond(response()), API);
+            requestMatchers.add(new Expectation(request().withPath("/simpleThird")).withId("three").thenRespond(response()), API);
+
+            // when
+            expectationFileSystemPersistence.updated(requestMatchers, API, new MockServerMatcherNotifier.Changes().added("two").removed("one"));
+            MILLISECONDS.sleep(500);
+
+            // then
+            String journalContents = new String(Files.readAllBytes(journal.toPath()), StandardCharsets.UTF_8);
+            assertThat(journalContents, containsString("{\"type\":\"REMOVE\",\"id\":\"one\"}"));
+            assertThat(journalContents, containsString("\"id\":\"two\""));
+            assertThat(journalContents, not(containsString("\"id\":\"three\"")));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplayJournalIntoSnapshotOnStart() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            Files.write(persistedExpectations.toPath(), ("[ " +
+                "{ \"id\" : \"one\", \"httpRequest\" : { \"path\" : \"/one\" } }, " +
+                "{ \"id\" : \"two\", \"httpRequest\" : { \"path\" : \"/two\" }, \"times\" : { \"remainingTimes\" : 2 } } " +
+                "]").getBytes(StandardCharsets.UTF_8));
+            Files.write(journal.toPath(), ("" +
+                "{\"type\":\"UPSERT\",\"expectation\":{\"id\":\"three\",\"httpRequest\":{\"path\":\"/three\"}}}\n" +
+                "{\"type\":\"REMOVE\",\"id\":\"one\"}\n" +
+                "{\"type\":\"DECREMENT\",\"id\":\"two\",\"times\":{\"remainingTimes\":1}}\n" +
+                "{\"type\":\"UPS").getBytes(StandardCharsets.UTF_8));
+
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+
+            // then
+            String expectedFileContents = "[ {" + NEW_LINE +
+                "  \"id\" : \"two\"," + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/two\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"times\" : {" + NEW_LINE +
+                "    \"remainingTimes\" : 1" + NEW_LINE +
+                "  }" + NEW_LINE +
+                "}, {" + NEW_LINE +
+                "  \"id\" : \"three\"," + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/three\"" + NEW_LINE +
+                "  }" + NEW_LINE +
+                "} ]";
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is(expectedFileContents));
+            assertThat(journal.exists(), is(false));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+}
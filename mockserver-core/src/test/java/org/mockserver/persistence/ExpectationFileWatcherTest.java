@@ -9,6 +9,7 @@ import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
+import org.mockserver.mock.listeners.MockServerMatcherListener;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.ExpectationSerializer;
@@ -866,4 +867,60 @@ public class ExpectationFileWatcherTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldOnlyNotifyChangedExpectationsOnUpdateFileChanged() throws Exception {
+        String initializationJsonPath = ConfigurationProperties.initializationJsonPath();
+        ConfigurationProperties.watchInitializationJson(true);
+        ExpectationFileWatcher expectationFileWatcher = null;
+        try {
+            // given - configuration
+            File mockserverInitialization = File.createTempFile("mockserverInitialization", ".json");
+            ConfigurationProperties.initializationJsonPath(mockserverInitialization.getAbsolutePath());
+            // and - existing file contents
+            Expectation[] expectations = {
+                new Expectation(request().withPath("/simpleFirst")).withId("one").thenRespond(response().withBody("some first response")),
+                new Expectation(request().withPath("/simpleSecond")).withId("two").thenRespond(response().withBody("some second response")),
+                new Expectation(request().withPath("/simpleThird")).withId("three").thenRespond(response().withBody("some third response"))
+            };
+            Files.write(mockserverInitialization.toPath(), expectationSerializer.serialize(expectations).getBytes(StandardCharsets.UTF_8));
+            // and - expectation update notification
+            CompletableFuture<String> expectationsInitialised = new CompletableFuture<>();
+            requestMatchers.registerListener((requestMatchers, cause) -> expectationsInitialised.complete("updated"));
+            // and - file watcher
+            expectationFileWatcher = new ExpectationFileWatcher(configuration(), mockServerLogger, requestMatchers, new ExpectationInitializerLoader(configuration(), mockServerLogger, requestMatchers));
+            expectationsInitialised.get(30, SECONDS);
+
+            // when
+            CompletableFuture<MockServerMatcherNotifier.Changes> expectationsUpdated = new CompletableFuture<>();
+            requestMatchers.registerListener(new MockServerMatcherListener() {
+                @Override
+                public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
+                    // change set is handled
+                }
+
+                @Override
+                public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause, MockServerMatcherNotifier.Changes changes) {
+                    expectationsUpdated.complete(changes);
+                }
+            });
+            Expectation[] updatedExpectations = {
+                new Expectation(request().withPath("/simpleFirst")).withId("one").thenRespond(response().withBody("some first response")),
+                new Expectation(request().withPath("/simpleSecondUpdated")).withId("two").thenRespond(response().withBody("some second updated response")),
+                new Expectation(request().withPath("/simpleFourth")).withId("four").thenRespond(response().withBody("some fourth response"))
+            };
+            Files.write(mockserverInitialization.toPath(), expectationSerializer.serialize(updatedExpectations).getBytes(StandardCharsets.UTF_8));
+
+            // then
+            MockServerMatcherNotifier.Changes changes = expectationsUpdated.get(30, SECONDS);
+            assertThat(changes.getAddedIds(), contains("four"));
+            assertThat(changes.getUpdatedIds(), contains("two"));
+            assertThat(changes.getRemovedIds(), contains("three"));
+        } finally {
+            ConfigurationProperties.initializationJsonPath(initializationJsonPath);
+            ConfigurationProperties.watchInitializationJson(false);
+            if (expectationFileWatcher != null) {
+                expectationFileWatcher.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.mockserver.persistence;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+
+import java.io.File;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.WatchService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileWatcherTest {
+
+    @Test
+    public void shouldCancelWatchKeyAndCloseWatchServiceWhenLastWatcherStopped() throws Exception {
+        // given
+        File firstFile = File.createTempFile("firstWatchedFile", ".json");
+        firstFile.deleteOnExit();
+        File secondFile = File.createTempFile("secondWatchedFile", ".json");
+        secondFile.deleteOnExit();
+        FileWatcher firstFileWatcher = new FileWatcher(firstFile.toPath(), () -> {
+        }, throwable -> {
+        }, new MockServerLogger());
+        FileWatcher secondFileWatcher = new FileWatcher(secondFile.toPath(), () -> {
+        }, throwable -> {
+        }, new MockServerLogger());
+        WatchService watchService = FileWatcher.currentWatchService();
+        assertThat(watchService, notNullValue());
+
+        // when
+        firstFileWatcher.setRunning(false);
+
+        // then - key shared by watchers of the same directory
+        assertThat(secondFileWatcher.getWatchKey().isValid(), is(true));
+        assertThat(FileWatcher.currentWatchService(), is(watchService));
+
+        // when
+        secondFileWatcher.setRunning(false);
+
+        // then
+        assertThat(secondFileWatcher.getWatchKey().isValid(), is(false));
+        assertThat(FileWatcher.currentWatchService(), nullValue());
+        try {
+            watchService.poll();
+            fail("expected watch service to be closed");
+        } catch (ClosedWatchServiceException ignore) {
+            // expected
+        }
+    }
+}
@@ -74,6 +74,36 @@ public class ExpectationSerializerIntegrationTest {
         }, expectations);
     }
 
+    @Test
+    public void shouldDeserializeLargeArrayInOrder() {
+        // given
+        StringBuilder requestBytes = new StringBuilder("[");
+        Expectation[] expectedExpectations = new Expectation[250];
+        for (int i = 0; i < expectedExpectations.length; i++) {
+            requestBytes
+                .append(i > 0 ? "," : "")
+                .append("{ \"id\" : \"key_").append(i).append("\", \"httpRequest\": { \"path\": \"/path_").append(i).append("\" }, \"httpResponse\": { \"body\": \"body_").append(i).append("\" } }");
+            expectedExpectations[i] = new ExpectationDTO()
+                .setId("key_" + i)
+                .setHttpRequest(
+                    new HttpRequestDTO()
+                        .setPath(string("/path_" + i))
+                )
+                .setHttpResponse(
+                    new HttpResponseDTO()
+                        .setBody(new StringBodyDTO(exact("body_" + i)))
+                )
+                .buildObject();
+        }
+        requestBytes.append("]");
+
+        // when
+        Expectation[] expectations = new ExpectationSerializer(new MockServerLogger()).deserializeArray(requestBytes.toString(), false);
+
+        // then
+        assertArrayEquals(expectedExpectations, expectations);
+    }
+
     @Test
     @Ignore
     public void shouldAllowSingleOpenAPIObjectForArray() {
@@ -2,6 +2,7 @@ package org.mockserver.serialization;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.TextNode;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -122,8 +123,9 @@ public class ExpectationWithForwardObjectCallbackSerializerTest {
     @Test
     public void shouldDeserializeObject() throws IOException {
         // given
-        when(objectMapper.readValue(eq("requestBytes"), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
-        when(expectationValidator.isValid("requestBytes")).thenReturn("");
+        when(objectMapper.readTree("requestBytes")).thenReturn(new TextNode("requestBytes"));
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("");
 
         // when
         Expectation expectation = expectationSerializer.deserialize("requestBytes");
@@ -135,8 +137,9 @@ public class ExpectationWithForwardObjectCallbackSerializerTest {
     @Test
     public void shouldDeserializeObjectWithError() throws IOException {
         // given
-        when(objectMapper.readValue(eq("requestBytes"), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
-        when(expectationValidator.isValid("requestBytes")).thenReturn("an error");
+        when(objectMapper.readTree("requestBytes")).thenReturn(new TextNode("requestBytes"));
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("an error");
 
         // then
         thrown.expect(IllegalArgumentException.class);
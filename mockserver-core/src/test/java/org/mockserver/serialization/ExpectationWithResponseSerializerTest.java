@@ -137,8 +137,9 @@ public class ExpectationWithResponseSerializerTest {
     @Test
     public void shouldDeserializeObject() throws IOException {
         // given
-        when(objectMapper.readValue(eq("requestBytes"), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
-        when(expectationValidator.isValid("requestBytes")).thenReturn("");
+        when(objectMapper.readTree("requestBytes")).thenReturn(new TextNode("requestBytes"));
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("");
 
         // when
         Expectation expectation = expectationSerializer.deserialize("requestBytes");
@@ -151,8 +152,8 @@ public class ExpectationWithResponseSerializerTest {
     public void shouldDeserializeArray() throws IOException {
         // given
         when(jsonArraySerializer.splitJSONArrayToJSONNodes("requestBytes")).thenReturn(Arrays.asList(new TextNode("requestBytes"), new TextNode("requestBytes")));
-        when(expectationValidator.isValid("\"requestBytes\"")).thenReturn("");
-        when(objectMapper.readValue(eq("\"requestBytes\""), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("");
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
 
         // when
         Expectation[] expectations = expectationSerializer.deserializeArray("requestBytes", false);
@@ -164,8 +165,9 @@ public class ExpectationWithResponseSerializerTest {
     @Test
     public void shouldDeserializeObjectWithError() throws IOException {
         // given
-        when(objectMapper.readValue(eq("requestBytes"), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
-        when(expectationValidator.isValid("requestBytes")).thenReturn("an error");
+        when(objectMapper.readTree("requestBytes")).thenReturn(new TextNode("requestBytes"));
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("an error");
 
         // then
         thrown.expect(IllegalArgumentException.class);
@@ -179,8 +181,8 @@ public class ExpectationWithResponseSerializerTest {
     public void shouldDeserializeArrayWithError() throws IOException {
         // given
         when(jsonArraySerializer.splitJSONArrayToJSONNodes("requestBytes")).thenReturn(Arrays.asList(new TextNode("requestBytes"), new TextNode("requestBytes")));
-        when(expectationValidator.isValid("\"requestBytes\"")).thenReturn("an error");
-        when(objectMapper.readValue(eq("\"requestBytes\""), same(ExpectationDTO.class))).thenReturn(fullExpectationDTO);
+        when(expectationValidator.isValid(new TextNode("requestBytes"), true)).thenReturn("an error");
+        when(objectMapper.treeToValue(new TextNode("requestBytes"), ExpectationDTO.class)).thenReturn(fullExpectationDTO);
 
         // then
         thrown.expect(IllegalArgumentException.class);
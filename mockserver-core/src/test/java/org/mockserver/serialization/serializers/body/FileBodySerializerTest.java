@@ -0,0 +1,25 @@
+package org.mockserver.serialization.serializers.body;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+import org.mockserver.model.FileBody;
+import org.mockserver.model.MediaType;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class FileBodySerializerTest {
+
+    @Test
+    public void shouldSerializeFileBody() throws JsonProcessingException {
+        assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new FileBody("/some/file.zip")),
+            is("{\"type\":\"FILE\",\"filePath\":\"/some/file.zip\"}"));
+    }
+
+    @Test
+    public void shouldSerializeFileBodyWithContentType() throws JsonProcessingException {
+        assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new FileBody("/some/file.zip", MediaType.APPLICATION_OCTET_STREAM)),
+            is("{\"contentType\":\"application/octet-stream\",\"type\":\"FILE\",\"filePath\":\"/some/file.zip\"}"));
+    }
+}
@@ -1,6 +1,7 @@
 package org.mockserver.server.initialize;
 
 import org.junit.Test;
+import org.mockserver.configuration.Configuration;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
@@ -229,6 +230,58 @@ public class ExpectationInitializerLoaderTest {
         }
     }
 
+    @Test
+    public void shouldLoadExpectationsFromSnapshotUntilJsonChanges() throws Exception {
+        // given
+        Expectation[] expections = {
+            new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .thenRespond(
+                response()
+                    .withBody("some first response")
+            )
+        };
+        File mockserverInitializer = File.createTempFile("mockserverInitialization", ".json");
+        Files.write(mockserverInitializer.toPath(), expectationSerializer.serialize(expections).getBytes(StandardCharsets.UTF_8));
+        File snapshot = new File(mockserverInitializer.getAbsolutePath() + ".snapshot");
+        Configuration configuration = configuration()
+            .initializationJsonPath(mockserverInitializer.getAbsolutePath())
+            .initializationSnapshotPath(snapshot.getAbsolutePath());
+
+        // when
+        final Expectation[] expectationsFromJson = new ExpectationInitializerLoader(configuration, new MockServerLogger(), mock(RequestMatchers.class)).loadExpectations();
+
+        // then
+        assertThat(snapshot.exists(), is(true));
+        assertThat(expectationsFromJson, is(expections));
+
+        // when
+        final Expectation[] expectationsFromSnapshot = new ExpectationInitializerLoader(configuration, new MockServerLogger(), mock(RequestMatchers.class)).loadExpectations();
+
+        // then
+        assertThat(expectationsFromSnapshot, is(expections));
+        assertThat(expectationsFromSnapshot[0].getId(), is(expectationsFromJson[0].getId()));
+
+        // when
+        Expectation[] changedExpections = {
+            new Expectation(
+                request()
+                    .withPath("/simpleSecond")
+            )
+                .thenRespond(
+                response()
+                    .withBody("some second response")
+            )
+        };
+        Files.write(mockserverInitializer.toPath(), expectationSerializer.serialize(changedExpections).getBytes(StandardCharsets.UTF_8));
+        final Expectation[] expectationsFromChangedJson = new ExpectationInitializerLoader(configuration, new MockServerLogger(), mock(RequestMatchers.class)).loadExpectations();
+
+        // then
+        assertThat(expectationsFromChangedJson, is(changedExpections));
+    }
+
     @Test
     public void shouldLoadExpectationsFromFileSystemInJsonOnWithGlobWithStar()  throws Exception {
         // given
@@ -0,0 +1,91 @@
+package org.mockserver.server.initialize;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class ExpectationSnapshotTest {
+
+    private final ExpectationSnapshot expectationSnapshot = new ExpectationSnapshot(new MockServerLogger());
+
+    @Test
+    public void shouldReadExpectationsWrittenToSnapshot() throws Exception {
+        // given
+        File snapshot = File.createTempFile("mockserverInitialization", ".snapshot");
+        Expectation[] firstExpectations = {
+            new Expectation(request().withPath("/simpleFirst")).withId("one").thenRespond(response().withBody("some first response")),
+            new Expectation(request().withPath("/simpleSecond")).withId("two").thenRespond(response().withBody("some second response"))
+        };
+        Expectation[] secondExpectations = {
+            new Expectation(request().withPath("/simpleThird")).withId("three").thenRespond(response().withBody("some third response"))
+        };
+        Map<String, Long> sourceFingerprints = new LinkedHashMap<>();
+        sourceFingerprints.put("first.json", ExpectationSnapshot.fingerprint("first"));
+        sourceFingerprints.put("second.json", ExpectationSnapshot.fingerprint("second"));
+        Map<String, Expectation[]> expectationsBySource = new LinkedHashMap<>();
+        expectationsBySource.put("first.json", firstExpectations);
+        expectationsBySource.put("second.json", secondExpectations);
+
+        // when
+        expectationSnapshot.write(snapshot.getAbsolutePath(), sourceFingerprints, expectationsBySource);
+        Map<String, Expectation[]> snapshotExpectations = expectationSnapshot.read(snapshot.getAbsolutePath(), sourceFingerprints);
+
+        // then
+        assertThat(snapshotExpectations.keySet(), is(sourceFingerprints.keySet()));
+        assertThat(snapshotExpectations.get("first.json"), is(firstExpectations));
+        assertThat(snapshotExpectations.get("first.json")[1].getId(), is("two"));
+        assertThat(snapshotExpectations.get("second.json"), is(secondExpectations));
+    }
+
+    @Test
+    public void shouldNotReadStaleOrMissingSnapshot() throws Exception {
+        // given
+        File snapshot = File.createTempFile("mockserverInitialization", ".snapshot");
+        expectationSnapshot.write(
+            snapshot.getAbsolutePath(),
+            Collections.singletonMap("first.json", ExpectationSnapshot.fingerprint("first")),
+            Collections.singletonMap("first.json", new Expectation[]{
+                new Expectation(request().withPath("/simpleFirst")).thenRespond(response().withBody("some first response"))
+            })
+        );
+
+        // then
+        assertThat(expectationSnapshot.read(snapshot.getAbsolutePath(), Collections.singletonMap("first.json", ExpectationSnapshot.fingerprint("changed"))), nullValue());
+        assertThat(expectationSnapshot.read(snapshot.getAbsolutePath(), Collections.singletonMap("other.json", ExpectationSnapshot.fingerprint("first"))), nullValue());
+        Files.delete(snapshot.toPath());
+        assertThat(expectationSnapshot.read(snapshot.getAbsolutePath(), Collections.singletonMap("first.json", ExpectationSnapshot.fingerprint("first"))), nullValue());
+    }
+
+    @Test
+    public void shouldNotReadSnapshotWrittenByDifferentVersion() throws Exception {
+        // given
+        File snapshot = File.createTempFile("mockserverInitialization", ".snapshot");
+        Map<String, Long> sourceFingerprints = Collections.singletonMap("first.json", ExpectationSnapshot.fingerprint("first"));
+        new ExpectationSnapshot(new MockServerLogger(), "5.14.0").write(
+            snapshot.getAbsolutePath(),
+            sourceFingerprints,
+            Collections.singletonMap("first.json", new Expectation[]{
+                new Expectation(request().withPath("/simpleFirst")).thenRespond(response().withBody("some first response"))
+            })
+        );
+
+        // then
+        assertThat(new ExpectationSnapshot(new MockServerLogger(), "5.14.0").read(snapshot.getAbsolutePath(), sourceFingerprints).get("first.json").length, is(1));
+        assertThat(new ExpectationSnapshot(new MockServerLogger(), "5.15.0").read(snapshot.getAbsolutePath(), sourceFingerprints), nullValue());
+    }
+}
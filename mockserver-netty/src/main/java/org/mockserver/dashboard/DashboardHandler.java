@@ -78,6 +78,7 @@ public class DashboardHandler {
                 }
             }
         }
+        response.withStreamId(request.getStreamId());
         if (!request.isKeepAlive()) {
             ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
         } else {
@@ -160,6 +160,9 @@ public class DashboardLogEntryDTOSerializer extends StdSerializer<DashboardLogEn
                 style.put("color", "rgb(234, 67, 106)");
                 break;
             case FORWARDED_REQUEST:
+            case RESPONSE_CACHE_HIT:
+            case RESPONSE_CACHE_MISS:
+            case RESPONSE_CACHE_REVALIDATED:
                 style.put("color", "rgb(152, 208, 255)");
                 break;
             case TEMPLATE_GENERATED:
@@ -2,7 +2,6 @@ package org.mockserver.lifecycle;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
@@ -10,6 +9,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
@@ -42,6 +42,7 @@ public abstract class LifeCycle implements Stoppable {
     private final Configuration configuration;
     protected ServerBootstrap serverServerBootstrap;
     private final List<Future<Channel>> serverChannelFutures = new ArrayList<>();
+    private final List<Future<Channel>> acceptorChannelFutures = new ArrayList<>();
     private final CompletableFuture<String> stopFuture = new CompletableFuture<>();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
     private final Scheduler scheduler;
@@ -49,8 +50,9 @@ public abstract class LifeCycle implements Stoppable {
     protected LifeCycle(Configuration configuration) {
         this.configuration = configuration != null ? configuration : configuration();
         this.mockServerLogger = new MockServerLogger(MockServerEventLog.class);
-        this.bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-        this.workerGroup = new NioEventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+        // with SO_REUSEPORT each acceptor for a port is registered with its own boss event loop
+        this.bossGroup = NettyTransport.eventLoopGroup(this.configuration, Math.max(5, this.configuration.reusePortAcceptorCount()), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+        this.workerGroup = NettyTransport.eventLoopGroup(this.configuration, this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
         this.scheduler = new Scheduler(this.configuration, this.mockServerLogger);
         this.httpState = new HttpState(this.configuration, this.mockServerLogger, this.scheduler);
     }
@@ -67,8 +69,8 @@ public abstract class LifeCycle implements Stoppable {
                 );
             }
             new Scheduler.SchedulerThreadFactory("Stop").newThread(() -> {
-                List<ChannelFuture> collect = serverChannelFutures
-                    .stream()
+                List<ChannelFuture> collect = Stream
+                    .concat(serverChannelFutures.stream(), acceptorChannelFutures.stream())
                     .flatMap(channelFuture -> {
                         try {
                             return Stream.of(channelFuture.get());
@@ -197,36 +199,19 @@ public abstract class LifeCycle implements Stoppable {
 
     private List<Integer> bindPorts(final ServerBootstrap serverBootstrap, List<Integer> requestedPortBindings, List<Future<Channel>> channelFutures) {
         List<Integer> actualPortBindings = new ArrayList<>();
-        final String localBoundIP = configuration.localBoundIP();
+        final int acceptorCount = NettyTransport.acceptorCount(configuration, bossGroup);
         for (final Integer portToBind : requestedPortBindings) {
             try {
-                final CompletableFuture<Channel> channelOpened = new CompletableFuture<>();
+                final CompletableFuture<Channel> channelOpened = bindPort(serverBootstrap, portToBind);
                 channelFutures.add(channelOpened);
-                new Scheduler.SchedulerThreadFactory("MockServer thread for port: " + portToBind, false).newThread(() -> {
-                    try {
-                        InetSocketAddress inetSocketAddress;
-                        if (isBlank(localBoundIP)) {
-                            inetSocketAddress = new InetSocketAddress(portToBind);
-                        } else {
-                            inetSocketAddress = new InetSocketAddress(localBoundIP, portToBind);
-                        }
-                        serverBootstrap
-                            .bind(inetSocketAddress)
-                            .addListener((ChannelFutureListener) future -> {
-                                if (future.isSuccess()) {
-                                    channelOpened.complete(future.channel());
-                                } else {
-                                    channelOpened.completeExceptionally(future.cause());
-                                }
-                            })
-                            .channel().closeFuture().syncUninterruptibly();
-
-                    } catch (Exception e) {
-                        channelOpened.completeExceptionally(new RuntimeException("Exception while binding MockServer to port " + portToBind, e));
-                    }
-                }).start();
-
-                actualPortBindings.add(((InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress()).getPort());
+                int actualPort = ((InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress()).getPort();
+                // additional acceptors bind to the actual port, so a dynamically allocated port is shared by all acceptors
+                for (int acceptor = 1; acceptor < acceptorCount; acceptor++) {
+                    final CompletableFuture<Channel> acceptorOpened = bindPort(serverBootstrap, actualPort);
+                    acceptorChannelFutures.add(acceptorOpened);
+                    acceptorOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS);
+                }
+                actualPortBindings.add(actualPort);
             } catch (Exception e) {
                 throw new RuntimeException("Exception while binding MockServer to port " + portToBind, e instanceof ExecutionException ? e.getCause() : e);
             }
@@ -234,6 +219,35 @@ public abstract class LifeCycle implements Stoppable {
         return actualPortBindings;
     }
 
+    private CompletableFuture<Channel> bindPort(final ServerBootstrap serverBootstrap, final Integer portToBind) {
+        final String localBoundIP = configuration.localBoundIP();
+        final CompletableFuture<Channel> channelOpened = new CompletableFuture<>();
+        new Scheduler.SchedulerThreadFactory("MockServer thread for port: " + portToBind, false).newThread(() -> {
+            try {
+                InetSocketAddress inetSocketAddress;
+                if (isBlank(localBoundIP)) {
+                    inetSocketAddress = new InetSocketAddress(portToBind);
+                } else {
+                    inetSocketAddress = new InetSocketAddress(localBoundIP, portToBind);
+                }
+                serverBootstrap
+                    .bind(inetSocketAddress)
+                    .addListener((ChannelFutureListener) future -> {
+                        if (future.isSuccess()) {
+                            channelOpened.complete(future.channel());
+                        } else {
+                            channelOpened.completeExceptionally(future.cause());
+                        }
+                    })
+                    .channel().closeFuture().syncUninterruptibly();
+
+            } catch (Exception e) {
+                channelOpened.completeExceptionally(new RuntimeException("Exception while binding MockServer to port " + portToBind, e));
+            }
+        }).start();
+        return channelOpened;
+    }
+
     protected void startedServer(List<Integer> ports) {
         final String message = "started on port" + (ports.size() == 1 ? ": " + ports.get(0) : "s: " + ports);
         setPort(ports);
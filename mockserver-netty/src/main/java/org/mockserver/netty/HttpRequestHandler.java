@@ -118,7 +118,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
 
                 } else if (request.matches("PUT", PATH_PREFIX + "/stop", "/stop")) {
 
-                    ctx.writeAndFlush(response().withStatusCode(OK.code()));
+                    ctx.writeAndFlush(response().withStatusCode(OK.code()).withStreamId(request.getStreamId()));
                     new Scheduler.SchedulerThreadFactory("MockServer Stop").newThread(() -> server.stop()).start();
 
                 } else if (request.getMethod().getValue().equals("GET") && request.getPath().getValue().startsWith(PATH_PREFIX + "/dashboard")) {
@@ -133,7 +133,8 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
                         !request.containsHeader(PROXY_AUTHORIZATION.toString(), "Basic " + BASE_64_CONVERTER.bytesToBase64String((username + ':' + password).getBytes(StandardCharsets.UTF_8), StandardCharsets.US_ASCII))) {
                         HttpResponse response = response()
                             .withStatusCode(PROXY_AUTHENTICATION_REQUIRED.code())
-                            .withHeader(PROXY_AUTHENTICATE.toString(), "Basic realm=\"" + StringEscapeUtils.escapeJava(configuration.proxyAuthenticationRealm()) + "\", charset=\"UTF-8\"");
+                            .withHeader(PROXY_AUTHENTICATE.toString(), "Basic realm=\"" + StringEscapeUtils.escapeJava(configuration.proxyAuthenticationRealm()) + "\", charset=\"UTF-8\"")
+                            .withStreamId(request.getStreamId());
                         ctx.writeAndFlush(response);
                         mockServerLogger.logEvent(
                             new LogEntry()
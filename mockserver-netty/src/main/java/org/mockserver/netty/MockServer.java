@@ -1,11 +1,9 @@
 package org.mockserver.netty;
 
 import com.google.common.collect.ImmutableList;
-import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.mockserver.authentication.ChainedAuthenticationHandler;
 import org.mockserver.authentication.jwt.JWTAuthenticationHandler;
 import org.mockserver.authentication.mtls.MTLSAuthenticationHandler;
@@ -16,6 +14,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -23,6 +22,7 @@ import javax.annotation.Nullable;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -38,6 +38,7 @@ import static org.mockserver.proxyconfiguration.ProxyConfiguration.proxyConfigur
 public class MockServer extends LifeCycle {
 
     private InetSocketAddress remoteSocket;
+    private HttpActionHandler httpActionHandler;
 
     /**
      * Start the instance using the ports provided
@@ -180,14 +181,13 @@ public class MockServer extends LifeCycle {
                     .withRequiredClaims(configuration.controlPlaneJWTAuthenticationRequiredClaims())
             );
         }
-        serverServerBootstrap = new ServerBootstrap()
-            .group(bossGroup, workerGroup)
+        httpActionHandler = new HttpActionHandler(configuration, getEventLoopGroup(), httpState, proxyConfigurations, nettyClientSslContextFactory);
+        serverServerBootstrap = NettyTransport.serverBootstrap(configuration, bossGroup, workerGroup)
             .option(ChannelOption.SO_BACKLOG, 1024)
-            .channel(NioServerSocketChannel.class)
             .childOption(ChannelOption.AUTO_READ, true)
             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-            .childHandler(new MockServerUnificationInitializer(configuration, MockServer.this, httpState, new HttpActionHandler(configuration, getEventLoopGroup(), httpState, proxyConfigurations, nettyClientSslContextFactory), nettyServerSslContextFactory))
+            .childHandler(new MockServerUnificationInitializer(configuration, MockServer.this, httpState, httpActionHandler, nettyServerSslContextFactory))
             .childAttr(REMOTE_SOCKET, remoteSocket)
             .childAttr(PROXYING, remoteSocket != null);
 
@@ -207,6 +207,15 @@ public class MockServer extends LifeCycle {
         startedServer(getLocalPorts());
     }
 
+    @Override
+    public CompletableFuture<String> stopAsync() {
+        // closes pooled forward connections while the event loops they use are still running
+        if (httpActionHandler != null) {
+            httpActionHandler.stop();
+        }
+        return super.stopAsync();
+    }
+
     public InetSocketAddress getRemoteAddress() {
         return remoteSocket;
     }
@@ -0,0 +1,573 @@
+package org.mockserver.netty.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.handler.codec.http.*;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpRequestToMockServerHttpRequest;
+import org.mockserver.mappers.FullHttpResponseToMockServerHttpResponse;
+import org.mockserver.mock.HttpState;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.uuid.UUIDService;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.Certificate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.exception.ExceptionHandling.closeOnFlush;
+import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
+import static org.mockserver.mock.HttpState.PATH_PREFIX;
+import static org.mockserver.mock.action.http.HttpActionHandler.getRemoteAddress;
+import static org.mockserver.netty.HttpRequestHandler.LOCAL_HOST_HEADERS;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+
+/**
+ * Streams proxied requests that don't match an expectation to the remote server, and the response back to the client,
+ * as HttpObjects without aggregating the request or response body, so large uploads and downloads can be proxied with
+ * a small heap
+ * <p>
+ * Must be added after the HttpServerCodec and before the HttpContentDecompressor and the aggregators, requests that
+ * aren't streamed are passed on to be aggregated and handled as normal.  A request is only streamed if it would be
+ * proxied, no expectation matches its request line and headers and, if it has a body, no active expectation can match
+ * on the body.
+ * <p>
+ * Reading from the client is paused while the connection to the remote server isn't writable, and reading from the
+ * remote server is paused while the connection to the client isn't writable, so only the write buffers of each
+ * connection are held in memory.  Request and response bodies are captured up to the maximum captured body size so the
+ * streamed request and response can be logged once they are complete.
+ *
+ * @author jamesdbloom
+ */
+public class StreamingProxyHandler extends ChannelInboundHandlerAdapter {
+
+    private static final List<CharSequence> HOP_BY_HOP_HEADERS = Arrays.asList(
+        AsciiString.cached("proxy-connection"),
+        CONNECTION,
+        AsciiString.cached("keep-alive"),
+        TE,
+        TRAILER,
+        PROXY_AUTHORIZATION,
+        PROXY_AUTHENTICATE,
+        UPGRADE
+    );
+    // deprecated control plane paths without the path prefix, which are only handled for PUT requests
+    private static final Set<String> UNPREFIXED_CONTROL_PLANE_PATHS = new HashSet<>(Arrays.asList(
+        "/expectation",
+        "/openapi",
+        "/clear",
+        "/reset",
+        "/retrieve",
+        "/verify",
+        "/verifySequence",
+        "/status",
+        "/bind",
+        "/stop"
+    ));
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final HttpState httpState;
+    private final NettyHttpClient httpClient;
+    private final boolean isSecure;
+    private final FullHttpRequestToMockServerHttpRequest fullHttpRequestToMockServerRequest;
+    private final FullHttpResponseToMockServerHttpResponse fullHttpResponseToMockServerResponse;
+    private final Queue<Object> deferredMessages = new ArrayDeque<>();
+    private StreamedExchange exchange;
+
+    public StreamingProxyHandler(Configuration configuration, HttpState httpState, NettyHttpClient httpClient, boolean isSecure, SocketAddress socketAddress, Certificate[] clientCertificates) {
+        this.configuration = configuration;
+        this.mockServerLogger = httpState.getMockServerLogger();
+        this.httpState = httpState;
+        this.httpClient = httpClient;
+        this.isSecure = isSecure;
+        this.fullHttpRequestToMockServerRequest = new FullHttpRequestToMockServerHttpRequest(configuration, mockServerLogger, isSecure, clientCertificates, socketAddress instanceof InetSocketAddress ? ((InetSocketAddress) socketAddress).getPort() : null);
+        this.fullHttpResponseToMockServerResponse = new FullHttpResponseToMockServerHttpResponse(mockServerLogger);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (exchange != null && exchange.requestComplete) {
+            // pipelined requests are handled once the streamed response is complete
+            deferredMessages.add(msg);
+        } else if (exchange != null && msg instanceof HttpContent) {
+            streamRequestContent(ctx, (HttpContent) msg);
+        } else if (msg instanceof io.netty.handler.codec.http.HttpRequest && !(msg instanceof FullHttpRequest)) {
+            io.netty.handler.codec.http.HttpRequest nettyRequest = (io.netty.handler.codec.http.HttpRequest) msg;
+            StreamedExchange streamedExchange = streamedExchange(ctx, nettyRequest);
+            if (streamedExchange != null) {
+                startExchange(ctx, streamedExchange, nettyRequest);
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private StreamedExchange streamedExchange(ChannelHandlerContext ctx, io.netty.handler.codec.http.HttpRequest nettyRequest) {
+        HttpHeaders headers = nettyRequest.headers();
+        if (nettyRequest.decoderResult().isFailure()
+            || HttpMethod.CONNECT.equals(nettyRequest.method())
+            || headers.contains(UPGRADE)
+            || HttpUtil.is100ContinueExpected(nettyRequest)
+            || headers.contains(httpState.getUniqueLoopPreventionHeaderName())
+            || !httpClient.canStream(isSecure)) {
+            return null;
+        }
+        org.mockserver.model.HttpRequest request = fullHttpRequestToMockServerRequest.mapFullHttpRequestToMockServerRequest(
+            new DefaultFullHttpRequest(nettyRequest.protocolVersion(), nettyRequest.method(), nettyRequest.uri(), Unpooled.EMPTY_BUFFER, headers, EmptyHttpHeaders.INSTANCE),
+            ctx.channel().remoteAddress()
+        );
+        String path = request.getPath() != null ? request.getPath().getValue() : "";
+        if (path.startsWith(PATH_PREFIX)
+            || HttpMethod.PUT.equals(nettyRequest.method()) && UNPREFIXED_CONTROL_PLANE_PATHS.contains(path)
+            || isNotBlank(configuration.livenessHttpGetPath()) && path.equals(configuration.livenessHttpGetPath())) {
+            return null;
+        }
+        boolean proxyingRequest = Boolean.TRUE.equals(ctx.channel().attr(PROXYING).get());
+        String host = headers.get(HOST);
+        Set<String> localAddresses = ctx.channel().attr(LOCAL_HOST_HEADERS).get();
+        boolean potentiallyHttpProxy = !proxyingRequest && configuration.attemptToProxyIfNoMatchingExpectation() && !isEmpty(host) && (localAddresses == null || !localAddresses.contains(host));
+        if (!proxyingRequest && !potentiallyHttpProxy || potentiallyHttpProxy && !proxyAuthenticated(headers)) {
+            return null;
+        }
+        if (hasBody(nettyRequest) && httpState.getRequestMatchers().anyExpectationMayMatchBody()) {
+            // an expectation may match once the body has been received, so the request must be aggregated
+            return null;
+        }
+        if (httpState.hasMatchingExpectation(request)) {
+            return null;
+        }
+        InetSocketAddress remoteAddress = proxyingRequest ? getRemoteAddress(ctx) : request.socketAddressFromHostHeader();
+        if (remoteAddress == null) {
+            return null;
+        }
+        request.withLogCorrelationId(UUIDService.getUUID());
+        return new StreamedExchange(request, remoteAddress, potentiallyHttpProxy, nettyRequest, configuration.streamingProxyMaxCapturedBodySize());
+    }
+
+    private boolean proxyAuthenticated(HttpHeaders headers) {
+        String username = configuration.proxyAuthenticationUsername();
+        String password = configuration.proxyAuthenticationPassword();
+        // unauthenticated requests are handled as normal so they are sent a Proxy Authentication Required response
+        return !(isNotBlank(username) && isNotBlank(password))
+            || headers.containsValue(PROXY_AUTHORIZATION, "Basic " + Base64.getEncoder().encodeToString((username + ':' + password).getBytes(StandardCharsets.UTF_8)), false);
+    }
+
+    private boolean hasBody(io.netty.handler.codec.http.HttpRequest nettyRequest) {
+        return HttpUtil.isTransferEncodingChunked(nettyRequest) || HttpUtil.getContentLength(nettyRequest, 0L) > 0;
+    }
+
+    private void startExchange(ChannelHandlerContext ctx, StreamedExchange streamedExchange, io.netty.handler.codec.http.HttpRequest nettyRequest) {
+        exchange = streamedExchange;
+        // reading is resumed once connected to the remote server
+        ctx.channel().config().setAutoRead(false);
+        io.netty.handler.codec.http.HttpRequest upstreamRequest = new DefaultHttpRequest(nettyRequest.protocolVersion(), nettyRequest.method(), originForm(nettyRequest.uri()), removeHopByHopHeaders(nettyRequest.headers().copy()));
+        upstreamRequest.headers().set(httpState.getUniqueLoopPreventionHeaderName(), httpState.getUniqueLoopPreventionHeaderValue());
+        streamedExchange.pendingMessages.add(upstreamRequest);
+        try {
+            httpClient
+                .connect(streamedExchange.remoteAddress, isSecure, new StreamedResponseHandler(ctx, streamedExchange))
+                .addListener((ChannelFutureListener) future -> ctx.executor().execute(() -> connected(ctx, streamedExchange, future)));
+        } catch (RuntimeException runtimeException) {
+            failExchange(ctx, streamedExchange, runtimeException);
+        }
+    }
+
+    private String originForm(String uri) {
+        if (uri.startsWith("/")) {
+            return uri;
+        }
+        try {
+            // requests to an HTTP proxy use the absolute form
+            URI absoluteUri = new URI(uri);
+            return (isEmpty(absoluteUri.getRawPath()) ? "/" : absoluteUri.getRawPath()) + (absoluteUri.getRawQuery() != null ? "?" + absoluteUri.getRawQuery() : "");
+        } catch (Exception exception) {
+            return uri;
+        }
+    }
+
+    private HttpHeaders removeHopByHopHeaders(HttpHeaders headers) {
+        // Content-Length and Transfer-Encoding are kept because the body is streamed as it was received
+        for (String connectionOption : headers.getAll(CONNECTION)) {
+            for (String headerName : StringUtils.split(connectionOption, ", ")) {
+                headers.remove(headerName);
+            }
+        }
+        for (CharSequence headerName : HOP_BY_HOP_HEADERS) {
+            headers.remove(headerName);
+        }
+        return headers;
+    }
+
+    private void connected(ChannelHandlerContext ctx, StreamedExchange streamedExchange, ChannelFuture connectFuture) {
+        if (streamedExchange != exchange) {
+            connectFuture.channel().close();
+        } else if (!connectFuture.isSuccess()) {
+            failExchange(ctx, streamedExchange, connectFuture.cause());
+        } else {
+            Channel upstream = connectFuture.channel();
+            streamedExchange.upstream = upstream;
+            Object pendingMessage;
+            while ((pendingMessage = streamedExchange.pendingMessages.poll()) != null) {
+                upstream.write(pendingMessage);
+            }
+            upstream.flush();
+            updateAutoRead(ctx);
+        }
+    }
+
+    private void streamRequestContent(ChannelHandlerContext ctx, HttpContent httpContent) {
+        StreamedExchange streamedExchange = exchange;
+        streamedExchange.requestBody.capture(httpContent.content());
+        if (streamedExchange.upstream != null) {
+            streamedExchange.upstream.write(httpContent);
+        } else {
+            streamedExchange.pendingMessages.add(httpContent);
+        }
+        if (httpContent instanceof LastHttpContent) {
+            streamedExchange.requestComplete = true;
+            if (streamedExchange.upstream != null) {
+                streamedExchange.upstream.flush();
+            }
+            org.mockserver.model.HttpRequest request = streamedExchange.loggedRequest(fullHttpRequestToMockServerRequest, ctx.channel().remoteAddress());
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request)
+            );
+        }
+        updateAutoRead(ctx);
+    }
+
+    private void streamResponse(ChannelHandlerContext ctx, StreamedExchange streamedExchange, HttpObject httpObject) {
+        if (streamedExchange != exchange) {
+            ReferenceCountUtil.release(httpObject);
+            return;
+        }
+        if (httpObject instanceof io.netty.handler.codec.http.HttpResponse) {
+            io.netty.handler.codec.http.HttpResponse nettyResponse = (io.netty.handler.codec.http.HttpResponse) httpObject;
+            if (nettyResponse.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+                // interim responses, such as 102 Processing, aren't relayed
+                return;
+            }
+            streamedExchange.response = nettyResponse;
+            removeHopByHopHeaders(nettyResponse.headers()).remove(httpState.getUniqueLoopPreventionHeaderName());
+            if (!HttpUtil.isContentLengthSet(nettyResponse) && !HttpUtil.isTransferEncodingChunked(nettyResponse) && mayHaveBody(streamedExchange, nettyResponse)) {
+                // response body is delimited by the remote server closing the connection
+                HttpUtil.setTransferEncodingChunked(nettyResponse, true);
+            }
+            if (HttpUtil.isTransferEncodingChunked(nettyResponse) && streamedExchange.requestVersion.equals(HttpVersion.HTTP_1_0)) {
+                // HTTP/1.0 clients don't support chunked responses, so the body is delimited by closing the connection
+                HttpUtil.setTransferEncodingChunked(nettyResponse, false);
+                streamedExchange.keepAlive = false;
+            }
+            HttpUtil.setKeepAlive(nettyResponse, streamedExchange.keepAlive);
+            ctx.write(nettyResponse);
+        }
+        if (httpObject instanceof HttpContent && streamedExchange.response == null) {
+            // end of an interim response
+            ReferenceCountUtil.release(httpObject);
+        } else if (httpObject instanceof HttpContent) {
+            HttpContent httpContent = (HttpContent) httpObject;
+            streamedExchange.responseBody.capture(httpContent.content());
+            if (httpContent instanceof LastHttpContent) {
+                completeExchange(ctx, streamedExchange, ctx.writeAndFlush(httpContent));
+                return;
+            } else {
+                ctx.write(httpContent);
+            }
+        }
+        if (!ctx.channel().isWritable()) {
+            ctx.flush();
+            streamedExchange.upstream.config().setAutoRead(ctx.channel().isWritable());
+        }
+    }
+
+    private boolean mayHaveBody(StreamedExchange streamedExchange, io.netty.handler.codec.http.HttpResponse nettyResponse) {
+        int statusCode = nettyResponse.status().code();
+        return !HttpMethod.HEAD.equals(streamedExchange.requestMethod) && statusCode != 204 && statusCode != 304;
+    }
+
+    private void completeExchange(ChannelHandlerContext ctx, StreamedExchange streamedExchange, ChannelFuture lastWriteFuture) {
+        HttpResponse response = streamedExchange.loggedResponse(fullHttpResponseToMockServerResponse);
+        org.mockserver.model.HttpRequest request = streamedExchange.loggedRequest(fullHttpRequestToMockServerRequest, ctx.channel().remoteAddress());
+        LogEntry logEntry = new LogEntry()
+            .setType(FORWARDED_REQUEST)
+            .setLogLevel(Level.INFO)
+            .setCorrelationId(request.getLogCorrelationId())
+            .setHttpRequest(request)
+            .setHttpResponse(response)
+            .setMessageFormat("returning streamed response:{}for forwarded request:{}")
+            .setArguments(response, request);
+        if (!streamedExchange.requestBody.truncated && !streamedExchange.responseBody.truncated) {
+            // a truncated body would be recorded as an expectation that doesn't match the request or return the response
+            logEntry.setExpectation(request, response);
+        }
+        mockServerLogger.logEvent(logEntry);
+        endExchange(streamedExchange);
+        if (!streamedExchange.keepAlive) {
+            lastWriteFuture.addListener(ChannelFutureListener.CLOSE);
+        } else {
+            Object deferredMessage;
+            while (exchange == null && (deferredMessage = deferredMessages.poll()) != null) {
+                channelRead(ctx, deferredMessage);
+            }
+            updateAutoRead(ctx);
+        }
+    }
+
+    private void failExchange(ChannelHandlerContext ctx, StreamedExchange streamedExchange, Throwable throwable) {
+        if (streamedExchange != exchange) {
+            return;
+        }
+        // failing to connect for requests that only look like they should be proxied is expected, as for requests that aren't streamed
+        Level logLevel = streamedExchange.potentiallyHttpProxy ? Level.TRACE : Level.ERROR;
+        if (throwable != null && !connectionClosedException(throwable) && MockServerLogger.isEnabled(logLevel)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(logLevel)
+                    .setCorrelationId(streamedExchange.request.getLogCorrelationId())
+                    .setHttpRequest(streamedExchange.request)
+                    .setMessageFormat("exception streaming request{}to remote address{}")
+                    .setArguments(streamedExchange.request, streamedExchange.remoteAddress)
+                    .setThrowable(throwable)
+            );
+        }
+        endExchange(streamedExchange);
+        if (streamedExchange.response == null && ctx.channel().isActive()) {
+            // the rest of the request body can't be read, so the connection is closed after the response
+            FullHttpResponse notFoundResponse = new DefaultFullHttpResponse(streamedExchange.requestVersion, HttpResponseStatus.NOT_FOUND, Unpooled.EMPTY_BUFFER);
+            HttpUtil.setContentLength(notFoundResponse, 0);
+            HttpUtil.setKeepAlive(notFoundResponse, false);
+            ctx.writeAndFlush(notFoundResponse).addListener(ChannelFutureListener.CLOSE);
+        } else {
+            // the response has been partly written, so the client must see the connection closed
+            closeOnFlush(ctx.channel());
+        }
+    }
+
+    private void endExchange(StreamedExchange streamedExchange) {
+        exchange = null;
+        streamedExchange.release();
+    }
+
+    private void updateAutoRead(ChannelHandlerContext ctx) {
+        StreamedExchange streamedExchange = exchange;
+        if (streamedExchange == null) {
+            ctx.channel().config().setAutoRead(true);
+        } else {
+            // the rest of the request is only read once connected and while the remote server keeps up
+            ctx.channel().config().setAutoRead(!streamedExchange.requestComplete && streamedExchange.upstream != null && streamedExchange.upstream.isWritable());
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        if (exchange != null && exchange.upstream != null) {
+            exchange.upstream.flush();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        StreamedExchange streamedExchange = exchange;
+        if (streamedExchange != null && streamedExchange.upstream != null) {
+            // the response is only read from the remote server while the client keeps up
+            streamedExchange.upstream.config().setAutoRead(ctx.channel().isWritable());
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        reset();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        reset();
+    }
+
+    private void reset() {
+        if (exchange != null) {
+            endExchange(exchange);
+        }
+        Object deferredMessage;
+        while ((deferredMessage = deferredMessages.poll()) != null) {
+            ReferenceCountUtil.release(deferredMessage);
+        }
+    }
+
+    /**
+     * receives the response from the remote server, on the remote server connection's event loop, and streams it on
+     * the client connection's event loop so the exchange is only ever accessed from one thread
+     */
+    private class StreamedResponseHandler extends ChannelInboundHandlerAdapter {
+
+        private final ChannelHandlerContext clientCtx;
+        private final StreamedExchange streamedExchange;
+
+        private StreamedResponseHandler(ChannelHandlerContext clientCtx, StreamedExchange streamedExchange) {
+            this.clientCtx = clientCtx;
+            this.streamedExchange = streamedExchange;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof HttpObject) {
+                clientCtx.executor().execute(() -> streamResponse(clientCtx, streamedExchange, (HttpObject) msg));
+            } else {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            clientCtx.executor().execute(() -> {
+                if (streamedExchange == exchange) {
+                    clientCtx.flush();
+                }
+            });
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            clientCtx.executor().execute(() -> {
+                if (streamedExchange == exchange) {
+                    updateAutoRead(clientCtx);
+                }
+            });
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            clientCtx.executor().execute(() -> failExchange(clientCtx, streamedExchange, null));
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            clientCtx.executor().execute(() -> failExchange(clientCtx, streamedExchange, cause));
+            ctx.close();
+        }
+    }
+
+    private static class StreamedExchange {
+
+        private final org.mockserver.model.HttpRequest request;
+        private final InetSocketAddress remoteAddress;
+        private final boolean potentiallyHttpProxy;
+        private final HttpVersion requestVersion;
+        private final HttpMethod requestMethod;
+        private final HttpHeaders requestHeaders;
+        private final String requestUri;
+        private final CapturedBody requestBody;
+        private final CapturedBody responseBody;
+        private final Queue<Object> pendingMessages = new ArrayDeque<>();
+        private boolean keepAlive;
+        private boolean requestComplete;
+        private Channel upstream;
+        private io.netty.handler.codec.http.HttpResponse response;
+
+        private StreamedExchange(org.mockserver.model.HttpRequest request, InetSocketAddress remoteAddress, boolean potentiallyHttpProxy, io.netty.handler.codec.http.HttpRequest nettyRequest, int maxCapturedBodySize) {
+            this.request = request;
+            this.remoteAddress = remoteAddress;
+            this.potentiallyHttpProxy = potentiallyHttpProxy;
+            this.requestVersion = nettyRequest.protocolVersion();
+            this.requestMethod = nettyRequest.method();
+            this.requestHeaders = nettyRequest.headers();
+            this.requestUri = nettyRequest.uri();
+            this.keepAlive = HttpUtil.isKeepAlive(nettyRequest);
+            this.requestBody = new CapturedBody(maxCapturedBodySize);
+            this.responseBody = new CapturedBody(maxCapturedBodySize);
+        }
+
+        private org.mockserver.model.HttpRequest loggedRequest(FullHttpRequestToMockServerHttpRequest fullHttpRequestToMockServerRequest, SocketAddress remoteAddress) {
+            if (requestBody.bytes.isReadable() || requestBody.truncated) {
+                org.mockserver.model.HttpRequest requestWithBody = fullHttpRequestToMockServerRequest.mapFullHttpRequestToMockServerRequest(new DefaultFullHttpRequest(requestVersion, requestMethod, requestUri, requestBody.bytes.duplicate(), requestBody.loggedHeaders(requestHeaders), EmptyHttpHeaders.INSTANCE), remoteAddress);
+                requestWithBody.withLogCorrelationId(request.getLogCorrelationId());
+                return requestWithBody;
+            } else {
+                return request;
+            }
+        }
+
+        private HttpResponse loggedResponse(FullHttpResponseToMockServerHttpResponse fullHttpResponseToMockServerResponse) {
+            if (response != null) {
+                return fullHttpResponseToMockServerResponse.mapFullHttpResponseToMockServerResponse(new DefaultFullHttpResponse(response.protocolVersion(), response.status(), responseBody.bytes.duplicate(), responseBody.loggedHeaders(response.headers()), EmptyHttpHeaders.INSTANCE));
+            } else {
+                return null;
+            }
+        }
+
+        private void release() {
+            Object pendingMessage;
+            while ((pendingMessage = pendingMessages.poll()) != null) {
+                ReferenceCountUtil.release(pendingMessage);
+            }
+            if (upstream != null) {
+                upstream.close();
+            }
+        }
+    }
+
+    /**
+     * bounded copy of the start of a streamed body, used only for the log
+     */
+    private static class CapturedBody {
+
+        private final int maxSize;
+        private final ByteBuf bytes;
+        private boolean truncated;
+
+        private CapturedBody(int maxSize) {
+            this.maxSize = Math.max(maxSize, 0);
+            this.bytes = Unpooled.buffer(Math.min(this.maxSize, 1024), this.maxSize);
+        }
+
+        private void capture(ByteBuf content) {
+            int length = Math.min(content.readableBytes(), maxSize - bytes.readableBytes());
+            if (length > 0) {
+                bytes.writeBytes(content, content.readerIndex(), length);
+            }
+            if (length < content.readableBytes()) {
+                truncated = true;
+            }
+        }
+
+        /**
+         * the Content-Length header of a truncated body is removed, as it's the length of the streamed body not the logged body
+         */
+        private HttpHeaders loggedHeaders(HttpHeaders headers) {
+            return truncated ? headers.copy().remove(CONTENT_LENGTH) : headers;
+        }
+    }
+}
@@ -7,12 +7,17 @@ import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
+import org.mockserver.netty.proxy.StreamingProxyHandler;
 import org.mockserver.netty.proxy.relay.RelayConnectHandler;
+import org.mockserver.netty.unification.Http2UpgradeRequestHandler;
 import org.mockserver.codec.MockServerHttpServerCodec;
+import org.mockserver.codec.SpillingHttpRequestAggregator;
 
 import static org.mockserver.model.HttpResponse.response;
 
@@ -26,8 +31,13 @@ public final class HttpConnectHandler extends RelayConnectHandler<HttpRequest> {
     protected void removeCodecSupport(ChannelHandlerContext ctx) {
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, HttpServerCodec.class);
+        removeHandler(pipeline, HttpServerUpgradeHandler.class);
+        removeHandler(pipeline, Http2UpgradeRequestHandler.class);
+        removeHandler(pipeline, StreamingProxyHandler.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, SpillingHttpRequestAggregator.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
+        removeHandler(pipeline, ChunkedWriteHandler.class);
         removeHandler(pipeline, MockServerHttpServerCodec.class);
         if (pipeline.get(this.getClass()) != null) {
             pipeline.remove(this);
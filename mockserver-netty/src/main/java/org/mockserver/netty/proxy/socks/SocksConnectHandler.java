@@ -6,11 +6,15 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.mockserver.codec.MockServerHttpServerCodec;
+import org.mockserver.codec.SpillingHttpRequestAggregator;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.netty.proxy.relay.RelayConnectHandler;
+import org.mockserver.netty.unification.Http2UpgradeRequestHandler;
 
 @ChannelHandler.Sharable
 public abstract class SocksConnectHandler<T> extends RelayConnectHandler<T> {
@@ -22,8 +26,12 @@ public abstract class SocksConnectHandler<T> extends RelayConnectHandler<T> {
     protected void removeCodecSupport(ChannelHandlerContext ctx) {
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, HttpServerCodec.class);
+        removeHandler(pipeline, HttpServerUpgradeHandler.class);
+        removeHandler(pipeline, Http2UpgradeRequestHandler.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, SpillingHttpRequestAggregator.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
+        removeHandler(pipeline, ChunkedWriteHandler.class);
         removeHandler(pipeline, MockServerHttpServerCodec.class);
         if (pipeline.get(this.getClass()) != null) {
             pipeline.remove(this);
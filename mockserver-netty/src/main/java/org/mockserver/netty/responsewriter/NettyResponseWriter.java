@@ -33,7 +33,7 @@ public class NettyResponseWriter extends ResponseWriter {
 
     @Override
     public void sendResponse(HttpRequest request, HttpResponse response) {
-        writeAndCloseSocket(ctx, request, response);
+        writeAndCloseSocket(ctx, request, response.withStreamId(request.getStreamId()));
     }
 
     private void writeAndCloseSocket(final ChannelHandlerContext ctx, final HttpRequest request, HttpResponse response) {
@@ -47,7 +47,8 @@ public class NettyResponseWriter extends ResponseWriter {
         }
 
         ChannelFuture channelFuture = ctx.writeAndFlush(response);
-        if (closeChannel || configuration.alwaysCloseSocketConnections()) {
+        // HTTP/2 connections are shared by concurrent streams so are only closed when explicitly requested
+        if (closeChannel || (configuration.alwaysCloseSocketConnections() && request.getStreamId() == null)) {
             channelFuture.addListener((ChannelFutureListener) future -> {
                 Delay closeSocketDelay = connectionOptions != null ? connectionOptions.getCloseSocketDelay() : null;
                 if (closeSocketDelay == null) {
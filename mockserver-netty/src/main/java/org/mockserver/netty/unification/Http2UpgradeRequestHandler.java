@@ -0,0 +1,34 @@
+package org.mockserver.netty.unification;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+
+/**
+ * Handles the HTTP/1.1 request that upgraded a connection to h2c as the request on HTTP/2 stream 1, which is the stream
+ * the response to the upgrade request is sent on
+ *
+ * @author jamesdbloom
+ */
+public class Http2UpgradeRequestHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof HttpServerUpgradeHandler.UpgradeEvent) {
+            FullHttpRequest upgradeRequest = ((HttpServerUpgradeHandler.UpgradeEvent) evt).upgradeRequest().retainedDuplicate();
+            upgradeRequest
+                .headers()
+                .remove(HttpHeaderNames.UPGRADE)
+                .remove(HttpHeaderNames.CONNECTION)
+                .remove(Http2CodecUtil.HTTP_UPGRADE_SETTINGS_HEADER)
+                .setInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), 1);
+            ctx.fireChannelRead(upgradeRequest);
+            ctx.pipeline().remove(this);
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+}
@@ -7,14 +7,19 @@ import io.netty.handler.codec.ReplayingDecoder;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.*;
 import io.netty.handler.codec.socksx.v4.Socks4ServerDecoder;
 import io.netty.handler.codec.socksx.v4.Socks4ServerEncoder;
 import io.netty.handler.codec.socksx.v5.Socks5InitialRequestDecoder;
 import io.netty.handler.codec.socksx.v5.Socks5ServerEncoder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.codec.MockServerHttpServerCodec;
+import org.mockserver.codec.SpillingHttpRequestAggregator;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.dashboard.DashboardWebSocketHandler;
 import org.mockserver.lifecycle.LifeCycle;
@@ -27,6 +32,7 @@ import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.netty.HttpRequestHandler;
 import org.mockserver.netty.proxy.BinaryHandler;
+import org.mockserver.netty.proxy.StreamingProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks4ProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.netty.proxy.socks.SocksDetector;
@@ -133,6 +139,9 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         } else if (isTls(msg)) {
             logStage(ctx, "adding TLS decoders");
             enableTls(ctx, msg);
+        } else if (isHttp2(msg)) {
+            logStage(ctx, "adding HTTP2 decoders");
+            switchToHttp2(ctx, msg);
         } else if (isHttp(msg)) {
             logStage(ctx, "adding HTTP decoders");
             switchToHttp(ctx, msg);
@@ -211,18 +220,80 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
             method.startsWith("CONNECT ");
     }
 
+    private boolean isHttp2(ByteBuf msg) {
+        // HTTP/2 with prior knowledge or negotiated using ALPN starts with the connection preface
+        return msg.toString(msg.readerIndex(), 8, StandardCharsets.US_ASCII).startsWith("PRI * HT");
+    }
+
     private void switchToHttp(ChannelHandlerContext ctx, ByteBuf msg) {
         ChannelPipeline pipeline = ctx.pipeline();
 
-        addLastIfNotPresent(pipeline, new HttpServerCodec(
+        HttpServerCodec httpServerCodec = new HttpServerCodec(
             configuration.maxInitialLineLength(),
             configuration.maxHeaderSize(),
             configuration.maxChunkSize()
-        ));
+        );
+        addLastIfNotPresent(pipeline, httpServerCodec);
+        if (!isSslEnabledUpstream(ctx.channel())) {
+            // h2c upgrade is only used without TLS, with TLS HTTP/2 is negotiated using ALPN
+            addLastIfNotPresent(pipeline, new HttpServerUpgradeHandler(httpServerCodec, protocol -> {
+                if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+                    return new Http2ServerUpgradeCodec(http2ConnectionHandler());
+                } else {
+                    return null;
+                }
+            }, Integer.MAX_VALUE));
+            // the HTTP/2 connection handler is added directly after the upgrade handler so receives the upgrade event before this handler
+            addLastIfNotPresent(pipeline, new Http2UpgradeRequestHandler());
+        }
+        switchToHttp(ctx, msg, false);
+    }
+
+    private void switchToHttp2(ChannelHandlerContext ctx, ByteBuf msg) {
+        addLastIfNotPresent(ctx.pipeline(), http2ConnectionHandler());
+        switchToHttp(ctx, msg, true);
+    }
+
+    /**
+     * HTTP/2 streams are converted to and from HTTP/1.x messages, with the stream id as an extension header, so each
+     * stream is handled as a separate request by the same handlers as HTTP/1.x and responses are sent on the request's stream
+     */
+    private HttpToHttp2ConnectionHandler http2ConnectionHandler() {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        return new HttpToHttp2ConnectionHandlerBuilder()
+            .connection(connection)
+            .initialSettings(Http2Settings.defaultSettings().maxHeaderListSize(configuration.maxHeaderSize()))
+            .validateHeaders(false)
+            .frameListener(
+                new InboundHttp2ToHttpAdapterBuilder(connection)
+                    .maxContentLength(Integer.MAX_VALUE)
+                    .validateHttpHeaders(false)
+                    .propagateSettings(false)
+                    .build()
+            )
+            .build();
+    }
+
+    private void switchToHttp(ChannelHandlerContext ctx, ByteBuf msg, boolean http2) {
+        ChannelPipeline pipeline = ctx.pipeline();
+
+        if (!http2 && configuration.streamingProxyEnabled()) {
+            // before the decompressor and aggregators so streamed bodies are relayed as received
+            addLastIfNotPresent(pipeline, new StreamingProxyHandler(configuration, httpState, actionHandler.getHttpClient(), isSslEnabledUpstream(ctx.channel()), ctx.channel().localAddress(), SniHandler.retrieveClientCertificates(mockServerLogger, ctx)));
+        }
         addLastIfNotPresent(pipeline, new HttpContentDecompressor());
         addLastIfNotPresent(pipeline, httpContentLengthRemover);
+        if (!http2 && configuration.maxInMemoryRequestBodySize() < Integer.MAX_VALUE) {
+            // HTTP/2 streams are already aggregated by InboundHttp2ToHttpAdapter
+            addLastIfNotPresent(pipeline, new SpillingHttpRequestAggregator(configuration.maxInMemoryRequestBodySize()));
+        }
         addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
-        if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
+        // writes file response bodies in chunks when they can't be written as a zero-copy file region
+        addLastIfNotPresent(pipeline, new ChunkedWriteHandler());
+        if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel()) && http2) {
+            // without a stream an HTTP/2 connection can't be sent an Upgrade Required response
+            ctx.close();
+        } else if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
             HttpResponse httpResponse = response()
                 .withStatusCode(426)
                 .withHeader("Upgrade", "TLS/1.2, HTTP/1.1")
@@ -269,12 +340,12 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
             int port = hostParts.length > 1 ? Integer.parseInt(hostParts[1]) : 443;
             enableSslUpstreamAndDownstream(ctx.channel());
             ctx.channel().attr(PROXYING).set(Boolean.TRUE);
-            ctx.channel().attr(REMOTE_SOCKET).set(new InetSocketAddress(hostParts[0], port));
+            ctx.channel().attr(REMOTE_SOCKET).set(InetSocketAddress.createUnresolved(hostParts[0], port));
         } else if (message.startsWith(PROXIED)) {
             String[] hostParts = StringUtils.substringAfter(message, PROXIED).split(":");
             int port = hostParts.length > 1 ? Integer.parseInt(hostParts[1]) : 80;
             ctx.channel().attr(PROXYING).set(Boolean.TRUE);
-            ctx.channel().attr(REMOTE_SOCKET).set(new InetSocketAddress(hostParts[0], port));
+            ctx.channel().attr(REMOTE_SOCKET).set(InetSocketAddress.createUnresolved(hostParts[0], port));
         }
         ctx.writeAndFlush(Unpooled.copiedBuffer((PROXIED_RESPONSE + message).getBytes(StandardCharsets.UTF_8))).awaitUninterruptibly();
     }
@@ -330,7 +401,8 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     }
 
     private void addLastIfNotPresent(ChannelPipeline pipeline, ChannelHandler channelHandler) {
-        if (pipeline.get(channelHandler.getClass()) == null) {
+        // exact class match because pipeline.get(Class) also matches subclasses, i.e. HttpServerUpgradeHandler is an HttpObjectAggregator
+        if (pipeline.toMap().values().stream().noneMatch(handler -> handler.getClass() == channelHandler.getClass())) {
             pipeline.addLast(channelHandler);
         }
     }
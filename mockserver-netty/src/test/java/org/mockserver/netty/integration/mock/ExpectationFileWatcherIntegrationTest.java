@@ -280,8 +280,11 @@ public class ExpectationFileWatcherIntegrationTest {
             Retries.tryWaitForSuccess(() -> {
                 encourageFileSystemToNoticeChange(mockserverInitialization);
                 assertThat("Found: " + Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), mockServerClient.retrieveActiveExpectations(null).length, equalTo(0));
-                assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), is(secondUpdatedWatchedFileContents));
             }, 50, 1500, MILLISECONDS);
+
+            // and - changes are journaled and only compacted into the persisted expectations file when stopped
+            mockServer.stop();
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), is(secondUpdatedWatchedFileContents));
         } finally {
             ConfigurationProperties.initializationJsonPath(initializationJsonPath);
             ConfigurationProperties.watchInitializationJson(false);
@@ -427,8 +430,11 @@ public class ExpectationFileWatcherIntegrationTest {
             Retries.tryWaitForSuccess(() -> {
                 encourageFileSystemToNoticeChange(mockserverInitialization);
                 assertThat("Found: " + Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), mockServerClient.retrieveActiveExpectations(null).length, equalTo(1));
-                assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), equalTo(secondUpdatedWatchedFileContents));
             }, 50, 1500, MILLISECONDS);
+
+            // and - changes are journaled and only compacted into the persisted expectations file when stopped
+            mockServer.stop();
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), equalTo(secondUpdatedWatchedFileContents));
         } finally {
             ConfigurationProperties.initializationJsonPath(initializationJsonPath);
             ConfigurationProperties.watchInitializationJson(false);
@@ -603,9 +609,13 @@ public class ExpectationFileWatcherIntegrationTest {
             // then
             Retries.tryWaitForSuccess(() -> {
                 encourageFileSystemToNoticeChange(mockserverInitialization);
-                assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), is(secondUpdatedWatchedFileContents));
+                assertThat("Found: " + Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), containsInAnyOrder(new ExpectationSerializer(mockServerLogger).deserializeArray(secondUpdatedWatchedFileContents, false)));
             }, 50, 1500, MILLISECONDS);
             assertThat("Found: " + Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), mockServerClient.retrieveActiveExpectations(null).length, equalTo(3));
+
+            // and - changes are journaled and only compacted into the persisted expectations file when stopped
+            mockServer.stop();
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), is(secondUpdatedWatchedFileContents));
         } finally {
             ConfigurationProperties.initializationJsonPath(initializationJsonPath);
             ConfigurationProperties.watchInitializationJson(false);
@@ -792,12 +802,11 @@ public class ExpectationFileWatcherIntegrationTest {
                 "} ]";
 
             // then
-            Retries.tryWaitForSuccess(() -> {
-                encourageFileSystemToNoticeChange(mockserverInitialization);
-                String actual = readFileContents(persistedExpectations);
-                assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", actual, is(apiUpdatedPersistedFileContents));
-            }, 50, 1500, MILLISECONDS);
             assertThat("Found: " + Arrays.asList(mockServerClient.retrieveActiveExpectations(null)), mockServerClient.retrieveActiveExpectations(null).length, equalTo(3));
+
+            // and - changes are journaled and only compacted into the persisted expectations file when stopped
+            mockServer.stop();
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", readFileContents(persistedExpectations), is(apiUpdatedPersistedFileContents));
         } finally {
             ConfigurationProperties.initializationJsonPath(initializationJsonPath);
             ConfigurationProperties.watchInitializationJson(false);
@@ -0,0 +1,161 @@
+package org.mockserver.netty.integration.mock;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.*;
+import org.junit.*;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+/**
+ * @author jamesdbloom
+ */
+public class Http2ConcurrentStreamsMockingIntegrationTest {
+
+    private static final int STREAM_COUNT = 5;
+    private static EventLoopGroup clientEventLoopGroup;
+    private ClientAndServer clientAndServer;
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(Http2ConcurrentStreamsMockingIntegrationTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Before
+    public void setUp() {
+        clientAndServer = ClientAndServer.startClientAndServer();
+        for (int i = 0; i < STREAM_COUNT; i++) {
+            clientAndServer
+                .when(
+                    request()
+                        .withPath("/stream/" + i)
+                )
+                .respond(
+                    response()
+                        .withBody("response_" + i)
+                        // earlier streams are answered last
+                        .withDelay(MILLISECONDS, (STREAM_COUNT - i) * 200L)
+                );
+        }
+    }
+
+    @After
+    public void tearDown() {
+        stopQuietly(clientAndServer);
+    }
+
+    @Test
+    public void shouldMatchConcurrentStreamsOnSingleConnection() throws Exception {
+        // given - HTTP/2 connection with prior knowledge
+        Channel connection = new Bootstrap()
+            .group(clientEventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    channel.pipeline().addLast(
+                        Http2FrameCodecBuilder.forClient().build(),
+                        // the server doesn't push, so inbound streams are never opened
+                        new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                            @Override
+                            protected void initChannel(Channel channel) {
+                            }
+                        })
+                    );
+                }
+            })
+            .connect("localhost", clientAndServer.getPort())
+            .sync()
+            .channel();
+        Queue<Integer> completionOrder = new ConcurrentLinkedQueue<>();
+
+        try {
+            // when - all requests sent before any response
+            List<CompletableFuture<FullHttpResponse>> responseFutures = new ArrayList<>();
+            for (int i = 0; i < STREAM_COUNT; i++) {
+                responseFutures.add(sendRequest(connection, i, completionOrder));
+            }
+
+            // then - each stream answered by its own expectation
+            for (int i = 0; i < STREAM_COUNT; i++) {
+                FullHttpResponse response = responseFutures.get(i).get(10, SECONDS);
+                try {
+                    assertThat(response.status(), is(HttpResponseStatus.OK));
+                    assertThat(response.content().toString(UTF_8), is("response_" + i));
+                } finally {
+                    response.release();
+                }
+            }
+
+            // and - streams answered independently, so the last request isn't blocked by the slower first request
+            List<Integer> completed = new ArrayList<>(completionOrder);
+            assertThat(completed.indexOf(STREAM_COUNT - 1) < completed.indexOf(0), is(true));
+            assertThat(clientAndServer.retrieveRecordedRequests(request().withPath("/stream/.*")).length, is(STREAM_COUNT));
+        } finally {
+            connection.close().syncUninterruptibly();
+        }
+    }
+
+    private CompletableFuture<FullHttpResponse> sendRequest(Channel connection, int streamIndex, Queue<Integer> completionOrder) {
+        CompletableFuture<FullHttpResponse> responseFuture = new CompletableFuture<>();
+        Http2StreamChannel streamChannel = new Http2StreamChannelBootstrap(connection)
+            .handler(new ChannelInitializer<Http2StreamChannel>() {
+                @Override
+                protected void initChannel(Http2StreamChannel channel) {
+                    channel.pipeline().addLast(
+                        new Http2StreamFrameToHttpObjectCodec(false),
+                        new HttpObjectAggregator(1024 * 1024),
+                        new SimpleChannelInboundHandler<FullHttpResponse>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                                completionOrder.add(streamIndex);
+                                responseFuture.complete(response.retain());
+                            }
+
+                            @Override
+                            public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                                responseFuture.completeExceptionally(cause);
+                                ctx.close();
+                            }
+                        }
+                    );
+                }
+            })
+            .open()
+            .syncUninterruptibly()
+            .getNow();
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/stream/" + streamIndex);
+        request.headers().set(HOST, "localhost:" + clientAndServer.getPort());
+        request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), "http");
+        streamChannel.writeAndFlush(request).addListener(future -> {
+            if (!future.isSuccess()) {
+                responseFuture.completeExceptionally(future.cause());
+            }
+        });
+        return responseFuture;
+    }
+}
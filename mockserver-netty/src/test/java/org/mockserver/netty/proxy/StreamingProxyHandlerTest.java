@@ -0,0 +1,504 @@
+package org.mockserver.netty.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.RequestMatchers;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
+import static org.mockserver.mock.action.http.HttpActionHandler.REMOTE_SOCKET;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+
+/**
+ * @author jamesdbloom
+ */
+public class StreamingProxyHandlerTest {
+
+    private static final String LOOP_PREVENTION_HEADER_NAME = "x-loop-prevention";
+    private static final String LOOP_PREVENTION_HEADER_VALUE = "some_loop_prevention_value";
+    private final List<ChannelPromise> connectPromises = new ArrayList<>();
+    private final List<EmbeddedChannel> upstreams = new ArrayList<>();
+    private MockServerLogger mockServerLogger;
+    private HttpState httpState;
+    private RequestMatchers requestMatchers;
+    private NettyHttpClient httpClient;
+
+    @Before
+    public void setupMocks() {
+        mockServerLogger = mock(MockServerLogger.class);
+        requestMatchers = mock(RequestMatchers.class);
+        httpState = mock(HttpState.class);
+        when(httpState.getMockServerLogger()).thenReturn(mockServerLogger);
+        when(httpState.getRequestMatchers()).thenReturn(requestMatchers);
+        when(httpState.getUniqueLoopPreventionHeaderName()).thenReturn(LOOP_PREVENTION_HEADER_NAME);
+        when(httpState.getUniqueLoopPreventionHeaderValue()).thenReturn(LOOP_PREVENTION_HEADER_VALUE);
+        httpClient = mock(NettyHttpClient.class);
+        when(httpClient.canStream(anyBoolean())).thenReturn(true);
+        when(httpClient.connect(any(InetSocketAddress.class), anyBoolean(), any(ChannelHandler.class))).thenAnswer(invocation -> {
+            EmbeddedChannel upstream = new EmbeddedChannel(invocation.getArgument(2, ChannelHandler.class));
+            upstreams.add(upstream);
+            // connection to the remote server completes when the test connects it
+            ChannelPromise connectPromise = upstream.newPromise();
+            connectPromises.add(connectPromise);
+            return connectPromise;
+        });
+    }
+
+    private EmbeddedChannel clientChannel(Configuration configuration, ChannelHandler... handlers) {
+        return clientChannel(configuration, httpState, handlers);
+    }
+
+    private EmbeddedChannel clientChannel(Configuration configuration, HttpState httpState, ChannelHandler... handlers) {
+        EmbeddedChannel client = new EmbeddedChannel();
+        client.pipeline().addLast(handlers);
+        client.pipeline().addLast(new StreamingProxyHandler(configuration, httpState, httpClient, false, new InetSocketAddress(1080), null));
+        client.attr(PROXYING).set(true);
+        client.attr(REMOTE_SOCKET).set(new InetSocketAddress("127.0.0.1", 8080));
+        return client;
+    }
+
+    private EmbeddedChannel connectUpstream(EmbeddedChannel client) {
+        int latestConnection = connectPromises.size() - 1;
+        connectPromises.get(latestConnection).setSuccess();
+        client.runPendingTasks();
+        return upstreams.get(latestConnection);
+    }
+
+    private HttpContent content(String content) {
+        return new DefaultHttpContent(Unpooled.copiedBuffer(content, UTF_8));
+    }
+
+    private LastHttpContent lastContent(String content) {
+        return new DefaultLastHttpContent(Unpooled.copiedBuffer(content, UTF_8));
+    }
+
+    private String contentAsString(Object httpContent) {
+        return ((HttpContent) httpContent).content().toString(UTF_8);
+    }
+
+    @Test
+    public void shouldStreamChunkedUpload() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setTransferEncodingChunked(request, true);
+        request.headers().set("proxy-connection", "keep-alive");
+
+        // when - request body received before connected to the remote server
+        client.writeInbound(request, content("some_"), content("chunked_"), lastContent("body"));
+        EmbeddedChannel upstream = connectUpstream(client);
+
+        // then - request streamed without aggregating the body
+        assertThat(client.readInbound(), nullValue());
+        HttpRequest upstreamRequest = upstream.readOutbound();
+        assertThat(upstreamRequest, instanceOf(HttpRequest.class));
+        assertThat(upstreamRequest, is(not(instanceOf(FullHttpRequest.class))));
+        assertThat(upstreamRequest.uri(), is("/some_path"));
+        assertThat(HttpUtil.isTransferEncodingChunked(upstreamRequest), is(true));
+        assertThat(upstreamRequest.headers().contains("proxy-connection"), is(false));
+        assertThat(upstreamRequest.headers().get(LOOP_PREVENTION_HEADER_NAME), is(LOOP_PREVENTION_HEADER_VALUE));
+        assertThat(contentAsString(upstream.readOutbound()), is("some_"));
+        assertThat(contentAsString(upstream.readOutbound()), is("chunked_"));
+        Object lastHttpContent = upstream.readOutbound();
+        assertThat(lastHttpContent, instanceOf(LastHttpContent.class));
+        assertThat(contentAsString(lastHttpContent), is("body"));
+    }
+
+    @Test
+    public void shouldStreamPutUpload() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "/some_upload");
+        HttpUtil.setContentLength(request, 9);
+
+        // when
+        client.writeInbound(request, lastContent("some_body"));
+        EmbeddedChannel upstream = connectUpstream(client);
+
+        // then
+        assertThat(client.readInbound(), nullValue());
+        assertThat(((HttpRequest) upstream.readOutbound()).method(), is(HttpMethod.PUT));
+        assertThat(contentAsString(upstream.readOutbound()), is("some_body"));
+    }
+
+    @Test
+    public void shouldNotStreamControlPlaneRequests() {
+        for (String path : new String[]{"/mockserver/expectation", "/expectation", "/mockserver/retrieve", "/retrieve", "/reset"}) {
+            // given
+            EmbeddedChannel client = clientChannel(configuration());
+            HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, path);
+            HttpUtil.setContentLength(request, 2);
+
+            // when
+            client.writeInbound(request);
+
+            // then - passed on to be aggregated
+            assertThat(path, client.readInbound(), is(request));
+        }
+        verify(httpClient, never()).connect(any(InetSocketAddress.class), anyBoolean(), any(ChannelHandler.class));
+    }
+
+    @Test
+    public void shouldNotStreamRequestWithBodyWhenExpectationMayMatchBody() {
+        // given
+        when(requestMatchers.anyExpectationMayMatchBody()).thenReturn(true);
+        EmbeddedChannel client = clientChannel(configuration());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setTransferEncodingChunked(request, true);
+
+        // when
+        client.writeInbound(request);
+
+        // then - passed on to be aggregated
+        assertThat(client.readInbound(), is(request));
+        verify(httpClient, never()).connect(any(InetSocketAddress.class), anyBoolean(), any(ChannelHandler.class));
+    }
+
+    @Test
+    public void shouldNotUseUpLimitedExpectationWhenCheckingIfRequestMatches() {
+        // given
+        HttpState httpState = new HttpState(configuration(), new MockServerLogger(), new Scheduler(configuration(), new MockServerLogger(), true));
+        httpState.add(new Expectation(request().withPath("/some_path"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withBody("some_body")));
+        EmbeddedChannel client = clientChannel(configuration(), httpState);
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/some_path");
+
+        // when
+        client.writeInbound(request);
+
+        // then - passed on to be matched and the expectation's single match not used
+        assertThat(client.readInbound(), is(request));
+        verify(httpClient, never()).connect(any(InetSocketAddress.class), anyBoolean(), any(ChannelHandler.class));
+        assertThat(httpState.firstMatchingExpectation(request().withPath("/some_path")), is(notNullValue()));
+        assertThat(httpState.firstMatchingExpectation(request().withPath("/some_path")), is(nullValue()));
+    }
+
+    @Test
+    public void shouldStreamCloseDelimitedResponseAsChunked() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/some_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+        EmbeddedChannel upstream = connectUpstream(client);
+
+        // when - response without Content-Length or Transfer-Encoding ended by the remote server closing the connection
+        upstream.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK), content("some_"), lastContent("body"));
+        client.runPendingTasks();
+
+        // then
+        HttpResponse response = client.readOutbound();
+        assertThat(response.status(), is(HttpResponseStatus.OK));
+        assertThat(HttpUtil.isTransferEncodingChunked(response), is(true));
+        assertThat(HttpUtil.isKeepAlive(response), is(true));
+        assertThat(contentAsString(client.readOutbound()), is("some_"));
+        assertThat(contentAsString(client.readOutbound()), is("body"));
+        assertThat(client.isOpen(), is(true));
+        assertThat(upstream.isOpen(), is(false));
+    }
+
+    @Test
+    public void shouldStreamChunkedResponseToHttp10ClientDelimitedByClose() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_0, HttpMethod.GET, "/some_path");
+        HttpUtil.setKeepAlive(request, true);
+        client.writeInbound(request, LastHttpContent.EMPTY_LAST_CONTENT);
+        EmbeddedChannel upstream = connectUpstream(client);
+        HttpResponse upstreamResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setTransferEncodingChunked(upstreamResponse, true);
+
+        // when
+        upstream.writeInbound(upstreamResponse, content("some_"), lastContent("body"));
+        client.runPendingTasks();
+
+        // then - HTTP/1.0 clients don't support chunked responses
+        HttpResponse response = client.readOutbound();
+        assertThat(HttpUtil.isTransferEncodingChunked(response), is(false));
+        assertThat(HttpUtil.isKeepAlive(response), is(false));
+        assertThat(contentAsString(client.readOutbound()), is("some_"));
+        assertThat(contentAsString(client.readOutbound()), is("body"));
+        assertThat(client.isOpen(), is(false));
+    }
+
+    @Test
+    public void shouldHandlePipelinedRequestOnceStreamedResponseComplete() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+        EmbeddedChannel firstUpstream = connectUpstream(client);
+
+        // when - second request received before the first response
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/second_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+
+        // then - second request deferred
+        assertThat(connectPromises.size(), is(1));
+
+        // when - first response complete
+        HttpResponse firstResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setContentLength(firstResponse, 5);
+        firstUpstream.writeInbound(firstResponse, lastContent("first"));
+        client.runPendingTasks();
+
+        // then - second request streamed to a new connection
+        assertThat(((HttpRequest) firstUpstream.readOutbound()).uri(), is("/first_path"));
+        assertThat(connectPromises.size(), is(2));
+        EmbeddedChannel secondUpstream = connectUpstream(client);
+        assertThat(((HttpRequest) secondUpstream.readOutbound()).uri(), is("/second_path"));
+
+        // when - second response complete
+        HttpResponse secondResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setContentLength(secondResponse, 6);
+        secondUpstream.writeInbound(secondResponse, lastContent("second"));
+        client.runPendingTasks();
+
+        // then - responses returned in request order
+        assertThat(client.readOutbound(), is(firstResponse));
+        assertThat(contentAsString(client.readOutbound()), is("first"));
+        assertThat(client.readOutbound(), is(secondResponse));
+        assertThat(contentAsString(client.readOutbound()), is("second"));
+        assertThat(client.isOpen(), is(true));
+        assertThat(client.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenConnectFails() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/some_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+
+        // when
+        connectPromises.get(0).setFailure(new ConnectException("Connection refused"));
+        client.runPendingTasks();
+
+        // then
+        FullHttpResponse response = client.readOutbound();
+        assertThat(response.status(), is(HttpResponseStatus.NOT_FOUND));
+        assertThat(HttpUtil.getContentLength(response), is(0L));
+        assertThat(client.isOpen(), is(false));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenUpstreamFailsBeforeResponseStarted() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/some_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+        EmbeddedChannel upstream = connectUpstream(client);
+
+        // when
+        upstream.pipeline().fireExceptionCaught(new RuntimeException("TEST EXCEPTION"));
+        client.runPendingTasks();
+
+        // then
+        FullHttpResponse response = client.readOutbound();
+        assertThat(response.status(), is(HttpResponseStatus.NOT_FOUND));
+        assertThat(HttpUtil.isKeepAlive(response), is(false));
+        assertThat(client.isOpen(), is(false));
+        assertThat(upstream.isOpen(), is(false));
+    }
+
+    @Test
+    public void shouldCloseClientConnectionWhenUpstreamFailsAfterResponseStarted() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration());
+        client.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/some_path"), LastHttpContent.EMPTY_LAST_CONTENT);
+        EmbeddedChannel upstream = connectUpstream(client);
+        HttpResponse upstreamResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setContentLength(upstreamResponse, 10);
+        upstream.writeInbound(upstreamResponse, content("some_"));
+
+        // when - remote server closes the connection part way through the body
+        upstream.close();
+        client.runPendingTasks();
+
+        // then - client sees the partial response and the connection closed
+        assertThat(client.readOutbound(), is(upstreamResponse));
+        assertThat(contentAsString(client.readOutbound()), is("some_"));
+        Object lastWrite = client.readOutbound();
+        assertThat(lastWrite, instanceOf(ByteBuf.class));
+        assertThat(((ByteBuf) lastWrite).isReadable(), is(false));
+        assertThat(client.readOutbound(), nullValue());
+        assertThat(client.isOpen(), is(false));
+    }
+
+    @Test
+    public void shouldToggleAutoReadWithWritability() {
+        // given
+        FlushBlockingHandler clientFlushBlocker = new FlushBlockingHandler();
+        EmbeddedChannel client = clientChannel(configuration(), clientFlushBlocker);
+        clientFlushBlocker.unblock();
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setTransferEncodingChunked(request, true);
+
+        // when - request received
+        client.writeInbound(request);
+
+        // then - reading paused until connected
+        assertThat(client.config().isAutoRead(), is(false));
+
+        // when - connected
+        EmbeddedChannel upstream = connectUpstream(client);
+
+        // then - reading resumed
+        assertThat(client.config().isAutoRead(), is(true));
+
+        // when - remote server connection not writable
+        FlushBlockingHandler upstreamFlushBlocker = new FlushBlockingHandler();
+        upstream.pipeline().addFirst(upstreamFlushBlocker);
+        upstream.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        client.writeInbound(content("some_request_body_larger_than_watermark"));
+
+        // then - reading from client paused
+        assertThat(upstream.isWritable(), is(false));
+        assertThat(client.config().isAutoRead(), is(false));
+
+        // when - remote server connection writable
+        upstreamFlushBlocker.unblock();
+        client.runPendingTasks();
+
+        // then - reading from client resumed
+        assertThat(upstream.isWritable(), is(true));
+        assertThat(client.config().isAutoRead(), is(true));
+
+        // when - request complete
+        client.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+
+        // then - pipelined requests not read until response complete
+        assertThat(client.config().isAutoRead(), is(false));
+
+        // when - client connection not writable
+        clientFlushBlocker.block();
+        client.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        upstream.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK), content("some_response_body_larger_than_watermark"));
+        client.runPendingTasks();
+
+        // then - reading from remote server paused
+        assertThat(client.isWritable(), is(false));
+        assertThat(upstream.config().isAutoRead(), is(false));
+
+        // when - client connection writable
+        clientFlushBlocker.unblock();
+
+        // then - reading from remote server resumed
+        assertThat(client.isWritable(), is(true));
+        assertThat(upstream.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldTruncateCapturedBodiesInLog() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration().streamingProxyMaxCapturedBodySize(5));
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setContentLength(request, 17);
+        client.writeInbound(request, content("some_req"), lastContent("uest_body"));
+        EmbeddedChannel upstream = connectUpstream(client);
+        HttpResponse upstreamResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setContentLength(upstreamResponse, 18);
+
+        // when
+        upstream.writeInbound(upstreamResponse, content("some_resp"), lastContent("onse_body"));
+        client.runPendingTasks();
+
+        // then - full bodies streamed
+        assertThat(upstream.readOutbound(), is(instanceOf(HttpRequest.class)));
+        assertThat(contentAsString(upstream.readOutbound()), is("some_req"));
+        assertThat(contentAsString(upstream.readOutbound()), is("uest_body"));
+        assertThat(client.readOutbound(), is(upstreamResponse));
+        assertThat(contentAsString(client.readOutbound()), is("some_resp"));
+        assertThat(contentAsString(client.readOutbound()), is("onse_body"));
+
+        // and - logged bodies truncated
+        ArgumentCaptor<LogEntry> logEntryCaptor = ArgumentCaptor.forClass(LogEntry.class);
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntryCaptor.capture());
+        LogEntry forwardedRequestLogEntry = logEntryCaptor.getAllValues().stream().filter(logEntry -> logEntry.getType() == FORWARDED_REQUEST).findFirst().orElse(null);
+        assertThat(((org.mockserver.model.HttpRequest) forwardedRequestLogEntry.getHttpRequest()).getBodyAsString(), is("some_"));
+        assertThat(forwardedRequestLogEntry.getHttpResponse().getBodyAsString(), is("some_"));
+
+        // and - length headers of truncated bodies removed and no expectation recorded
+        assertThat(((org.mockserver.model.HttpRequest) forwardedRequestLogEntry.getHttpRequest()).containsHeader("content-length"), is(false));
+        assertThat(forwardedRequestLogEntry.getHttpResponse().containsHeader("content-length"), is(false));
+        assertThat(forwardedRequestLogEntry.getExpectation(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRecordExpectationWhenCapturedBodiesNotTruncated() {
+        // given
+        EmbeddedChannel client = clientChannel(configuration().streamingProxyMaxCapturedBodySize(32));
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setContentLength(request, 17);
+        client.writeInbound(request, content("some_req"), lastContent("uest_body"));
+        EmbeddedChannel upstream = connectUpstream(client);
+        HttpResponse upstreamResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        HttpUtil.setContentLength(upstreamResponse, 18);
+
+        // when
+        upstream.writeInbound(upstreamResponse, content("some_resp"), lastContent("onse_body"));
+        client.runPendingTasks();
+
+        // then
+        ArgumentCaptor<LogEntry> logEntryCaptor = ArgumentCaptor.forClass(LogEntry.class);
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntryCaptor.capture());
+        LogEntry forwardedRequestLogEntry = logEntryCaptor.getAllValues().stream().filter(logEntry -> logEntry.getType() == FORWARDED_REQUEST).findFirst().orElse(null);
+        assertThat(((org.mockserver.model.HttpRequest) forwardedRequestLogEntry.getExpectation().getHttpRequest()).getBodyAsString(), is("some_request_body"));
+        assertThat(((org.mockserver.model.HttpRequest) forwardedRequestLogEntry.getExpectation().getHttpRequest()).getFirstHeader("content-length"), is("17"));
+        assertThat(forwardedRequestLogEntry.getExpectation().getHttpResponse().getBodyAsString(), is("some_response_body"));
+    }
+
+    /**
+     * holds back flushes, so written messages stay in the outbound buffer, to simulate a slow peer
+     */
+    private static class FlushBlockingHandler extends ChannelOutboundHandlerAdapter {
+
+        private ChannelHandlerContext ctx;
+        private boolean blocked = true;
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            this.ctx = ctx;
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            if (!blocked) {
+                ctx.flush();
+            }
+        }
+
+        private void block() {
+            blocked = true;
+        }
+
+        private void unblock() {
+            blocked = false;
+            ctx.flush();
+        }
+    }
+}
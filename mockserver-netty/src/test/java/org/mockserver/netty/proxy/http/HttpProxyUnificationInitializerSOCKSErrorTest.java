@@ -137,9 +137,12 @@ public class HttpProxyUnificationInitializerSOCKSErrorTest {
             assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
                 "LoggingHandler#0",
                 "HttpServerCodec#0",
+                "HttpServerUpgradeHandler#0",
+                "Http2UpgradeRequestHandler#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
                 "HttpObjectAggregator#0",
+                "ChunkedWriteHandler#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
@@ -149,9 +152,12 @@ public class HttpProxyUnificationInitializerSOCKSErrorTest {
         } else {
             assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
                 "HttpServerCodec#0",
+                "HttpServerUpgradeHandler#0",
+                "Http2UpgradeRequestHandler#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
                 "HttpObjectAggregator#0",
+                "ChunkedWriteHandler#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
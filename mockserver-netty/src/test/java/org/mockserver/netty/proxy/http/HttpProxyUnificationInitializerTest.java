@@ -107,9 +107,36 @@ public class HttpProxyUnificationInitializerTest {
         // then - should add HTTP handlers last
         assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
             "HttpServerCodec#0",
+            "HttpServerUpgradeHandler#0",
+            "Http2UpgradeRequestHandler#0",
             "HttpContentDecompressor#0",
             "HttpContentLengthRemover#0",
             "HttpObjectAggregator#0",
+            "ChunkedWriteHandler#0",
+            "CallbackWebSocketServerHandler#0",
+            "DashboardWebSocketHandler#0",
+            "MockServerHttpServerCodec#0",
+            "HttpRequestHandler#0",
+            "DefaultChannelPipeline$TailContext#0"
+        ));
+    }
+
+    @Test
+    public void shouldSwitchToHttp2() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+        embeddedChannel.pipeline().addLast(new MockServerUnificationInitializer(configuration(), mock(LifeCycle.class), new HttpState(configuration(), new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
+
+        // when - HTTP/2 connection preface
+        embeddedChannel.writeInbound(Unpooled.wrappedBuffer("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(UTF_8)));
+
+        // then - should add HTTP/2 handlers before HTTP handlers
+        assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+            "HttpToHttp2ConnectionHandler#0",
+            "HttpContentDecompressor#0",
+            "HttpContentLengthRemover#0",
+            "HttpObjectAggregator#0",
+            "ChunkedWriteHandler#0",
             "CallbackWebSocketServerHandler#0",
             "DashboardWebSocketHandler#0",
             "MockServerHttpServerCodec#0",
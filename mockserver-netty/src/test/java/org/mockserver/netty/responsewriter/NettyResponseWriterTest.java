@@ -6,6 +6,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Delay;
 import org.mockserver.model.HttpRequest;
@@ -14,7 +15,10 @@ import org.mockserver.scheduler.Scheduler;
 
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItemInArray;
@@ -24,9 +28,11 @@ import static org.mockito.MockitoAnnotations.openMocks;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.configuration.ConfigurationProperties.enableCORSForAllResponses;
 import static org.mockserver.model.ConnectionOptions.connectionOptions;
+import static org.mockserver.model.FileBody.file;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.MediaType.APPLICATION_JSON;
 
 @SuppressWarnings("unchecked")
 public class NettyResponseWriterTest {
@@ -88,6 +94,80 @@ public class NettyResponseWriterTest {
         verify(mockChannelFuture).addListener(any(GenericFutureListener.class));
     }
 
+    @Test
+    public void shouldRejectFileBodyWhenNoRootDirectoryConfigured() throws Exception {
+        // given
+        Path responseBodyFile = Files.write(Files.createTempFile("response-body", ".json"), "some_file_contents".getBytes(UTF_8));
+        try {
+            HttpRequest request = request("some_request");
+            HttpResponse response = response().withBody(file(responseBodyFile.toAbsolutePath().toString(), APPLICATION_JSON));
+
+            // when
+            new NettyResponseWriter(configuration().fileResponseBodyRootDirectory(""), new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response.clone(), false);
+
+            // then
+            verify(mockChannelHandlerContext).writeAndFlush(
+                notFoundResponse()
+                    .withHeader("connection", "close")
+            );
+        } finally {
+            Files.delete(responseBodyFile);
+        }
+    }
+
+    @Test
+    public void shouldResolveFileBodyAgainstRootDirectory() throws Exception {
+        // given
+        Path rootDirectory = Files.createTempDirectory("response-bodies");
+        Path responseBodyFile = Files.write(rootDirectory.resolve("response-body.json"), "some_file_contents".getBytes(UTF_8));
+        try {
+            HttpRequest request = request("some_request");
+            HttpResponse response = response().withBody(file("response-body.json", APPLICATION_JSON));
+
+            // when
+            new NettyResponseWriter(configuration().fileResponseBodyRootDirectory(rootDirectory.toString()), new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response.clone(), false);
+
+            // then
+            verify(mockChannelHandlerContext).writeAndFlush(
+                response()
+                    .withBody(file(responseBodyFile.toRealPath().toString(), APPLICATION_JSON))
+                    .withHeader("connection", "close")
+            );
+        } finally {
+            Files.delete(responseBodyFile);
+            Files.delete(rootDirectory);
+        }
+    }
+
+    @Test
+    public void shouldRejectFileBodyOutsideRootDirectory() throws Exception {
+        // given
+        Path rootDirectory = Files.createTempDirectory("response-bodies");
+        Path outsideFile = Files.createTempFile("outside", ".txt");
+        Path symbolicLink = Files.createSymbolicLink(rootDirectory.resolve("link.txt"), outsideFile);
+        try {
+            Configuration configuration = configuration().fileResponseBodyRootDirectory(rootDirectory.toString());
+            HttpRequest request = request("some_request");
+
+            // when
+            new NettyResponseWriter(configuration, new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response().withBody(file("../" + outsideFile.getFileName())), false);
+            new NettyResponseWriter(configuration, new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response().withBody(file(outsideFile.toAbsolutePath().toString())), false);
+            new NettyResponseWriter(configuration, new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response().withBody(file("link.txt")), false);
+            // parent directory doesn't exist so its real path can't be checked
+            new NettyResponseWriter(configuration, new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response().withBody(file("missing_directory/file.txt")), false);
+
+            // then
+            verify(mockChannelHandlerContext, times(4)).writeAndFlush(
+                notFoundResponse()
+                    .withHeader("connection", "close")
+            );
+        } finally {
+            Files.delete(symbolicLink);
+            Files.delete(outsideFile);
+            Files.delete(rootDirectory);
+        }
+    }
+
     @Test
     public void shouldWriteAddCORSHeaders() {
         boolean enableCORSForAllResponses = enableCORSForAllResponses();
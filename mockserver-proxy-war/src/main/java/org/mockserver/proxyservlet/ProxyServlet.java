@@ -86,6 +86,7 @@ public class ProxyServlet extends HttpServlet implements ServletContextListener
 
     private void shutdown() {
         this.scheduler.shutdown();
+        this.actionHandler.stop();
         if (!this.workerGroup.isShuttingDown()) {
             this.workerGroup.shutdownGracefully(100, 750, MILLISECONDS).syncUninterruptibly();
         }
@@ -86,6 +86,7 @@ public class MockServerServlet extends HttpServlet implements ServletContextList
 
     private void shutdown() {
         this.scheduler.shutdown();
+        this.actionHandler.stop();
         if (!this.workerGroup.isShuttingDown()) {
             this.workerGroup.shutdownGracefully(100, 750, MILLISECONDS).syncUninterruptibly();
         }